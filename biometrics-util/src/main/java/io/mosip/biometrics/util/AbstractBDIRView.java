@@ -0,0 +1,352 @@
+package io.mosip.biometrics.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Calendar;
+import java.util.Date;
+
+import io.mosip.biometrics.util.constant.BiometricUtilErrorCode;
+import io.mosip.biometrics.util.exception.BiometricUtilException;
+
+/**
+ * Abstract base class for read-only views of ISO/IEC 19794 biometric data
+ * interchange records held in a {@link ByteBuffer}. The fields are read from
+ * the buffer when accessed and the image is returned as a slice of the buffer,
+ * so that nothing is copied out of the record. The buffer may be a heap, direct
+ * or memory-mapped buffer and must not be modified while the view is in use.
+ * Only the first representation of the record is viewed.
+ */
+public abstract class AbstractBDIRView {
+	/*
+	 * Offsets within the representation header, common to the finger, iris and
+	 * face records
+	 */
+	private static final int CAPTURE_DATE_TIME = 4;
+	private static final int CAPTURE_DEVICE_TECHNOLOGY_IDENTIFIER = 13;
+	private static final int CAPTURE_DEVICE_VENDOR_IDENTIFIER = 14;
+	private static final int CAPTURE_DEVICE_TYPE_IDENTIFIER = 16;
+	private static final int NO_OF_QUALITY_BLOCKS = 18;
+	private static final int QUALITY_BLOCKS = 19;
+	private static final int QUALITY_BLOCK_LENGTH = 5;
+
+	private final ByteBuffer buffer;
+	private final int generalHeaderLength;
+	private int imageOffset;
+	private int imageLength;
+
+	/**
+	 * Creates a view of the record starting at the position of the buffer and
+	 * checks that its general header and representation header up to the quality
+	 * blocks are present.
+	 *
+	 * @param record              The buffer holding the record.
+	 * @param generalHeaderLength The length of the general header of the format.
+	 * @throws EOFException If the record is truncated.
+	 */
+	protected AbstractBDIRView(ByteBuffer record, int generalHeaderLength) throws EOFException {
+		this.buffer = record.slice().order(ByteOrder.BIG_ENDIAN);
+		this.generalHeaderLength = generalHeaderLength;
+
+		require(0, generalHeaderLength);
+		if (getNoOfRepresentations() == 0)
+			throw new BiometricUtilException(BiometricUtilErrorCode.DATA_NULL_OR_EMPTY_EXCEPTION.getErrorCode(),
+					BiometricUtilErrorCode.DATA_NULL_OR_EMPTY_EXCEPTION.getErrorMessage());
+		require(getRepresentationOffset(), QUALITY_BLOCKS);
+		require(getRepresentationOffset() + QUALITY_BLOCKS, getNoOfQualityBlocks() * QUALITY_BLOCK_LENGTH);
+	}
+
+	/**
+	 * Checks that a range of bytes is within the record.
+	 *
+	 * @param offset The offset of the range in the record.
+	 * @param length The length of the range.
+	 * @throws EOFException If the range ends after the record.
+	 */
+	protected void require(long offset, long length) throws EOFException {
+		if (offset + length > buffer.limit())
+			throw new EOFException("Record of " + buffer.limit() + " bytes truncated, expected " + (offset + length));
+	}
+
+	/**
+	 * Sets the offset of the image data block (image length and image) of the
+	 * representation and checks that the image is within the record.
+	 *
+	 * @param offset The offset of the image data block in the record.
+	 * @throws EOFException If the image data block is truncated.
+	 */
+	protected void setImageDataOffset(int offset) throws EOFException {
+		require(offset, 4);
+		long length = readUnsignedInt(offset);
+		require(offset + 4L, length);
+		this.imageOffset = offset + 4;
+		this.imageLength = (int) length;
+	}
+
+	protected int readUnsignedByte(int offset) {
+		return buffer.get(offset) & 0xFF;
+	}
+
+	protected int readUnsignedShort(int offset) {
+		return buffer.getShort(offset) & 0xFFFF;
+	}
+
+	protected long readUnsignedInt(int offset) {
+		return buffer.getInt(offset) & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Returns the offset of the first representation in the record.
+	 */
+	protected int getRepresentationOffset() {
+		return generalHeaderLength;
+	}
+
+	/**
+	 * Returns the offset of the representation header fields following the
+	 * quality blocks.
+	 */
+	protected int getQualityBlocksEndOffset() {
+		return getRepresentationOffset() + QUALITY_BLOCKS + getNoOfQualityBlocks() * QUALITY_BLOCK_LENGTH;
+	}
+
+	/**
+	 * Returns a stream over the record, from which the object model of the record
+	 * is read.
+	 */
+	protected InputStream newInputStream() {
+		return new ByteBufferInputStream(buffer.duplicate());
+	}
+
+	public long getFormatIdentifier() {
+		return readUnsignedInt(0);
+	}
+
+	public long getVersionNumber() {
+		return readUnsignedInt(4);
+	}
+
+	public long getRecordLength() {
+		return readUnsignedInt(8);
+	}
+
+	public int getNoOfRepresentations() {
+		return readUnsignedShort(12);
+	}
+
+	public int getCertificationFlag() {
+		return readUnsignedByte(14);
+	}
+
+	public long getRepresentationLength() {
+		return readUnsignedInt(getRepresentationOffset());
+	}
+
+	public int getCaptureYear() {
+		return readUnsignedShort(getRepresentationOffset() + CAPTURE_DATE_TIME);
+	}
+
+	public int getCaptureMonth() {
+		return readUnsignedByte(getRepresentationOffset() + CAPTURE_DATE_TIME + 2);
+	}
+
+	public int getCaptureDay() {
+		return readUnsignedByte(getRepresentationOffset() + CAPTURE_DATE_TIME + 3);
+	}
+
+	public int getCaptureHour() {
+		return readUnsignedByte(getRepresentationOffset() + CAPTURE_DATE_TIME + 4);
+	}
+
+	public int getCaptureMinute() {
+		return readUnsignedByte(getRepresentationOffset() + CAPTURE_DATE_TIME + 5);
+	}
+
+	public int getCaptureSecond() {
+		return readUnsignedByte(getRepresentationOffset() + CAPTURE_DATE_TIME + 6);
+	}
+
+	public int getCaptureMilliSecond() {
+		return readUnsignedShort(getRepresentationOffset() + CAPTURE_DATE_TIME + 7);
+	}
+
+	public Date getCaptureDateTime() {
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTime(new Date());
+		calendar.set(Calendar.YEAR, getCaptureYear());
+		calendar.set(Calendar.MONTH, getCaptureMonth() - 1);
+		calendar.set(Calendar.DAY_OF_MONTH, getCaptureDay());
+		calendar.set(Calendar.HOUR_OF_DAY, getCaptureHour());
+		calendar.set(Calendar.MINUTE, getCaptureMinute());
+		calendar.set(Calendar.SECOND, getCaptureSecond());
+		calendar.set(Calendar.MILLISECOND, getCaptureMilliSecond());
+		return calendar.getTime();
+	}
+
+	public int getCaptureDeviceTechnologyIdentifier() {
+		return readUnsignedByte(getRepresentationOffset() + CAPTURE_DEVICE_TECHNOLOGY_IDENTIFIER);
+	}
+
+	public int getCaptureDeviceVendorIdentifier() {
+		return readUnsignedShort(getRepresentationOffset() + CAPTURE_DEVICE_VENDOR_IDENTIFIER);
+	}
+
+	public int getCaptureDeviceTypeIdentifier() {
+		return readUnsignedShort(getRepresentationOffset() + CAPTURE_DEVICE_TYPE_IDENTIFIER);
+	}
+
+	public int getNoOfQualityBlocks() {
+		return readUnsignedByte(getRepresentationOffset() + NO_OF_QUALITY_BLOCKS);
+	}
+
+	public int getQualityScore(int qualityBlockIndex) {
+		return readUnsignedByte(getQualityBlockOffset(qualityBlockIndex));
+	}
+
+	public int getQualityAlgorithmVendorIdentifier(int qualityBlockIndex) {
+		return readUnsignedShort(getQualityBlockOffset(qualityBlockIndex) + 1);
+	}
+
+	public int getQualityAlgorithmIdentifier(int qualityBlockIndex) {
+		return readUnsignedShort(getQualityBlockOffset(qualityBlockIndex) + 3);
+	}
+
+	private int getQualityBlockOffset(int qualityBlockIndex) {
+		if (qualityBlockIndex < 0 || qualityBlockIndex >= getNoOfQualityBlocks())
+			throw new IndexOutOfBoundsException(qualityBlockIndex);
+		return getRepresentationOffset() + QUALITY_BLOCKS + qualityBlockIndex * QUALITY_BLOCK_LENGTH;
+	}
+
+	public long getImageLength() {
+		return imageLength;
+	}
+
+	/**
+	 * Returns the image of the representation as a read-only slice of the record,
+	 * without copying it.
+	 *
+	 * @return The image, positioned at its first byte.
+	 */
+	public ByteBuffer getImage() {
+		return buffer.slice(imageOffset, imageLength).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Returns a stream over the image of the representation, reading it from the
+	 * record without copying it.
+	 */
+	public InputStream getImageInputStream() {
+		return new ByteBufferInputStream(getImage());
+	}
+
+	/**
+	 * Writes the record into the buffer with the image of its representation
+	 * replaced. The other bytes of the record are copied verbatim, the image
+	 * type field is set and the record, representation and image lengths are
+	 * updated for the new image, which is written directly into the buffer.
+	 *
+	 * @param imageTypeOffset The offset in the record of the one byte field
+	 *                        giving the image format.
+	 * @param imageType       The image format of the new image.
+	 * @param imageWriter     Writes the new image.
+	 * @param out             The buffer receiving the record from its position,
+	 *                        which is advanced past it.
+	 * @return The length of the written record.
+	 * @throws IOException             If the image cannot be written.
+	 * @throws BufferOverflowException If the buffer is too small for the record.
+	 */
+	protected int writeWithImage(int imageTypeOffset, int imageType, ImageWriter imageWriter, ByteBuffer out)
+			throws IOException {
+		ByteBuffer target = out.slice().order(ByteOrder.BIG_ENDIAN);
+		int imageDataOffset = imageOffset - 4;
+		int imageEnd = imageOffset + imageLength;
+		int recordEnd = (int) Math.max(imageEnd, Math.min(buffer.limit(), getRecordLength()));
+
+		target.put(buffer.slice(0, imageDataOffset));
+		target.put(imageTypeOffset, (byte) imageType);
+		target.putInt(0);
+		imageWriter.write(new ByteBufferOutputStream(target));
+		int newImageLength = target.position() - imageOffset;
+		target.put(buffer.slice(imageEnd, recordEnd - imageEnd));
+
+		target.putInt(imageDataOffset, newImageLength);
+		target.putInt(getRepresentationOffset(), (int) (getRepresentationLength() + newImageLength - imageLength));
+		target.putInt(8, target.position());
+		out.position(out.position() + target.position());
+		return target.position();
+	}
+
+	/**
+	 * Writes the new image of a record, see
+	 * {@link #writeWithImage(int, int, ImageWriter, ByteBuffer)}.
+	 */
+	@FunctionalInterface
+	public interface ImageWriter {
+		void write(OutputStream outputStream) throws IOException;
+	}
+
+	/**
+	 * Output stream appending to a buffer, which throws
+	 * {@link BufferOverflowException} when the buffer is full.
+	 */
+	private static class ByteBufferOutputStream extends OutputStream {
+		private final ByteBuffer buffer;
+
+		ByteBufferOutputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public void write(int value) {
+			buffer.put((byte) value);
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) {
+			buffer.put(bytes, offset, length);
+		}
+	}
+
+	/**
+	 * Input stream over the remaining bytes of a buffer.
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0)
+				return 0;
+			if (!buffer.hasRemaining())
+				return -1;
+			int count = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, count);
+			return count;
+		}
+
+		@Override
+		public long skip(long count) {
+			int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+			buffer.position(buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
@@ -165,6 +165,44 @@ public class CommonUtil {
 				BiometricUtilErrorCode.CONVERT_EXCEPTION.getErrorMessage());
 	}
 
+	/**
+	 * Decodes image bytes (JP2000, JPEG, PNG...) into an OpenCV Mat, keeping the
+	 * channels and depth of the image.
+	 *
+	 * @param imageBytes the encoded image
+	 * @return the decoded image, to be released by the caller
+	 * @throws BiometricUtilException if the image cannot be decoded
+	 */
+	public static Mat decodeImageUsingOpenCV(byte[] imageBytes) {
+		Mat image = Imgcodecs.imdecode(new MatOfByte(imageBytes), Imgcodecs.IMREAD_UNCHANGED);
+		if (image.empty()) {
+			image.release();
+			throw new BiometricUtilException(BiometricUtilErrorCode.CONVERT_EXCEPTION.getErrorCode(),
+					BiometricUtilErrorCode.CONVERT_EXCEPTION.getErrorMessage());
+		}
+		return image;
+	}
+
+	/**
+	 * Encodes an OpenCV Mat to JPEG bytes with a specified quality.
+	 *
+	 * @param image            the decoded image
+	 * @param compressionRatio the JPEG quality
+	 * @return the JPEG byte array
+	 * @throws BiometricUtilException if the image cannot be encoded
+	 */
+	public static byte[] encodeToJPEGUsingOpenCV(Mat image, int compressionRatio) {
+		MatOfByte mem = new MatOfByte();
+		try {
+			if (!Imgcodecs.imencode(".jpeg", image, mem, new MatOfInt(Imgcodecs.IMWRITE_JPEG_QUALITY, compressionRatio)))
+				throw new BiometricUtilException(BiometricUtilErrorCode.CONVERT_EXCEPTION.getErrorCode(),
+						BiometricUtilErrorCode.CONVERT_EXCEPTION.getErrorMessage());
+			return mem.toArray();
+		} finally {
+			mem.release();
+		}
+	}
+
 	/**
 	 * Converts a BufferedImage to JPEG bytes.
 	 *
@@ -405,6 +443,8 @@ public class CommonUtil {
 	 * @param modality  (Face, Iris, Finger)
 	 * @param imageType (JPEG or PNG)
 	 * @return outIsoData (ISO base64URLEncoded)
+	 * @see ISOImageTranscoder for a single pass conversion without intermediate
+	 *      copies of the record
 	 */
 	public static String convertISOImageType(String inIsoData, Modality modality, ImageType imageType)
 			throws Exception {
@@ -0,0 +1,24 @@
+package io.mosip.biometrics.util;
+
+import lombok.Data;
+
+/**
+ * Result of the conversion of one record of a batch, see
+ * {@link ISOBatchConverter}.
+ */
+@Data
+public class ConvertResultDto {
+	/* Position of the record in the batch, from 0 */
+	private long index;
+
+	private ConvertRequestDto request;
+
+	private byte[] outputBytes;
+
+	/* Set instead of outputBytes when the record could not be converted */
+	private Throwable exception;
+
+	public boolean isSuccess() {
+		return exception == null;
+	}
+}
@@ -0,0 +1,298 @@
+package io.mosip.biometrics.util;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.opencv.core.Mat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.mosip.biometrics.util.constant.BiometricUtilErrorCode;
+import io.mosip.biometrics.util.exception.BiometricUtilException;
+import io.mosip.biometrics.util.face.FaceBDIRView;
+import io.mosip.biometrics.util.face.FaceDecoder;
+import io.mosip.biometrics.util.face.ImageDataType;
+import io.mosip.biometrics.util.finger.FingerBDIRView;
+import io.mosip.biometrics.util.finger.FingerDecoder;
+import io.mosip.biometrics.util.finger.FingerImageCompressionType;
+import io.mosip.biometrics.util.iris.ImageFormat;
+import io.mosip.biometrics.util.iris.IrisBDIRView;
+import io.mosip.biometrics.util.iris.IrisDecoder;
+
+/**
+ * Converts batches of ISO finger, iris and face records to image bytes, as
+ * {@link FingerDecoder#convertFingerISOToImageBytes(ConvertRequestDto)} and its
+ * iris and face equivalents do for one record: JPEG 2000 images are converted
+ * to JPEG with the compression ratio of the request, other images are returned
+ * as is.
+ * <p>
+ * The records are converted on a work-stealing pool. At most
+ * {@code maxInFlight} records are submitted and not yet handed to the consumer,
+ * so that the memory held by a batch is bounded whatever its size: the
+ * iteration of the requests is paused until results are consumed. Results are
+ * handed to the consumer on the calling thread, either in the order of the
+ * requests or as they complete. A record which cannot be converted gives a
+ * result holding its exception and does not stop the batch. If the consumer
+ * throws, the batch stops once the records submitted have been converted.
+ * <p>
+ * The time spent parsing the records, decoding and encoding the images is
+ * accumulated in the {@link StageTimings} of the converter.
+ */
+public final class ISOBatchConverter implements AutoCloseable {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ISOBatchConverter.class);
+
+	private final ForkJoinPool pool;
+	private final int maxInFlight;
+	private final StageTimings stageTimings = new StageTimings();
+
+	/**
+	 * Creates a converter.
+	 *
+	 * @param parallelism The number of worker threads.
+	 * @param maxInFlight The maximum number of records being converted or waiting
+	 *                    to be consumed.
+	 */
+	public ISOBatchConverter(int parallelism, int maxInFlight) {
+		if (parallelism < 1 || maxInFlight < 1)
+			throw new IllegalArgumentException("parallelism and maxInFlight must be positive");
+		this.pool = new ForkJoinPool(parallelism);
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * Converts a stream of records, see
+	 * {@link #convert(Iterator, boolean, Consumer)}.
+	 */
+	public void convert(Stream<ConvertRequestDto> requests, boolean ordered, Consumer<ConvertResultDto> consumer)
+			throws InterruptedException {
+		convert(requests.iterator(), ordered, consumer);
+	}
+
+	/**
+	 * Converts the records of the iterator, returning when all the results have
+	 * been consumed.
+	 *
+	 * @param requests The requests, each holding the ISO record, its modality and
+	 *                 version and the compression ratio.
+	 * @param ordered  Whether the results are consumed in the order of the
+	 *                 requests rather than as they complete.
+	 * @param consumer Receives the results, on the calling thread.
+	 * @throws InterruptedException If the calling thread is interrupted while
+	 *                              waiting for results.
+	 */
+	public void convert(Iterator<ConvertRequestDto> requests, boolean ordered, Consumer<ConvertResultDto> consumer)
+			throws InterruptedException {
+		BlockingQueue<ConvertResultDto> completed = new LinkedBlockingQueue<>();
+		Map<Long, ConvertResultDto> reorderBuffer = new HashMap<>();
+		StageTimings start = stageTimings.snapshot();
+		long submitted = 0;
+		long received = 0;
+		long consumed = 0;
+		long nextIndex = 0;
+
+		try {
+			while (requests.hasNext() || consumed < submitted) {
+				ConvertResultDto result;
+				if (requests.hasNext() && submitted - consumed < maxInFlight) {
+					long index = submitted;
+					ConvertRequestDto request = requests.next();
+					pool.execute(() -> completed.add(convert(index, request)));
+					submitted++;
+					result = completed.poll();
+				} else {
+					result = completed.take();
+				}
+				if (result == null)
+					continue;
+				received++;
+
+				if (!ordered) {
+					consumer.accept(result);
+					consumed++;
+					continue;
+				}
+				reorderBuffer.put(result.getIndex(), result);
+				while ((result = reorderBuffer.remove(nextIndex)) != null) {
+					consumer.accept(result);
+					consumed++;
+					nextIndex++;
+				}
+			}
+			LOGGER.info("convert :: {} records, {}", consumed, stageTimings.since(start));
+		} finally {
+			awaitOutstanding(completed, submitted - received);
+		}
+	}
+
+	public StageTimings getStageTimings() {
+		return stageTimings;
+	}
+
+	/**
+	 * Waits for the running conversions and stops the worker threads.
+	 */
+	@Override
+	public void close() {
+		pool.close();
+	}
+
+	/**
+	 * Waits for the conversions whose result was not received when the batch
+	 * stopped early, so that none is left running after the batch returns. Stops
+	 * waiting if the calling thread is interrupted.
+	 */
+	private static void awaitOutstanding(BlockingQueue<ConvertResultDto> completed, long outstanding) {
+		try {
+			for (; outstanding > 0; outstanding--)
+				completed.take();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private ConvertResultDto convert(long index, ConvertRequestDto request) {
+		ConvertResultDto result = new ConvertResultDto();
+		result.setIndex(index);
+		result.setRequest(request);
+		try {
+			result.setOutputBytes(convertImage(request));
+			stageTimings.records.increment();
+		} catch (Throwable ex) {
+			// any throwable gives a result, the calling thread waits for it
+			LOGGER.error("convert :: record {} could not be converted", index, ex);
+			result.setException(ex);
+			stageTimings.failures.increment();
+		}
+		return result;
+	}
+
+	private byte[] convertImage(ConvertRequestDto request) throws Exception {
+		long start = System.nanoTime();
+		AbstractBDIRView view;
+		boolean jp2;
+		switch (getModality(request)) {
+		case Finger:
+			FingerBDIRView fingerView = FingerDecoder.getFingerBDIRView(request);
+			jp2 = fingerView.getCompressionType() == FingerImageCompressionType.JPEG_2000_LOSSY
+					|| fingerView.getCompressionType() == FingerImageCompressionType.JPEG_2000_LOSS_LESS;
+			view = fingerView;
+			break;
+		case Iris:
+			IrisBDIRView irisView = IrisDecoder.getIrisBDIRView(request);
+			jp2 = irisView.getImageFormat() == ImageFormat.MONO_JPEG2000
+					|| irisView.getImageFormat() == ImageFormat.RGB_JPEG2000;
+			view = irisView;
+			break;
+		case Face:
+			FaceBDIRView faceView = FaceDecoder.getFaceBDIRView(request);
+			jp2 = faceView.getImageDataType() == ImageDataType.JPEG2000_LOSSY
+					|| faceView.getImageDataType() == ImageDataType.JPEG2000_LOSS_LESS;
+			view = faceView;
+			break;
+		default:
+			throw new BiometricUtilException(BiometricUtilErrorCode.MODALITY_NOT_SUPPORTED_EXCEPTION.getErrorCode(),
+					BiometricUtilErrorCode.MODALITY_NOT_SUPPORTED_EXCEPTION.getErrorMessage());
+		}
+		ByteBuffer imageBuffer = view.getImage();
+		byte[] image = new byte[imageBuffer.remaining()];
+		imageBuffer.get(image);
+		long parsed = System.nanoTime();
+		stageTimings.parseNanos.add(parsed - start);
+		if (!jp2)
+			return image;
+
+		Mat decodedImage = CommonUtil.decodeImageUsingOpenCV(image);
+		try {
+			long decoded = System.nanoTime();
+			stageTimings.decodeNanos.add(decoded - parsed);
+			byte[] outputBytes = CommonUtil.encodeToJPEGUsingOpenCV(decodedImage, request.getCompressionRatio());
+			stageTimings.encodeNanos.add(System.nanoTime() - decoded);
+			return outputBytes;
+		} finally {
+			decodedImage.release();
+		}
+	}
+
+	private static Modality getModality(ConvertRequestDto request) {
+		for (Modality modality : Modality.values()) {
+			if (modality.name().equalsIgnoreCase(Objects.toString(request.getModality(), "")))
+				return modality;
+		}
+		return Modality.UnSpecified;
+	}
+
+	/**
+	 * Number of records converted by the converter and time spent in each stage,
+	 * summed over the worker threads.
+	 */
+	public static final class StageTimings {
+		private final LongAdder records = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder parseNanos = new LongAdder();
+		private final LongAdder decodeNanos = new LongAdder();
+		private final LongAdder encodeNanos = new LongAdder();
+
+		public long getRecords() {
+			return records.sum();
+		}
+
+		public long getFailures() {
+			return failures.sum();
+		}
+
+		/**
+		 * Returns the time spent reading the records and copying their image.
+		 */
+		public Duration getParseTime() {
+			return Duration.ofNanos(parseNanos.sum());
+		}
+
+		/**
+		 * Returns the time spent decoding JPEG 2000 images.
+		 */
+		public Duration getDecodeTime() {
+			return Duration.ofNanos(decodeNanos.sum());
+		}
+
+		/**
+		 * Returns the time spent encoding JPEG images.
+		 */
+		public Duration getEncodeTime() {
+			return Duration.ofNanos(encodeNanos.sum());
+		}
+
+		private StageTimings snapshot() {
+			return since(new StageTimings());
+		}
+
+		/**
+		 * Returns the counts and times accumulated since the given snapshot.
+		 */
+		private StageTimings since(StageTimings start) {
+			StageTimings delta = new StageTimings();
+			delta.records.add(records.sum() - start.records.sum());
+			delta.failures.add(failures.sum() - start.failures.sum());
+			delta.parseNanos.add(parseNanos.sum() - start.parseNanos.sum());
+			delta.decodeNanos.add(decodeNanos.sum() - start.decodeNanos.sum());
+			delta.encodeNanos.add(encodeNanos.sum() - start.encodeNanos.sum());
+			return delta;
+		}
+
+		@Override
+		public String toString() {
+			return "StageTimings [records=" + getRecords() + ", failures=" + getFailures() + ", parseTime="
+					+ getParseTime().toMillis() + "ms, decodeTime=" + getDecodeTime().toMillis() + "ms, encodeTime="
+					+ getEncodeTime().toMillis() + "ms]";
+		}
+	}
+}
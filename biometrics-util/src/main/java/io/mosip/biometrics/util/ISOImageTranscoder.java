@@ -0,0 +1,259 @@
+package io.mosip.biometrics.util;
+
+import java.awt.image.BufferedImage;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.imageio.ImageIO;
+
+import org.jnbis.internal.WsqDecoder;
+
+import io.mosip.biometrics.util.AbstractBDIRView.ImageWriter;
+import io.mosip.biometrics.util.constant.BiometricUtilErrorCode;
+import io.mosip.biometrics.util.exception.BiometricUtilException;
+import io.mosip.biometrics.util.face.FaceBDIRView;
+import io.mosip.biometrics.util.face.ImageDataType;
+import io.mosip.biometrics.util.finger.FingerBDIRView;
+import io.mosip.biometrics.util.finger.FingerImageCompressionType;
+import io.mosip.biometrics.util.iris.ImageFormat;
+import io.mosip.biometrics.util.iris.IrisBDIRView;
+
+/**
+ * Converts the image of ISO finger, iris and face records from JPEG 2000 (or
+ * WSQ for finger) to JPEG or PNG in a single pass, as
+ * {@link CommonUtil#convertISOImageType(String, Modality, ImageType)} does
+ * without parsing and re-encoding the whole record. The input record is read
+ * through a {@link AbstractBDIRView}, its header bytes are copied verbatim to
+ * the output buffer, the new image is encoded directly into it and only the
+ * image type and length fields are rewritten. Records whose image is already
+ * in another format are copied unchanged.
+ */
+public final class ISOImageTranscoder {
+	/* Pooled buffers growing beyond this size are released after use */
+	private static final int MAX_POOLED_BUFFER_SIZE = 4 * 1024 * 1024;
+	private static final int MIN_BUFFER_SIZE = 64 * 1024;
+
+	private static final ThreadLocal<PooledBuffers> BUFFERS = ThreadLocal.withInitial(PooledBuffers::new);
+
+	private ISOImageTranscoder() {
+		throw new IllegalStateException("ISOImageTranscoder class");
+	}
+
+	/**
+	 * Transcodes the image of an ISO record into a caller supplied buffer.
+	 *
+	 * @param isoRecord The buffer holding the ISO record, from its position to
+	 *                  its limit.
+	 * @param modality  The modality of the record (Face, Iris, Finger).
+	 * @param imageType The image type to convert to (JPEG or PNG).
+	 * @param out       The buffer receiving the converted record from its
+	 *                  position, which is advanced past it.
+	 * @return The length of the converted record.
+	 * @throws IOException             If the record is truncated or its image
+	 *                                 cannot be converted.
+	 * @throws BufferOverflowException If the output buffer is too small, in which
+	 *                                 case its position is left unchanged.
+	 */
+	public static int transcode(ByteBuffer isoRecord, Modality modality, ImageType imageType, ByteBuffer out)
+			throws IOException {
+		String format = getFormatName(imageType);
+		switch (modality) {
+		case Finger:
+			return transcodeFinger(new FingerBDIRView(isoRecord), isoRecord, imageType, format, out);
+		case Iris:
+			return transcodeIris(new IrisBDIRView(isoRecord), isoRecord, imageType, format, out);
+		case Face:
+			return transcodeFace(new FaceBDIRView(isoRecord), isoRecord, imageType, format, out);
+		default:
+			throw new BiometricUtilException(BiometricUtilErrorCode.MODALITY_NOT_SUPPORTED_EXCEPTION.getErrorCode(),
+					BiometricUtilErrorCode.MODALITY_NOT_SUPPORTED_EXCEPTION.getErrorMessage());
+		}
+	}
+
+	/**
+	 * Transcodes the image of a URL-safe Base64 encoded ISO record, decoding the
+	 * input and encoding the output as streams through per-thread pooled
+	 * buffers.
+	 *
+	 * @param base64In  The stream of the URL-safe Base64 encoded ISO record, read
+	 *                  to its end.
+	 * @param base64Out The stream receiving the URL-safe Base64 encoded converted
+	 *                  record, without padding. It is not closed.
+	 * @param modality  The modality of the record (Face, Iris, Finger).
+	 * @param imageType The image type to convert to (JPEG or PNG).
+	 * @throws IOException If the record is truncated or its image cannot be
+	 *                     converted.
+	 */
+	public static void transcode(InputStream base64In, OutputStream base64Out, Modality modality,
+			ImageType imageType) throws IOException {
+		PooledBuffers buffers = BUFFERS.get();
+		try {
+			ByteBuffer isoRecord = buffers.read(Base64.getUrlDecoder().wrap(base64In));
+			if (!isoRecord.hasRemaining())
+				throw new BiometricUtilException(BiometricUtilErrorCode.DATA_NULL_OR_EMPTY_EXCEPTION.getErrorCode(),
+						BiometricUtilErrorCode.DATA_NULL_OR_EMPTY_EXCEPTION.getErrorMessage());
+
+			ByteBuffer out = buffers.output(isoRecord.remaining());
+			int length;
+			while (true) {
+				try {
+					length = transcode(isoRecord.duplicate(), modality, imageType, out);
+					break;
+				} catch (BufferOverflowException ex) {
+					out = buffers.growOutput();
+				}
+			}
+
+			try (OutputStream encoder = Base64.getUrlEncoder().withoutPadding()
+					.wrap(new NonClosingOutputStream(base64Out))) {
+				encoder.write(out.array(), out.arrayOffset(), length);
+			}
+		} finally {
+			buffers.release();
+		}
+	}
+
+	private static int transcodeFinger(FingerBDIRView view, ByteBuffer isoRecord, ImageType imageType,
+			String format, ByteBuffer out) throws IOException {
+		int compressionType = imageType == ImageType.PNG ? FingerImageCompressionType.PNG
+				: FingerImageCompressionType.JPEG_LOSSY;
+		if (view.getCompressionType() == FingerImageCompressionType.JPEG_2000_LOSS_LESS)
+			return view.writeWithImage(compressionType, convertImage(view, format), out);
+		if (view.getCompressionType() == FingerImageCompressionType.WSQ)
+			return view.writeWithImage(compressionType, convertWSQImage(view, format), out);
+		return copy(isoRecord, out);
+	}
+
+	private static int transcodeIris(IrisBDIRView view, ByteBuffer isoRecord, ImageType imageType, String format,
+			ByteBuffer out) throws IOException {
+		int imageFormat = imageType == ImageType.PNG ? ImageFormat.MONO_PNG : ImageFormat.MONO_JPEG;
+		if (view.getImageFormat() == ImageFormat.MONO_JPEG2000)
+			return view.writeWithImage(imageFormat, convertImage(view, format), out);
+		return copy(isoRecord, out);
+	}
+
+	private static int transcodeFace(FaceBDIRView view, ByteBuffer isoRecord, ImageType imageType, String format,
+			ByteBuffer out) throws IOException {
+		int imageDataType = imageType == ImageType.PNG ? ImageDataType.PNG : ImageDataType.JPEG;
+		if (view.getImageDataType() == ImageDataType.JPEG2000_LOSS_LESS)
+			return view.writeWithImage(imageDataType, convertImage(view, format), out);
+		return copy(isoRecord, out);
+	}
+
+	private static String getFormatName(ImageType imageType) {
+		if (imageType == ImageType.JPEG)
+			return "jpg";
+		if (imageType == ImageType.PNG)
+			return "png";
+		throw new BiometricUtilException(BiometricUtilErrorCode.CONVERT_EXCEPTION.getErrorCode(),
+				BiometricUtilErrorCode.CONVERT_EXCEPTION.getErrorMessage());
+	}
+
+	private static ImageWriter convertImage(AbstractBDIRView view, String format) {
+		return outputStream -> {
+			try (InputStream inputStream = view.getImageInputStream()) {
+				write(ImageIO.read(inputStream), format, outputStream);
+			}
+		};
+	}
+
+	private static ImageWriter convertWSQImage(AbstractBDIRView view, String format) {
+		return outputStream -> {
+			ByteBuffer image = view.getImage();
+			byte[] wsqImage = new byte[image.remaining()];
+			image.get(wsqImage);
+			write(CommonUtil.convert(new WsqDecoder().decode(wsqImage)), format, outputStream);
+		};
+	}
+
+	private static void write(BufferedImage image, String format, OutputStream outputStream) throws IOException {
+		if (image == null || !ImageIO.write(image, format, outputStream))
+			throw new BiometricUtilException(BiometricUtilErrorCode.CONVERT_EXCEPTION.getErrorCode(),
+					BiometricUtilErrorCode.CONVERT_EXCEPTION.getErrorMessage());
+	}
+
+	private static int copy(ByteBuffer isoRecord, ByteBuffer out) {
+		int length = isoRecord.remaining();
+		out.put(isoRecord.duplicate());
+		return length;
+	}
+
+	/**
+	 * Input and output buffers reused by the transcoding of the thread.
+	 */
+	private static class PooledBuffers {
+		private byte[] input = new byte[MIN_BUFFER_SIZE];
+		private ByteBuffer output = ByteBuffer.allocate(MIN_BUFFER_SIZE);
+
+		/**
+		 * Reads the stream to its end into the input buffer.
+		 */
+		ByteBuffer read(InputStream inputStream) throws IOException {
+			int length = 0;
+			int count;
+			while ((count = inputStream.read(input, length, input.length - length)) >= 0) {
+				length += count;
+				if (length == input.length) {
+					int next = inputStream.read();
+					if (next < 0)
+						break;
+					input = Arrays.copyOf(input, input.length * 2);
+					input[length++] = (byte) next;
+				}
+			}
+			return ByteBuffer.wrap(input, 0, length);
+		}
+
+		/**
+		 * Returns the cleared output buffer, of at least twice the input length
+		 * since converted images are usually larger than JPEG 2000 or WSQ ones.
+		 */
+		ByteBuffer output(int inputLength) {
+			int capacity = Math.max(MIN_BUFFER_SIZE, inputLength * 2);
+			if (output.capacity() < capacity)
+				output = ByteBuffer.allocate(capacity);
+			return output.clear();
+		}
+
+		ByteBuffer growOutput() {
+			output = ByteBuffer.allocate(output.capacity() * 2);
+			return output;
+		}
+
+		/**
+		 * Releases the buffers which grew too large to be kept by the thread.
+		 */
+		void release() {
+			if (input.length > MAX_POOLED_BUFFER_SIZE)
+				input = new byte[MIN_BUFFER_SIZE];
+			if (output.capacity() > MAX_POOLED_BUFFER_SIZE)
+				output = ByteBuffer.allocate(MIN_BUFFER_SIZE);
+		}
+	}
+
+	/**
+	 * Output stream which leaves the underlying stream open when closed, so that
+	 * the Base64 encoder can be closed to write its final bytes.
+	 */
+	private static class NonClosingOutputStream extends FilterOutputStream {
+		NonClosingOutputStream(OutputStream outputStream) {
+			super(outputStream);
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) throws IOException {
+			out.write(bytes, offset, length);
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package io.mosip.biometrics.util.face;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import io.mosip.biometrics.util.AbstractBDIRView;
+
+/**
+ * Read-only view of an ISO/IEC 19794-5:2011 face image record held in a
+ * {@link ByteBuffer}, see {@link AbstractBDIRView}. The full object model of
+ * the record, including the 3D information, is available through
+ * {@link #toBDIR()}.
+ */
+public class FaceBDIRView extends AbstractBDIRView {
+	/* 4 + 4 + 4 + 2 + 1 + 2 (table 2 ISO/IEC 19794-5-2011) */
+	private static final int GENERAL_HEADER_LENGTH = 17;
+	/* 2 + 1 + 1 + 1 + 1 + 3 + 2 + 3 + 3 (table 2 ISO/IEC 19794-5) */
+	private static final int FACIAL_INFORMATION_LENGTH = 17;
+	private static final int LANDMARK_POINT_LENGTH = 8;
+	/* 1 + 1 + 2 + 2 + 1 + 2 + 1 + 1 (Figure 2 ISO/IEC 19794-5) */
+	private static final int IMAGE_INFORMATION_LENGTH = 11;
+
+	private final int facialInformationOffset;
+	private final int imageInformationOffset;
+
+	/**
+	 * Creates a view of the face image record starting at the position of the
+	 * buffer.
+	 *
+	 * @param record The buffer holding the record.
+	 * @throws IOException If the record is truncated.
+	 */
+	public FaceBDIRView(ByteBuffer record) throws IOException {
+		super(record, GENERAL_HEADER_LENGTH);
+
+		this.facialInformationOffset = getQualityBlocksEndOffset();
+		require(facialInformationOffset, FACIAL_INFORMATION_LENGTH);
+		this.imageInformationOffset = facialInformationOffset + FACIAL_INFORMATION_LENGTH
+				+ getNoOfLandMarkPoints() * LANDMARK_POINT_LENGTH;
+		require(imageInformationOffset, IMAGE_INFORMATION_LENGTH);
+		setImageDataOffset(imageInformationOffset + IMAGE_INFORMATION_LENGTH);
+	}
+
+	/**
+	 * Reads the object model of the record.
+	 *
+	 * @return The face BDIR.
+	 * @throws IOException If the record cannot be read.
+	 */
+	public FaceBDIR toBDIR() throws IOException {
+		try (DataInputStream inputStream = new DataInputStream(newInputStream())) {
+			return new FaceBDIR(inputStream);
+		}
+	}
+
+	public int getTemporalSemantics() {
+		return readUnsignedShort(15);
+	}
+
+	public int getNoOfLandMarkPoints() {
+		return readUnsignedShort(facialInformationOffset);
+	}
+
+	public int getGender() {
+		return readUnsignedByte(facialInformationOffset + 2);
+	}
+
+	public int getEyeColor() {
+		return readUnsignedByte(facialInformationOffset + 3);
+	}
+
+	public int getHairColor() {
+		return readUnsignedByte(facialInformationOffset + 4);
+	}
+
+	public int getSubjectHeight() {
+		return readUnsignedByte(facialInformationOffset + 5);
+	}
+
+	public int getFeaturesMask() {
+		return (readUnsignedByte(facialInformationOffset + 6) << 16) | readUnsignedShort(facialInformationOffset + 7);
+	}
+
+	public int getExpressionMask() {
+		return readUnsignedShort(facialInformationOffset + 9);
+	}
+
+	public int[] getPoseAngle() {
+		return new int[] { readUnsignedByte(facialInformationOffset + 11),
+				readUnsignedByte(facialInformationOffset + 12), readUnsignedByte(facialInformationOffset + 13) };
+	}
+
+	public int[] getPoseAngleUncertainty() {
+		return new int[] { readUnsignedByte(facialInformationOffset + 14),
+				readUnsignedByte(facialInformationOffset + 15), readUnsignedByte(facialInformationOffset + 16) };
+	}
+
+	public int getFaceImageType() {
+		return readUnsignedByte(imageInformationOffset);
+	}
+
+	public int getImageDataType() {
+		return readUnsignedByte(imageInformationOffset + 1);
+	}
+
+	public int getWidth() {
+		return readUnsignedShort(imageInformationOffset + 2);
+	}
+
+	public int getHeight() {
+		return readUnsignedShort(imageInformationOffset + 4);
+	}
+
+	public int getSpatialSamplingRateLevel() {
+		return readUnsignedByte(imageInformationOffset + 6);
+	}
+
+	public int getPostAcquistionProcessing() {
+		return readUnsignedShort(imageInformationOffset + 7);
+	}
+
+	public int getCrossReference() {
+		return readUnsignedByte(imageInformationOffset + 9);
+	}
+
+	public int getImageColorSpace() {
+		return readUnsignedByte(imageInformationOffset + 10);
+	}
+
+	/**
+	 * Writes the record into the buffer with its image replaced, copying the
+	 * other bytes verbatim and updating the image data type and the lengths.
+	 *
+	 * @param imageDataType The image data type of the new image, see
+	 *                      {@link ImageDataType}.
+	 * @param imageWriter   Writes the new image.
+	 * @param out           The buffer receiving the record from its position.
+	 * @return The length of the written record.
+	 * @throws IOException If the image cannot be written.
+	 */
+	public int writeWithImage(int imageDataType, ImageWriter imageWriter, ByteBuffer out) throws IOException {
+		return writeWithImage(imageInformationOffset + 1, imageDataType, imageWriter, out);
+	}
+
+	@Override
+	public String toString() {
+		return "\nFaceBDIRView [recordLength=" + getRecordLength() + ", imageDataType=" + getImageDataType()
+				+ ", width=" + getWidth() + ", height=" + getHeight() + ", imageLength=" + getImageLength() + "]\n";
+	}
+}
@@ -5,6 +5,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import io.mosip.biometrics.util.CommonUtil;
 import io.mosip.biometrics.util.ConvertRequestDto;
@@ -42,6 +43,34 @@ public class FaceDecoder {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Creates a read-only view of the ISO record of the request, which reads the
+	 * fields from the input bytes without copying the image.
+	 *
+	 * @param convertRequestDto The request holding the ISO record and its version.
+	 * @return The view of the record.
+	 * @throws IOException If the record is truncated.
+	 */
+	public static FaceBDIRView getFaceBDIRView(ConvertRequestDto convertRequestDto) throws IOException {
+		return getFaceBDIRView(ByteBuffer.wrap(convertRequestDto.getInputBytes()), convertRequestDto.getVersion());
+	}
+
+	/**
+	 * Creates a read-only view of an ISO record held in a heap, direct or
+	 * memory-mapped buffer, see {@link FaceBDIRView}.
+	 *
+	 * @param isoData The buffer holding the ISO record, from its position.
+	 * @param version The ISO version of the record.
+	 * @return The view of the record.
+	 * @throws IOException If the record is truncated.
+	 */
+	public static FaceBDIRView getFaceBDIRView(ByteBuffer isoData, String version) throws IOException {
+		if (ISO_VERSION.equals(version))
+			return new FaceBDIRView(isoData);
+
+		throw new UnsupportedOperationException();
+	}
+
 	@SuppressWarnings({ "java:S100", "unused" })
 	private static byte[] convertFaceISO19794_5_2011ToImage(byte[] isoData) throws Exception {
 		ImageData imageData = getFaceBDIRISO19794_5_2011(isoData, 0).getRepresentation().getRepresentationData()
@@ -57,8 +86,7 @@ public class FaceDecoder {
 
 	public static BufferedImage convertFaceISOToBufferedImage(ConvertRequestDto convertRequestDto) throws Exception {
 		if (convertRequestDto.getVersion().equals(ISO_VERSION)) {
-			FaceBDIR faceBDIR = getFaceBDIRISO19794_5_2011(convertRequestDto.getInputBytes(),
-					convertRequestDto.getOnlyImageInformation());
+			FaceBDIR faceBDIR = getFaceBDIRISO19794_5_2011(convertRequestDto.getInputBytes(), 0);
 			return ImageIO.read(new ByteArrayInputStream(
 					faceBDIR.getRepresentation().getRepresentationData().getImageData().getImage()));
 		}
@@ -67,8 +95,7 @@ public class FaceDecoder {
 
 	public static byte[] convertFaceISOToImageBytes(ConvertRequestDto convertRequestDto) throws Exception {
 		if (convertRequestDto.getVersion().equals(ISO_VERSION)) {
-			FaceBDIR faceBDIR = getFaceBDIRISO19794_5_2011(convertRequestDto.getInputBytes(),
-					convertRequestDto.getOnlyImageInformation());
+			FaceBDIR faceBDIR = getFaceBDIRISO19794_5_2011(convertRequestDto.getInputBytes(), 0);
 			int imageDataType = faceBDIR.getRepresentation().getRepresentationHeader().getImageInformation()
 					.getImageDataType();
 			if (imageDataType == ImageDataType.JPEG2000_LOSSY || imageDataType == ImageDataType.JPEG2000_LOSS_LESS)
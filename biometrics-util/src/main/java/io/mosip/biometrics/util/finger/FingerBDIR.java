@@ -1,9 +1,17 @@
 package io.mosip.biometrics.util.finger;
 
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
@@ -13,9 +21,12 @@ import io.mosip.biometrics.util.constant.BiometricUtilErrorCode;
 import io.mosip.biometrics.util.exception.BiometricUtilException;
 
 public class FingerBDIR extends AbstractImageInfo {
+	/* Initial size of the buffer holding the representations read from a stream */
+	private static final int MAX_INITIAL_BUFFER_SIZE = 1024 * 1024;
+
 	private GeneralHeader generalHeader;
 	private int representationIndex = 0;
-	private List<Representation> representation;
+	private List<RepresentationEntry> representation;
 
 	@SuppressWarnings({ "java:S107" })
 	public FingerBDIR(long formatIdentifier, long versionNumber, int certificationFlag, Date captureDate,
@@ -58,8 +69,30 @@ public class FingerBDIR extends AbstractImageInfo {
 		readObject(inputStream, onlyImageInformation);
 	}
 
+	/**
+	 * Reads the record held in the buffer from its position. The representations
+	 * of a multi representation record are indexed by offset in the buffer and
+	 * each is decoded from its slice when it is first accessed, so the buffer
+	 * must not be modified while the record is in use.
+	 *
+	 * @param record The buffer holding the record.
+	 * @throws IOException If the record is truncated.
+	 */
+	public FingerBDIR(ByteBuffer record) throws IOException {
+		ByteBuffer buffer = record.slice().order(ByteOrder.BIG_ENDIAN);
+		try (DataInputStream inputStream = new DataInputStream(newInputStream(buffer))) {
+			setGeneralHeader(new GeneralHeader(inputStream));
+			if (getGeneralHeader().getNoOfRepresentations() == 1)
+				setRepresentation(new Representation(inputStream, getGeneralHeader().getCertificationFlag()));
+		}
+		int generalHeaderLength = (int) getGeneralHeader().getRecordLength();
+		if (getGeneralHeader().getNoOfRepresentations() > 1)
+			indexRepresentations(buffer.slice(generalHeaderLength, buffer.limit() - generalHeaderLength),
+					getGeneralHeader().getNoOfRepresentations());
+	}
+
 	public long getRecordLength() {
-		return getGeneralHeader().getRecordLength() + (1 * getRepresentation().getRecordLength());
+		return getGeneralHeader().getRecordLength() + getRepresentationsLength();
 	}
 
 	@SuppressWarnings({ "unused" })
@@ -73,6 +106,8 @@ public class FingerBDIR extends AbstractImageInfo {
 		 */
 		if (noOfRepresentations == 1) 
 			setRepresentation(new Representation(inputStream, getGeneralHeader().getCertificationFlag()));
+		else if (noOfRepresentations > 1)
+			readRepresentations(inputStream, noOfRepresentations);
 	}
 
 	@Override
@@ -84,11 +119,116 @@ public class FingerBDIR extends AbstractImageInfo {
 		 */
 		if (noOfRepresentations == 1)
 			setRepresentation(new Representation(inputStream, getGeneralHeader().getCertificationFlag(), onlyImageInformation));
+		else if (noOfRepresentations > 1)
+			readRepresentations(inputStream, noOfRepresentations, onlyImageInformation);
+	}
+
+	/**
+	 * Reads the representations of a multi representation record from the stream
+	 * into a single buffer, using their length fields, and indexes them to decode
+	 * each one when it is first accessed.
+	 */
+	private void readRepresentations(DataInputStream inputStream, int noOfRepresentations) throws IOException {
+		byte[] bytes = new byte[Math.clamp(getGeneralHeader().getTotalRepresentationLength(), 0,
+				MAX_INITIAL_BUFFER_SIZE)];
+		int length = 0;
+		for (int index = 0; index < noOfRepresentations; index++) {
+			long representationLength = readRepresentationLength(inputStream);
+			if (length + representationLength > Integer.MAX_VALUE)
+				throw new IOException("Finger representations too long");
+			int end = (int) (length + representationLength);
+			if (end > bytes.length)
+				bytes = Arrays.copyOf(bytes, (int) Math.min(Integer.MAX_VALUE, Math.max(end, 2L * bytes.length)));
+			ByteBuffer.wrap(bytes, length, 4).putInt((int) representationLength);
+			inputStream.readFully(bytes, length + 4, end - length - 4);
+			length = end;
+		}
+		indexRepresentations(ByteBuffer.wrap(bytes, 0, length).slice(), noOfRepresentations);
+	}
+
+	/**
+	 * Indexes the representations held in the buffer in one scan using their
+	 * length fields, keeping each one as a slice of the buffer to decode it when
+	 * it is first accessed.
+	 */
+	private void indexRepresentations(ByteBuffer representations, int noOfRepresentations) throws IOException {
+		this.representation = new ArrayList<>(noOfRepresentations);
+		int offset = 0;
+		for (int index = 0; index < noOfRepresentations; index++) {
+			if (representations.limit() - offset < 4)
+				throw new EOFException("Finger representation " + index + " truncated");
+			long representationLength = checkRepresentationLength(representations.getInt(offset) & 0xFFFFFFFFL);
+			if (representationLength > representations.limit() - offset)
+				throw new EOFException("Finger representation " + index + " truncated");
+			representation.add(new RepresentationEntry(representations.slice(offset, (int) representationLength)));
+			offset += (int) representationLength;
+		}
+		this.representationIndex = noOfRepresentations;
+	}
+
+	/**
+	 * Reads the image information of each representation of a multi
+	 * representation record, seeking past the rest of each representation, so
+	 * that no image is read.
+	 */
+	private void readRepresentations(DataInputStream inputStream, int noOfRepresentations,
+			boolean onlyImageInformation) throws IOException {
+		if (!onlyImageInformation) {
+			readRepresentations(inputStream, noOfRepresentations);
+			return;
+		}
+
+		for (int index = 0; index < noOfRepresentations; index++) {
+			long representationLength = readRepresentationLength(inputStream);
+			RepresentationInputStream representationStream = new RepresentationInputStream(inputStream,
+					representationLength);
+			setRepresentation(new Representation(new DataInputStream(representationStream),
+					getGeneralHeader().getCertificationFlag(), true));
+			representationStream.skipRemaining();
+		}
+	}
+
+	private static long readRepresentationLength(DataInputStream inputStream) throws IOException {
+		return checkRepresentationLength(inputStream.readInt() & 0xFFFFFFFFL);
+	}
+
+	private static long checkRepresentationLength(long representationLength) throws IOException {
+		if (representationLength < 4 || representationLength > Integer.MAX_VALUE)
+			throw new IOException("Invalid finger representation length " + representationLength);
+		return representationLength;
+	}
+
+	private Representation decodeRepresentation(ByteBuffer encodedRepresentation) {
+		try (DataInputStream inputStream = new DataInputStream(newInputStream(encodedRepresentation))) {
+			return new Representation(inputStream, getGeneralHeader().getCertificationFlag());
+		} catch (IOException ex) {
+			throw new BiometricUtilException(BiometricUtilErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					BiometricUtilErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorMessage(), ex);
+		}
+	}
+
+	/**
+	 * Returns a stream over the remaining bytes of the buffer, reading its
+	 * backing array in place when it is accessible.
+	 */
+	private static InputStream newInputStream(ByteBuffer buffer) {
+		if (buffer.hasArray())
+			return new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(),
+					buffer.remaining());
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return new ByteArrayInputStream(bytes);
 	}
 
 	public void writeObject(DataOutputStream outputStream) throws IOException {
 		getGeneralHeader().writeObject(outputStream);
-		getRepresentation().writeObject(outputStream);
+		for (int index = 0; index < getRepresentationCount(); index++) {
+			ByteBuffer encodedRepresentation = representation.get(index).encoded;
+			if (encodedRepresentation == null)
+				getRepresentation(index).writeObject(outputStream);
+			else
+				newInputStream(encodedRepresentation).transferTo(outputStream);
+		}
 		outputStream.flush();
 	}
 
@@ -101,33 +241,48 @@ public class FingerBDIR extends AbstractImageInfo {
 	}
 
 	public Representation getRepresentation() {
-		if (Objects.isNull(this.representation))
-			throw new BiometricUtilException(BiometricUtilErrorCode.DATA_NULL_OR_EMPTY_EXCEPTION.getErrorCode(),
-					BiometricUtilErrorCode.DATA_NULL_OR_EMPTY_EXCEPTION.getErrorMessage());
-
-		return representation.get(0);
+		return getRepresentation(0);
 	}
 
+	/**
+	 * Returns a representation of the record, decoding it on first access when the
+	 * record holds several representations.
+	 *
+	 * @param representationIndex The index of the representation.
+	 * @return The representation.
+	 */
 	public Representation getRepresentation(int representationIndex) {
 		if (Objects.isNull(this.representation))
 			throw new BiometricUtilException(BiometricUtilErrorCode.DATA_NULL_OR_EMPTY_EXCEPTION.getErrorCode(),
 					BiometricUtilErrorCode.DATA_NULL_OR_EMPTY_EXCEPTION.getErrorMessage());
 
-		return representation.get(representationIndex);
+		RepresentationEntry entry = representation.get(representationIndex);
+		if (entry.encoded != null) {
+			entry.decoded = decodeRepresentation(entry.encoded);
+			entry.encoded = null;
+		}
+		return entry.decoded;
+	}
+
+	/**
+	 * Returns the number of representations held, without decoding them.
+	 */
+	public int getRepresentationCount() {
+		return Objects.isNull(this.representation) ? 0 : representation.size();
 	}
 
 	public void setRepresentation(Representation representation) {
 		if (Objects.isNull(this.representation))
 			this.representation = new ArrayList<>();
 
-		this.representation.add(representationIndex++, representation);
+		this.representation.add(representationIndex++, new RepresentationEntry(representation));
 	}
 
 	public void setRepresentation(Representation representation, int representationIndex) {
 		if (Objects.isNull(this.representation))
 			this.representation = new ArrayList<>();
 
-		this.representation.add(representationIndex, representation);
+		this.representation.add(representationIndex, new RepresentationEntry(representation));
 	}
 
 	public long getFormatIdentifier() {
@@ -191,7 +346,18 @@ public class FingerBDIR extends AbstractImageInfo {
 	}
 
 	public long getRepresentationsLength() {
-		return getRepresentation().getRecordLength();
+		if (getRepresentationCount() == 0)
+			return getRepresentation().getRecordLength();
+
+		long representationsLength = 0;
+		for (int index = 0; index < getRepresentationCount(); index++) {
+			ByteBuffer encodedRepresentation = representation.get(index).encoded;
+			if (encodedRepresentation != null)
+				representationsLength += encodedRepresentation.remaining();
+			else
+				representationsLength += getRepresentation(index).getRecordLength();
+		}
+		return representationsLength;
 	}
 
 	public int getNoOfQualityBlocks() {
@@ -282,6 +448,89 @@ public class FingerBDIR extends AbstractImageInfo {
 		return getRepresentation().getRepresentationBody().getImageData().getImage();
 	}
 
+	/**
+	 * A representation of the record, either decoded or, until it is first
+	 * accessed, encoded as a slice of the record.
+	 */
+	private static final class RepresentationEntry {
+		private ByteBuffer encoded;
+		private Representation decoded;
+
+		RepresentationEntry(Representation decoded) {
+			this.decoded = decoded;
+		}
+
+		RepresentationEntry(ByteBuffer encoded) {
+			this.encoded = encoded;
+		}
+
+		@Override
+		public String toString() {
+			return encoded != null ? "[encoded representation of " + encoded.remaining() + " bytes]"
+					: String.valueOf(decoded);
+		}
+	}
+
+	/**
+	 * Input stream limited to the remaining bytes of a representation, whose
+	 * length field is pushed back to be read again by the representation header.
+	 */
+	private static class RepresentationInputStream extends FilterInputStream {
+		private long remaining;
+
+		RepresentationInputStream(InputStream inputStream, long representationLength) throws IOException {
+			super(new PushbackInputStream(inputStream, 4));
+			this.remaining = representationLength;
+			((PushbackInputStream) in).unread(new byte[] { (byte) (representationLength >>> 24),
+					(byte) (representationLength >>> 16), (byte) (representationLength >>> 8),
+					(byte) representationLength });
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (remaining <= 0)
+				return -1;
+			int value = in.read();
+			if (value >= 0)
+				remaining--;
+			return value;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException {
+			if (remaining <= 0)
+				return -1;
+			int count = in.read(bytes, offset, (int) Math.min(length, remaining));
+			if (count > 0)
+				remaining -= count;
+			return count;
+		}
+
+		@Override
+		public long skip(long count) throws IOException {
+			long skipped = in.skip(Math.min(count, remaining));
+			remaining -= skipped;
+			return skipped;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return (int) Math.min(in.available(), remaining);
+		}
+
+		@Override
+		public void close() {
+			// The record stream is left open for the next representation
+		}
+
+		void skipRemaining() throws IOException {
+			while (remaining > 0) {
+				if (skip(remaining) <= 0 && read() < 0)
+					throw new EOFException();
+			}
+		}
+	}
+
 	@Override
 	public String toString() {
 		return "\nFingerBDIR [generalHeader=" + generalHeader + ", representation=" + representation + "]\n";
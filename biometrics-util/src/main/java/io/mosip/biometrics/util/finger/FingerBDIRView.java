@@ -0,0 +1,136 @@
+package io.mosip.biometrics.util.finger;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import io.mosip.biometrics.util.AbstractBDIRView;
+
+/**
+ * Read-only view of an ISO/IEC 19794-4:2011 finger image record held in a
+ * {@link ByteBuffer}, see {@link AbstractBDIRView}. The full object model of
+ * the record is available through {@link #toBDIR()}.
+ */
+public class FingerBDIRView extends AbstractBDIRView {
+	/* 4 + 4 + 4 + 2 + 1 + 1 (table 3 ISO/IEC 19794-4-2011) */
+	private static final int GENERAL_HEADER_LENGTH = 16;
+	/*
+	 * 1(FingerPosition) + 1(RepresentationNo) + 1(ScaleUnits) + 2 + 2 + 2 + 2
+	 * (SpatialSamplingRates) + 1(BitDepth) + 1(CompressionType) +
+	 * 1(ImpressionType) + 2 + 2 (LineLengths)
+	 */
+	private static final int IMAGE_INFORMATION_LENGTH = 18;
+
+	private final int imageInformationOffset;
+
+	/**
+	 * Creates a view of the finger image record starting at the position of the
+	 * buffer.
+	 *
+	 * @param record The buffer holding the record.
+	 * @throws IOException If the record is truncated.
+	 */
+	public FingerBDIRView(ByteBuffer record) throws IOException {
+		super(record, GENERAL_HEADER_LENGTH);
+
+		int offset = getQualityBlocksEndOffset();
+		if (getCertificationFlag() == FingerCertificationFlag.ONE) {
+			require(offset, 1);
+			offset += 1 + readUnsignedByte(offset) * 3;
+		}
+		require(offset, IMAGE_INFORMATION_LENGTH);
+		this.imageInformationOffset = offset;
+		setImageDataOffset(offset + IMAGE_INFORMATION_LENGTH);
+	}
+
+	/**
+	 * Reads the object model of the record.
+	 *
+	 * @return The finger BDIR.
+	 * @throws IOException If the record cannot be read.
+	 */
+	public FingerBDIR toBDIR() throws IOException {
+		try (DataInputStream inputStream = new DataInputStream(newInputStream())) {
+			return new FingerBDIR(inputStream);
+		}
+	}
+
+	public int getNoOfFingerPresent() {
+		return readUnsignedByte(15);
+	}
+
+	public int getNoOfCertificationBlocks() {
+		return getCertificationFlag() == FingerCertificationFlag.ONE
+				? readUnsignedByte(getQualityBlocksEndOffset())
+				: 0;
+	}
+
+	public int getFingerPosition() {
+		return readUnsignedByte(imageInformationOffset);
+	}
+
+	public int getRepresentationNo() {
+		return readUnsignedByte(imageInformationOffset + 1);
+	}
+
+	public int getScaleUnits() {
+		return readUnsignedByte(imageInformationOffset + 2);
+	}
+
+	public int getCaptureDeviceSpatialSamplingRateHorizontal() {
+		return readUnsignedShort(imageInformationOffset + 3);
+	}
+
+	public int getCaptureDeviceSpatialSamplingRateVertical() {
+		return readUnsignedShort(imageInformationOffset + 5);
+	}
+
+	public int getImageSpatialSamplingRateHorizontal() {
+		return readUnsignedShort(imageInformationOffset + 7);
+	}
+
+	public int getImageSpatialSamplingRateVertical() {
+		return readUnsignedShort(imageInformationOffset + 9);
+	}
+
+	public int getBitDepth() {
+		return readUnsignedByte(imageInformationOffset + 11);
+	}
+
+	public int getCompressionType() {
+		return readUnsignedByte(imageInformationOffset + 12);
+	}
+
+	public int getImpressionType() {
+		return readUnsignedByte(imageInformationOffset + 13);
+	}
+
+	public int getLineLengthHorizontal() {
+		return readUnsignedShort(imageInformationOffset + 14);
+	}
+
+	public int getLineLengthVertical() {
+		return readUnsignedShort(imageInformationOffset + 16);
+	}
+
+	/**
+	 * Writes the record into the buffer with its image replaced, copying the
+	 * other bytes verbatim and updating the compression type and the lengths.
+	 *
+	 * @param compressionType The compression type of the new image, see
+	 *                        {@link FingerImageCompressionType}.
+	 * @param imageWriter     Writes the new image.
+	 * @param out             The buffer receiving the record from its position.
+	 * @return The length of the written record.
+	 * @throws IOException If the image cannot be written.
+	 */
+	public int writeWithImage(int compressionType, ImageWriter imageWriter, ByteBuffer out) throws IOException {
+		return writeWithImage(imageInformationOffset + 12, compressionType, imageWriter, out);
+	}
+
+	@Override
+	public String toString() {
+		return "\nFingerBDIRView [recordLength=" + getRecordLength() + ", fingerPosition=" + getFingerPosition()
+				+ ", compressionType=" + getCompressionType() + ", imageLength=" + getImageLength() + "]\n";
+	}
+}
@@ -3,6 +3,8 @@ package io.mosip.biometrics.util.finger;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import javax.imageio.ImageIO;
 
@@ -18,14 +20,12 @@ public class FingerDecoder {
 
 	@SuppressWarnings({ "java:S100", "java:S112" })
 	private static FingerBDIR getFingerBDIRISO19794_4_2011(byte[] isoData, int onlyImageInformation) throws Exception {
+		if (onlyImageInformation != 1)
+			return new FingerBDIR(ByteBuffer.wrap(isoData));
+
 		try (ByteArrayInputStream bais = new ByteArrayInputStream(isoData);
 				DataInputStream inputStream = new DataInputStream(bais);) {
-			FingerBDIR fingerBDIR = null;
-			if (onlyImageInformation == 1)
-				fingerBDIR = new FingerBDIR(inputStream, true);
-			else
-				fingerBDIR = new FingerBDIR(inputStream);
-			return fingerBDIR;
+			return new FingerBDIR(inputStream, true);
 		}
 	}
 
@@ -37,10 +37,37 @@ public class FingerDecoder {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Creates a read-only view of the ISO record of the request, which reads the
+	 * fields from the input bytes without copying the image.
+	 *
+	 * @param convertRequestDto The request holding the ISO record and its version.
+	 * @return The view of the record.
+	 * @throws IOException If the record is truncated.
+	 */
+	public static FingerBDIRView getFingerBDIRView(ConvertRequestDto convertRequestDto) throws IOException {
+		return getFingerBDIRView(ByteBuffer.wrap(convertRequestDto.getInputBytes()), convertRequestDto.getVersion());
+	}
+
+	/**
+	 * Creates a read-only view of an ISO record held in a heap, direct or
+	 * memory-mapped buffer, see {@link FingerBDIRView}.
+	 *
+	 * @param isoData The buffer holding the ISO record, from its position.
+	 * @param version The ISO version of the record.
+	 * @return The view of the record.
+	 * @throws IOException If the record is truncated.
+	 */
+	public static FingerBDIRView getFingerBDIRView(ByteBuffer isoData, String version) throws IOException {
+		if (ISO_VERSION.equals(version))
+			return new FingerBDIRView(isoData);
+
+		throw new UnsupportedOperationException();
+	}
+
 	public static byte[] convertFingerISOToImageBytes(ConvertRequestDto convertRequestDto) throws Exception {
 		if (convertRequestDto.getVersion().equals(ISO_VERSION)) {
-			FingerBDIR fingerBDIR = getFingerBDIRISO19794_4_2011(convertRequestDto.getInputBytes(),
-					convertRequestDto.getOnlyImageInformation());
+			FingerBDIR fingerBDIR = getFingerBDIRISO19794_4_2011(convertRequestDto.getInputBytes(), 0);
 			int fingerImageCompressionType = fingerBDIR.getRepresentation().getRepresentationHeader()
 					.getCompressionType();
 			if (fingerImageCompressionType == FingerImageCompressionType.JPEG_2000_LOSSY
@@ -57,9 +84,8 @@ public class FingerDecoder {
 	public static BufferedImage convertFingerISOToBufferedImage(ConvertRequestDto convertRequestDto) throws Exception {
 		ImageData imageData = null;
 		if (convertRequestDto.getVersion().equals(ISO_VERSION)) {
-			imageData = getFingerBDIRISO19794_4_2011(convertRequestDto.getInputBytes(),
-					convertRequestDto.getOnlyImageInformation()).getRepresentation().getRepresentationBody()
-					.getImageData();
+			imageData = getFingerBDIRISO19794_4_2011(convertRequestDto.getInputBytes(), 0).getRepresentation()
+					.getRepresentationBody().getImageData();
 			return ImageIO.read(new ByteArrayInputStream(imageData.getImage()));
 		}
 		throw new UnsupportedOperationException();
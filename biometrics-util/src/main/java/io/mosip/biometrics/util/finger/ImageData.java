@@ -19,9 +19,8 @@ public class ImageData extends AbstractImageInfo {
 		readObject(inputStream);
 	}
 
-	@SuppressWarnings({ "java:S1172" })
 	public ImageData(DataInputStream inputStream, boolean onlyImageInformation) throws IOException {
-		readObject(inputStream);
+		readObject(inputStream, onlyImageInformation);
 	}
 
 	@Override
@@ -34,7 +33,14 @@ public class ImageData extends AbstractImageInfo {
 
 	@Override
 	protected void readObject(DataInputStream inputStream, boolean onlyImageInformation) throws IOException {
-		readObject(inputStream);
+		if (!onlyImageInformation) {
+			readObject(inputStream);
+			return;
+		}
+
+		setImageLength((inputStream.readInt() & 0xFFFFFFFFL)); /* 4 */
+		// Image not required so seeking past it, the image stays null
+		inputStream.skipNBytes(getImageLength());
 	}
 
 	@Override
@@ -0,0 +1,150 @@
+package io.mosip.biometrics.util.iris;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import io.mosip.biometrics.util.AbstractBDIRView;
+
+/**
+ * Read-only view of an ISO/IEC 19794-6:2011 iris image record held in a
+ * {@link ByteBuffer}, see {@link AbstractBDIRView}. The full object model of
+ * the record is available through {@link #toBDIR()}.
+ */
+public class IrisBDIRView extends AbstractBDIRView {
+	/* 4 + 4 + 4 + 2 + 1 + 1 (table 3 ISO/IEC 19794-6-2011) */
+	private static final int GENERAL_HEADER_LENGTH = 16;
+	/* 2(RepresentationNo) + 27(ImageInformation) */
+	private static final int IMAGE_INFORMATION_LENGTH = 2 + 27;
+
+	private final int imageInformationOffset;
+
+	/**
+	 * Creates a view of the iris image record starting at the position of the
+	 * buffer.
+	 *
+	 * @param record The buffer holding the record.
+	 * @throws IOException If the record is truncated.
+	 */
+	public IrisBDIRView(ByteBuffer record) throws IOException {
+		super(record, GENERAL_HEADER_LENGTH);
+
+		int offset = getQualityBlocksEndOffset();
+		require(offset, IMAGE_INFORMATION_LENGTH);
+		this.imageInformationOffset = offset + 2;
+		setImageDataOffset(offset + IMAGE_INFORMATION_LENGTH);
+	}
+
+	/**
+	 * Reads the object model of the record.
+	 *
+	 * @return The iris BDIR.
+	 * @throws IOException If the record cannot be read.
+	 */
+	public IrisBDIR toBDIR() throws IOException {
+		try (DataInputStream inputStream = new DataInputStream(newInputStream())) {
+			return new IrisBDIR(inputStream);
+		}
+	}
+
+	public int getNoOfEyesPresent() {
+		return readUnsignedByte(15);
+	}
+
+	public int getRepresentationNo() {
+		return readUnsignedShort(imageInformationOffset - 2);
+	}
+
+	public int getEyeLabel() {
+		return readUnsignedByte(imageInformationOffset);
+	}
+
+	public int getImageType() {
+		return readUnsignedByte(imageInformationOffset + 1);
+	}
+
+	public int getImageFormat() {
+		return readUnsignedByte(imageInformationOffset + 2);
+	}
+
+	public int getHorizontalOrientation() {
+		return readUnsignedByte(imageInformationOffset + 3) & 0x0003;
+	}
+
+	public int getVerticalOrientation() {
+		return (readUnsignedByte(imageInformationOffset + 3) & 0x000C) >> 2;
+	}
+
+	public int getCompressionType() {
+		return (readUnsignedByte(imageInformationOffset + 3) & 0x00C0) >> 6;
+	}
+
+	public int getWidth() {
+		return readUnsignedShort(imageInformationOffset + 4);
+	}
+
+	public int getHeight() {
+		return readUnsignedShort(imageInformationOffset + 6);
+	}
+
+	public int getBitDepth() {
+		return readUnsignedByte(imageInformationOffset + 8);
+	}
+
+	public int getRange() {
+		return readUnsignedShort(imageInformationOffset + 9);
+	}
+
+	public int getRollAngleOfEye() {
+		return readUnsignedShort(imageInformationOffset + 11);
+	}
+
+	public int getRollAngleUncertainty() {
+		return readUnsignedShort(imageInformationOffset + 13);
+	}
+
+	public int getIrisCenterSmallestX() {
+		return readUnsignedShort(imageInformationOffset + 15);
+	}
+
+	public int getIrisCenterLargestX() {
+		return readUnsignedShort(imageInformationOffset + 17);
+	}
+
+	public int getIrisCenterSmallestY() {
+		return readUnsignedShort(imageInformationOffset + 19);
+	}
+
+	public int getIrisCenterLargestY() {
+		return readUnsignedShort(imageInformationOffset + 21);
+	}
+
+	public int getIrisDiameterSmallest() {
+		return readUnsignedShort(imageInformationOffset + 23);
+	}
+
+	public int getIrisDiameterLargest() {
+		return readUnsignedShort(imageInformationOffset + 25);
+	}
+
+	/**
+	 * Writes the record into the buffer with its image replaced, copying the
+	 * other bytes verbatim and updating the image format and the lengths.
+	 *
+	 * @param imageFormat The image format of the new image, see
+	 *                    {@link ImageFormat}.
+	 * @param imageWriter Writes the new image.
+	 * @param out         The buffer receiving the record from its position.
+	 * @return The length of the written record.
+	 * @throws IOException If the image cannot be written.
+	 */
+	public int writeWithImage(int imageFormat, ImageWriter imageWriter, ByteBuffer out) throws IOException {
+		return writeWithImage(imageInformationOffset + 2, imageFormat, imageWriter, out);
+	}
+
+	@Override
+	public String toString() {
+		return "\nIrisBDIRView [recordLength=" + getRecordLength() + ", eyeLabel=" + getEyeLabel() + ", imageFormat="
+				+ getImageFormat() + ", imageLength=" + getImageLength() + "]\n";
+	}
+}
@@ -5,6 +5,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import io.mosip.biometrics.util.CommonUtil;
 import io.mosip.biometrics.util.ConvertRequestDto;
@@ -42,6 +43,34 @@ public class IrisDecoder {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Creates a read-only view of the ISO record of the request, which reads the
+	 * fields from the input bytes without copying the image.
+	 *
+	 * @param convertRequestDto The request holding the ISO record and its version.
+	 * @return The view of the record.
+	 * @throws IOException If the record is truncated.
+	 */
+	public static IrisBDIRView getIrisBDIRView(ConvertRequestDto convertRequestDto) throws IOException {
+		return getIrisBDIRView(ByteBuffer.wrap(convertRequestDto.getInputBytes()), convertRequestDto.getVersion());
+	}
+
+	/**
+	 * Creates a read-only view of an ISO record held in a heap, direct or
+	 * memory-mapped buffer, see {@link IrisBDIRView}.
+	 *
+	 * @param isoData The buffer holding the ISO record, from its position.
+	 * @param version The ISO version of the record.
+	 * @return The view of the record.
+	 * @throws IOException If the record is truncated.
+	 */
+	public static IrisBDIRView getIrisBDIRView(ByteBuffer isoData, String version) throws IOException {
+		if (ISO_VERSION.equals(version))
+			return new IrisBDIRView(isoData);
+
+		throw new UnsupportedOperationException();
+	}
+
 	@SuppressWarnings({ "java:S100", "unused" })
 	private static byte[] convertIrisISO19794_6_2011ToImage(byte[] isoData) throws Exception {
 		ImageData imageData = getIrisBDIRISO19794_6_2011(isoData, 0).getRepresentation().getRepresentationData()
@@ -57,8 +86,7 @@ public class IrisDecoder {
 
 	public static BufferedImage convertIrisISOToBufferedImage(ConvertRequestDto convertRequestDto) throws Exception {
 		if (convertRequestDto.getVersion().equals(ISO_VERSION)) {
-			IrisBDIR irisBDIR = getIrisBDIRISO19794_6_2011(convertRequestDto.getInputBytes(),
-					convertRequestDto.getOnlyImageInformation());
+			IrisBDIR irisBDIR = getIrisBDIRISO19794_6_2011(convertRequestDto.getInputBytes(), 0);
 			return ImageIO.read(new ByteArrayInputStream(
 					irisBDIR.getRepresentation().getRepresentationData().getImageData().getImage()));
 		}
@@ -67,8 +95,7 @@ public class IrisDecoder {
 
 	public static byte[] convertIrisISOToImageBytes(ConvertRequestDto convertRequestDto) throws Exception {
 		if (convertRequestDto.getVersion().equals(ISO_VERSION)) {
-			IrisBDIR irisBDIR = getIrisBDIRISO19794_6_2011(convertRequestDto.getInputBytes(),
-					convertRequestDto.getOnlyImageInformation());
+			IrisBDIR irisBDIR = getIrisBDIRISO19794_6_2011(convertRequestDto.getInputBytes(), 0);
 			int imageFormat = irisBDIR.getRepresentation().getRepresentationHeader().getImageInformation()
 					.getImageFormat();
 			if (imageFormat == ImageFormat.MONO_JPEG2000 || imageFormat == ImageFormat.RGB_JPEG2000)
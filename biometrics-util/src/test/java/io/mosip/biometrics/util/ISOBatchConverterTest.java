@@ -0,0 +1,282 @@
+package io.mosip.biometrics.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import io.mosip.biometrics.util.face.FaceRecordBuilder;
+import io.mosip.biometrics.util.face.ImageDataType;
+import io.mosip.biometrics.util.finger.FingerImageCompressionType;
+import io.mosip.biometrics.util.finger.FingerRecordBuilder;
+import io.mosip.biometrics.util.iris.ImageFormat;
+import io.mosip.biometrics.util.iris.IrisRecordBuilder;
+
+/**
+ * Unit tests for {@link ISOBatchConverter} class.
+ */
+class ISOBatchConverterTest {
+
+    /**
+     * Tests that ordered results are consumed in the order of the requests.
+     */
+    @Test
+    void convertOrderedConsumesResultsInRequestOrder() throws Exception {
+        List<ConvertResultDto> results = new ArrayList<>();
+
+        try (ISOBatchConverter converter = new ISOBatchConverter(4, 3)) {
+            converter.convert(IntStream.range(0, 20).mapToObj(ISOBatchConverterTest::createRequest), true,
+                    results::add);
+
+            assertEquals(20, converter.getStageTimings().getRecords());
+        }
+
+        assertEquals(20, results.size());
+        for (int index = 0; index < results.size(); index++) {
+            assertEquals(index, results.get(index).getIndex());
+            assertArrayEquals(createImage(index), results.get(index).getOutputBytes());
+        }
+    }
+
+    /**
+     * Tests that unordered results cover every request.
+     */
+    @Test
+    void convertUnorderedConsumesEveryResult() throws Exception {
+        Set<Long> indexes = new TreeSet<>();
+
+        try (ISOBatchConverter converter = new ISOBatchConverter(4, 3)) {
+            converter.convert(IntStream.range(0, 20).mapToObj(ISOBatchConverterTest::createRequest), false,
+                    result -> indexes.add(result.getIndex()));
+        }
+
+        assertEquals(20, indexes.size());
+    }
+
+    /**
+     * Tests that no more than maxInFlight requests are taken from the iterator
+     * ahead of the consumer.
+     */
+    @Test
+    void convertBoundsRequestsInFlight() throws Exception {
+        AtomicInteger taken = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        Iterator<ConvertRequestDto> requests = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return taken.get() < 50;
+            }
+
+            @Override
+            public ConvertRequestDto next() {
+                maxAhead.accumulateAndGet(taken.incrementAndGet() - consumed.get(), Math::max);
+                return createRequest(taken.get());
+            }
+        };
+
+        try (ISOBatchConverter converter = new ISOBatchConverter(2, 4)) {
+            converter.convert(requests, true, result -> consumed.incrementAndGet());
+        }
+
+        assertEquals(50, consumed.get());
+        assertTrue(maxAhead.get() <= 4);
+    }
+
+    /**
+     * Tests that a record which cannot be converted gives a failed result without
+     * stopping the batch.
+     */
+    @Test
+    void convertInvalidRecordReportsException() throws Exception {
+        ConvertRequestDto invalid = createRequest(1);
+        invalid.setVersion("UNSUPPORTED");
+        List<ConvertResultDto> results = new ArrayList<>();
+
+        try (ISOBatchConverter converter = new ISOBatchConverter(2, 2)) {
+            converter.convert(List.of(createRequest(0), invalid, createRequest(2)).iterator(), true, results::add);
+
+            assertEquals(2, converter.getStageTimings().getRecords());
+            assertEquals(1, converter.getStageTimings().getFailures());
+        }
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertInstanceOf(UnsupportedOperationException.class, results.get(1).getException());
+        assertTrue(results.get(2).isSuccess());
+    }
+
+    /**
+     * Tests that an error thrown while converting a record gives a failed result
+     * rather than leaving the caller waiting for it.
+     */
+    @Test
+    void convertErrorReportsThrowable() throws Exception {
+        ConvertRequestDto failing = new ConvertRequestDto() {
+            @Override
+            public String getModality() {
+                throw new AssertionError("modality");
+            }
+        };
+        List<ConvertResultDto> results = new ArrayList<>();
+
+        try (ISOBatchConverter converter = new ISOBatchConverter(2, 2)) {
+            converter.convert(List.of(createRequest(0), failing).iterator(), true, results::add);
+        }
+
+        assertEquals(2, results.size());
+        assertInstanceOf(AssertionError.class, results.get(1).getException());
+    }
+
+    /**
+     * Tests that when the consumer throws, the conversions already submitted
+     * have completed once the batch returns.
+     */
+    @Test
+    void convertThrowingConsumerAwaitsSubmittedRecords() throws Exception {
+        AtomicInteger taken = new AtomicInteger();
+        Iterator<ConvertRequestDto> requests = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return taken.get() < 20;
+            }
+
+            @Override
+            public ConvertRequestDto next() {
+                return createRequest(taken.getAndIncrement());
+            }
+        };
+
+        try (ISOBatchConverter converter = new ISOBatchConverter(2, 4)) {
+            assertThrows(IllegalStateException.class, () -> converter.convert(requests, true, result -> {
+                throw new IllegalStateException("consumer");
+            }));
+
+            assertEquals(taken.get(), converter.getStageTimings().getRecords());
+        }
+    }
+
+    /**
+     * Tests that a JPEG 2000 image is decoded and encoded to JPEG, timing both
+     * stages.
+     */
+    @Test
+    void convertJp2RecordEncodesJpeg() throws Exception {
+        ConvertRequestDto request = createRequest(FingerImageCompressionType.JPEG_2000_LOSS_LESS, createJp2Image());
+        List<ConvertResultDto> results = new ArrayList<>();
+
+        try (ISOBatchConverter converter = new ISOBatchConverter(1, 1)) {
+            converter.convert(List.of(request).iterator(), false, results::add);
+
+            assertTrue(converter.getStageTimings().getDecodeTime().toNanos() > 0);
+            assertTrue(converter.getStageTimings().getEncodeTime().toNanos() > 0);
+        }
+
+        byte[] outputBytes = results.get(0).getOutputBytes();
+        assertEquals((byte) 0xFF, outputBytes[0]);
+        assertEquals((byte) 0xD8, outputBytes[1]);
+    }
+
+    /**
+     * Tests that the images of iris and face records are taken from the records
+     * when they are not JPEG 2000.
+     */
+    @Test
+    void convertIrisAndFaceRecordsConsumeImages() throws Exception {
+        List<ConvertRequestDto> requests = List.of(
+                createRequest(Modality.Iris, "ISO19794_6_2011",
+                        new IrisRecordBuilder().imageFormat(ImageFormat.MONO_JPEG).image(createImage(0)).build()),
+                createRequest(Modality.Face, "ISO19794_5_2011",
+                        new FaceRecordBuilder().imageDataType(ImageDataType.JPEG).image(createImage(1)).build()));
+        List<ConvertResultDto> results = new ArrayList<>();
+
+        try (ISOBatchConverter converter = new ISOBatchConverter(2, 2)) {
+            converter.convert(requests.iterator(), true, results::add);
+
+            assertEquals(2, converter.getStageTimings().getRecords());
+            assertEquals(0, converter.getStageTimings().getFailures());
+        }
+
+        assertArrayEquals(createImage(0), results.get(0).getOutputBytes());
+        assertArrayEquals(createImage(1), results.get(1).getOutputBytes());
+    }
+
+    /**
+     * Tests that the JPEG 2000 images of iris and face records are encoded to
+     * JPEG.
+     */
+    @Test
+    void convertJp2IrisAndFaceRecordsEncodeJpeg() throws Exception {
+        byte[] jp2 = createJp2Image();
+        List<ConvertRequestDto> requests = List.of(
+                createRequest(Modality.Iris, "ISO19794_6_2011",
+                        new IrisRecordBuilder().imageFormat(ImageFormat.MONO_JPEG2000).image(jp2).build()),
+                createRequest(Modality.Face, "ISO19794_5_2011",
+                        new FaceRecordBuilder().imageDataType(ImageDataType.JPEG2000_LOSS_LESS).image(jp2).build()));
+        List<ConvertResultDto> results = new ArrayList<>();
+
+        try (ISOBatchConverter converter = new ISOBatchConverter(2, 2)) {
+            converter.convert(requests.iterator(), true, results::add);
+        }
+
+        assertEquals(2, results.size());
+        for (ConvertResultDto result : results) {
+            assertTrue(result.isSuccess());
+            assertEquals((byte) 0xFF, result.getOutputBytes()[0]);
+            assertEquals((byte) 0xD8, result.getOutputBytes()[1]);
+        }
+    }
+
+    private static byte[] createJp2Image() throws IOException {
+        BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_BYTE_GRAY);
+        ByteArrayOutputStream jp2 = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg2000", jp2);
+        return jp2.toByteArray();
+    }
+
+    private static byte[] createImage(int index) {
+        return new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) index, (byte) (index >> 8) };
+    }
+
+    private static ConvertRequestDto createRequest(int index) {
+        return createRequest(FingerImageCompressionType.JPEG_LOSSY, createImage(index));
+    }
+
+    private static ConvertRequestDto createRequest(int compressionType, byte[] image) {
+        try {
+            return createRequest(Modality.Finger, "ISO19794_4_2011", createFingerRecord(compressionType, image));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static ConvertRequestDto createRequest(Modality modality, String version, byte[] record) {
+        ConvertRequestDto request = new ConvertRequestDto();
+        request.setModality(modality.name());
+        request.setVersion(version);
+        request.setInputBytes(record);
+        return request;
+    }
+
+    private static byte[] createFingerRecord(int compressionType, byte[] image) throws IOException {
+        return new FingerRecordBuilder().compressionType(compressionType).size(16, 16).image(image).build();
+    }
+}
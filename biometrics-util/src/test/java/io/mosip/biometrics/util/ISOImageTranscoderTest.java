@@ -0,0 +1,193 @@
+package io.mosip.biometrics.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import io.mosip.biometrics.util.face.FaceBDIRView;
+import io.mosip.biometrics.util.face.FaceRecordBuilder;
+import io.mosip.biometrics.util.face.ImageDataType;
+import io.mosip.biometrics.util.finger.FingerBDIRView;
+import io.mosip.biometrics.util.finger.FingerImageCompressionType;
+import io.mosip.biometrics.util.finger.FingerRecordBuilder;
+import io.mosip.biometrics.util.iris.EyeLabel;
+import io.mosip.biometrics.util.iris.ImageFormat;
+import io.mosip.biometrics.util.iris.IrisBDIRView;
+import io.mosip.biometrics.util.iris.IrisRecordBuilder;
+
+/**
+ * Unit tests for {@link ISOImageTranscoder} class.
+ */
+class ISOImageTranscoderTest {
+    private static final byte[] COMMENT = { 0, 3, 0, 4, 'o', 'k' };
+
+    /**
+     * Tests that the JPEG 2000 image of a finger record is converted to PNG while
+     * the other bytes are copied verbatim and the lengths are updated.
+     */
+    @Test
+    void transcodeFingerJp2ToPngRewritesImageOnly() throws IOException {
+        byte[] record = createFingerRecord(FingerImageCompressionType.JPEG_2000_LOSS_LESS, createImage("jpeg2000"));
+        FingerBDIRView in = new FingerBDIRView(ByteBuffer.wrap(record));
+        ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+
+        int length = ISOImageTranscoder.transcode(ByteBuffer.wrap(record), Modality.Finger, ImageType.PNG, out);
+
+        assertEquals(length, out.position());
+        FingerBDIRView view = new FingerBDIRView(out.flip());
+        assertEquals(length, view.getRecordLength());
+        assertEquals(FingerImageCompressionType.PNG, view.getCompressionType());
+        assertEquals(in.getRepresentationLength() - in.getImageLength() + view.getImageLength(),
+                view.getRepresentationLength());
+        assertEquals(in.getCaptureDateTime(), view.getCaptureDateTime());
+        assertEquals(in.getLineLengthHorizontal(), view.getLineLengthHorizontal());
+        assertArrayEquals(COMMENT, Arrays.copyOfRange(out.array(), length - COMMENT.length, length));
+
+        BufferedImage image = ImageIO.read(view.getImageInputStream());
+        assertNotNull(image);
+        assertEquals(8, image.getWidth());
+    }
+
+    /**
+     * Tests that the JPEG 2000 image of an iris record is converted to PNG and
+     * read back from the transcoded record.
+     */
+    @Test
+    void transcodeIrisJp2ToPngRewritesImageOnly() throws IOException {
+        byte[] record = createIrisRecord(createImage("jpeg2000"));
+        IrisBDIRView in = new IrisBDIRView(ByteBuffer.wrap(record));
+        ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+
+        int length = ISOImageTranscoder.transcode(ByteBuffer.wrap(record), Modality.Iris, ImageType.PNG, out);
+
+        IrisBDIRView view = new IrisBDIRView(out.flip());
+        assertEquals(length, view.getRecordLength());
+        assertEquals(ImageFormat.MONO_PNG, view.getImageFormat());
+        assertEquals(in.getRepresentationLength() - in.getImageLength() + view.getImageLength(),
+                view.getRepresentationLength());
+        assertEquals(in.getEyeLabel(), view.getEyeLabel());
+        assertEquals(in.getIrisDiameterLargest(), view.getIrisDiameterLargest());
+
+        BufferedImage image = ImageIO.read(view.getImageInputStream());
+        assertNotNull(image);
+        assertEquals(8, image.getWidth());
+    }
+
+    /**
+     * Tests that the JPEG 2000 image of a face record is converted to JPEG and
+     * read back from the transcoded record.
+     */
+    @Test
+    void transcodeFaceJp2ToJpegRewritesImageOnly() throws IOException {
+        byte[] record = createFaceRecord(createImage("jpeg2000"));
+        FaceBDIRView in = new FaceBDIRView(ByteBuffer.wrap(record));
+        ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+
+        int length = ISOImageTranscoder.transcode(ByteBuffer.wrap(record), Modality.Face, ImageType.JPEG, out);
+
+        FaceBDIRView view = new FaceBDIRView(out.flip());
+        assertEquals(length, view.getRecordLength());
+        assertEquals(ImageDataType.JPEG, view.getImageDataType());
+        assertEquals(in.getRepresentationLength() - in.getImageLength() + view.getImageLength(),
+                view.getRepresentationLength());
+        assertEquals(in.getWidth(), view.getWidth());
+        assertEquals(in.getImageColorSpace(), view.getImageColorSpace());
+
+        BufferedImage image = ImageIO.read(view.getImageInputStream());
+        assertNotNull(image);
+        assertEquals(6, image.getHeight());
+    }
+
+    /**
+     * Tests that a record whose image is not JPEG 2000 is copied unchanged.
+     */
+    @Test
+    void transcodeFingerJpegCopiesRecord() throws IOException {
+        byte[] record = createFingerRecord(FingerImageCompressionType.JPEG_LOSSY, createImage("jpg"));
+        ByteBuffer out = ByteBuffer.allocate(record.length);
+
+        ISOImageTranscoder.transcode(ByteBuffer.wrap(record), Modality.Finger, ImageType.JPEG, out);
+
+        assertArrayEquals(record, out.array());
+    }
+
+    /**
+     * Tests that a too small output buffer is reported without moving its
+     * position.
+     */
+    @Test
+    void transcodeSmallBufferThrowsBufferOverflowException() throws IOException {
+        byte[] record = createFingerRecord(FingerImageCompressionType.JPEG_2000_LOSS_LESS, createImage("jpeg2000"));
+        ByteBuffer out = ByteBuffer.allocate(record.length / 2);
+        ByteBuffer isoRecord = ByteBuffer.wrap(record);
+
+        assertThrows(BufferOverflowException.class,
+                () -> ISOImageTranscoder.transcode(isoRecord, Modality.Finger, ImageType.JPEG, out));
+        assertEquals(0, out.position());
+    }
+
+    /**
+     * Tests that the Base64 streams give the same record as the buffer API.
+     */
+    @Test
+    void transcodeBase64StreamsMatchesBufferTranscode() throws IOException {
+        byte[] record = createFingerRecord(FingerImageCompressionType.JPEG_2000_LOSS_LESS, createImage("jpeg2000"));
+        ByteBuffer expected = ByteBuffer.allocate(64 * 1024);
+        int length = ISOImageTranscoder.transcode(ByteBuffer.wrap(record), Modality.Finger, ImageType.JPEG, expected);
+        ByteArrayOutputStream base64Out = new ByteArrayOutputStream();
+
+        ISOImageTranscoder.transcode(
+                new ByteArrayInputStream(CommonUtil.encodeToURLSafeBase64(record).getBytes(StandardCharsets.UTF_8)),
+                base64Out, Modality.Finger, ImageType.JPEG);
+
+        assertArrayEquals(Arrays.copyOf(expected.array(), length),
+                Base64.getUrlDecoder().decode(base64Out.toByteArray()));
+    }
+
+    /**
+     * Tests that an unsupported target image type is rejected.
+     */
+    @Test
+    void transcodeUnsupportedImageTypeThrowsException() throws IOException {
+        ByteBuffer isoRecord = ByteBuffer.wrap(createFingerRecord(FingerImageCompressionType.WSQ, new byte[] { 1 }));
+        ByteBuffer out = ByteBuffer.allocate(1024);
+
+        assertThrows(Exception.class,
+                () -> ISOImageTranscoder.transcode(isoRecord, Modality.Finger, ImageType.WEBP, out));
+    }
+
+    private static byte[] createImage(String format) throws IOException {
+        BufferedImage image = new BufferedImage(8, 6, BufferedImage.TYPE_BYTE_GRAY);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, format, bytes);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] createFingerRecord(int compressionType, byte[] image) throws IOException {
+        return new FingerRecordBuilder().compressionType(compressionType).size(8, 6).image(image).trailer(COMMENT)
+                .build();
+    }
+
+    private static byte[] createIrisRecord(byte[] image) throws IOException {
+        return new IrisRecordBuilder().eyeLabel(EyeLabel.RIGHT).size(8, 6).image(image).build();
+    }
+
+    private static byte[] createFaceRecord(byte[] image) throws IOException {
+        return new FaceRecordBuilder().size(8, 6).image(image).build();
+    }
+}
@@ -0,0 +1,74 @@
+package io.mosip.biometrics.util.face;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import io.mosip.biometrics.util.exception.BiometricUtilException;
+
+/**
+ * Unit tests for {@link FaceBDIRView} class.
+ */
+class FaceBDIRViewTest {
+    private static final byte[] IMAGE = { 11, 12, 13 };
+
+    /**
+     * Tests that the view reads the same fields as the object model, skipping
+     * the landmark points.
+     */
+    @Test
+    void viewFieldsMatchObjectModel() throws IOException {
+        FaceBDIRView view = FaceDecoder.getFaceBDIRView(ByteBuffer.wrap(createRecord(1, 2)), "ISO19794_5_2011");
+        FaceBDIR bdir = view.toBDIR();
+
+        assertEquals(bdir.getFormatIdentifier(), view.getFormatIdentifier());
+        assertEquals(bdir.getTemporalSemantics(), view.getTemporalSemantics());
+        assertEquals(bdir.getCaptureDateTime(), view.getCaptureDateTime());
+        assertEquals(bdir.getNoOfLandMarkPoints(), view.getNoOfLandMarkPoints());
+        assertEquals(bdir.getFeaturesMask(), view.getFeaturesMask());
+        assertEquals(bdir.getExpressionMask(), view.getExpressionMask());
+        assertArrayEquals(bdir.getPoseAngle(), view.getPoseAngle());
+        assertArrayEquals(bdir.getPoseAngleUncertainty(), view.getPoseAngleUncertainty());
+        assertEquals(bdir.getImageDataType(), view.getImageDataType());
+        assertEquals(bdir.getWidth(), view.getWidth());
+        assertEquals(bdir.getHeight(), view.getHeight());
+        assertEquals(bdir.getImageColorSpace(), view.getImageColorSpace());
+        assertArrayEquals(bdir.getImage(), toArray(view.getImage()));
+    }
+
+    /**
+     * Tests that a record without representation is rejected.
+     */
+    @Test
+    void noRepresentationThrowsException() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(createRecord(0, 0));
+
+        assertThrows(BiometricUtilException.class, () -> new FaceBDIRView(buffer));
+    }
+
+    /**
+     * Tests that an unsupported version is rejected.
+     */
+    @Test
+    void unsupportedVersionThrowsException() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(createRecord(1, 0));
+
+        assertThrows(UnsupportedOperationException.class, () -> FaceDecoder.getFaceBDIRView(buffer, "UNSUPPORTED"));
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] createRecord(int noOfRepresentations, int noOfLandmarkPoints) throws IOException {
+        return new FaceRecordBuilder().noOfRepresentations(noOfRepresentations)
+                .noOfLandmarkPoints(noOfLandmarkPoints).image(IMAGE).build();
+    }
+}
@@ -0,0 +1,93 @@
+package io.mosip.biometrics.util.face;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Builds ISO 19794-5:2011 face records holding one encoded representation for
+ * the tests, with fixed capture date, device and facial information fields and
+ * a configurable image.
+ */
+public final class FaceRecordBuilder {
+    private int noOfRepresentations = 1;
+    private int noOfLandmarkPoints;
+    private int imageDataType = ImageDataType.JPEG2000_LOSS_LESS;
+    private int width = 480;
+    private int height = 640;
+    private byte[] image = new byte[0];
+
+    /**
+     * Sets the representation count of the general header, the record still
+     * holds a single representation.
+     */
+    public FaceRecordBuilder noOfRepresentations(int noOfRepresentations) {
+        this.noOfRepresentations = noOfRepresentations;
+        return this;
+    }
+
+    public FaceRecordBuilder noOfLandmarkPoints(int noOfLandmarkPoints) {
+        this.noOfLandmarkPoints = noOfLandmarkPoints;
+        return this;
+    }
+
+    public FaceRecordBuilder imageDataType(int imageDataType) {
+        this.imageDataType = imageDataType;
+        return this;
+    }
+
+    public FaceRecordBuilder size(int width, int height) {
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public FaceRecordBuilder image(byte[] image) {
+        this.image = image;
+        return this;
+    }
+
+    public byte[] build() throws IOException {
+        int representationLength = 19 + 5 + 17 + noOfLandmarkPoints * 8 + 11 + 4 + image.length;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt((int) FaceFormatIdentifier.FORMAT_FAC);
+        out.writeInt((int) FaceVersionNumber.VERSION_030);
+        out.writeInt(17 + representationLength);
+        out.writeShort(noOfRepresentations);
+        out.writeByte(FaceCertificationFlag.UNSPECIFIED);
+        out.writeShort(0);
+
+        out.writeInt(representationLength);
+        out.writeShort(2022);
+        out.write(new byte[] { 1, 2, 3, 4, 5 });
+        out.writeShort(6);
+        out.writeByte(0);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeByte(1);
+        out.write(new byte[] { 70, 0, 1, 0, 2 });
+
+        out.writeShort(noOfLandmarkPoints);
+        out.write(new byte[] { 1, 2, 3, 4 });
+        out.writeByte(0);
+        out.writeShort(Features.GLASSES);
+        out.writeShort(2);
+        out.write(new byte[] { 10, 20, 30, 1, 2, 3 });
+        for (int index = 0; index < noOfLandmarkPoints; index++)
+            out.write(new byte[] { 1, (byte) index, 0, 10, 0, 20, 0, 0 });
+
+        out.writeByte(FaceImageType.FULL_FRONTAL);
+        out.writeByte(imageDataType);
+        out.writeShort(width);
+        out.writeShort(height);
+        out.writeByte(0);
+        out.writeShort(0);
+        out.writeByte(0);
+        out.writeByte(1);
+        out.writeInt(image.length);
+        out.write(image);
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
@@ -2,6 +2,7 @@ package io.mosip.biometrics.util.face;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertArrayEquals;
 import org.junit.Test;
@@ -58,6 +59,24 @@ public class ImageDataTest {
         assertTrue(imageData.getImageLength() > 0);
     }
 
+    /**
+     * Tests that the onlyImageInformation flag leaves the image unread and
+     * positions the stream after it
+     * @throws Exception if stream reading fails
+     */
+    @Test
+    public void constructorDataInputStreamWithImageInfoFlagSkipsImage() throws Exception {
+        byte[] testData = createImageDataStream();
+        ByteArrayInputStream bais = new ByteArrayInputStream(testData);
+        DataInputStream inputStream = new DataInputStream(bais);
+
+        ImageData imageData = new ImageData(inputStream, true);
+
+        assertEquals(createSampleImageData().length, imageData.getImageLength());
+        assertNull(imageData.getImage());
+        assertEquals(0, bais.available());
+    }
+
     /**
      * Tests getRecordLength method returns correct length
      */
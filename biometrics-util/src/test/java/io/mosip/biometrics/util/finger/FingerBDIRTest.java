@@ -0,0 +1,145 @@
+package io.mosip.biometrics.util.finger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import io.mosip.biometrics.util.ConvertRequestDto;
+
+/**
+ * Unit tests for {@link FingerBDIR} class.
+ */
+class FingerBDIRTest {
+    private static final byte[] LEFT_IMAGE = { 1, 2, 3 };
+    private static final byte[] RIGHT_IMAGE = { 4, 5, 6, 7, 8 };
+
+    /**
+     * Tests that each representation of a multi representation record is decoded
+     * on access, independently of the others.
+     */
+    @Test
+    void readObjectMultipleRepresentationsDecodesEachRepresentation() throws IOException {
+        FingerBDIR bdir = new FingerBDIR(toStream(createRecord()));
+
+        assertEquals(2, bdir.getRepresentationCount());
+        Representation right = bdir.getRepresentation(1);
+        assertEquals(FingerPosition.RIGHT_INDEX_FINGER, right.getRepresentationHeader().getFingerPosition());
+        assertArrayEquals(RIGHT_IMAGE, right.getRepresentationBody().getImageData().getImage());
+        assertEquals(FingerPosition.LEFT_INDEX_FINGER, bdir.getFingerPosition());
+        assertArrayEquals(LEFT_IMAGE, bdir.getImage());
+    }
+
+    /**
+     * Tests that the representations not decoded are written back verbatim.
+     */
+    @Test
+    void writeObjectMultipleRepresentationsWritesRecord() throws IOException {
+        byte[] record = createRecord();
+        FingerBDIR bdir = new FingerBDIR(toStream(record));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bdir.writeObject(new DataOutputStream(bytes));
+
+        assertEquals(record.length, bdir.getRecordLength());
+        assertArrayEquals(record, bytes.toByteArray());
+    }
+
+    /**
+     * Tests that representations appended to and inserted into a record read
+     * lazily from a buffer sit beside the representations not decoded yet.
+     */
+    @Test
+    void setRepresentationOnLazilyReadRecordKeepsEachRepresentation() throws IOException {
+        byte[] record = createRecord();
+        FingerBDIR bdir = new FingerBDIR(ByteBuffer.wrap(record));
+        byte[] thumb = new FingerRecordBuilder().fingerPosition(FingerPosition.RIGHT_THUMB).representationNo(3)
+                .image(new byte[] { 9 }).buildRepresentation();
+        byte[] little = new FingerRecordBuilder().fingerPosition(FingerPosition.LEFT_LITTLE_FINGER)
+                .representationNo(4).image(new byte[] { 10, 11 }).buildRepresentation();
+
+        bdir.setRepresentation(new Representation(toStream(thumb), FingerCertificationFlag.UNSPECIFIED));
+        bdir.setRepresentation(new Representation(toStream(little), FingerCertificationFlag.UNSPECIFIED), 0);
+
+        assertEquals(4, bdir.getRepresentationCount());
+        assertEquals(record.length - 16 + thumb.length + little.length, bdir.getRepresentationsLength());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bdir.writeObject(new DataOutputStream(bytes));
+        byte[] written = bytes.toByteArray();
+        assertArrayEquals(little, Arrays.copyOfRange(written, 16, 16 + little.length));
+        assertArrayEquals(Arrays.copyOfRange(record, 16, record.length),
+                Arrays.copyOfRange(written, 16 + little.length, 16 + little.length + record.length - 16));
+        assertArrayEquals(thumb, Arrays.copyOfRange(written, written.length - thumb.length, written.length));
+        assertEquals(FingerPosition.LEFT_LITTLE_FINGER, bdir.getRepresentation(0).getRepresentationHeader()
+                .getFingerPosition());
+        assertArrayEquals(LEFT_IMAGE, bdir.getRepresentation(1).getRepresentationBody().getImageData().getImage());
+        assertArrayEquals(RIGHT_IMAGE, bdir.getRepresentation(2).getRepresentationBody().getImageData().getImage());
+        assertEquals(FingerPosition.RIGHT_THUMB, bdir.getRepresentation(3).getRepresentationHeader()
+                .getFingerPosition());
+    }
+
+    /**
+     * Tests that a truncated representation is rejected while indexing a buffer.
+     */
+    @Test
+    void readBufferTruncatedRepresentationThrowsIOException() throws IOException {
+        byte[] record = createRecord();
+        ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(record, record.length - 2));
+
+        assertThrows(IOException.class, () -> new FingerBDIR(buffer));
+    }
+
+    /**
+     * Tests that the image information of every representation is read without
+     * the images.
+     */
+    @Test
+    void readObjectMultipleRepresentationsOnlyImageInformation() throws Exception {
+        ConvertRequestDto dto = new ConvertRequestDto();
+        dto.setVersion("ISO19794_4_2011");
+        dto.setInputBytes(createRecord());
+        dto.setOnlyImageInformation(1);
+
+        FingerBDIR bdir = FingerDecoder.getFingerBDIR(dto);
+
+        assertEquals(2, bdir.getRepresentationCount());
+        assertEquals(FingerPosition.RIGHT_INDEX_FINGER,
+                bdir.getRepresentation(1).getRepresentationHeader().getFingerPosition());
+        ImageData imageData = bdir.getRepresentation(1).getRepresentationBody().getImageData();
+        assertEquals(RIGHT_IMAGE.length, imageData.getImageLength());
+        assertNull(imageData.getImage());
+    }
+
+    /**
+     * Tests that a truncated representation is rejected while indexing.
+     */
+    @Test
+    void readObjectTruncatedRepresentationThrowsIOException() throws IOException {
+        byte[] record = createRecord();
+        DataInputStream inputStream = toStream(Arrays.copyOf(record, record.length - 2));
+
+        assertThrows(IOException.class, () -> new FingerBDIR(inputStream));
+    }
+
+    private static DataInputStream toStream(byte[] record) {
+        return new DataInputStream(new ByteArrayInputStream(record));
+    }
+
+    private static byte[] createRecord() throws IOException {
+        byte[] left = new FingerRecordBuilder().fingerPosition(FingerPosition.LEFT_INDEX_FINGER).representationNo(1)
+                .image(LEFT_IMAGE).buildRepresentation();
+        byte[] right = new FingerRecordBuilder().fingerPosition(FingerPosition.RIGHT_INDEX_FINGER)
+                .representationNo(2).image(RIGHT_IMAGE).buildRepresentation();
+        return FingerRecordBuilder.createRecord(FingerCertificationFlag.UNSPECIFIED, left, right);
+    }
+}
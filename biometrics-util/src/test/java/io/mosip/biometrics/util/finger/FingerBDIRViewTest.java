@@ -0,0 +1,85 @@
+package io.mosip.biometrics.util.finger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link FingerBDIRView} class.
+ */
+class FingerBDIRViewTest {
+    private static final byte[] IMAGE = { 9, 8, 7, 6, 5 };
+
+    /**
+     * Tests that the view reads the same fields as the object model, on a direct
+     * buffer.
+     */
+    @Test
+    void viewFieldsMatchObjectModel() throws IOException {
+        byte[] record = createRecord(FingerCertificationFlag.ONE);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(record.length).put(record).flip();
+
+        FingerBDIRView view = new FingerBDIRView(buffer);
+        FingerBDIR bdir = view.toBDIR();
+
+        assertEquals(bdir.getFormatIdentifier(), view.getFormatIdentifier());
+        assertEquals(bdir.getVersionNumber(), view.getVersionNumber());
+        assertEquals(record.length, view.getRecordLength());
+        assertEquals(bdir.getNoOfFingerPresent(), view.getNoOfFingerPresent());
+        assertEquals(bdir.getCaptureDateTime(), view.getCaptureDateTime());
+        assertEquals(bdir.getCaptureDeviceVendorIdentifier(), view.getCaptureDeviceVendorIdentifier());
+        assertEquals(bdir.getQualityBlocks()[0].getQualityScore(), view.getQualityScore(0));
+        assertEquals(bdir.getNoOfCertificationBlocks(), view.getNoOfCertificationBlocks());
+        assertEquals(bdir.getFingerPosition(), view.getFingerPosition());
+        assertEquals(bdir.getImageSpatialSamplingRateVertical(), view.getImageSpatialSamplingRateVertical());
+        assertEquals(bdir.getCompressionType(), view.getCompressionType());
+        assertEquals(bdir.getLineLengthHorizontal(), view.getLineLengthHorizontal());
+        assertEquals(bdir.getLineLengthVertical(), view.getLineLengthVertical());
+        assertEquals(IMAGE.length, view.getImageLength());
+        assertArrayEquals(bdir.getImage(), toArray(view.getImage()));
+    }
+
+    /**
+     * Tests that the image is a read-only slice of the record rather than a copy.
+     */
+    @Test
+    void imageIsSliceOfRecord() throws IOException {
+        byte[] record = createRecord(FingerCertificationFlag.UNSPECIFIED);
+        ByteBuffer image = FingerDecoder.getFingerBDIRView(ByteBuffer.wrap(record), "ISO19794_4_2011").getImage();
+
+        record[record.length - IMAGE.length] = 42;
+
+        assertTrue(image.isReadOnly());
+        assertEquals(42, image.get(0));
+    }
+
+    /**
+     * Tests that a truncated record is rejected when the view is created.
+     */
+    @Test
+    void truncatedRecordThrowsEofException() throws IOException {
+        byte[] record = createRecord(FingerCertificationFlag.UNSPECIFIED);
+        ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(record, record.length - 1));
+
+        assertThrows(EOFException.class, () -> new FingerBDIRView(buffer));
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] createRecord(int certificationFlag) throws IOException {
+        return new FingerRecordBuilder().certificationFlag(certificationFlag).samplingRateVertical(501).image(IMAGE)
+                .build();
+    }
+}
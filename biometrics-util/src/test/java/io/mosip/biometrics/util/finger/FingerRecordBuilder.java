@@ -0,0 +1,137 @@
+package io.mosip.biometrics.util.finger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Builds ISO 19794-4:2011 finger records for the tests, with fixed capture
+ * date, device and quality fields and a configurable image.
+ */
+public final class FingerRecordBuilder {
+    private int certificationFlag = FingerCertificationFlag.UNSPECIFIED;
+    private int fingerPosition = FingerPosition.RIGHT_INDEX_FINGER;
+    private int representationNo;
+    private int samplingRateVertical = 500;
+    private int compressionType = FingerImageCompressionType.JPEG_2000_LOSS_LESS;
+    private int width = 320;
+    private int height = 480;
+    private byte[] image = new byte[0];
+    private byte[] trailer = new byte[0];
+
+    /**
+     * Sets the certification flag, a representation of a record flagged
+     * {@link FingerCertificationFlag#ONE} holds one certification block.
+     */
+    public FingerRecordBuilder certificationFlag(int certificationFlag) {
+        this.certificationFlag = certificationFlag;
+        return this;
+    }
+
+    public FingerRecordBuilder fingerPosition(int fingerPosition) {
+        this.fingerPosition = fingerPosition;
+        return this;
+    }
+
+    public FingerRecordBuilder representationNo(int representationNo) {
+        this.representationNo = representationNo;
+        return this;
+    }
+
+    public FingerRecordBuilder samplingRateVertical(int samplingRateVertical) {
+        this.samplingRateVertical = samplingRateVertical;
+        return this;
+    }
+
+    public FingerRecordBuilder compressionType(int compressionType) {
+        this.compressionType = compressionType;
+        return this;
+    }
+
+    public FingerRecordBuilder size(int width, int height) {
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public FingerRecordBuilder image(byte[] image) {
+        this.image = image;
+        return this;
+    }
+
+    /**
+     * Sets the extended data written after the image.
+     */
+    public FingerRecordBuilder trailer(byte[] trailer) {
+        this.trailer = trailer;
+        return this;
+    }
+
+    /**
+     * Builds a record holding a single representation.
+     */
+    public byte[] build() throws IOException {
+        return createRecord(certificationFlag, buildRepresentation());
+    }
+
+    /**
+     * Builds the representation alone, to be combined with others by
+     * {@link #createRecord(int, byte[]...)}.
+     */
+    public byte[] buildRepresentation() throws IOException {
+        int certificationLength = certificationFlag == FingerCertificationFlag.ONE ? 1 + 3 : 0;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(19 + 5 + certificationLength + 18 + 4 + image.length + trailer.length);
+        out.writeShort(2024);
+        out.write(new byte[] { 5, 6, 7, 8, 9 });
+        out.writeShort(10);
+        out.writeByte(0);
+        out.writeShort(0x0102);
+        out.writeShort(0x0304);
+        out.writeByte(1);
+        out.write(new byte[] { 80, 0, 1, 0, 2 });
+        if (certificationFlag == FingerCertificationFlag.ONE) {
+            out.writeByte(1);
+            out.write(new byte[] { 0, 1, 2 });
+        }
+        out.writeByte(fingerPosition);
+        out.writeByte(representationNo);
+        out.writeByte(FingerScaleUnitType.PIXELS_PER_INCH);
+        out.writeShort(500);
+        out.writeShort(500);
+        out.writeShort(500);
+        out.writeShort(samplingRateVertical);
+        out.writeByte(FingerImageBitDepth.BPP_08);
+        out.writeByte(compressionType);
+        out.writeByte(FingerImpressionType.LIVE_SCAN_PLAIN);
+        out.writeShort(width);
+        out.writeShort(height);
+        out.writeInt(image.length);
+        out.write(image);
+        out.write(trailer);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Builds a record from the general header and the given representations.
+     */
+    public static byte[] createRecord(int certificationFlag, byte[]... representations) throws IOException {
+        int recordLength = 16;
+        for (byte[] representation : representations)
+            recordLength += representation.length;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(FingerFormatIdentifier.FORMAT_FIR);
+        out.writeInt(FingerVersionNumber.VERSION_020);
+        out.writeInt(recordLength);
+        out.writeShort(representations.length);
+        out.writeByte(certificationFlag);
+        out.writeByte(representations.length);
+        for (byte[] representation : representations)
+            out.write(representation);
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
@@ -5,10 +5,14 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class ImageDataTest {
@@ -58,6 +62,42 @@ public class ImageDataTest {
         assertNotNull(imageData);
     }
 
+    /**
+     * Tests that the onlyImageInformation flag keeps the image length, leaves the
+     * image unread and positions the stream after it
+     */
+    @Test
+    public void constructorDataInputStreamWithImageInfoFlagSkipsImage() throws Exception {
+        byte[] testImage = "Test".getBytes();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(createTestData(testImage));
+        baos.write(0x7F);
+        DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(baos.toByteArray()));
+
+        ImageData imageData = new ImageData(inputStream, true);
+
+        assertEquals(testImage.length, imageData.getImageLength());
+        assertNull(imageData.getImage());
+        assertEquals(0x7F, inputStream.readByte());
+    }
+
+    /**
+     * Benchmarks the header only decode of a small and a large image: the bytes
+     * read from the stream do not depend on the image size
+     */
+    @Test
+    public void constructorDataInputStreamWithImageInfoFlagCostIndependentOfImageSize() throws Exception {
+        CountingInputStream small = new CountingInputStream(createTestData(new byte[16]));
+        CountingInputStream large = new CountingInputStream(createTestData(new byte[8 * 1024 * 1024]));
+
+        new ImageData(new DataInputStream(small), true);
+        new ImageData(new DataInputStream(large), true);
+
+        assertEquals(4, small.getBytesRead());
+        assertEquals(small.getBytesRead(), large.getBytesRead());
+        assertEquals(0, large.available());
+    }
+
     /**
      * Tests getRecordLength method returns correct length
      */
@@ -154,4 +194,32 @@ public class ImageDataTest {
         System.arraycopy(imageData, 0, result, 4, imageData.length);
         return result;
     }
-}
\ No newline at end of file
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long bytesRead;
+
+        CountingInputStream(byte[] data) {
+            super(new ByteArrayInputStream(data));
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0)
+                bytesRead++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count > 0)
+                bytesRead += count;
+            return count;
+        }
+
+        long getBytesRead() {
+            return bytesRead;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.mosip.biometrics.util.iris;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import io.mosip.biometrics.util.ConvertRequestDto;
+
+/**
+ * Unit tests for {@link IrisBDIRView} class.
+ */
+class IrisBDIRViewTest {
+    private static final byte[] IMAGE = { 1, 2, 3, 4, 5, 6 };
+
+    /**
+     * Tests that the view reads the same fields as the object model.
+     */
+    @Test
+    void viewFieldsMatchObjectModel() throws IOException {
+        ConvertRequestDto dto = new ConvertRequestDto();
+        dto.setVersion("ISO19794_6_2011");
+        dto.setInputBytes(createRecord());
+
+        IrisBDIRView view = IrisDecoder.getIrisBDIRView(dto);
+        IrisBDIR bdir = view.toBDIR();
+
+        assertEquals(bdir.getFormatIdentifier(), view.getFormatIdentifier());
+        assertEquals(bdir.getNoOfEyesPresent(), view.getNoOfEyesPresent());
+        assertEquals(bdir.getCaptureDateTime(), view.getCaptureDateTime());
+        assertEquals(bdir.getQualityBlocks()[0].getQualityScore(), view.getQualityScore(0));
+        assertEquals(bdir.getRepresentationNo(), view.getRepresentationNo());
+        assertEquals(bdir.getEyeLabel(), view.getEyeLabel());
+        assertEquals(bdir.getImageFormat(), view.getImageFormat());
+        assertEquals(bdir.getHorizontalOrientation(), view.getHorizontalOrientation());
+        assertEquals(bdir.getVerticalOrientation(), view.getVerticalOrientation());
+        assertEquals(bdir.getCompressionType(), view.getCompressionType());
+        assertEquals(bdir.getWidth(), view.getWidth());
+        assertEquals(bdir.getHeight(), view.getHeight());
+        assertEquals(bdir.getIrisDiameterLargest(), view.getIrisDiameterLargest());
+        assertArrayEquals(bdir.getImage(), toArray(view.getImage()));
+    }
+
+    /**
+     * Tests that a view can be created at the position of a larger buffer.
+     */
+    @Test
+    void viewAtBufferPosition() throws IOException {
+        byte[] record = createRecord();
+        ByteBuffer buffer = ByteBuffer.allocate(record.length + 3);
+        buffer.position(3);
+        buffer.put(record).position(3);
+
+        IrisBDIRView view = new IrisBDIRView(buffer);
+
+        assertEquals(640, view.getWidth());
+        assertArrayEquals(IMAGE, toArray(view.getImage()));
+    }
+
+    /**
+     * Tests that a record whose image is truncated is rejected.
+     */
+    @Test
+    void truncatedImageThrowsEofException() throws IOException {
+        byte[] record = createRecord();
+        ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(record, record.length - 2));
+
+        assertThrows(EOFException.class, () -> new IrisBDIRView(buffer));
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] createRecord() throws IOException {
+        return new IrisRecordBuilder().image(IMAGE).build();
+    }
+}
@@ -0,0 +1,76 @@
+package io.mosip.biometrics.util.iris;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Builds ISO 19794-6:2011 iris records holding a single representation for the
+ * tests, with fixed capture date, device, quality and geometry fields and a
+ * configurable image.
+ */
+public final class IrisRecordBuilder {
+    private int eyeLabel = EyeLabel.LEFT;
+    private int imageFormat = ImageFormat.MONO_JPEG2000;
+    private int width = 640;
+    private int height = 480;
+    private byte[] image = new byte[0];
+
+    public IrisRecordBuilder eyeLabel(int eyeLabel) {
+        this.eyeLabel = eyeLabel;
+        return this;
+    }
+
+    public IrisRecordBuilder imageFormat(int imageFormat) {
+        this.imageFormat = imageFormat;
+        return this;
+    }
+
+    public IrisRecordBuilder size(int width, int height) {
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public IrisRecordBuilder image(byte[] image) {
+        this.image = image;
+        return this;
+    }
+
+    public byte[] build() throws IOException {
+        int representationLength = 19 + 5 + 2 + 27 + 4 + image.length;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(IrisFormatIdentifier.FORMAT_IIR);
+        out.writeInt(IrisVersionNumber.VERSION_020);
+        out.writeInt(16 + representationLength);
+        out.writeShort(1);
+        out.writeByte(IrisCertificationFlag.UNSPECIFIED);
+        out.writeByte(1);
+
+        out.writeInt(representationLength);
+        out.writeShort(2023);
+        out.write(new byte[] { 12, 31, 23, 59, 58 });
+        out.writeShort(999);
+        out.writeByte(0);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeByte(1);
+        out.write(new byte[] { 90, 0, 1, 0, 2 });
+        out.writeShort(1);
+
+        out.writeByte(eyeLabel);
+        out.writeByte(ImageType.CROPPED_AND_MASKED);
+        out.writeByte(imageFormat);
+        out.writeByte(1 | (1 << 2) | (2 << 6));
+        out.writeShort(width);
+        out.writeShort(height);
+        out.writeByte(8);
+        for (int field = 0; field < 9; field++)
+            out.writeShort(field + 1);
+        out.writeInt(image.length);
+        out.write(image);
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
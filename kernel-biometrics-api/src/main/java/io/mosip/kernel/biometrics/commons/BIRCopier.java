@@ -0,0 +1,170 @@
+package io.mosip.kernel.biometrics.commons;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import io.mosip.kernel.biometrics.constant.QualityType;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BIRInfo;
+import io.mosip.kernel.biometrics.entities.RegistryIDType;
+import io.mosip.kernel.biometrics.entities.SBInfo;
+import io.mosip.kernel.biometrics.entities.VersionType;
+
+/**
+ * Deep copies of BIR trees and their headers.
+ *
+ * <p>
+ * Caches holding parsed records hand out copies made here, so that callers can
+ * modify what they receive without affecting the cached record or other
+ * callers. Every mutable part is copied: nested records, header objects, lists,
+ * maps and byte arrays. Enum and date values are immutable and shared.
+ * </p>
+ */
+public final class BIRCopier {
+
+	private BIRCopier() {
+		throw new IllegalStateException("BIRCopier class");
+	}
+
+	/**
+	 * Copies a BIR together with its nested BIRs. A lazily held payload is
+	 * decoded by the copy.
+	 *
+	 * @param bir The BIR to copy, may be {@code null}.
+	 * @return The copy, or {@code null}.
+	 */
+	public static BIR copy(BIR bir) {
+		BIR copy = copyWithoutBdb(bir);
+		if (copy != null) {
+			copy.setBdb(copy(bir.getBdb()));
+		}
+		return copy;
+	}
+
+	/**
+	 * Copies a BIR together with its nested BIRs, leaving out its own BDB, for
+	 * callers holding the BDB separately.
+	 *
+	 * @param bir The BIR to copy, may be {@code null}.
+	 * @return The copy without BDB, or {@code null}.
+	 */
+	public static BIR copyWithoutBdb(BIR bir) {
+		if (bir == null) {
+			return null;
+		}
+		BIR copy = new BIR();
+		copy.setVersion(copy(bir.getVersion()));
+		copy.setCbeffversion(copy(bir.getCbeffversion()));
+		copy.setBirInfo(copy(bir.getBirInfo()));
+		copy.setBdbInfo(copy(bir.getBdbInfo()));
+		copy.setSbInfo(copy(bir.getSbInfo()));
+		copy.setSb(copy(bir.getSb()));
+		copy.setOthers(bir.getOthers() != null ? new HashMap<>(bir.getOthers()) : null);
+		if (bir.getBirs() != null) {
+			copy.setBirs(copy(bir.getBirs()));
+		}
+		return copy;
+	}
+
+	/**
+	 * Copies a list of BIRs together with their nested BIRs.
+	 *
+	 * @param birs The BIRs to copy, may be {@code null}.
+	 * @return A new modifiable list of copies, or {@code null}.
+	 */
+	public static List<BIR> copy(List<BIR> birs) {
+		if (birs == null) {
+			return null;
+		}
+		List<BIR> copies = new ArrayList<>(birs.size());
+		for (BIR bir : birs) {
+			copies.add(copy(bir));
+		}
+		return copies;
+	}
+
+	/**
+	 * Copies a BIRInfo header.
+	 *
+	 * @param birInfo The header to copy, may be {@code null}.
+	 * @return The copy, or {@code null}.
+	 */
+	public static BIRInfo copy(BIRInfo birInfo) {
+		if (birInfo == null) {
+			return null;
+		}
+		BIRInfo copy = new BIRInfo();
+		copy.setCreator(birInfo.getCreator());
+		copy.setIndex(birInfo.getIndex());
+		copy.setPayload(copy(birInfo.getPayload()));
+		copy.setIntegrity(birInfo.getIntegrity());
+		copy.setCreationDate(birInfo.getCreationDate());
+		copy.setNotValidBefore(birInfo.getNotValidBefore());
+		copy.setNotValidAfter(birInfo.getNotValidAfter());
+		return copy;
+	}
+
+	/**
+	 * Copies a BDBInfo header.
+	 *
+	 * @param bdbInfo The header to copy, may be {@code null}.
+	 * @return The copy, or {@code null}.
+	 */
+	public static BDBInfo copy(BDBInfo bdbInfo) {
+		if (bdbInfo == null) {
+			return null;
+		}
+		BDBInfo copy = new BDBInfo();
+		copy.setChallengeResponse(copy(bdbInfo.getChallengeResponse()));
+		copy.setIndex(bdbInfo.getIndex());
+		copy.setFormat(copy(bdbInfo.getFormat()));
+		copy.setEncryption(bdbInfo.getEncryption());
+		copy.setCreationDate(bdbInfo.getCreationDate());
+		copy.setNotValidBefore(bdbInfo.getNotValidBefore());
+		copy.setNotValidAfter(bdbInfo.getNotValidAfter());
+		copy.setType(bdbInfo.getType() != null ? new ArrayList<>(bdbInfo.getType()) : null);
+		copy.setSubtype(bdbInfo.getSubtype() != null ? new ArrayList<>(bdbInfo.getSubtype()) : null);
+		copy.setLevel(bdbInfo.getLevel());
+		copy.setProduct(copy(bdbInfo.getProduct()));
+		copy.setCaptureDevice(copy(bdbInfo.getCaptureDevice()));
+		copy.setFeatureExtractionAlgorithm(copy(bdbInfo.getFeatureExtractionAlgorithm()));
+		copy.setComparisonAlgorithm(copy(bdbInfo.getComparisonAlgorithm()));
+		copy.setCompressionAlgorithm(copy(bdbInfo.getCompressionAlgorithm()));
+		copy.setPurpose(bdbInfo.getPurpose());
+		if (bdbInfo.getQuality() != null) {
+			QualityType quality = bdbInfo.getQuality();
+			copy.setQuality(new QualityType(copy(quality.getAlgorithm()), quality.getScore(),
+					quality.getQualityCalculationFailed()));
+		}
+		return copy;
+	}
+
+	/**
+	 * Copies an SBInfo header.
+	 *
+	 * @param sbInfo The header to copy, may be {@code null}.
+	 * @return The copy, or {@code null}.
+	 */
+	public static SBInfo copy(SBInfo sbInfo) {
+		if (sbInfo == null) {
+			return null;
+		}
+		SBInfo copy = new SBInfo();
+		copy.setFormat(copy(sbInfo.getFormat()));
+		return copy;
+	}
+
+	private static VersionType copy(VersionType version) {
+		return version != null ? new VersionType(version.getMajor(), version.getMinor()) : null;
+	}
+
+	private static RegistryIDType copy(RegistryIDType registryId) {
+		return registryId != null ? new RegistryIDType(registryId.getOrganization(), registryId.getType()) : null;
+	}
+
+	private static byte[] copy(byte[] bytes) {
+		return bytes != null ? bytes.clone() : null;
+	}
+}
@@ -0,0 +1,307 @@
+package io.mosip.kernel.biometrics.commons;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.SingleAnySubtypeType;
+
+/**
+ * Immutable lookup index over the child BIRs of a parsed CBEFF record.
+ *
+ * <p>
+ * The index is built in a single pass over {@code birRoot.getBirs()} and keyed
+ * by biometric type, subtype and BDB format type, where each part of the key
+ * can also be left out to match any value. A query is a single hash lookup
+ * instead of a scan of every record, so the same record can be queried per
+ * modality and subtype without paying for the scan each time.
+ * </p>
+ *
+ * <p>
+ * Records of every bucket are kept in ascending order of their BDB creation
+ * date (document order for equal dates), which makes selecting the latest
+ * record a constant time operation.
+ * </p>
+ *
+ * <p>
+ * Only records having a {@link BDBInfo} with a format are indexed. The index
+ * reflects the record headers at the time it was built; it is not updated when
+ * the underlying BIR tree is modified afterwards.
+ * </p>
+ */
+public final class BIRIndex {
+
+	private static final Comparator<Entry> BY_CREATION_DATE = Comparator.comparingLong(Entry::getCreationTime);
+
+	private final int size;
+
+	private final Map<Key, List<Entry>> buckets;
+
+	private BIRIndex(int size, Map<Key, List<Entry>> buckets) {
+		this.size = size;
+		this.buckets = buckets;
+	}
+
+	/**
+	 * Builds the index over the child BIRs of the given record.
+	 *
+	 * @param birRoot The parsed CBEFF record, may be {@code null}.
+	 * @return The index, empty if the record has no child BIRs.
+	 */
+	public static BIRIndex of(BIR birRoot) {
+		if (birRoot == null || birRoot.getBirs() == null || birRoot.getBirs().isEmpty()) {
+			return new BIRIndex(0, Collections.emptyMap());
+		}
+
+		Map<Key, List<Entry>> buckets = new HashMap<>();
+		int size = 0;
+		for (BIR bir : birRoot.getBirs()) {
+			Entry entry = Entry.of(bir);
+			if (entry == null) {
+				continue;
+			}
+			size++;
+
+			List<BiometricType> types = new ArrayList<>(entry.types);
+			types.add(null);
+			List<SingleAnySubtypeType> subtypes = new ArrayList<>(entry.subtypes);
+			subtypes.add(null);
+			for (BiometricType type : types) {
+				for (SingleAnySubtypeType subtype : subtypes) {
+					add(buckets, new Key(type, subtype, null), entry);
+					if (entry.formatType != null) {
+						add(buckets, new Key(type, subtype, entry.formatType), entry);
+					}
+				}
+			}
+		}
+
+		for (Map.Entry<Key, List<Entry>> bucket : buckets.entrySet()) {
+			List<Entry> entries = bucket.getValue();
+			// stable sort, records with the same creation date stay in document order
+			entries.sort(BY_CREATION_DATE);
+			bucket.setValue(Collections.unmodifiableList(entries));
+		}
+		return new BIRIndex(size, buckets);
+	}
+
+	/**
+	 * Returns the number of indexed records.
+	 *
+	 * @return The number of child BIRs having a BDBInfo with a format.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the records matching the given biometric type, subtype and format
+	 * type, oldest first. A {@code null} argument matches any value.
+	 *
+	 * @param type       The biometric type, or {@code null} for any.
+	 * @param subtype    A subtype the record must contain, or {@code null} for any.
+	 * @param formatType The BDB format type, or {@code null} for any.
+	 * @return The matching records in ascending order of creation date.
+	 */
+	public List<BIR> find(BiometricType type, SingleAnySubtypeType subtype, Long formatType) {
+		List<Entry> entries = entries(type, subtype, formatType);
+		List<BIR> birs = new ArrayList<>(entries.size());
+		for (Entry entry : entries) {
+			birs.add(entry.bir);
+		}
+		return birs;
+	}
+
+	/**
+	 * Returns the most recently created record matching the given biometric type,
+	 * subtype and format type. A {@code null} argument matches any value.
+	 *
+	 * @param type       The biometric type, or {@code null} for any.
+	 * @param subtype    A subtype the record must contain, or {@code null} for any.
+	 * @param formatType The BDB format type, or {@code null} for any.
+	 * @return The latest matching record, or empty if none matches.
+	 */
+	public Optional<BIR> latest(BiometricType type, SingleAnySubtypeType subtype, Long formatType) {
+		List<Entry> entries = entries(type, subtype, formatType);
+		return entries.isEmpty() ? Optional.empty() : Optional.of(entries.get(entries.size() - 1).bir);
+	}
+
+	List<Entry> entries(BiometricType type, SingleAnySubtypeType subtype, Long formatType) {
+		return buckets.getOrDefault(new Key(type, subtype, formatType), Collections.emptyList());
+	}
+
+	private static void add(Map<Key, List<Entry>> buckets, Key key, Entry entry) {
+		buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+	}
+
+	/**
+	 * Header values of an indexed record, extracted once when the index is built
+	 * together with the labels used to build the result keys of
+	 * {@link CbeffValidator}.
+	 */
+	static final class Entry {
+
+		private final BIR bir;
+
+		private final Set<BiometricType> types;
+
+		private final Set<SingleAnySubtypeType> subtypes;
+
+		private final Long formatType;
+
+		private final long creationTime;
+
+		/** First biometric type as string, {@code null} if the record has none. */
+		private final String firstType;
+
+		/** Biometric type names joined by spaces. */
+		private final String typeNames;
+
+		/** Subtypes joined by spaces. */
+		private final String subtypeLabel;
+
+		/** Format type as written in the record. */
+		private final String formatLabel;
+
+		/** Format type as number, or as written if it is not numeric. */
+		private final String formatNumber;
+
+		private Entry(BIR bir, BDBInfo bdbInfo) {
+			this.bir = bir;
+
+			List<BiometricType> typeList = bdbInfo.getType() != null ? bdbInfo.getType() : Collections.emptyList();
+			this.types = new LinkedHashSet<>(typeList);
+			this.types.remove(null);
+			this.firstType = typeList.isEmpty() || typeList.get(0) == null ? null : typeList.get(0).toString();
+			List<String> names = new ArrayList<>(typeList.size());
+			for (BiometricType type : typeList) {
+				if (type != null) {
+					names.add(type.name());
+				}
+			}
+			this.typeNames = String.join(" ", names);
+
+			List<String> subtypeList = bdbInfo.getSubtype() != null ? bdbInfo.getSubtype() : Collections.emptyList();
+			this.subtypes = new LinkedHashSet<>();
+			for (String value : subtypeList) {
+				SingleAnySubtypeType subtype = toSubtype(value);
+				if (subtype != null) {
+					this.subtypes.add(subtype);
+				}
+			}
+			this.subtypeLabel = String.join(" ", subtypeList);
+
+			this.formatLabel = bdbInfo.getFormat().getType();
+			this.formatType = parseFormat(formatLabel);
+			this.formatNumber = formatType != null ? Long.toString(formatType) : formatLabel;
+
+			this.creationTime = bdbInfo.getCreationDate() != null
+					? bdbInfo.getCreationDate().toInstant(ZoneOffset.UTC).toEpochMilli()
+					: Long.MIN_VALUE;
+		}
+
+		static Entry of(BIR bir) {
+			if (bir == null || bir.getBdbInfo() == null || bir.getBdbInfo().getFormat() == null) {
+				return null;
+			}
+			return new Entry(bir, bir.getBdbInfo());
+		}
+
+		/** Subtypes are matched on their exact value, as stored in the record. */
+		private static SingleAnySubtypeType toSubtype(String value) {
+			if (value == null || value.isEmpty()) {
+				return null;
+			}
+			try {
+				SingleAnySubtypeType subtype = SingleAnySubtypeType.fromValue(value);
+				return subtype.value().equals(value) ? subtype : null;
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+		}
+
+		private static Long parseFormat(String value) {
+			if (value == null) {
+				return null;
+			}
+			try {
+				return Long.parseLong(value.trim());
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+
+		BIR getBir() {
+			return bir;
+		}
+
+		long getCreationTime() {
+			return creationTime;
+		}
+
+		String getFirstType() {
+			return firstType;
+		}
+
+		String getTypeNames() {
+			return typeNames;
+		}
+
+		String getSubtypeLabel() {
+			return subtypeLabel;
+		}
+
+		String getFormatLabel() {
+			return formatLabel;
+		}
+
+		String getFormatNumber() {
+			return formatNumber;
+		}
+	}
+
+	private static final class Key {
+
+		private final BiometricType type;
+
+		private final SingleAnySubtypeType subtype;
+
+		private final Long formatType;
+
+		private final int hash;
+
+		Key(BiometricType type, SingleAnySubtypeType subtype, Long formatType) {
+			this.type = type;
+			this.subtype = subtype;
+			this.formatType = formatType;
+			this.hash = Objects.hash(type, subtype, formatType);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key other)) {
+				return false;
+			}
+			return type == other.type && subtype == other.subtype && Objects.equals(formatType, other.formatType);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package io.mosip.kernel.biometrics.commons;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * Bounded pool of JAXB {@link Marshaller} and {@link Unmarshaller} instances
+ * for the CBEFF {@code BIR} context.
+ *
+ * <p>
+ * Marshallers and unmarshallers are not thread-safe but are costly to set up,
+ * so instead of creating one per call they are borrowed from this pool and
+ * returned after use. When the pool is empty a new instance is created; when
+ * it is full a returned instance is simply dropped, so the pool never blocks
+ * and never holds more than {@link #CAPACITY} idle instances of each kind.
+ * </p>
+ *
+ * <p>
+ * Only the reuse statistics are public, so that the pool hit rate can be
+ * monitored alongside {@link CbeffSchemaCache}.
+ * </p>
+ */
+public final class CbeffMarshallerPool {
+
+	/** Maximum number of idle instances kept per kind. */
+	static final int CAPACITY = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+	private static final BlockingQueue<Marshaller> MARSHALLERS = new ArrayBlockingQueue<>(CAPACITY);
+
+	private static final BlockingQueue<Unmarshaller> UNMARSHALLERS = new ArrayBlockingQueue<>(CAPACITY);
+
+	private static final LongAdder REUSED = new LongAdder();
+
+	private static final LongAdder CREATED = new LongAdder();
+
+	private CbeffMarshallerPool() {
+		throw new IllegalStateException("CbeffMarshallerPool class");
+	}
+
+	/**
+	 * Borrows a marshaller configured for formatted UTF-8 output.
+	 */
+	static Marshaller borrowMarshaller() throws JAXBException {
+		Marshaller marshaller = MARSHALLERS.poll();
+		if (marshaller != null) {
+			REUSED.increment();
+			return marshaller;
+		}
+		CREATED.increment();
+		marshaller = CbeffValidator.BIR_CONTEXT.createMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+		marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+		return marshaller;
+	}
+
+	static void release(Marshaller marshaller) {
+		if (marshaller != null) {
+			MARSHALLERS.offer(marshaller);
+		}
+	}
+
+	static Unmarshaller borrowUnmarshaller() throws JAXBException {
+		Unmarshaller unmarshaller = UNMARSHALLERS.poll();
+		if (unmarshaller != null) {
+			REUSED.increment();
+			return unmarshaller;
+		}
+		CREATED.increment();
+		return CbeffValidator.BIR_CONTEXT.createUnmarshaller();
+	}
+
+	static void release(Unmarshaller unmarshaller) {
+		if (unmarshaller != null) {
+			UNMARSHALLERS.offer(unmarshaller);
+		}
+	}
+
+	/**
+	 * Returns the number of borrows served by a pooled instance.
+	 *
+	 * @return The pool reuse count.
+	 */
+	public static long getReusedCount() {
+		return REUSED.sum();
+	}
+
+	/**
+	 * Returns the number of instances created because the pool was empty.
+	 *
+	 * @return The pool creation count.
+	 */
+	public static long getCreatedCount() {
+		return CREATED.sum();
+	}
+}
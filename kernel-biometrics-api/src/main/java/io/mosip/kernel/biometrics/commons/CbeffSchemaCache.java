@@ -0,0 +1,167 @@
+package io.mosip.kernel.biometrics.commons;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
+
+import org.xml.sax.SAXException;
+
+/**
+ * Thread-safe cache of compiled CBEFF XSD schemas.
+ *
+ * <p>
+ * Compiling an XSD is far more expensive than validating a document against
+ * it, and callers typically validate every document against the same one or
+ * two schemas. Compiled {@link Schema} instances are immutable and thread-safe,
+ * so they are cached here keyed by the SHA-256 digest of the XSD content;
+ * each validation only creates a light-weight {@link Validator}.
+ * </p>
+ *
+ * <p>
+ * The cache holds at most {@value #MAX_ENTRIES} schemas. Once full, further
+ * XSDs are compiled for the call but not retained. Hit, miss and compile time
+ * counters are exposed for monitoring.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public final class CbeffSchemaCache {
+
+	/** Maximum number of compiled schemas retained. */
+	public static final int MAX_ENTRIES = 16;
+
+	private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
+	private static final LongAdder HITS = new LongAdder();
+
+	private static final LongAdder MISSES = new LongAdder();
+
+	private static final LongAdder COMPILE_NANOS = new LongAdder();
+
+	private CbeffSchemaCache() {
+		throw new IllegalStateException("CbeffSchemaCache class");
+	}
+
+	/**
+	 * Returns the compiled schema for the given XSD, compiling and caching it on
+	 * first use.
+	 *
+	 * @param xsd The XSD content.
+	 * @return The compiled schema.
+	 * @throws SAXException If the XSD cannot be compiled.
+	 */
+	public static Schema getSchema(byte[] xsd) throws SAXException {
+		if (xsd == null || xsd.length == 0) {
+			throw new SAXException("XSD bytes cannot be null or empty");
+		}
+		String key = digest(xsd);
+		Schema schema = SCHEMAS.get(key);
+		if (schema != null) {
+			HITS.increment();
+			return schema;
+		}
+
+		MISSES.increment();
+		long start = System.nanoTime();
+		schema = compile(xsd);
+		COMPILE_NANOS.add(System.nanoTime() - start);
+
+		if (SCHEMAS.size() < MAX_ENTRIES) {
+			Schema existing = SCHEMAS.putIfAbsent(key, schema);
+			if (existing != null) {
+				return existing;
+			}
+		}
+		return schema;
+	}
+
+	/**
+	 * Validates the XML against the given XSD using the cached compiled schema.
+	 *
+	 * @param xsd The XSD content.
+	 * @param xml The XML content to validate.
+	 * @return {@code true} if the XML is valid.
+	 * @throws SAXException If the XSD cannot be compiled or the XML is invalid.
+	 * @throws IOException  If the XML cannot be read.
+	 */
+	public static boolean validateXML(byte[] xsd, byte[] xml) throws SAXException, IOException {
+		Validator validator = getSchema(xsd).newValidator();
+		validator.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+		validator.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+		validator.validate(new StreamSource(new ByteArrayInputStream(xml)));
+		return true;
+	}
+
+	/**
+	 * Returns the number of lookups served from the cache.
+	 *
+	 * @return The cache hit count.
+	 */
+	public static long getHitCount() {
+		return HITS.sum();
+	}
+
+	/**
+	 * Returns the number of lookups that required compiling the XSD.
+	 *
+	 * @return The cache miss count.
+	 */
+	public static long getMissCount() {
+		return MISSES.sum();
+	}
+
+	/**
+	 * Returns the total time spent compiling XSDs, in nanoseconds.
+	 *
+	 * @return The cumulative compile time.
+	 */
+	public static long getCompileTimeNanos() {
+		return COMPILE_NANOS.sum();
+	}
+
+	/**
+	 * Returns the number of compiled schemas currently cached.
+	 *
+	 * @return The cache size.
+	 */
+	public static int size() {
+		return SCHEMAS.size();
+	}
+
+	/**
+	 * Removes all cached schemas and resets the counters.
+	 */
+	public static void clear() {
+		SCHEMAS.clear();
+		HITS.reset();
+		MISSES.reset();
+		COMPILE_NANOS.reset();
+	}
+
+	private static Schema compile(byte[] xsd) throws SAXException {
+		SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+		factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+		return factory.newSchema(new StreamSource(new ByteArrayInputStream(xsd)));
+	}
+
+	private static String digest(byte[] xsd) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(xsd));
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is mandatory on every Java platform
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+}
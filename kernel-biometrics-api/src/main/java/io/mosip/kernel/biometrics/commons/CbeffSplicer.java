@@ -0,0 +1,405 @@
+package io.mosip.kernel.biometrics.commons;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.core.cbeffutil.exception.CbeffException;
+
+/**
+ * Incremental append / replace of child BIRs in an existing CBEFF document.
+ *
+ * <p>
+ * Instead of unmarshalling the whole document, adding the new records and
+ * marshalling everything again, the new {@code <BIR>} elements are marshalled
+ * on their own and spliced into the existing bytes after the last child record,
+ * ahead of any root {@code BDB}, {@code SB} or {@code others} element as the
+ * XSD requires. The document is scanned once for the offsets of its elements
+ * and its metadata is read with the BDB and SB payloads left out, so the
+ * existing records are copied as is and never decoded or validated again. Only
+ * the root metadata and the new records are validated against the XSD.
+ * </p>
+ *
+ * <p>
+ * When the new fragments cannot be spliced safely (for example the existing
+ * root declares different namespaces than the generated one), the document is
+ * rebuilt through the regular marshalling path instead.
+ * </p>
+ */
+public final class CbeffSplicer {
+
+	private static final String TAG_BIR = "BIR";
+
+	/** Root elements which the XSD places after the child records. */
+	private static final Set<String> TRAILING_TAGS = Set.of("BDB", "SB", "others");
+
+	/** Payload elements, left out when the metadata is read. */
+	private static final Set<String> PAYLOAD_TAGS = Set.of("BDB", "SB");
+
+	private static final Pattern XMLNS_PATTERN = Pattern.compile("xmlns(:[\\w.-]+)?\\s*=\\s*(\"[^\"]*\"|'[^']*')");
+
+	private static final byte[] INDENT = "    ".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+	private CbeffSplicer() {
+		throw new IllegalStateException("CbeffSplicer class");
+	}
+
+	/**
+	 * Appends the given BIRs as new child records of the existing CBEFF document.
+	 *
+	 * @param fileBytes The existing CBEFF XML document.
+	 * @param birList   The BIRs to append.
+	 * @param xsd       The XSD used to validate the root metadata and the new
+	 *                  records.
+	 * @return The updated CBEFF XML document.
+	 * @throws Exception If the document cannot be read or validation fails.
+	 */
+	@SuppressWarnings({ "java:S112" })
+	public static byte[] append(byte[] fileBytes, List<BIR> birList, byte[] xsd) throws Exception {
+		return splice(fileBytes, birList, xsd, false);
+	}
+
+	/**
+	 * Replaces the child records of the existing CBEFF document that have the same
+	 * biometric type and subtype as one of the given BIRs, and appends the given
+	 * BIRs. BIRs without a matching existing record are simply appended.
+	 *
+	 * @param fileBytes The existing CBEFF XML document.
+	 * @param birList   The BIRs to add in place of the matching records.
+	 * @param xsd       The XSD used to validate the root metadata and the new
+	 *                  records.
+	 * @return The updated CBEFF XML document.
+	 * @throws Exception If the document cannot be read or validation fails.
+	 */
+	@SuppressWarnings({ "java:S112" })
+	public static byte[] replace(byte[] fileBytes, List<BIR> birList, byte[] xsd) throws Exception {
+		return splice(fileBytes, birList, xsd, true);
+	}
+
+	/**
+	 * Checks whether two records hold the same biometric, i.e. have the same
+	 * biometric types and subtypes in their {@link BDBInfo}.
+	 *
+	 * @param existing The BDBInfo of the existing record.
+	 * @param update   The BDBInfo of the new record.
+	 * @return {@code true} if the new record replaces the existing one.
+	 */
+	public static boolean isSameBiometric(BDBInfo existing, BDBInfo update) {
+		if (existing == null || update == null || existing.getType() == null || update.getType() == null) {
+			return false;
+		}
+		return new HashSet<>(existing.getType()).equals(new HashSet<>(update.getType()))
+				&& Objects.equals(normalize(existing.getSubtype()), normalize(update.getSubtype()));
+	}
+
+	/**
+	 * Splices the new records into the document. The existing bytes are scanned
+	 * once and only their metadata, without payloads, is parsed; the root
+	 * metadata and the new records are validated against the XSD while they are
+	 * marshalled, the existing records are copied unchanged.
+	 */
+	@SuppressWarnings({ "java:S112" })
+	private static byte[] splice(byte[] fileBytes, List<BIR> birList, byte[] xsd, boolean replace)
+			throws Exception {
+		Layout layout = Layout.scan(fileBytes);
+		BIR metadata = CbeffStreamReader.readMetadata(layout.withoutPayloads(fileBytes));
+		List<BIR> existing = metadata.getBirs() != null ? metadata.getBirs() : new ArrayList<>();
+
+		List<Integer> removed = new ArrayList<>();
+		if (replace) {
+			for (int i = 0; i < existing.size(); i++) {
+				if (matchesAny(existing.get(i), birList)) {
+					removed.add(i);
+				}
+			}
+		}
+		if ((birList == null || birList.isEmpty()) && removed.isEmpty()) {
+			return fileBytes;
+		}
+
+		// root metadata plus the new records only; existing records are not part of it
+		BIR wrapper = new BIR();
+		wrapper.setVersion(metadata.getVersion());
+		wrapper.setCbeffversion(metadata.getCbeffversion());
+		wrapper.setBirInfo(metadata.getBirInfo());
+		wrapper.setBdbInfo(metadata.getBdbInfo());
+		wrapper.setSbInfo(metadata.getSbInfo());
+		wrapper.setOthers(metadata.getOthers());
+		wrapper.setBirs(birList != null ? birList : new ArrayList<>());
+		byte[] fragmentXml = CbeffValidator.createXMLBytes(wrapper, xsd, true);
+		Layout fragmentLayout = Layout.scan(fragmentXml);
+
+		if (layout.children.size() != existing.size()
+				|| !namespaces(fileBytes, layout).equals(namespaces(fragmentXml, fragmentLayout))) {
+			return rebuild(fileBytes, birList, xsd, replace);
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(fileBytes.length + fragmentXml.length);
+		int position = 0;
+		for (int index : removed) {
+			int[] child = layout.children.get(index);
+			// drop the record together with the whitespace in front of it
+			out.write(fileBytes, position, child[2] - position);
+			position = child[1];
+		}
+		int insertAt = layout.insertionPoint();
+		out.write(fileBytes, position, insertAt - position);
+		if (!fragmentLayout.children.isEmpty()) {
+			int start = fragmentLayout.children.get(0)[0];
+			int end = fragmentLayout.children.get(fragmentLayout.children.size() - 1)[1];
+			out.write(NEW_LINE);
+			out.write(INDENT);
+			out.write(fragmentXml, start, end - start);
+		}
+		out.write(fileBytes, insertAt, fileBytes.length - insertAt);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Fallback used when the new records cannot be spliced into the existing
+	 * bytes: the whole document is read and marshalled again.
+	 */
+	@SuppressWarnings({ "java:S112" })
+	private static byte[] rebuild(byte[] fileBytes, List<BIR> birList, byte[] xsd, boolean replace)
+			throws Exception {
+		BIR root = CbeffValidator.getBIRFromXML(fileBytes, true);
+		if (root.getBirs() == null) {
+			root.setBirs(new ArrayList<>());
+		}
+		if (replace) {
+			root.getBirs().removeIf(bir -> matchesAny(bir, birList));
+		}
+		if (birList != null) {
+			root.getBirs().addAll(birList);
+		}
+		return CbeffValidator.createXMLBytes(root, xsd);
+	}
+
+	private static boolean matchesAny(BIR existing, List<BIR> birList) {
+		if (birList == null) {
+			return false;
+		}
+		for (BIR bir : birList) {
+			if (isSameBiometric(existing.getBdbInfo(), bir.getBdbInfo())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Set<String> normalize(List<String> subtype) {
+		Set<String> values = new TreeSet<>();
+		if (subtype != null) {
+			for (String value : subtype) {
+				if (value != null && !value.isBlank()) {
+					values.add(value.trim());
+				}
+			}
+		}
+		return values;
+	}
+
+	private static Set<String> namespaces(byte[] xml, Layout layout) {
+		String rootTag = new String(xml, layout.rootStart, layout.rootStartEnd - layout.rootStart,
+				StandardCharsets.UTF_8);
+		Set<String> declarations = new TreeSet<>();
+		Matcher matcher = XMLNS_PATTERN.matcher(rootTag);
+		while (matcher.find()) {
+			String prefix = matcher.group(1) == null ? "" : matcher.group(1);
+			String uri = matcher.group(2);
+			declarations.add(prefix + "=" + uri.substring(1, uri.length() - 1));
+		}
+		return declarations;
+	}
+
+	/**
+	 * Byte offsets of the root start tag, the root end tag, the child
+	 * {@code <BIR>} elements and the {@code BDB} / {@code SB} payload elements of
+	 * a CBEFF document. Markup is ASCII in UTF-8, so the document is scanned byte
+	 * by byte without decoding any text content.
+	 */
+	private static final class Layout {
+
+		private int rootStart = -1;
+
+		private int rootStartEnd = -1;
+
+		private int rootEnd = -1;
+
+		/** End of the markup preceding the root end tag. */
+		private int rootEndPreceding = -1;
+
+		/** End of the markup preceding the first root BDB, SB or others element. */
+		private int trailingPreceding = -1;
+
+		/** {start, end (exclusive), end of the preceding markup} of each child BIR. */
+		private final List<int[]> children = new ArrayList<>();
+
+		/** {start, end (exclusive)} of each BDB and SB element, in document order. */
+		private final List<int[]> payloads = new ArrayList<>();
+
+		/**
+		 * Offset at which new child records are inserted: after the last child
+		 * record, or when there is none, in front of the root elements which follow
+		 * the child records.
+		 */
+		int insertionPoint() {
+			if (!children.isEmpty()) {
+				return children.get(children.size() - 1)[1];
+			}
+			return trailingPreceding >= 0 ? trailingPreceding : rootEndPreceding;
+		}
+
+		/**
+		 * Copies the document without its BDB and SB elements, leaving the headers
+		 * from which the metadata is read.
+		 */
+		byte[] withoutPayloads(byte[] xml) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(xml.length, 64 * 1024));
+			int position = 0;
+			for (int[] payload : payloads) {
+				out.write(xml, position, payload[0] - position);
+				position = payload[1];
+			}
+			out.write(xml, position, xml.length - position);
+			return out.toByteArray();
+		}
+
+		@SuppressWarnings({ "java:S3776" })
+		static Layout scan(byte[] xml) throws CbeffException {
+			Layout layout = new Layout();
+			int depth = 0;
+			int previousMarkupEnd = 0;
+			int childStart = -1;
+			int childPreceding = -1;
+			int payloadStart = -1;
+			int payloadDepth = -1;
+			int i = 0;
+			while (i < xml.length) {
+				if (xml[i] != '<') {
+					i++;
+					continue;
+				}
+				int end;
+				if (startsWith(xml, i, "<?")) {
+					end = indexOf(xml, i, "?>") + 2;
+				} else if (startsWith(xml, i, "<!--")) {
+					end = indexOf(xml, i, "-->") + 3;
+				} else if (startsWith(xml, i, "<![CDATA[")) {
+					end = indexOf(xml, i, "]]>") + 3;
+				} else if (startsWith(xml, i, "<!")) {
+					end = tagEnd(xml, i);
+				} else if (startsWith(xml, i, "</")) {
+					end = tagEnd(xml, i);
+					depth--;
+					if (depth == payloadDepth) {
+						layout.payloads.add(new int[] { payloadStart, end });
+						payloadDepth = -1;
+					}
+					if (depth == 1 && childStart >= 0) {
+						layout.children.add(new int[] { childStart, end, childPreceding });
+						childStart = -1;
+					} else if (depth == 0) {
+						layout.rootEnd = i;
+						layout.rootEndPreceding = previousMarkupEnd;
+						return layout;
+					}
+				} else {
+					end = tagEnd(xml, i);
+					boolean selfClosing = xml[end - 2] == '/';
+					if (depth == 0) {
+						layout.rootStart = i;
+						layout.rootStartEnd = end;
+						if (selfClosing) {
+							throw new CbeffException("Failed to read CBEFF XML root element has no content");
+						}
+					} else if (depth == 1 && TAG_BIR.equals(localName(xml, i + 1))) {
+						if (selfClosing) {
+							layout.children.add(new int[] { i, end, previousMarkupEnd });
+						} else {
+							childStart = i;
+							childPreceding = previousMarkupEnd;
+						}
+					} else if (depth == 1 && layout.trailingPreceding < 0
+							&& TRAILING_TAGS.contains(localName(xml, i + 1))) {
+						layout.trailingPreceding = previousMarkupEnd;
+					}
+					if (depth > 0 && payloadDepth < 0 && PAYLOAD_TAGS.contains(localName(xml, i + 1))) {
+						if (selfClosing) {
+							layout.payloads.add(new int[] { i, end });
+						} else {
+							payloadStart = i;
+							payloadDepth = depth;
+						}
+					}
+					if (!selfClosing) {
+						depth++;
+					}
+				}
+				previousMarkupEnd = end;
+				i = end;
+			}
+			throw new CbeffException("Failed to read CBEFF XML root element is not closed");
+		}
+
+		private static String localName(byte[] xml, int from) {
+			int end = from;
+			while (end < xml.length && xml[end] != '>' && xml[end] != '/' && !Character.isWhitespace(xml[end])) {
+				end++;
+			}
+			String name = new String(xml, from, end - from, StandardCharsets.UTF_8);
+			int colon = name.indexOf(':');
+			return colon >= 0 ? name.substring(colon + 1) : name;
+		}
+
+		/** Index just after the {@code >} closing the tag, skipping quoted values. */
+		private static int tagEnd(byte[] xml, int from) throws CbeffException {
+			byte quote = 0;
+			for (int i = from + 1; i < xml.length; i++) {
+				byte b = xml[i];
+				if (quote != 0) {
+					if (b == quote) {
+						quote = 0;
+					}
+				} else if (b == '"' || b == '\'') {
+					quote = b;
+				} else if (b == '>') {
+					return i + 1;
+				}
+			}
+			throw new CbeffException("Failed to read CBEFF XML unterminated tag");
+		}
+
+		private static int indexOf(byte[] xml, int from, String token) throws CbeffException {
+			for (int i = from; i <= xml.length - token.length(); i++) {
+				if (startsWith(xml, i, token)) {
+					return i;
+				}
+			}
+			throw new CbeffException("Failed to read CBEFF XML unterminated " + token);
+		}
+
+		private static boolean startsWith(byte[] xml, int from, String token) {
+			if (from + token.length() > xml.length) {
+				return false;
+			}
+			for (int i = 0; i < token.length(); i++) {
+				if (xml[from + i] != token.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
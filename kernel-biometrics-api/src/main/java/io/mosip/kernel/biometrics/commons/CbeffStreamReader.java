@@ -0,0 +1,390 @@
+package io.mosip.kernel.biometrics.commons;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.AdapterOthersListToHashMap;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.BIRInfo;
+import io.mosip.kernel.biometrics.entities.OthersList;
+import io.mosip.kernel.biometrics.entities.SBInfo;
+import io.mosip.kernel.biometrics.entities.VersionType;
+import io.mosip.kernel.core.cbeffutil.common.Base64Adapter;
+import io.mosip.kernel.core.cbeffutil.exception.CbeffException;
+
+/**
+ * Streaming (StAX) reader for CBEFF XML documents.
+ *
+ * <p>
+ * Unlike {@link CbeffValidator#getBIRFromXML(byte[])}, which unmarshals the
+ * whole document into a BIR tree, this reader walks the child {@code <BIR>}
+ * elements of the root one at a time and hands each of them to a callback.
+ * The {@code <BDBInfo>} header of every record is evaluated against the given
+ * filter before the {@code <BDB>} and {@code <SB>} payloads are Base64-decoded,
+ * so rejected records never have their payloads materialized.
+ * </p>
+ *
+ * <p>
+ * Headers ({@code Version}, {@code BIRInfo}, {@code BDBInfo}, ...) are still
+ * unmarshalled through the shared JAXB context, so the emitted {@link BIR}
+ * objects are equivalent to the ones produced by the JAXB path.
+ * </p>
+ *
+ * <p>
+ * In lazy payload mode the Base64 text of accepted payloads is kept as is on
+ * the BIR (see {@link BIR#setBdbBase64(String)}) and only decoded when the
+ * payload is actually read.
+ * </p>
+ */
+public class CbeffStreamReader {
+
+	private static final String TAG_BIR = "BIR";
+	private static final String TAG_VERSION = "Version";
+	private static final String TAG_CBEFF_VERSION = "CBEFFVersion";
+	private static final String TAG_BIR_INFO = "BIRInfo";
+	private static final String TAG_BDB_INFO = "BDBInfo";
+	private static final String TAG_SB_INFO = "SBInfo";
+	private static final String TAG_BDB = "BDB";
+	private static final String TAG_SB = "SB";
+	private static final String TAG_OTHERS = "others";
+
+	private static final XMLInputFactory XML_INPUT_FACTORY;
+
+	/** How BDB/SB payloads are handled while reading. */
+	private enum Payload {
+		DECODE, LAZY, SKIP;
+
+		static Payload of(boolean lazyPayload) {
+			return lazyPayload ? LAZY : DECODE;
+		}
+	}
+
+	static {
+		XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+		XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+	}
+
+	private CbeffStreamReader() {
+		throw new IllegalStateException("CbeffStreamReader class");
+	}
+
+	/**
+	 * Reads a whole CBEFF document into a BIR tree, equivalent to
+	 * {@link CbeffValidator#getBIRFromXML(byte[])}.
+	 *
+	 * @param xmlBytes    The CBEFF XML document.
+	 * @param lazyPayload {@code true} to keep BDB/SB payloads as Base64 text until
+	 *                    they are read.
+	 * @return The root BIR.
+	 * @throws CbeffException If the document cannot be parsed.
+	 */
+	public static BIR readBIR(byte[] xmlBytes, boolean lazyPayload) throws CbeffException {
+		if (xmlBytes == null || xmlBytes.length == 0) {
+			throw new CbeffException("Input file bytes cannot be null or empty");
+		}
+		XMLStreamReader reader = null;
+		Unmarshaller unmarshaller = null;
+		try {
+			reader = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(xmlBytes));
+			unmarshaller = CbeffMarshallerPool.borrowUnmarshaller();
+
+			reader.nextTag(); // root BIR
+			return readBIR(reader, unmarshaller, null, Payload.of(lazyPayload));
+		} catch (XMLStreamException | JAXBException e) {
+			throw new CbeffException("Failed to read CBEFF XML " + e.getMessage());
+		} finally {
+			CbeffMarshallerPool.release(unmarshaller);
+			closeQuietly(reader);
+		}
+	}
+
+	/**
+	 * Reads the metadata of a whole CBEFF document: the root and child headers
+	 * ({@code Version}, {@code BIRInfo}, {@code BDBInfo}, {@code others}, ...)
+	 * without the BDB/SB payloads, which are skipped unread.
+	 *
+	 * @param xmlBytes The CBEFF XML document.
+	 * @return The root BIR, with child BIRs carrying no payloads.
+	 * @throws CbeffException If the document cannot be parsed.
+	 */
+	public static BIR readMetadata(byte[] xmlBytes) throws CbeffException {
+		if (xmlBytes == null || xmlBytes.length == 0) {
+			throw new CbeffException("Input file bytes cannot be null or empty");
+		}
+		XMLStreamReader reader = null;
+		Unmarshaller unmarshaller = null;
+		try {
+			reader = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(xmlBytes));
+			unmarshaller = CbeffMarshallerPool.borrowUnmarshaller();
+
+			reader.nextTag(); // root BIR
+			return readBIR(reader, unmarshaller, null, Payload.SKIP);
+		} catch (XMLStreamException | JAXBException e) {
+			throw new CbeffException("Failed to read CBEFF XML " + e.getMessage());
+		} finally {
+			CbeffMarshallerPool.release(unmarshaller);
+			closeQuietly(reader);
+		}
+	}
+
+	/**
+	 * Reads the child BIRs of a CBEFF document and collects the ones accepted by
+	 * the filter.
+	 *
+	 * @param xmlBytes The CBEFF XML document.
+	 * @param filter   Filter applied on the {@link BDBInfo} of each record (can be
+	 *                 null to accept all records).
+	 * @return The accepted BIRs in document order.
+	 * @throws CbeffException If the document cannot be parsed.
+	 */
+	public static List<BIR> getBIRs(byte[] xmlBytes, Predicate<BDBInfo> filter) throws CbeffException {
+		return getBIRs(xmlBytes, filter, false);
+	}
+
+	/**
+	 * Reads the child BIRs of a CBEFF document and collects the ones accepted by
+	 * the filter.
+	 *
+	 * @param xmlBytes    The CBEFF XML document.
+	 * @param filter      Filter applied on the {@link BDBInfo} of each record (can
+	 *                    be null to accept all records).
+	 * @param lazyPayload {@code true} to keep BDB/SB payloads as Base64 text until
+	 *                    they are read.
+	 * @return The accepted BIRs in document order.
+	 * @throws CbeffException If the document cannot be parsed.
+	 */
+	public static List<BIR> getBIRs(byte[] xmlBytes, Predicate<BDBInfo> filter, boolean lazyPayload)
+			throws CbeffException {
+		if (xmlBytes == null || xmlBytes.length == 0) {
+			throw new CbeffException("Input file bytes cannot be null or empty");
+		}
+		List<BIR> birs = new ArrayList<>();
+		readBIRs(new ByteArrayInputStream(xmlBytes), filter, birs::add, lazyPayload);
+		return birs;
+	}
+
+	/**
+	 * Reads the child BIRs of a CBEFF document and emits the ones accepted by the
+	 * filter to the given consumer, one record at a time.
+	 *
+	 * @param xmlBytes The CBEFF XML document.
+	 * @param filter   Filter applied on the {@link BDBInfo} of each record (can be
+	 *                 null to accept all records).
+	 * @param consumer Callback receiving each accepted BIR.
+	 * @throws CbeffException If the document cannot be parsed.
+	 */
+	public static void readBIRs(byte[] xmlBytes, Predicate<BDBInfo> filter, Consumer<BIR> consumer)
+			throws CbeffException {
+		if (xmlBytes == null || xmlBytes.length == 0) {
+			throw new CbeffException("Input file bytes cannot be null or empty");
+		}
+		readBIRs(new ByteArrayInputStream(xmlBytes), filter, consumer, false);
+	}
+
+	/**
+	 * Reads the child BIRs of a CBEFF document from a stream and emits the ones
+	 * accepted by the filter to the given consumer, one record at a time.
+	 *
+	 * @param inputStream The CBEFF XML document stream. It is not closed by this
+	 *                    method.
+	 * @param filter      Filter applied on the {@link BDBInfo} of each record (can
+	 *                    be null to accept all records).
+	 * @param consumer    Callback receiving each accepted BIR.
+	 * @param lazyPayload {@code true} to keep BDB/SB payloads as Base64 text until
+	 *                    they are read.
+	 * @throws CbeffException If the document cannot be parsed.
+	 */
+	public static void readBIRs(InputStream inputStream, Predicate<BDBInfo> filter, Consumer<BIR> consumer,
+			boolean lazyPayload) throws CbeffException {
+		XMLStreamReader reader = null;
+		Unmarshaller unmarshaller = null;
+		try {
+			reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+			unmarshaller = CbeffMarshallerPool.borrowUnmarshaller();
+
+			reader.nextTag(); // root BIR
+			reader.next();
+			while (reader.getEventType() != XMLStreamConstants.END_ELEMENT) {
+				if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+					reader.next();
+				} else if (TAG_BIR.equals(reader.getLocalName())) {
+					BIR bir = readBIR(reader, unmarshaller, filter, Payload.of(lazyPayload));
+					if (bir != null)
+						consumer.accept(bir);
+				} else {
+					skipElement(reader);
+				}
+			}
+		} catch (XMLStreamException | JAXBException e) {
+			throw new CbeffException("Failed to read CBEFF XML " + e.getMessage());
+		} finally {
+			CbeffMarshallerPool.release(unmarshaller);
+			closeQuietly(reader);
+		}
+	}
+
+	/**
+	 * Creates a filter matching records whose {@link BDBInfo} contains the given
+	 * biometric type and, if provided, the given subtype.
+	 *
+	 * @param biometricType The biometric type to match.
+	 * @param subType       The subtype to match (can be null).
+	 * @return A filter usable with {@link #readBIRs(byte[], Predicate, Consumer)}.
+	 */
+	public static Predicate<BDBInfo> typeFilter(BiometricType biometricType, String subType) {
+		return bdbInfo -> bdbInfo != null && bdbInfo.getType() != null
+				&& bdbInfo.getType().contains(biometricType)
+				&& (subType == null || (bdbInfo.getSubtype() != null && bdbInfo.getSubtype().contains(subType)));
+	}
+
+	/**
+	 * Reads a single BIR element including its nested BIRs. The reader must be
+	 * positioned on its start element and is left positioned after its end
+	 * element.
+	 *
+	 * @return The BIR, or null if it was rejected by the filter.
+	 */
+	private static BIR readBIR(XMLStreamReader reader, Unmarshaller unmarshaller, Predicate<BDBInfo> filter,
+			Payload payload) throws XMLStreamException, JAXBException, CbeffException {
+		BIR bir = new BIR();
+		Boolean accepted = null;
+
+		reader.next();
+		while (reader.getEventType() != XMLStreamConstants.END_ELEMENT) {
+			if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+				reader.next();
+				continue;
+			}
+
+			String name = reader.getLocalName();
+			if ((TAG_BDB.equals(name) || TAG_SB.equals(name)) && accepted == null) {
+				accepted = accept(filter, null);
+			}
+			if (Boolean.FALSE.equals(accepted)) {
+				skipElement(reader);
+				continue;
+			}
+
+			switch (name) {
+			case TAG_VERSION:
+				bir.setVersion(unmarshaller.unmarshal(reader, VersionType.class).getValue());
+				break;
+			case TAG_CBEFF_VERSION:
+				bir.setCbeffversion(unmarshaller.unmarshal(reader, VersionType.class).getValue());
+				break;
+			case TAG_BIR_INFO:
+				bir.setBirInfo(unmarshaller.unmarshal(reader, BIRInfo.class).getValue());
+				break;
+			case TAG_BDB_INFO:
+				bir.setBdbInfo(unmarshaller.unmarshal(reader, BDBInfo.class).getValue());
+				accepted = accept(filter, bir.getBdbInfo());
+				break;
+			case TAG_SB_INFO:
+				bir.setSbInfo(unmarshaller.unmarshal(reader, SBInfo.class).getValue());
+				break;
+			case TAG_BIR:
+				if (bir.getBirs() == null)
+					bir.setBirs(new ArrayList<>());
+				bir.getBirs().add(readBIR(reader, unmarshaller, null, payload));
+				break;
+			case TAG_BDB:
+				if (payload == Payload.SKIP)
+					skipElement(reader);
+				else if (payload == Payload.LAZY)
+					bir.setBdbBase64(readText(reader));
+				else
+					bir.setBdb(readBase64(reader));
+				break;
+			case TAG_SB:
+				if (payload == Payload.SKIP)
+					skipElement(reader);
+				else if (payload == Payload.LAZY)
+					bir.setSbBase64(readText(reader));
+				else
+					bir.setSb(readBase64(reader));
+				break;
+			case TAG_OTHERS:
+				OthersList othersList = unmarshaller.unmarshal(reader, OthersList.class).getValue();
+				bir.setOthers(new HashMap<>(new AdapterOthersListToHashMap().unmarshal(othersList)));
+				break;
+			default:
+				skipElement(reader);
+			}
+		}
+		reader.next(); // move beyond the end tag
+
+		if (accepted == null)
+			accepted = accept(filter, bir.getBdbInfo());
+		return accepted ? bir : null;
+	}
+
+	private static boolean accept(Predicate<BDBInfo> filter, BDBInfo bdbInfo) {
+		return filter == null || filter.test(bdbInfo);
+	}
+
+	/**
+	 * Decodes the Base64 text content of the current element the same way
+	 * {@link Base64Adapter} does during JAXB unmarshalling.
+	 */
+	@SuppressWarnings({ "java:S112" })
+	private static byte[] readBase64(XMLStreamReader reader) throws XMLStreamException, CbeffException {
+		String text = readText(reader);
+		try {
+			return new Base64Adapter().unmarshal(text);
+		} catch (Exception e) {
+			throw new CbeffException("Failed to decode BDB/SB value " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads the trimmed text content of the current element and moves beyond its
+	 * end tag.
+	 */
+	private static String readText(XMLStreamReader reader) throws XMLStreamException {
+		String text = reader.getElementText();
+		reader.next();
+		return text.trim();
+	}
+
+	/**
+	 * Skips the current element including all of its children. The reader must be
+	 * positioned on its start element and is left positioned after its end
+	 * element.
+	 */
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT)
+				depth++;
+			else if (event == XMLStreamConstants.END_ELEMENT)
+				depth--;
+		}
+		reader.next();
+	}
+
+	private static void closeQuietly(XMLStreamReader reader) {
+		if (reader == null)
+			return;
+		try {
+			reader.close();
+		} catch (XMLStreamException e) {
+			// nothing to release beyond the parser itself
+		}
+	}
+}
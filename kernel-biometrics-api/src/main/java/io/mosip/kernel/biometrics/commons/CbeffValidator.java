@@ -4,15 +4,17 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
-import java.time.ZoneOffset;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
 
 import org.xml.sax.SAXException;
 
@@ -21,7 +23,6 @@ import io.mosip.kernel.biometrics.constant.OtherKey;
 import io.mosip.kernel.biometrics.entities.BDBInfo;
 import io.mosip.kernel.biometrics.entities.BIR;
 import io.mosip.kernel.biometrics.entities.SingleAnySubtypeType;
-import io.mosip.kernel.core.cbeffutil.common.CbeffXSDValidator;
 import io.mosip.kernel.core.cbeffutil.constant.CbeffConstant;
 import io.mosip.kernel.core.cbeffutil.exception.CbeffException;
 import io.mosip.kernel.core.util.CryptoUtil;
@@ -40,11 +41,18 @@ import io.mosip.kernel.biometrics.entities.*;
  */
 public class CbeffValidator {
 
-	private static final List<String> NO_SUBTYPE_LIST = Collections.singletonList("No Subtype");
+	private static final String NO_SUBTYPE = "No Subtype";
 
 	private static final Map<Class<?>, Set<String>> ENUM_CACHE = new ConcurrentHashMap<>();
 
-	private static final JAXBContext BIR_CONTEXT;
+	/*
+	 * Encoding of 0xFB 0xFF, which gives the two last characters of the alphabet
+	 * used by CryptoUtil.encodeBase64String and whether it pads
+	 */
+	private static final String BASE64_PROBE = CryptoUtil
+			.encodeBase64String(new byte[] { (byte) 0xFB, (byte) 0xFF });
+
+	static final JAXBContext BIR_CONTEXT;
 
 	static {
 		try {
@@ -167,16 +175,15 @@ public class CbeffValidator {
 	 *
 	 * This method performs the following steps: 1. Validates the BIR object using
 	 * the {@link #validateXML(BIR)} method. 2. Creates a JAXBContext instance for
-	 * the BIR class. 3. Obtains a Marshaller instance from the JAXBContext to
-	 * perform marshalling. 4. Sets the Marshaller property
-	 * {@link Marshaller#JAXB_FORMATTED_OUTPUT} to true to generate human-readable,
+	 * the BIR class. 3. Borrows a pooled Marshaller, configured with
+	 * {@link Marshaller#JAXB_FORMATTED_OUTPUT} to generate human-readable,
 	 * indented XML. 5. Marshals the BIR object to a byte array representing the XML
 	 * data: - Creates a ByteArrayOutputStream to capture the generated XML data. -
 	 * Wraps the ByteArrayOutputStream in an OutputStreamWriter for character-based
 	 * output. - Marshals the BIR object using the Marshaller and writes it to the
 	 * OutputStreamWriter. - Closes the OutputStreamWriter. 6. Validates the
-	 * generated XML data against the provided XSD (XML Schema Definition) using the
-	 * assumed `CbeffXSDValidator.validateXML` method. 7. Handles potential
+	 * generated XML data against the provided XSD (XML Schema Definition), compiled
+	 * once and cached by {@link CbeffSchemaCache}. 7. Handles potential
 	 * exceptions: - Catches SAXException thrown during XSD validation, extracts the
 	 * relevant error message, and wraps it in a CbeffValidationException. - Catches
 	 * any other Exception, wraps it in a CbeffException with a more informative
@@ -192,9 +199,7 @@ public class CbeffValidator {
 	public static byte[] createXMLBytes(BIR bir, byte[] xsd) throws Exception {
 		CbeffValidator.validateXML(bir);
 
-		Marshaller jaxbMarshaller = BIR_CONTEXT.createMarshaller();
-		jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-		jaxbMarshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+		Marshaller jaxbMarshaller = CbeffMarshallerPool.borrowMarshaller();
 
 		byte[] savedData;
 		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -203,21 +208,79 @@ public class CbeffValidator {
 			jaxbMarshaller.marshal(bir, writer);
 			writer.flush(); // ensure all characters are written to baos
 			savedData = baos.toByteArray();
+		} finally {
+			CbeffMarshallerPool.release(jaxbMarshaller);
+		}
+
+		try {
+			CbeffSchemaCache.validateXML(xsd, savedData);
+		} catch (Exception e) {
+			throw toValidationException(e);
+		}
+
+		return savedData;
+	}
+
+	/**
+	 * Creates a byte array containing the XML representation of the provided BIR,
+	 * optionally validating it against the XSD while it is being marshalled.
+	 *
+	 * In single-pass mode the compiled schema is attached to the marshaller, so
+	 * the document is validated as it is produced instead of being written out and
+	 * then parsed a second time for validation. Validation failures are reported
+	 * with the same {@link CbeffException} messages as
+	 * {@link #createXMLBytes(BIR, byte[])}.
+	 *
+	 * @param bir        The BIR object to be converted to XML.
+	 * @param xsd        The XSD used for validation as a byte array.
+	 * @param singlePass {@code true} to validate while marshalling, {@code false}
+	 *                   for the same behaviour as
+	 *                   {@link #createXMLBytes(BIR, byte[])}.
+	 * @return A byte array containing the generated and validated XML data.
+	 * @throws Exception If XSD validation fails
+	 */
+	public static byte[] createXMLBytes(BIR bir, byte[] xsd, boolean singlePass) throws Exception {
+		if (!singlePass) {
+			return createXMLBytes(bir, xsd);
 		}
+		CbeffValidator.validateXML(bir);
 
+		Schema schema;
 		try {
-			CbeffXSDValidator.validateXML(xsd, savedData);
-		} catch (SAXException sax) {
+			schema = CbeffSchemaCache.getSchema(xsd);
+		} catch (Exception e) {
+			throw toValidationException(e);
+		}
+
+		Marshaller jaxbMarshaller = CbeffMarshallerPool.borrowMarshaller();
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			 OutputStreamWriter writer = new OutputStreamWriter(baos, StandardCharsets.UTF_8)) {
+
+			jaxbMarshaller.setSchema(schema);
+			jaxbMarshaller.marshal(bir, writer);
+			writer.flush(); // ensure all characters are written to baos
+			return baos.toByteArray();
+		} catch (JAXBException e) {
+			// schema violations surface as a marshal error linked to the SAXException
+			if (e.getLinkedException() instanceof SAXException sax) {
+				throw toValidationException(sax);
+			}
+			throw e;
+		} finally {
+			jaxbMarshaller.setSchema(null);
+			CbeffMarshallerPool.release(jaxbMarshaller);
+		}
+	}
+
+	private static CbeffException toValidationException(Throwable e) {
+		if (e instanceof SAXException sax) {
 			String message = sax.getMessage();
 			if (message != null && message.contains(":")) {
 				message = message.substring(message.indexOf(":"));
 			}
-			throw new CbeffException("XSD validation failed due to attribute " + message);
-		} catch (Exception e) {
-			throw new CbeffException("XSD validation failed due to other error " + e.getLocalizedMessage());
+			return new CbeffException("XSD validation failed due to attribute " + message);
 		}
-
-		return savedData;
+		return new CbeffException("XSD validation failed due to other error " + e.getLocalizedMessage());
 	}
 
 	/**
@@ -252,12 +315,39 @@ public class CbeffValidator {
 			throw new CbeffException("Input file bytes cannot be null or empty");
 		}
 
-		Unmarshaller unmarshaller = BIR_CONTEXT.createUnmarshaller();
+		Unmarshaller unmarshaller = CbeffMarshallerPool.borrowUnmarshaller();
 
 		try (ByteArrayInputStream inputStream = new ByteArrayInputStream(fileBytes)) {
 			JAXBElement<BIR> jaxBir = unmarshaller.unmarshal(new StreamSource(inputStream), BIR.class);
 			return jaxBir.getValue();
+		} finally {
+			CbeffMarshallerPool.release(unmarshaller);
+		}
+	}
+
+	/**
+	 * Deserializes a byte array containing XML data into a BIR (Biometric
+	 * Information Record) object, optionally in lazy payload mode.
+	 *
+	 * In lazy payload mode the document is read through {@link CbeffStreamReader}
+	 * and the BDB/SB payloads are kept as their Base64 text; each payload is
+	 * decoded only when {@link BIR#getBdb()} / {@link BIR#getSb()} is called. This
+	 * suits callers that inspect the BDBInfo of every record but only use the
+	 * payload of a few of them.
+	 *
+	 * @param fileBytes   The byte array containing the XML data to be
+	 *                    unmarshalled.
+	 * @param lazyPayload {@code true} to defer payload decoding, {@code false} for
+	 *                    the same behaviour as {@link #getBIRFromXML(byte[])}.
+	 * @return The BIR object representing the deserialized biometric data.
+	 * @throws Exception If any error occurs while parsing the XML data.
+	 */
+	@SuppressWarnings({ "java:S112" })
+	public static BIR getBIRFromXML(byte[] fileBytes, boolean lazyPayload) throws Exception {
+		if (!lazyPayload) {
+			return getBIRFromXML(fileBytes);
 		}
+		return CbeffStreamReader.readBIR(fileBytes, true);
 	}
 
 	/**
@@ -266,8 +356,7 @@ public class CbeffValidator {
 	 *
 	 * This method allows retrieving specific BDB data from a BIR object. It
 	 * considers the following: - If both `type` and `subType` are null, it
-	 * retrieves all the latest BDB data from the BIR using the
-	 * {@link #getAllLatestDatafromBIR(BIR)} method (assumed to exist). - If a
+	 * retrieves the latest BDB data of every biometric in the BIR. - If a
 	 * `type` is provided, it filters the BDBs based on the biometric type (e.g.,
 	 * "Finger", "Iris"). - If a `subType` is provided, it further filters the BDBs
 	 * based on a sub-type associated with the type (implementation details for
@@ -276,7 +365,12 @@ public class CbeffValidator {
 	 *
 	 * The extracted BDB information is stored in a map with key-value pairs, where
 	 * the key is a combination of BDB ID and format type, and the value is the BDB
-	 * data.
+	 * data. When several records have the same key, the one with the latest
+	 * creation date is returned.
+	 *
+	 * The records are looked up in a {@link BIRIndex} built for this call; see
+	 * {@link #getBDBBasedOnTypeAndSubType(BIRIndex, String, String)} to reuse the
+	 * index across queries.
 	 *
 	 * @param bir     The BIR object containing the biometric data.
 	 * @param type    The biometric data type (e.g., "Finger", "Iris") to filter by
@@ -289,207 +383,96 @@ public class CbeffValidator {
 	 *                   the processing. Consider catching and handling specific
 	 *                   exception types for more robust error handling.
 	 */
+	@SuppressWarnings({ "java:S112" })
 	public static Map<String, String> getBDBBasedOnTypeAndSubType(BIR bir, String type, String subType)
 			throws Exception {
 		if (bir == null || bir.getBirs() == null || bir.getBirs().isEmpty()) {
 			return Collections.emptyMap(); // Fast return if no data
 		}
-
-		BiometricType biometricType = (type != null) ? getBiometricType(type) : null;
-		SingleAnySubtypeType singleAnySubType = (subType != null) ? getSingleAnySubtype(subType) : null;
-		long formatType = (type != null) ? getFormatType(type) : -1;
-
-		if (biometricType == null && singleAnySubType == null) {
-			return getAllLatestDatafromBIR(bir);
-		}
-
-		Map<String, String> bdbMap = new HashMap<>();
-		populateBDBMap(bir, biometricType, singleAnySubType, formatType, bdbMap);
-
-		if (bdbMap.isEmpty()) {
-			return Collections.emptyMap();
-		}
-
-		Map<String, String> finalMap = new HashMap<>(bdbMap.size());
-		for (Map.Entry<String, String> entry : bdbMap.entrySet()) {
-			String key = entry.getKey();
-			int lastIdx = key.lastIndexOf('_');
-			if (lastIdx > 0) {
-				finalMap.put(key.substring(0, lastIdx), entry.getValue());
-			} else {
-				finalMap.put(key, entry.getValue()); // fallback if no underscore
-			}
-		}
-
-		return finalMap;
+		return getBDBBasedOnTypeAndSubType(BIRIndex.of(bir), type, subType);
 	}
 
 	/**
-	 * Populates a map with BDB (Biometric Data Block) information extracted from a
-	 * BIR (Biometric Information Record) object based on provided filters and
-	 * format type.
-	 *
-	 * This method iterates through the BIRs within the provided BIR object
-	 * (`birRoot`) and extracts BDB information that matches the filtering criteria
-	 * and format type. The extracted information is stored in the provided map
-	 * (`bdbMap`), using a specific key format.
-	 *
-	 * Key Format: - Biometric type (if provided) + "_" - Subtype list joined by
-	 * spaces (empty if not provided) + "_" - BDB format type + "_" - BDB creation
-	 * date in milliseconds since epoch (UTC)
-	 *
-	 * Value: - Base64 encoded BDB data
-	 *
-	 * Filtering Criteria: - If only `biometricType` is provided, BDBs are filtered
-	 * based on the type match and format type. - If only `singleAnySubType` is
-	 * provided, BDBs are filtered based on the sub-type match and format type.
-	 * Biometric type is ignored. - If both `biometricType` and `singleAnySubType`
-	 * are provided, BDBs are filtered based on a match with both type and sub-type,
-	 * and the format type must also match.
-	 *
-	 * @param birRoot          The BIR object containing the biometric data.
-	 * @param biometricType    The biometric data type (e.g., "Finger", "Iris") to
-	 *                         filter by (can be null).
-	 * @param singleAnySubType The sub-type associated with the `type` for further
-	 *                         filtering (can be null).
-	 * @param formatType       The format type ID associated with the BDB data (can
-	 *                         be null).
-	 * @param bdbMap           The map to store the extracted BDB information
-	 *                         (key-value pairs).
+	 * Extracts Biometric Data Block (BDB) information from a {@link BIRIndex}
+	 * based on provided type and subtype filters.
+	 *
+	 * Same as {@link #getBDBBasedOnTypeAndSubType(BIR, String, String)}, but the
+	 * matching records are looked up in the index instead of scanning all the
+	 * BIRs. Callers querying the same record several times, e.g. once per
+	 * modality and subtype, should build the index once with
+	 * {@link BIRIndex#of(BIR)} and use this method.
+	 *
+	 * Key Format: - If both `type` and `subType` are null: first biometric type +
+	 * "_" + subtype list joined by spaces ("No Subtype" if empty) + "_" + BDB
+	 * format type. - If only `type` is provided: biometric type + "_" + subtype
+	 * list joined by spaces + "_" + BDB format type. - If only `subType` is
+	 * provided: biometric type names + "_" + subtype list joined by spaces + "_" +
+	 * BDB format type. - If both are provided: biometric type + "_" + subtype +
+	 * "_" + BDB format type.
+	 *
+	 * Value: - Base64 encoded BDB data of the latest record (by creation date)
+	 * having the key.
+	 *
+	 * @param index   The index built over the BIR object containing the biometric
+	 *                data.
+	 * @param type    The biometric data type (e.g., "Finger", "Iris") to filter by
+	 *                (can be null).
+	 * @param subType The sub-type associated with the `type` for further filtering
+	 *                (can be null).
+	 * @return A map containing extracted BDB information with key-value pairs (key:
+	 *         BDB ID + format type, value: BDB data).
+	 * @throws Exception A general exception is thrown if any error occurs during
+	 *                   the processing.
 	 */
-	@SuppressWarnings({ "java:S3776", "removal" })
-	private static void populateBDBMap(BIR birRoot, BiometricType biometricType, SingleAnySubtypeType singleAnySubType,
-			Long formatType, Map<String, String> bdbMap) {
-		if (birRoot == null || birRoot.getBirs() == null || birRoot.getBirs().isEmpty()) {
-			return;
+	@SuppressWarnings({ "java:S112", "java:S1130", "java:S3776", "removal" })
+	public static Map<String, String> getBDBBasedOnTypeAndSubType(BIRIndex index, String type, String subType)
+			throws Exception {
+		if (index == null || index.size() == 0) {
+			return Collections.emptyMap();
 		}
 
-		final String subTypeValue = (singleAnySubType != null) ? singleAnySubType.value() : null;
-
-		for (BIR bir : birRoot.getBirs()) {
-			if (bir == null) continue;
-
-			BDBInfo bdbInfo = bir.getBdbInfo();
-			if (bdbInfo == null || bdbInfo.getFormat() == null) continue;
-
-			List<String> singleSubTypeList = (bdbInfo.getSubtype() != null) ? bdbInfo.getSubtype() : Collections.emptyList();
-
-			List<BiometricType> biometricTypes = bdbInfo.getType();
-			String bdbFormatType = bdbInfo.getFormat().getType();
-
-			boolean formatMatch = (formatType == null) || (formatType == Long.parseLong(bdbFormatType));
-
-			String encodedBdb = CryptoUtil.encodeBase64String(bir.getBdb());
-			long timestamp = bdbInfo.getCreationDate().toInstant(ZoneOffset.UTC).toEpochMilli();
+		BiometricType biometricType = (type != null) ? getBiometricType(type) : null;
+		SingleAnySubtypeType singleAnySubType = (subType != null) ? getSingleAnySubtype(subType) : null;
+		Long formatType = (type != null) ? getFormatType(type) : null;
 
-			if (biometricType != null && singleAnySubType == null && biometricTypes.contains(biometricType) && formatMatch) {
-				bdbMap.put(biometricType + "_" + String.join(" ", singleSubTypeList) + "_" + bdbFormatType + "_" + timestamp,
-						encodedBdb);
-			}
-			else if (biometricType == null && subTypeValue != null && singleSubTypeList.contains(subTypeValue)) {
-				// Convert BiometricTypes once
-				String typeString = String.join(" ", convertToList(biometricTypes));
-				bdbMap.put(typeString + "_" + String.join(" ", singleSubTypeList) + "_" + bdbFormatType + "_" + timestamp,
-						encodedBdb);
-			}
-			else if (biometricType != null && subTypeValue != null &&
-					biometricTypes.contains(biometricType) && singleSubTypeList.contains(subTypeValue) && formatMatch) {
-				bdbMap.put(biometricType + "_" + subTypeValue + "_" + bdbFormatType + "_" + timestamp,
-						encodedBdb);
+		// records come ordered by creation date, so the latest one of each key is put
+		// last; payloads are encoded only for the records that are kept
+		Map<String, BIR> latest = new HashMap<>();
+		if (biometricType == null && singleAnySubType == null) {
+			for (BIRIndex.Entry entry : index.entries(null, null, null)) {
+				if (entry.getFirstType() == null) continue;
+				String subtypes = entry.getSubtypeLabel().isEmpty() ? NO_SUBTYPE : entry.getSubtypeLabel();
+				latest.put(entry.getFirstType() + "_" + subtypes + "_" + entry.getFormatLabel(), entry.getBir());
 			}
 		}
-	}
-
-	/**
-	 * Extracts all the latest BDB (Biometric Data Block) information from a BIR
-	 * (Biometric Information Record) object.
-	 *
-	 * This method iterates through the BIRs within the provided BIR object
-	 * (`birRoot`) and extracts all BDB information, considering them to be the
-	 * latest data. The extracted information is stored in a map with key-value
-	 * pairs, where the key is a combination of BDB ID, format type, and creation
-	 * date, and the value is the BDB data.
-	 *
-	 * Key Format: - Biometric type (from the first element in the type list) + "_"
-	 * - Subtype list joined by spaces (if empty, "No Subtype" is used) + "_" - BDB
-	 * format type + "_" - BDB creation date in milliseconds since epoch (UTC)
-	 *
-	 * Value: - Base64 encoded BDB data
-	 *
-	 * This method assumes that the latest BDB information is readily identifiable
-	 * within the BIR object structure.
-	 * 
-	 * @param birRoot The BIR object containing the biometric data.
-	 * @return A map containing all extracted BDB information with key-value pairs
-	 *         (key: BDB ID + format type + creation date, value: BDB data).
-	 * @throws Exception A general exception is thrown if any error occurs during
-	 *                   the processing. Consider catching and handling specific
-	 *                   exception types for more robust error handling.
-	 */
-	@SuppressWarnings({ "java:S112", "java:S1130", "removal" })
-	private static Map<String, String> getAllLatestDatafromBIR(BIR birRoot) throws Exception {
-		if (birRoot == null || birRoot.getBirs() == null || birRoot.getBirs().isEmpty()) {
-			return Collections.emptyMap();
+		else if (singleAnySubType == null) {
+			for (BIRIndex.Entry entry : index.entries(biometricType, null, formatType)) {
+				latest.put(biometricType + "_" + entry.getSubtypeLabel() + "_" + entry.getFormatLabel(),
+						entry.getBir());
+			}
 		}
-
-		Map<String, String> bdbMap = new HashMap<>(birRoot.getBirs().size());
-
-		for (BIR bir : birRoot.getBirs()) {
-			if (bir == null) continue;
-
-			BDBInfo bdbInfo = bir.getBdbInfo();
-			if (bdbInfo == null || bdbInfo.getFormat() == null) continue;
-
-			List<String> singleSubTypeList = (bdbInfo.getSubtype() == null || bdbInfo.getSubtype().isEmpty())
-					? NO_SUBTYPE_LIST
-					: bdbInfo.getSubtype();
-
-			List<BiometricType> biometricTypes = bdbInfo.getType();
-			if (biometricTypes == null || biometricTypes.isEmpty()) continue;
-
-			String biometricTypeStr = biometricTypes.get(0).toString();
-			String bdbFormatType = bdbInfo.getFormat().getType();
-			long timestamp = bdbInfo.getCreationDate().toInstant(ZoneOffset.UTC).toEpochMilli();
-
-			String key = biometricTypeStr + "_" + String.join(" ", singleSubTypeList) + "_" + bdbFormatType + "_" + timestamp;
-			String encodedData = CryptoUtil.encodeBase64String(bir.getBdb());
-			bdbMap.put(key, encodedData);
+		else if (biometricType == null) {
+			for (BIRIndex.Entry entry : index.entries(null, singleAnySubType, null)) {
+				latest.put(entry.getTypeNames() + "_" + entry.getSubtypeLabel() + "_" + entry.getFormatLabel(),
+						entry.getBir());
+			}
 		}
-
-		Map<String, String> finalMap = new HashMap<>(bdbMap.size());
-		for (Map.Entry<String, String> entry : bdbMap.entrySet()) {
-			String key = entry.getKey();
-			int lastIdx = key.lastIndexOf('_');
-			if (lastIdx > 0) {
-				finalMap.put(key.substring(0, lastIdx), entry.getValue());
-			} else {
-				finalMap.put(key, entry.getValue());
+		else {
+			for (BIRIndex.Entry entry : index.entries(biometricType, singleAnySubType, formatType)) {
+				latest.put(biometricType + "_" + singleAnySubType.value() + "_" + entry.getFormatLabel(),
+						entry.getBir());
 			}
 		}
 
-		return finalMap;
-	}
-
-	/**
-	 * Converts a list of {@link BiometricType} enums to a list of strings
-	 * containing their corresponding names.
-	 *
-	 * This method utilizes Java Streams to efficiently convert each enum element in
-	 * the provided list to its name (string representation).
-	 *
-	 * @param biometricTypeList The list of BiometricType enums to be converted.
-	 * @return A new list containing the string names of the BiometricType enums.
-	 */
-	private static List<String> convertToList(List<BiometricType> biometricTypeList) {
-		if (biometricTypeList == null || biometricTypeList.isEmpty()) {
-			return Collections.emptyList();
+		if (latest.isEmpty()) {
+			return Collections.emptyMap();
 		}
 
-		List<String> result = new ArrayList<>(biometricTypeList.size());
-		for (BiometricType type : biometricTypeList) {
-			result.add(type.name());
+		Map<String, String> finalMap = new HashMap<>(latest.size());
+		for (Map.Entry<String, BIR> entry : latest.entrySet()) {
+			finalMap.put(entry.getKey(), encodeBDB(entry.getValue()));
 		}
-		return result;
+		return finalMap;
 	}
 
 	/**
@@ -509,6 +492,70 @@ public class CbeffValidator {
 	 *                                  any existing BiometricType enum name
 	 *                                  (excluding the special case of "FMR").
 	 */
+	/**
+	 * Encodes the BDB as {@link CryptoUtil#encodeBase64String(byte[])} does. The
+	 * Base64 text still held by a lazily read record is returned as is when it is
+	 * already in that encoding, otherwise the BDB is decoded and re-encoded.
+	 */
+	private static String encodeBDB(BIR bir) {
+		String base64 = bir.getBdbBase64();
+		if (base64 != null && isEncodedBase64String(base64)) {
+			return base64;
+		}
+		return CryptoUtil.encodeBase64String(bir.getBdb());
+	}
+
+	/**
+	 * Checks that the text is what {@link CryptoUtil#encodeBase64String(byte[])}
+	 * gives for the bytes it decodes to: same alphabet and padding, no line
+	 * breaks and no bits set past the last byte.
+	 */
+	private static boolean isEncodedBase64String(String base64) {
+		boolean padded = BASE64_PROBE.length() == 4;
+		int length = base64.length();
+		int end = length;
+		if (padded) {
+			if (length % 4 != 0) {
+				return false;
+			}
+			while (end > 0 && length - end < 2 && base64.charAt(end - 1) == '=') {
+				end--;
+			}
+		}
+		else if (length % 4 == 1) {
+			return false;
+		}
+		int last = 0;
+		for (int i = 0; i < end; i++) {
+			last = base64Value(base64.charAt(i));
+			if (last < 0) {
+				return false;
+			}
+		}
+		// the last character of a partial group carries unused bits, set to zero
+		return switch (end % 4) {
+			case 2 -> (last & 0x0F) == 0;
+			case 3 -> (last & 0x03) == 0;
+			default -> true;
+		};
+	}
+
+	private static int base64Value(char c) {
+		if (c >= 'A' && c <= 'Z') {
+			return c - 'A';
+		}
+		if (c >= 'a' && c <= 'z') {
+			return c - 'a' + 26;
+		}
+		if (c >= '0' && c <= '9') {
+			return c - '0' + 52;
+		}
+		if (c == BASE64_PROBE.charAt(0)) {
+			return 62;
+		}
+		return c == BASE64_PROBE.charAt(1) ? 63 : -1;
+	}
+
 	private static BiometricType getBiometricType(String type) {
 		if (isInEnum(type, BiometricType.class)) {
 			return BiometricType.valueOf(type);
@@ -554,9 +601,9 @@ public class CbeffValidator {
 	 * Extracts all BDB (Biometric Data Block) information based on provided type
 	 * and subtype filters from a BIR (Biometric Information Record) object.
 	 *
-	 * This method iterates through the BIRs within the provided BIR object
-	 * (`birRoot`) and retrieves BDB information that matches the filtering criteria
-	 * and format type. The extracted information is stored in a map with key-value
+	 * This method indexes the BIRs within the provided BIR object (`birRoot`) with
+	 * a {@link BIRIndex} and retrieves BDB information that matches the filtering
+	 * criteria and format type. The extracted information is stored in a map with key-value
 	 * pairs, where the key is a combination of BDB details and the value is the BDB
 	 * data as a UTF-8 encoded string.
 	 *
@@ -584,46 +631,62 @@ public class CbeffValidator {
 	 *                   the processing. Consider catching and handling specific
 	 *                   exception types for more robust error handling.
 	 */
-	@SuppressWarnings({ "java:S112", "java:S3776" })
+	@SuppressWarnings({ "java:S112" })
 	public static Map<String, String> getAllBDBData(BIR birRoot, String type, String subType) throws Exception {
 		if (birRoot == null || birRoot.getBirs() == null || birRoot.getBirs().isEmpty()) {
 			return Collections.emptyMap();
 		}
+		return getAllBDBData(BIRIndex.of(birRoot), type, subType);
+	}
+
+	/**
+	 * Extracts all BDB (Biometric Data Block) information based on provided type
+	 * and subtype filters from a {@link BIRIndex}.
+	 *
+	 * Same as {@link #getAllBDBData(BIR, String, String)}, but the matching
+	 * records are looked up in the index instead of scanning all the BIRs.
+	 *
+	 * @param index   The index built over the BIR object containing the biometric
+	 *                data.
+	 * @param type    The biometric data type (e.g., "Finger", "Iris") to filter by
+	 *                (can be null).
+	 * @param subType The sub-type associated with the `type` for further filtering
+	 *                (can be null).
+	 * @return A map containing all extracted BDB information with key-value pairs
+	 *         (key: BDB details + creation date, value: UTF-8 encoded BDB data).
+	 * @throws Exception A general exception is thrown if any error occurs during
+	 *                   the processing.
+	 */
+	@SuppressWarnings({ "java:S112", "java:S1130" })
+	public static Map<String, String> getAllBDBData(BIRIndex index, String type, String subType) throws Exception {
+		if (index == null || index.size() == 0) {
+			return Collections.emptyMap();
+		}
 		BiometricType biometricType = (type != null) ? getBiometricType(type) : null;
 		SingleAnySubtypeType singleAnySubType = (subType != null) ? getSingleAnySubtype(subType) : null;
 		Long formatType = (type != null) ? getFormatType(type) : null;
 
-		final String subTypeValue = (singleAnySubType != null) ? singleAnySubType.value() : null;
-
-		Map<String, String> bdbMap = new HashMap<>(birRoot.getBirs().size());
-		for (BIR bir : birRoot.getBirs()) {
-			if (bir == null) continue;
-
-			BDBInfo bdbInfo = bir.getBdbInfo();
-			if (bdbInfo == null || bdbInfo.getFormat() == null) continue;
-
-			List<String> singleSubTypeList = (bdbInfo.getSubtype() == null) ? Collections.emptyList() : bdbInfo.getSubtype();
-			List<BiometricType> singleTypeList = bdbInfo.getType();
-			long bdbFormatType = Long.parseLong(bdbInfo.getFormat().getType());
-
-			boolean formatMatch = (formatType == null || formatType == bdbFormatType);
-
-			String bdbData = new String(bir.getBdb(), StandardCharsets.UTF_8);
-			long timestamp = bdbInfo.getCreationDate().toInstant(ZoneOffset.UTC).toEpochMilli();
+		List<BIRIndex.Entry> entries;
+		if (biometricType != null && singleAnySubType == null) {
+			entries = index.entries(biometricType, null, formatType);
+		} else if (singleAnySubType != null) {
+			entries = index.entries(biometricType, singleAnySubType, biometricType != null ? formatType : null);
+		} else {
+			return Collections.emptyMap();
+		}
 
-			if (singleAnySubType == null && biometricType != null && singleTypeList.contains(biometricType) && formatMatch) {
-				bdbMap.put(biometricType + "_" + String.join(" ", singleSubTypeList) + "_" + bdbFormatType + "_" + timestamp,
-						bdbData);
-			}
-			else if (biometricType == null && subTypeValue != null && singleSubTypeList.contains(subTypeValue)) {
-				String typeString = String.join(" ", convertToList(singleTypeList));
-				bdbMap.put(String.join(" ", singleSubTypeList) + "_" + typeString + "_" + bdbFormatType + "_" + timestamp,
-						bdbData);
-			}
-			else if (biometricType != null && subTypeValue != null &&
-					singleTypeList.contains(biometricType) && singleSubTypeList.contains(subTypeValue) && formatMatch) {
-				bdbMap.put(subTypeValue + "_" + biometricType + "_" + bdbFormatType + "_" + timestamp, bdbData);
+		Map<String, String> bdbMap = new HashMap<>(entries.size());
+		for (BIRIndex.Entry entry : entries) {
+			String key;
+			if (singleAnySubType == null) {
+				key = biometricType + "_" + entry.getSubtypeLabel();
+			} else if (biometricType == null) {
+				key = entry.getSubtypeLabel() + "_" + entry.getTypeNames();
+			} else {
+				key = singleAnySubType.value() + "_" + biometricType;
 			}
+			bdbMap.put(key + "_" + entry.getFormatNumber() + "_" + entry.getCreationTime(),
+					new String(entry.getBir().getBdb(), StandardCharsets.UTF_8));
 		}
 
 		return bdbMap;
@@ -658,14 +721,14 @@ public class CbeffValidator {
 	 * Parses BIR (Biometric Information Record) data from a provided XML byte array
 	 * and filters based on a biometric type (optional).
 	 *
-	 * This method utilizes JAXB (Java Architecture for XML Binding) to unmarshal
-	 * the XML data from the provided byte array into a BIR object. It then iterates
-	 * through the BIRs within the parsed object and filters them based on the
-	 * following criteria:
+	 * This method uses {@link CbeffStreamReader} to walk the BIRs of the document
+	 * one at a time. The type filter is applied on the BDBInfo header of each BIR
+	 * before its BDB payload is decoded, so BIRs of other modalities never have
+	 * their payload materialized.
 	 *
-	 * - If `type` is null, all BIRs are added to the returned list. - If `type` is
-	 * not null, only BIRs containing a BDBInfo object with a type list matching the
-	 * provided `biometricType` are added.
+	 * - If `type` is null, no BIR is returned. - If `type` is not null, only BIRs
+	 * containing a BDBInfo object with a type list matching the provided
+	 * `biometricType` are added.
 	 *
 	 * The filtered BIRs are added to a new list and returned.
 	 *
@@ -674,13 +737,7 @@ public class CbeffValidator {
 	 *                 (can be null).
 	 * @return A list containing the filtered BIR objects.
 	 * @throws Exception A general exception is thrown if any error occurs during
-	 *                   the JAXB unmarshalling process or BIR filtering. Consider
-	 *                   catching and handling specific exception types for more
-	 *                   robust error handling. @SuppressWarnings("java:S112")
-	 *                   Suppresses potential SonarLint warning about unused
-	 *                   variable `jaxBir`. This warning might be overly cautious in
-	 *                   this context, and the variable is used to hold the
-	 *                   unmarshalled data during processing.
+	 *                   the XML parsing process or BIR filtering.
 	 */
 	@SuppressWarnings({ "java:S112" })
 	public static List<BIR> getBIRDataFromXMLType(byte[] xmlBytes, String type) throws Exception {
@@ -688,31 +745,9 @@ public class CbeffValidator {
 			return Collections.emptyList();
 		}
 		BiometricType biometricType = (type != null && !type.isEmpty()) ? getBiometricType(type) : null;
-		Unmarshaller unmarshaller = BIR_CONTEXT.createUnmarshaller();
-
-		try (ByteArrayInputStream inputStream = new ByteArrayInputStream(xmlBytes)) {
-			JAXBElement<BIR> jaxBir = unmarshaller.unmarshal(new StreamSource(inputStream), BIR.class);
-			BIR birRoot = jaxBir.getValue();
+		Predicate<BDBInfo> filter = biometricType != null ? CbeffStreamReader.typeFilter(biometricType, null)
+				: bdbInfo -> false;
 
-			if (birRoot == null || birRoot.getBirs() == null || birRoot.getBirs().isEmpty()) {
-				return Collections.emptyList();
-			}
-
-			// Filter list efficiently
-			List<BIR> updatedBIRList = new ArrayList<>();
-			for (BIR bir : birRoot.getBirs()) {
-				if (bir == null || biometricType == null) continue;
-
-				BDBInfo bdbInfo = bir.getBdbInfo();
-				if (bdbInfo != null) {
-					List<BiometricType> biometricTypes = bdbInfo.getType();
-					if (biometricTypes != null && !biometricTypes.isEmpty() && biometricTypes.contains(biometricType)) {
-						updatedBIRList.add(bir);
-					}
-				}
-			}
-
-			return updatedBIRList;
-		}
+		return CbeffStreamReader.getBIRs(xmlBytes, filter);
 	}
-}
\ No newline at end of file
+}
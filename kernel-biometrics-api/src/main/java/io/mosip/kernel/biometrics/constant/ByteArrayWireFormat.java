@@ -0,0 +1,25 @@
+package io.mosip.kernel.biometrics.constant;
+
+/**
+ * Enumerates the JSON representations used for binary fields such as the BIR
+ * BDB and SB payloads.
+ *
+ * - INT_ARRAY: One JSON number per byte, e.g. {@code [70,65,67]}. This is the
+ * historical format and the default. - BASE64: A single Base64 string, e.g.
+ * {@code "RkFD"}, roughly a third of the size of the byte array and a quarter
+ * of the integer array. Binary-capable formats (CBOR, Smile, ...) write the raw
+ * bytes instead.
+ *
+ * Readers accept both representations regardless of the configured format.
+ */
+public enum ByteArrayWireFormat {
+	/**
+	 * JSON array of integers, one per byte.
+	 */
+	INT_ARRAY,
+
+	/**
+	 * Base64 string, or native binary for binary-capable formats.
+	 */
+	BASE64;
+}
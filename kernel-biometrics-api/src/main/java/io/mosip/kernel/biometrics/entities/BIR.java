@@ -5,13 +5,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
 
+import javax.xml.bind.Marshaller;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.bind.annotation.XmlType;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
@@ -20,7 +23,9 @@ import com.fasterxml.jackson.databind.deser.std.MapEntryDeserializer;
 
 import io.mosip.kernel.core.cbeffutil.common.Base64Adapter;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Represents a Biometric Information Record (BIR) containing various attributes
@@ -31,6 +36,15 @@ import lombok.NoArgsConstructor;
  * This class uses a builder pattern ({@link BIR.BIRBuilder}) for object
  * creation.
  * </p>
+ * <p>
+ * The BDB and SB payloads can be held lazily as their raw Base64 text (see
+ * {@link #setBdbBase64(String)}). The text is decoded only when
+ * {@link #getBdb()} / {@link #getSb()} is called, and callers that need
+ * Base64 anyway can read it back through {@link #getBdbBase64()} without a
+ * decode/encode round trip. The text is dropped once decoded. Decoding is
+ * thread safe, so a lazily read BIR can be shared between threads as long as
+ * it is not modified.
+ * </p>
  * 
  * @author Ramadurai Pandian
  * @version 1.0.0
@@ -59,13 +73,13 @@ public class BIR implements Serializable {
 	@XmlJavaTypeAdapter(Base64Adapter.class)
 	@JsonDeserialize(using = IntArrayToByteArrayDeserializer.class)
 	@JsonSerialize(using = ByteArrayToIntArraySerializer.class)
-	private byte[] bdb;
+	private volatile byte[] bdb;
 
 	@XmlElement(name = "SB")
 	@XmlJavaTypeAdapter(Base64Adapter.class)
 	@JsonDeserialize(using = IntArrayToByteArrayDeserializer.class)
 	@JsonSerialize(using = ByteArrayToIntArraySerializer.class)
-	private byte[] sb;
+	private volatile byte[] sb;
 
 	@SuppressWarnings({ "java:S1948" })
 	@XmlElement(name = "BIR")
@@ -78,6 +92,18 @@ public class BIR implements Serializable {
 	@JsonDeserialize(using = MapEntryDeserializer.class)
 	private HashMap<String, String> others;
 
+	/** Raw Base64 text of the BDB, decoded into {@link #bdb} on first access. */
+	@XmlTransient
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private volatile String bdbBase64;
+
+	/** Raw Base64 text of the SB, decoded into {@link #sb} on first access. */
+	@XmlTransient
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private volatile String sbBase64;
+
 	/**
 	 * Constructs a new instance of BIR using a builder pattern.
 	 * 
@@ -94,6 +120,148 @@ public class BIR implements Serializable {
 		this.others = birBuilder.others;
 	}
 
+	/**
+	 * Returns the BDB (Biometric Data Block), decoding the lazily held Base64 text
+	 * on first access and dropping it.
+	 * 
+	 * @return the BDB bytes
+	 */
+	public byte[] getBdb() {
+		if (bdbBase64 != null) {
+			synchronized (this) {
+				if (bdbBase64 != null) {
+					bdb = decodeBase64(bdbBase64);
+					bdbBase64 = null;
+				}
+			}
+		}
+		return bdb;
+	}
+
+	/**
+	 * Sets the BDB (Biometric Data Block) and discards any lazily held Base64
+	 * text.
+	 * 
+	 * @param bdb the BDB bytes
+	 */
+	public synchronized void setBdb(byte[] bdb) {
+		this.bdb = bdb;
+		this.bdbBase64 = null;
+	}
+
+	/**
+	 * Returns the BDB as Base64 text. When the BIR was read in lazy payload mode
+	 * and the BDB was not decoded yet, the original text is returned as is.
+	 * 
+	 * @return the BDB as Base64 text, or null if there is no BDB
+	 */
+	@JsonIgnore
+	public String getBdbBase64() {
+		String value = bdbBase64;
+		if (value == null) {
+			byte[] bytes = bdb;
+			return bytes == null ? null : encodeBase64(bytes);
+		}
+		return value;
+	}
+
+	/**
+	 * Holds the BDB as Base64 text, to be decoded only when {@link #getBdb()} is
+	 * called.
+	 * 
+	 * @param bdbBase64 the BDB as Base64 text
+	 */
+	public synchronized void setBdbBase64(String bdbBase64) {
+		this.bdbBase64 = bdbBase64;
+		this.bdb = null;
+	}
+
+	/**
+	 * Returns the SB (Structured Biometric Data), decoding the lazily held Base64
+	 * text on first access and dropping it.
+	 * 
+	 * @return the SB bytes
+	 */
+	public byte[] getSb() {
+		if (sbBase64 != null) {
+			synchronized (this) {
+				if (sbBase64 != null) {
+					sb = decodeBase64(sbBase64);
+					sbBase64 = null;
+				}
+			}
+		}
+		return sb;
+	}
+
+	/**
+	 * Sets the SB (Structured Biometric Data) and discards any lazily held Base64
+	 * text.
+	 * 
+	 * @param sb the SB bytes
+	 */
+	public synchronized void setSb(byte[] sb) {
+		this.sb = sb;
+		this.sbBase64 = null;
+	}
+
+	/**
+	 * Returns the SB as Base64 text. When the BIR was read in lazy payload mode
+	 * and the SB was not decoded yet, the original text is returned as is.
+	 * 
+	 * @return the SB as Base64 text, or null if there is no SB
+	 */
+	@JsonIgnore
+	public String getSbBase64() {
+		String value = sbBase64;
+		if (value == null) {
+			byte[] bytes = sb;
+			return bytes == null ? null : encodeBase64(bytes);
+		}
+		return value;
+	}
+
+	/**
+	 * Holds the SB as Base64 text, to be decoded only when {@link #getSb()} is
+	 * called.
+	 * 
+	 * @param sbBase64 the SB as Base64 text
+	 */
+	public synchronized void setSbBase64(String sbBase64) {
+		this.sbBase64 = sbBase64;
+		this.sb = null;
+	}
+
+	/**
+	 * JAXB callback invoked before marshalling. JAXB reads the payload fields
+	 * directly, so lazily held payloads are decoded here first.
+	 * 
+	 * @param marshaller the marshaller in use
+	 */
+	@SuppressWarnings({ "unused", "java:S1144" })
+	private void beforeMarshal(Marshaller marshaller) {
+		getBdb();
+		getSb();
+	}
+
+	@SuppressWarnings({ "java:S112" })
+	private static byte[] decodeBase64(String value) {
+		try {
+			return new Base64Adapter().unmarshal(value);
+		} catch (Exception e) {
+			throw new IllegalArgumentException("Invalid Base64 payload in BIR", e);
+		}
+	}
+
+	@SuppressWarnings({ "java:S112" })
+	private static String encodeBase64(byte[] value) {
+		try {
+			return new Base64Adapter().marshal(value);
+		} catch (Exception e) {
+			throw new IllegalArgumentException("Unable to encode BIR payload", e);
+		}
+	}
+
 	/**
 	 * Builder pattern class for constructing instances of BIR.
 	 */
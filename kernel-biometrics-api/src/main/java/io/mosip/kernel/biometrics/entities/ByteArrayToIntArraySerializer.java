@@ -4,7 +4,13 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
+import io.mosip.kernel.biometrics.constant.ByteArrayWireFormat;
+
 import java.io.IOException;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A custom Jackson {@link StdSerializer} implementation that converts
@@ -23,6 +29,13 @@ import java.io.IOException;
  *     <li><b>Unsigned mode</b>: produces integer values in the range
  *     0 to 255, converting bytes via {@link Byte#toUnsignedInt(byte)}.</li>
  * </ul>
+ * <p>
+ * A compact wire mode ({@link ByteArrayWireFormat#BASE64}) writes the bytes as a
+ * single Base64 string instead, or as native binary with binary-capable formats
+ * such as CBOR or Smile. It is selected per writer through the
+ * {@link #WIRE_FORMAT_ATTRIBUTE} attribute, or for the whole JVM through the
+ * {@value #WIRE_FORMAT_PROPERTY} system property.
+ * {@link IntArrayToByteArrayDeserializer} reads either representation.
  *
  * <p>Example usage:
  * <pre>{@code
@@ -34,6 +47,11 @@ import java.io.IOException;
  * byte[] data = {70, 65, 67, 0, 48, 51};
  * String json = mapper.writeValueAsString(data);
  * // Output: [70,65,67,0,48,51]
+ *
+ * String compact = mapper.writer()
+ *         .withAttribute(ByteArrayToIntArraySerializer.WIRE_FORMAT_ATTRIBUTE, ByteArrayWireFormat.BASE64)
+ *         .writeValueAsString(data);
+ * // Output: "RkFDADAz"
  * }</pre>
  *
  * To use on a specific field:
@@ -47,6 +65,22 @@ import java.io.IOException;
  */
 public class ByteArrayToIntArraySerializer extends StdSerializer<byte[]> {
 
+    /**
+     * Serialization attribute selecting the {@link ByteArrayWireFormat}, given either
+     * as the enum or its name.
+     */
+    public static final String WIRE_FORMAT_ATTRIBUTE = "mosip.kernel.biometrics.byte-array-wire-format";
+
+    /**
+     * System property selecting the default {@link ByteArrayWireFormat}.
+     */
+    public static final String WIRE_FORMAT_PROPERTY = "mosip.kernel.biometrics.byte-array-wire-format";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ByteArrayToIntArraySerializer.class);
+
+    private static final ByteArrayWireFormat DEFAULT_WIRE_FORMAT = parseWireFormat(
+            System.getProperty(WIRE_FORMAT_PROPERTY), ByteArrayWireFormat.INT_ARRAY);
+
     private final boolean useUnsigned;
 
     /**
@@ -69,7 +103,8 @@ public class ByteArrayToIntArraySerializer extends StdSerializer<byte[]> {
     }
 
     /**
-     * Serializes a byte array to a JSON array of integers.
+     * Serializes a byte array to a JSON array of integers, or to Base64 in the
+     * compact wire mode.
      * <p>
      * Writes {@code null} to the output if the byte array itself is null.
      *
@@ -85,11 +120,47 @@ public class ByteArrayToIntArraySerializer extends StdSerializer<byte[]> {
             return;
         }
 
-        // Convert byte[] to int[] for writing
-        int[] intArray = new int[value.length];
-        for (int i = 0; i < value.length; i++) {
-            intArray[i] = useUnsigned ? Byte.toUnsignedInt(value[i]) : value[i];
+        if (wireFormat(provider) == ByteArrayWireFormat.BASE64) {
+            gen.writeBinary(value);
+            return;
+        }
+
+        // Write numbers straight from the byte array, no int[] copy
+        gen.writeStartArray();
+        for (byte b : value) {
+            gen.writeNumber(useUnsigned ? Byte.toUnsignedInt(b) : b);
+        }
+        gen.writeEndArray();
+    }
+
+    private static ByteArrayWireFormat wireFormat(SerializerProvider provider) {
+        Object format = provider != null ? provider.getAttribute(WIRE_FORMAT_ATTRIBUTE) : null;
+        if (format instanceof ByteArrayWireFormat wireFormat) {
+            return wireFormat;
+        }
+        return parseWireFormat(format, DEFAULT_WIRE_FORMAT);
+    }
+
+    /**
+     * Parses a wire format name, ignoring case and surrounding whitespace. An
+     * unknown name is logged and the fallback is used instead, so that a
+     * misconfigured property cannot fail the class initialization.
+     *
+     * @param value    the wire format name, can be null
+     * @param fallback the format used when the value is missing or unknown
+     * @return the parsed wire format
+     */
+    static ByteArrayWireFormat parseWireFormat(Object value, ByteArrayWireFormat fallback) {
+        if (value == null || value.toString().isBlank()) {
+            return fallback;
+        }
+        String name = value.toString().trim().toUpperCase(Locale.ROOT);
+        for (ByteArrayWireFormat wireFormat : ByteArrayWireFormat.values()) {
+            if (wireFormat.name().equals(name)) {
+                return wireFormat;
+            }
         }
-        gen.writeArray(intArray, 0, intArray.length);
+        LOGGER.warn("Unknown byte array wire format '{}', using {}", value, fallback);
+        return fallback;
     }
-}
\ No newline at end of file
+}
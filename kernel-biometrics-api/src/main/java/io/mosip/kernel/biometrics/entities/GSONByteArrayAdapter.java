@@ -30,6 +30,11 @@ import java.util.Base64;
  * It is particularly useful when integrating with services that expect Base64 strings
  * but also need to tolerate JSON numeric arrays (for example, interoperability
  * with Jackson or manual byte array representations).
+ * <p>
+ * Gson hands this adapter a fully built {@link JsonElement} tree, i.e. one boxed
+ * element per byte for numeric arrays. For large payloads prefer
+ * {@link GSONByteArrayTypeAdapter}, which accepts the same input but reads the
+ * token stream directly.
  *
  * <p>Usage Example:
  * <pre>{@code
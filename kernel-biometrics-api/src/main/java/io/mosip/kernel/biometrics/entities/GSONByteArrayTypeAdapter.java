@@ -0,0 +1,112 @@
+package io.mosip.kernel.biometrics.entities;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * A streaming Gson {@link TypeAdapter} for {@code byte[]} fields, accepting the
+ * same inputs as {@link GSONByteArrayAdapter}.
+ * <p>
+ * {@link GSONByteArrayAdapter} is a {@link com.google.gson.JsonDeserializer}, so
+ * Gson first builds a {@link com.google.gson.JsonArray} holding one boxed
+ * element per byte before the adapter sees it. This adapter reads the token
+ * stream directly instead:
+ * <ul>
+ *     <li>A Base64 string is decoded to a byte array.</li>
+ *     <li>A numeric array is read integer by integer into a growable byte buffer,
+ *         with no intermediate elements.</li>
+ * </ul>
+ * Byte arrays are written as Base64 strings.
+ *
+ * <p>Usage Example:
+ * <pre>{@code
+ * Gson gson = new GsonBuilder()
+ *     .registerTypeAdapter(byte[].class, new GSONByteArrayTypeAdapter())
+ *     .create();
+ * }</pre>
+ *
+ * @since 1.3.0
+ */
+public class GSONByteArrayTypeAdapter extends TypeAdapter<byte[]> {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private final int initialCapacity;
+
+	/**
+	 * Creates an adapter with the default initial buffer size.
+	 */
+	public GSONByteArrayTypeAdapter() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an adapter whose buffer for numeric arrays starts at the given size,
+	 * e.g. the typical payload length. Larger arrays are still read correctly.
+	 *
+	 * @param initialCapacity the initial buffer size in bytes
+	 */
+	public GSONByteArrayTypeAdapter(int initialCapacity) {
+		this.initialCapacity = initialCapacity > 0 ? initialCapacity : DEFAULT_CAPACITY;
+	}
+
+	/**
+	 * Reads a Base64 string or a numeric array into a byte array.
+	 *
+	 * @param in the JSON reader
+	 * @return the decoded bytes, or {@code null} for JSON null
+	 * @throws IOException if the input cannot be read
+	 */
+	@Override
+	public byte[] read(JsonReader in) throws IOException {
+		JsonToken token = in.peek();
+		switch (token) {
+		case NULL:
+			in.nextNull();
+			return null;
+		case STRING:
+			return Base64.getDecoder().decode(in.nextString());
+		case BEGIN_ARRAY:
+			return readArray(in);
+		default:
+			throw new JsonParseException("Invalid format for byte array: " + token);
+		}
+	}
+
+	/**
+	 * Writes the byte array as a Base64 string.
+	 *
+	 * @param out   the JSON writer
+	 * @param value the bytes to write, may be {@code null}
+	 * @throws IOException if writing fails
+	 */
+	@Override
+	public void write(JsonWriter out, byte[] value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+		out.value(Base64.getEncoder().encodeToString(value));
+	}
+
+	private byte[] readArray(JsonReader in) throws IOException {
+		byte[] buffer = new byte[initialCapacity];
+		int length = 0;
+		in.beginArray();
+		while (in.hasNext()) {
+			if (length == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length + (buffer.length >> 1) + 1);
+			}
+			buffer[length++] = (byte) in.nextInt();
+		}
+		in.endArray();
+		return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+	}
+}
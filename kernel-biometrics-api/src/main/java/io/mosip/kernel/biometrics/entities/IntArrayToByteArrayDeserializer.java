@@ -3,11 +3,10 @@ package io.mosip.kernel.biometrics.entities;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Base64;
 
 /**
@@ -18,6 +17,10 @@ import java.util.Base64;
  * an array of numeric values instead of the default Base64-encoded string
  * representation typically produced and consumed by Jackson.</p>
  *
+ * <p>The representation is detected from the input, so Base64 strings and native
+ * binary values written by the compact wire mode of
+ * {@link ByteArrayToIntArraySerializer} are accepted as well.</p>
+ *
  * <p>It supports two modes:
  * <ul>
  *   <li><b>Signed mode</b> (default): Each value is expected to be in the range -128 to 127.</li>
@@ -47,12 +50,20 @@ import java.util.Base64;
  */
 public class IntArrayToByteArrayDeserializer extends StdDeserializer<byte[]> {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper()
-            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
-            .disable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
-
     private static final Base64.Decoder STD_DECODER = Base64.getDecoder();
 
+    /**
+     * Deserialization attribute holding the expected number of bytes (an {@link Integer}),
+     * e.g. taken from a length field read before the payload. It only sizes the initial
+     * buffer; arrays of any other length are still read correctly.
+     */
+    public static final String SIZE_HINT_ATTRIBUTE = "mosip.kernel.biometrics.byte-array-size-hint";
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /** Upper bound for the size hint, so a bogus hint cannot force a huge allocation. */
+    private static final int MAX_HINT = 16 * 1024 * 1024;
+
     private final boolean useUnsigned;
 
     /**
@@ -95,31 +106,55 @@ public class IntArrayToByteArrayDeserializer extends StdDeserializer<byte[]> {
             return STD_DECODER.decode(base64);
         }
 
+        else if (token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            // Native binary from binary-capable formats (CBOR, Smile, ...)
+            return parser.getBinaryValue();
+        }
+
         else if (token != JsonToken.START_ARRAY) {
             String errorMsg = "Expected JSON array for byte[] deserialization, found: " + parser.getCurrentToken();
             throw new IOException(errorMsg);
         }
         else {
-            // Read the entire array as int[] to avoid manual token iteration
-            int[] intArray = MAPPER.readValue(parser, int[].class);
+            return readIntArray(parser, sizeHint(context));
+        }
+    }
 
-            // Validate range and convert to byte[]
-            byte[] result = new byte[intArray.length];
-            for (int i = 0; i < intArray.length; i++) {
-                int value = intArray[i];
-                if (useUnsigned) {
-                    if (value < 0 || value > 255) {
-                        throw new IOException("Unsigned byte value out of range (0 to 255): " + value);
-                    }
-                } else {
-                    if (value < -128 || value > 127) {
-                        throw new IOException("Signed byte value out of range (-128 to 127): " + value);
-                    }
+    /**
+     * Reads the integer tokens of the current array straight into a growable byte
+     * buffer, without boxing or an intermediate {@code int[]}.
+     */
+    private byte[] readIntArray(JsonParser parser, int sizeHint) throws IOException {
+        byte[] buffer = new byte[sizeHint > 0 ? sizeHint : DEFAULT_CAPACITY];
+        int length = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NUMBER_INT) {
+                throw new IOException("Expected integer value in byte[] array, found: " + token);
+            }
+            int value = parser.getIntValue();
+            if (useUnsigned) {
+                if (value < 0 || value > 255) {
+                    throw new IOException("Unsigned byte value out of range (0 to 255): " + value);
                 }
-                result[i] = (byte) value;
+            } else {
+                if (value < -128 || value > 127) {
+                    throw new IOException("Signed byte value out of range (-128 to 127): " + value);
+                }
+            }
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(DEFAULT_CAPACITY, buffer.length + (buffer.length >> 1)));
             }
+            buffer[length++] = (byte) value;
+        }
+        return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
 
-            return result;
+    private static int sizeHint(DeserializationContext context) {
+        Object hint = context != null ? context.getAttribute(SIZE_HINT_ATTRIBUTE) : null;
+        if (hint instanceof Number number) {
+            return (int) Math.min(Math.max(number.longValue(), 0), MAX_HINT);
         }
+        return 0;
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package io.mosip.kernel.biometrics.model;
+
+import lombok.Data;
+
+/**
+ * Represents the outcome of creating one CBEFF document of a batch, holding
+ * either the created XML or the failure of that item.
+ *
+ * @since 1.3.0
+ */
+@Data
+public class CbeffBatchResult {
+	/**
+	 * The position of the item in the batch.
+	 */
+	private int index;
+
+	/**
+	 * The created CBEFF XML, {@code null} if the item failed.
+	 */
+	private byte[] xml;
+
+	/**
+	 * The failure of the item, {@code null} if the XML was created.
+	 */
+	private Exception error;
+
+	/**
+	 * Creates the result of a successful item.
+	 *
+	 * @param index The position of the item in the batch.
+	 * @param xml   The created CBEFF XML.
+	 * @return The result.
+	 */
+	public static CbeffBatchResult success(int index, byte[] xml) {
+		CbeffBatchResult result = new CbeffBatchResult();
+		result.setIndex(index);
+		result.setXml(xml);
+		return result;
+	}
+
+	/**
+	 * Creates the result of a failed item.
+	 *
+	 * @param index The position of the item in the batch.
+	 * @param error The failure.
+	 * @return The result.
+	 */
+	public static CbeffBatchResult failure(int index, Exception error) {
+		CbeffBatchResult result = new CbeffBatchResult();
+		result.setIndex(index);
+		result.setError(error);
+		return result;
+	}
+
+	/**
+	 * Returns whether the XML of the item was created.
+	 *
+	 * @return {@code true} if the item did not fail.
+	 */
+	public boolean isSuccess() {
+		return error == null;
+	}
+}
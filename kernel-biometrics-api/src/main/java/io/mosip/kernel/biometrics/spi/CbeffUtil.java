@@ -1,9 +1,15 @@
 package io.mosip.kernel.biometrics.spi;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import io.mosip.kernel.biometrics.commons.CbeffSplicer;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
 import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.model.CbeffBatchResult;
 
 /**
  * Interface for Common Biometric Exchange Formats Framework (CBEFF) utility
@@ -132,4 +138,103 @@ public interface CbeffUtil {
 	 * @throws Exception If there is an error while extracting BIR data from XML.
 	 */
 	public List<BIR> getBIRDataFromXMLType(byte[] xmlBytes, String type) throws Exception;
+
+	/**
+	 * Appends new Biometric Information Records (BIRs) to an existing XML file.
+	 * 
+	 * <p>
+	 * Implementations may splice the new records into the existing bytes instead
+	 * of re-creating the whole document; the default implementation delegates to
+	 * {@link #updateXML(List, byte[])}.
+	 * </p>
+	 * 
+	 * @param birList   The list of BIRs to append.
+	 * @param fileBytes The byte array of the existing XML file.
+	 * @return The byte array representation of the updated XML file.
+	 * @throws Exception If there is an error during XML update.
+	 */
+	public default byte[] appendXML(List<BIR> birList, byte[] fileBytes) throws Exception {
+		return updateXML(birList, fileBytes);
+	}
+
+	/**
+	 * Replaces the records of an existing XML file that have the same biometric
+	 * type and subtype as one of the given Biometric Information Records (BIRs),
+	 * and appends the given BIRs.
+	 * 
+	 * <p>
+	 * Implementations may splice the new records into the existing bytes instead
+	 * of re-creating the whole document; the default implementation reads the
+	 * existing records, drops the matching ones (see
+	 * {@link CbeffSplicer#isSameBiometric(BDBInfo, BDBInfo)}) and calls
+	 * {@link #createXML(List)}.
+	 * </p>
+	 * 
+	 * @param birList   The list of BIRs to add in place of the matching records.
+	 * @param fileBytes The byte array of the existing XML file.
+	 * @return The byte array representation of the updated XML file.
+	 * @throws Exception If there is an error during XML update.
+	 */
+	public default byte[] replaceXML(List<BIR> birList, byte[] fileBytes) throws Exception {
+		List<BIR> birs = new ArrayList<>(getBIRDataFromXML(fileBytes));
+		if (birList != null) {
+			birs.removeIf(existing -> birList.stream()
+					.anyMatch(bir -> CbeffSplicer.isSameBiometric(existing.getBdbInfo(), bir.getBdbInfo())));
+			birs.addAll(birList);
+		}
+		return createXML(birs);
+	}
+
+	/**
+	 * Creates one XML document per list of Biometric Information Records (BIRs),
+	 * running the items on the given executor.
+	 * 
+	 * <p>
+	 * The results are returned in the order of the given lists. A failing item
+	 * does not fail the batch; its failure is reported in its result instead.
+	 * The default implementation calls {@link #createXML(List)} for each item.
+	 * </p>
+	 * 
+	 * @param birLists The lists of BIRs, one per document.
+	 * @param executor The executor running the items, or {@code null} for the
+	 *                 implementation default.
+	 * @return One result per list, in order.
+	 */
+	public default List<CbeffBatchResult> createXMLBatch(List<List<BIR>> birLists, Executor executor) {
+		return createXMLBatch(birLists, null, executor);
+	}
+
+	/**
+	 * Creates one XML document per list of Biometric Information Records (BIRs)
+	 * using a specified XSD schema, running the items on the given executor.
+	 * 
+	 * @param birLists The lists of BIRs, one per document.
+	 * @param xsd      The byte array representation of the XSD schema for XML
+	 *                 validation, or {@code null} for the internally defined one.
+	 * @param executor The executor running the items, or {@code null} for the
+	 *                 implementation default.
+	 * @return One result per list, in order.
+	 * @see #createXMLBatch(List, Executor)
+	 */
+	public default List<CbeffBatchResult> createXMLBatch(List<List<BIR>> birLists, byte[] xsd, Executor executor) {
+		Executor runner = executor != null ? executor : Runnable::run;
+		List<CompletableFuture<CbeffBatchResult>> futures = new ArrayList<>(birLists.size());
+		for (int i = 0; i < birLists.size(); i++) {
+			int index = i;
+			List<BIR> birList = birLists.get(i);
+			futures.add(CompletableFuture.supplyAsync(() -> {
+				try {
+					return CbeffBatchResult.success(index, xsd != null ? createXML(birList, xsd) : createXML(birList));
+				} catch (Exception e) {
+					return CbeffBatchResult.failure(index, e);
+				}
+			}, runner));
+		}
+
+		List<CbeffBatchResult> results = new ArrayList<>(futures.size());
+		for (CompletableFuture<CbeffBatchResult> future : futures) {
+			results.add(future.join());
+		}
+		return results;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package io.mosip.kernel.biometrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.Test;
+
+import io.mosip.kernel.biometrics.commons.BIRCopier;
+import io.mosip.kernel.biometrics.commons.CbeffValidator;
+import io.mosip.kernel.biometrics.entities.BIR;
+
+public class BIRCopierTest {
+
+	private String localpath = "./src/test/resources";
+
+	@Test
+	public void copyIsEqualAndIndependentTest() throws Exception {
+		BIR bir = CbeffValidator
+				.getBIRFromXML(Files.readAllBytes(Paths.get(localpath + "/schema/createCbeffLatest2.xml")));
+		BIR expected = CbeffValidator
+				.getBIRFromXML(Files.readAllBytes(Paths.get(localpath + "/schema/createCbeffLatest2.xml")));
+
+		BIR copy = BIRCopier.copy(bir);
+		MatcherAssert.assertThat(copy, is(bir));
+
+		BIR child = copy.getBirs().get(0);
+		MatcherAssert.assertThat(child, not(sameInstance(bir.getBirs().get(0))));
+		child.getBdb()[0] ^= 1;
+		child.getBdbInfo().getSubtype().clear();
+		child.getBdbInfo().getFormat().setType("0");
+		child.getBirInfo().setIntegrity(true);
+		copy.getBirs().clear();
+
+		MatcherAssert.assertThat(bir, is(expected));
+	}
+
+	@Test
+	public void copyNullTest() {
+		MatcherAssert.assertThat(BIRCopier.copy((BIR) null), nullValue());
+	}
+}
@@ -0,0 +1,79 @@
+package io.mosip.kernel.biometrics;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.Test;
+
+import io.mosip.kernel.biometrics.commons.BIRIndex;
+import io.mosip.kernel.biometrics.commons.CbeffValidator;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.entities.SingleAnySubtypeType;
+import io.mosip.kernel.core.util.CryptoUtil;
+
+public class BIRIndexTest {
+
+	private String localpath = "./src/test/resources";
+
+	@Test
+	public void findTest() throws Exception {
+		BIRIndex index = BIRIndex.of(readCbeff());
+
+		MatcherAssert.assertThat(index.size(), is(10));
+		MatcherAssert.assertThat(index.find(null, null, null).size(), is(10));
+		MatcherAssert.assertThat(index.find(BiometricType.FINGER, null, 7L).size(), is(10));
+		MatcherAssert.assertThat(index.find(BiometricType.FINGER, null, 9L).size(), is(0));
+		MatcherAssert.assertThat(index.find(BiometricType.IRIS, null, null).size(), is(0));
+		MatcherAssert.assertThat(index.find(null, SingleAnySubtypeType.RIGHT, null).size(), is(5));
+		MatcherAssert
+				.assertThat(index.find(BiometricType.FINGER, SingleAnySubtypeType.MIDDLE_FINGER, 7L).size(), is(2));
+	}
+
+	@Test
+	public void latestTest() throws Exception {
+		BIR root = readCbeff();
+		BIR newer = CbeffValidator.getBIRFromXML(readFile("createCbeffLatest2.xml")).getBirs().get(1);
+		newer.getBdbInfo().setCreationDate(newer.getBdbInfo().getCreationDate().plusDays(1));
+		newer.setBdb(new byte[] { 1, 2, 3 });
+		List<BIR> birs = new ArrayList<>(root.getBirs());
+		// the newer record comes first in the document
+		birs.add(0, newer);
+		root.setBirs(birs);
+
+		BIRIndex index = BIRIndex.of(root);
+		List<BIR> matches = index.find(BiometricType.FINGER, SingleAnySubtypeType.MIDDLE_FINGER, null);
+		BIR latest = index.latest(BiometricType.FINGER, SingleAnySubtypeType.MIDDLE_FINGER, null).get();
+
+		MatcherAssert.assertThat(matches.get(matches.size() - 1), is(newer));
+		MatcherAssert.assertThat(latest, is(newer));
+		MatcherAssert.assertThat(index.latest(BiometricType.FACE, null, null).isPresent(), is(false));
+
+		Map<String, String> bdbMap = CbeffValidator.getBDBBasedOnTypeAndSubType(index, "Finger", "MiddleFinger");
+		MatcherAssert.assertThat(bdbMap.size(), is(1));
+		MatcherAssert.assertThat(bdbMap.values().iterator().next(), is(CryptoUtil.encodeBase64String(newer.getBdb())));
+		MatcherAssert.assertThat(CbeffValidator.getBDBBasedOnTypeAndSubType(index, null, null).size(), is(10));
+		MatcherAssert.assertThat(CbeffValidator.getAllBDBData(index, "Finger", null).size(), is(11));
+	}
+
+	@Test
+	public void emptyTest() {
+		MatcherAssert.assertThat(BIRIndex.of(null).size(), is(0));
+		MatcherAssert.assertThat(BIRIndex.of(new BIR()).find(null, null, null).isEmpty(), is(true));
+	}
+
+	private BIR readCbeff() throws Exception {
+		return CbeffValidator.getBIRFromXML(readFile("createCbeffLatest2.xml"));
+	}
+
+	private byte[] readFile(String name) throws IOException {
+		return Files.readAllBytes(Paths.get(localpath + "/schema/" + name));
+	}
+}
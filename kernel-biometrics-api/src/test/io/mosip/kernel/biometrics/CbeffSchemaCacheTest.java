@@ -0,0 +1,68 @@
+package io.mosip.kernel.biometrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import javax.xml.validation.Schema;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+import io.mosip.kernel.biometrics.commons.CbeffSchemaCache;
+
+public class CbeffSchemaCacheTest {
+
+	private String localpath = "./src/test/resources";
+
+	@Before
+	public void setUp() {
+		CbeffSchemaCache.clear();
+	}
+
+	@Test
+	public void getSchemaIsCompiledOnceTest() throws Exception {
+		byte[] xsd = readFile("cbeff.xsd");
+		Schema first = CbeffSchemaCache.getSchema(xsd);
+		Schema second = CbeffSchemaCache.getSchema(xsd.clone());
+
+		MatcherAssert.assertThat(second, sameInstance(first));
+		MatcherAssert.assertThat(CbeffSchemaCache.getMissCount(), is(1L));
+		MatcherAssert.assertThat(CbeffSchemaCache.getHitCount(), is(1L));
+		MatcherAssert.assertThat(CbeffSchemaCache.size(), is(1));
+	}
+
+	@Test
+	public void getSchemaKeyedByContentTest() throws Exception {
+		CbeffSchemaCache.getSchema(readFile("cbeff.xsd"));
+		CbeffSchemaCache.getSchema(readFile("updatedcbeff.xsd"));
+
+		MatcherAssert.assertThat(CbeffSchemaCache.getMissCount(), is(2L));
+		MatcherAssert.assertThat(CbeffSchemaCache.size(), is(2));
+	}
+
+	@Test
+	public void validateXMLTest() throws Exception {
+		MatcherAssert.assertThat(
+				CbeffSchemaCache.validateXML(readFile("updatedcbeff.xsd"), readFile("createCbeffLatest2.xml")), is(true));
+	}
+
+	@Test(expected = SAXException.class)
+	public void validateXMLInvalidDocumentTest() throws Exception {
+		CbeffSchemaCache.validateXML(readFile("updatedcbeff.xsd"), "<BIR/>".getBytes());
+	}
+
+	@Test(expected = SAXException.class)
+	public void getSchemaEmptyXSDTest() throws Exception {
+		CbeffSchemaCache.getSchema(new byte[0]);
+	}
+
+	private byte[] readFile(String name) throws IOException {
+		return Files.readAllBytes(Paths.get(localpath + "/schema/" + name));
+	}
+}
@@ -0,0 +1,114 @@
+package io.mosip.kernel.biometrics;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.Test;
+
+import io.mosip.kernel.biometrics.commons.CbeffSchemaCache;
+import io.mosip.kernel.biometrics.commons.CbeffSplicer;
+import io.mosip.kernel.biometrics.commons.CbeffValidator;
+import io.mosip.kernel.biometrics.entities.BIR;
+
+public class CbeffSplicerTest {
+
+	private String localpath = "./src/test/resources";
+
+	@Test
+	public void appendTest() throws Exception {
+		byte[] xml = readFile("createCbeffLatest2.xml");
+		byte[] xsd = readFile("updatedcbeff.xsd");
+		List<BIR> existing = CbeffValidator.getBIRFromXML(xml).getBirs();
+		BIR added = existing.get(0);
+
+		byte[] updated = CbeffSplicer.append(xml, Collections.singletonList(added), xsd);
+		List<BIR> birs = CbeffValidator.getBIRFromXML(updated).getBirs();
+
+		MatcherAssert.assertThat(CbeffSchemaCache.validateXML(xsd, updated), is(true));
+		MatcherAssert.assertThat(birs.size(), is(existing.size() + 1));
+		for (int i = 0; i < existing.size(); i++) {
+			MatcherAssert.assertThat(birs.get(i).getBdb(), is(existing.get(i).getBdb()));
+		}
+		MatcherAssert.assertThat(birs.get(existing.size()).getBdb(), is(added.getBdb()));
+	}
+
+	@Test
+	public void replaceTest() throws Exception {
+		byte[] xml = readFile("createCbeffLatest2.xml");
+		byte[] xsd = readFile("updatedcbeff.xsd");
+		List<BIR> existing = CbeffValidator.getBIRFromXML(xml).getBirs();
+		BIR replacement = existing.get(0);
+
+		byte[] updated = CbeffSplicer.replace(xml, Collections.singletonList(replacement), xsd);
+		List<BIR> birs = CbeffValidator.getBIRFromXML(updated).getBirs();
+
+		MatcherAssert.assertThat(CbeffSchemaCache.validateXML(xsd, updated), is(true));
+		MatcherAssert.assertThat(birs.size(), is(existing.size()));
+		MatcherAssert.assertThat(birs.get(0).getBdbInfo().getSubtype(), is(existing.get(1).getBdbInfo().getSubtype()));
+		MatcherAssert.assertThat(birs.get(birs.size() - 1).getBdbInfo().getSubtype(),
+				is(replacement.getBdbInfo().getSubtype()));
+	}
+
+	@Test
+	public void appendBeforeRootOthersTest() throws Exception {
+		String text = new String(readFile("createCbeffLatest2.xml"), StandardCharsets.UTF_8);
+		int rootEnd = text.lastIndexOf("</BIR>");
+		byte[] xml = (text.substring(0, rootEnd) + "    <others>\n        <entry key=\"CONFIGURED\">true</entry>\n"
+				+ "    </others>\n" + text.substring(rootEnd)).getBytes(StandardCharsets.UTF_8);
+		byte[] xsd = readFile("updatedcbeff.xsd");
+		List<BIR> existing = CbeffValidator.getBIRFromXML(xml).getBirs();
+		BIR added = existing.get(0);
+
+		byte[] updated = CbeffSplicer.append(xml, Collections.singletonList(added), xsd);
+		BIR root = CbeffValidator.getBIRFromXML(updated);
+		String updatedText = new String(updated, StandardCharsets.UTF_8);
+
+		MatcherAssert.assertThat(CbeffSchemaCache.validateXML(xsd, updated), is(true));
+		MatcherAssert.assertThat(updatedText.lastIndexOf("</BDB>") < updatedText.indexOf("<others>"), is(true));
+		MatcherAssert.assertThat(root.getBirs().size(), is(existing.size() + 1));
+		MatcherAssert.assertThat(root.getBirs().get(existing.size()).getBdb(), is(added.getBdb()));
+		MatcherAssert.assertThat(root.getOthers().get("CONFIGURED"), is("true"));
+	}
+
+	@Test
+	public void appendLeavesExistingPayloadsUnreadTest() throws Exception {
+		byte[] original = readFile("createCbeffLatest2.xml");
+		BIR added = CbeffValidator.getBIRFromXML(original).getBirs().get(0);
+		// payloads which are neither valid Base64 nor valid for the XSD
+		byte[] xml = new String(original, StandardCharsets.UTF_8).replaceAll("<BDB>[^<]*</BDB>", "<BDB>@@@@</BDB>")
+				.getBytes(StandardCharsets.UTF_8);
+
+		byte[] updated = CbeffSplicer.append(xml, Collections.singletonList(added), readFile("updatedcbeff.xsd"));
+		String updatedText = new String(updated, StandardCharsets.UTF_8);
+
+		MatcherAssert.assertThat(updatedText.split("<BDB>@@@@</BDB>", -1).length - 1, is(10));
+		MatcherAssert.assertThat(updatedText.split("<BDB>", -1).length - 1, is(11));
+	}
+
+	@Test
+	public void appendNothingTest() throws Exception {
+		byte[] xml = readFile("createCbeffLatest2.xml");
+		MatcherAssert.assertThat(CbeffSplicer.append(xml, Collections.emptyList(), readFile("updatedcbeff.xsd")),
+				is(xml));
+	}
+
+	@Test
+	public void isSameBiometricTest() throws Exception {
+		List<BIR> existing = CbeffValidator.getBIRFromXML(readFile("createCbeffLatest2.xml")).getBirs();
+		MatcherAssert.assertThat(
+				CbeffSplicer.isSameBiometric(existing.get(0).getBdbInfo(), existing.get(0).getBdbInfo()), is(true));
+		MatcherAssert.assertThat(
+				CbeffSplicer.isSameBiometric(existing.get(0).getBdbInfo(), existing.get(1).getBdbInfo()), is(false));
+	}
+
+	private byte[] readFile(String name) throws IOException {
+		return Files.readAllBytes(Paths.get(localpath + "/schema/" + name));
+	}
+}
@@ -0,0 +1,188 @@
+package io.mosip.kernel.biometrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.Test;
+
+import io.mosip.kernel.biometrics.commons.CbeffStreamReader;
+import io.mosip.kernel.biometrics.commons.CbeffValidator;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.core.cbeffutil.exception.CbeffException;
+import io.mosip.kernel.core.util.CryptoUtil;
+
+public class CbeffStreamReaderTest {
+
+	private String localpath = "./src/test/resources";
+
+	@Test
+	public void getBIRsWithoutFilterTest() throws Exception {
+		byte[] xml = readCreatedXML("createCbeffLatest");
+		List<BIR> streamed = CbeffStreamReader.getBIRs(xml, null);
+		List<BIR> unmarshalled = CbeffValidator.getBIRFromXML(xml).getBirs();
+
+		MatcherAssert.assertThat(streamed.size(), is(unmarshalled.size()));
+		for (int i = 0; i < streamed.size(); i++) {
+			MatcherAssert.assertThat(streamed.get(i).getBdbInfo(), is(unmarshalled.get(i).getBdbInfo()));
+			MatcherAssert.assertThat(streamed.get(i).getBdb(), is(unmarshalled.get(i).getBdb()));
+		}
+	}
+
+	@Test
+	public void getBIRsWithTypeFilterTest() throws Exception {
+		List<BIR> birs = CbeffStreamReader.getBIRs(readCreatedXML("createCbeffLatest"),
+				CbeffStreamReader.typeFilter(BiometricType.IRIS, null));
+		MatcherAssert.assertThat(birs.size(), is(2));
+		MatcherAssert.assertThat(birs.get(0).getBdb(), notNullValue());
+	}
+
+	@Test
+	public void getBIRsWithTypeAndSubTypeFilterTest() throws Exception {
+		List<BIR> birs = CbeffStreamReader.getBIRs(readCreatedXML("createCbeffLatest"),
+				CbeffStreamReader.typeFilter(BiometricType.IRIS, "Left"));
+		MatcherAssert.assertThat(birs.size(), is(1));
+	}
+
+	@Test
+	public void readBIRsRejectedRecordsAreNotEmittedTest() throws Exception {
+		List<BIR> emitted = new ArrayList<>();
+		CbeffStreamReader.readBIRs(readCreatedXML("createCbeffLatest"), bdbInfo -> false, emitted::add);
+		MatcherAssert.assertThat(emitted.isEmpty(), is(true));
+	}
+
+	@Test
+	public void readBIRsSkipsPayloadUntilAcceptedTest() throws Exception {
+		byte[] xml = readCreatedXML("createCbeffLatest");
+		byte[] faceBdb = CbeffStreamReader.getBIRs(xml, CbeffStreamReader.typeFilter(BiometricType.FACE, null))
+				.get(0).getBdb();
+
+		// the payloads of the rejected records cannot be decoded, reading them fails
+		byte[] corrupted = corruptPayloads(xml, "Face");
+		List<BIR> emitted = new ArrayList<>();
+		CbeffStreamReader.readBIRs(corrupted, CbeffStreamReader.typeFilter(BiometricType.FACE, null), emitted::add);
+
+		MatcherAssert.assertThat(emitted.size(), is(1));
+		MatcherAssert.assertThat(emitted.get(0).getBirs(), nullValue());
+		MatcherAssert.assertThat(emitted.get(0).getBdb(), is(faceBdb));
+	}
+
+	@Test(expected = CbeffException.class)
+	public void readBIRsDecodesPayloadOfAcceptedRecordsTest() throws Exception {
+		CbeffStreamReader.readBIRs(corruptPayloads(readCreatedXML("createCbeffLatest"), "Face"), null, bir -> {
+		});
+	}
+
+	@Test
+	public void getBIRFromXMLLazyPayloadTest() throws Exception {
+		byte[] xml = readCreatedXML("createCbeffLatest");
+		List<BIR> lazy = CbeffValidator.getBIRFromXML(xml, true).getBirs();
+		List<BIR> eager = CbeffValidator.getBIRFromXML(xml).getBirs();
+
+		MatcherAssert.assertThat(lazy.size(), is(eager.size()));
+		for (int i = 0; i < lazy.size(); i++) {
+			MatcherAssert.assertThat(lazy.get(i).getBdbBase64(), notNullValue());
+			MatcherAssert.assertThat(lazy.get(i).getBdb(), is(eager.get(i).getBdb()));
+		}
+	}
+
+	@Test
+	public void lazyPayloadIsDecodedOnceAcrossThreadsTest() throws Exception {
+		byte[] xml = readCreatedXML("createCbeffLatest");
+		BIR lazy = CbeffValidator.getBIRFromXML(xml, true).getBirs().get(0);
+		byte[] expected = CbeffValidator.getBIRFromXML(xml).getBirs().get(0).getBdb();
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<byte[]>> decoded = new ArrayList<>();
+			for (int i = 0; i < 8; i++)
+				decoded.add(executor.submit(lazy::getBdb));
+			for (Future<byte[]> bdb : decoded)
+				MatcherAssert.assertThat(bdb.get(), sameInstance(lazy.getBdb()));
+		} finally {
+			executor.shutdown();
+		}
+		MatcherAssert.assertThat(lazy.getBdb(), is(expected));
+		MatcherAssert.assertThat(lazy.getBdbBase64(), notNullValue());
+	}
+
+	@Test
+	public void getBDBBasedOnTypeAndSubTypeLazyMatchesEncodedBDBTest() throws Exception {
+		byte[] xml = readCreatedXML("createCbeffLatest");
+		BIR lazy = CbeffValidator.getBIRFromXML(xml, true);
+		BIR eager = CbeffValidator.getBIRFromXML(xml);
+
+		Map<String, String> bdbMap = CbeffValidator.getBDBBasedOnTypeAndSubType(lazy, "Face", null);
+
+		MatcherAssert.assertThat(bdbMap.size(), is(1));
+		MatcherAssert.assertThat(bdbMap.values().iterator().next(),
+				is(CryptoUtil.encodeBase64String(eager.getBirs().get(eager.getBirs().size() - 1).getBdb())));
+	}
+
+	@Test
+	public void getBDBBasedOnTypeAndSubTypeReencodesDocumentBase64Test() throws Exception {
+		byte[] bdb = { (byte) 0xFB, (byte) 0xFF, 0x01, 0x02 };
+		BIR encoder = new BIR();
+		encoder.setBdb(bdb);
+		BIR lazy = CbeffValidator.getBIRFromXML(readCreatedXML("createCbeffLatest"), true);
+		// the text as written in a document, whose alphabet may differ
+		lazy.getBirs().get(lazy.getBirs().size() - 1).setBdbBase64(encoder.getBdbBase64());
+
+		Map<String, String> bdbMap = CbeffValidator.getBDBBasedOnTypeAndSubType(lazy, "Face", null);
+
+		MatcherAssert.assertThat(bdbMap.values().iterator().next(), is(CryptoUtil.encodeBase64String(bdb)));
+	}
+
+	@Test
+	public void lazyPayloadIsMarshalledTest() throws Exception {
+		byte[] xml = readCreatedXML("createCbeffLatest2");
+		BIR lazy = CbeffValidator.getBIRFromXML(xml, true);
+		byte[] xsd = Files.readAllBytes(Paths.get(localpath + "/schema/updatedcbeff.xsd"));
+
+		BIR roundTripped = CbeffValidator.getBIRFromXML(CbeffValidator.createXMLBytes(lazy, xsd));
+		MatcherAssert.assertThat(roundTripped.getBirs().get(0).getBdb(), is(lazy.getBirs().get(0).getBdb()));
+	}
+
+	@Test(expected = CbeffException.class)
+	public void getBIRsEmptyInputTest() throws Exception {
+		CbeffStreamReader.getBIRs(new byte[0], null);
+	}
+
+	@Test(expected = CbeffException.class)
+	public void getBIRsInvalidXMLTest() throws Exception {
+		CbeffStreamReader.getBIRs("<BIR><BIR>".getBytes(), null);
+	}
+
+	/**
+	 * Replaces the BDB of every child record whose type is not the given one with
+	 * text which is not valid Base64.
+	 */
+	private byte[] corruptPayloads(byte[] xml, String keptType) {
+		String[] records = new String(xml, StandardCharsets.UTF_8).split("(?=<BIR>)");
+		StringBuilder corrupted = new StringBuilder();
+		for (String text : records) {
+			if (text.startsWith("<BIR>") && !text.contains("<Type>" + keptType + "</Type>"))
+				text = text.replaceAll("<BDB>[^<]*</BDB>", "<BDB>@@@@</BDB>");
+			corrupted.append(text);
+		}
+		return corrupted.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private byte[] readCreatedXML(String name) throws IOException {
+		return Files.readAllBytes(Paths.get(localpath + "/schema/" + name + ".xml"));
+	}
+}
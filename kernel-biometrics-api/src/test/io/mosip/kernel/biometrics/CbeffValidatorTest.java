@@ -1,5 +1,6 @@
 package io.mosip.kernel.biometrics;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.isA;
 
@@ -14,9 +15,11 @@ import java.util.List;
 import java.util.Map;
 
 import org.hamcrest.MatcherAssert;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.mosip.kernel.biometrics.commons.CbeffMarshallerPool;
 import io.mosip.kernel.biometrics.commons.CbeffValidator;
 import io.mosip.kernel.biometrics.constant.BiometricType;
 import io.mosip.kernel.biometrics.constant.OtherKey;
@@ -422,6 +425,64 @@ public class CbeffValidatorTest {
 		bir.setBirs(createList);
 		MatcherAssert.assertThat(CbeffValidator.createXMLBytes(bir, readXSD("cbeff")), isA(byte[].class));
 	}
+
+	@Test
+	public void createXMLBytesSinglePassTest() throws Exception {
+		BIR bir = new BIR();
+		VersionType type = new VersionType(1, 1);
+		BIRInfo birInfo = new BIRInfo();
+		birInfo.setIntegrity(false);
+		bir.setBirInfo(birInfo);
+		bir.setCbeffversion(type);
+		bir.setBirs(createList);
+		byte[] singlePass = CbeffValidator.createXMLBytes(bir, readXSD("updatedcbeff"), true);
+		MatcherAssert.assertThat(singlePass, is(CbeffValidator.createXMLBytes(bir, readXSD("updatedcbeff"))));
+	}
+
+	@Test
+	public void createXMLBytesReusesPooledMarshallerTest() throws Exception {
+		BIR bir = new BIR();
+		VersionType type = new VersionType(1, 1);
+		BIRInfo birInfo = new BIRInfo();
+		birInfo.setIntegrity(false);
+		bir.setBirInfo(birInfo);
+		bir.setCbeffversion(type);
+		bir.setBirs(createList);
+		CbeffValidator.createXMLBytes(bir, readXSD("updatedcbeff"));
+		long reused = CbeffMarshallerPool.getReusedCount();
+		long created = CbeffMarshallerPool.getCreatedCount();
+
+		CbeffValidator.createXMLBytes(bir, readXSD("updatedcbeff"));
+
+		MatcherAssert.assertThat(CbeffMarshallerPool.getReusedCount(), is(reused + 1));
+		MatcherAssert.assertThat(CbeffMarshallerPool.getCreatedCount(), is(created));
+	}
+
+	@Test
+	public void createXMLBytesSinglePassSAXExceptionTest() throws Exception {
+		BIR bir = new BIR();
+		VersionType type = new VersionType(1, 1);
+		BIRInfo birInfo = new BIRInfo();
+		birInfo.setIntegrity(false);
+		bir.setBirInfo(birInfo);
+		bir.setCbeffversion(type);
+		bir.setBirs(createList);
+		String twoPassMessage = null;
+		try {
+			CbeffValidator.createXMLBytes(bir, readXSD("cbeff"));
+			Assert.fail("Expected CbeffException");
+		} catch (CbeffException e) {
+			twoPassMessage = e.getMessage();
+		}
+		try {
+			CbeffValidator.createXMLBytes(bir, readXSD("cbeff"), true);
+			Assert.fail("Expected CbeffException");
+		} catch (CbeffException e) {
+			MatcherAssert.assertThat(e.getMessage(), containsString("XSD validation failed due to attribute"));
+			MatcherAssert.assertThat(e.getMessage(), is(twoPassMessage));
+		}
+	}
+
 	@Test
 	public void getBIRFromXMLTest() throws Exception {
 		BIR bir = CbeffValidator.getBIRFromXML(readCreatedXML("createCbeffLatest"));
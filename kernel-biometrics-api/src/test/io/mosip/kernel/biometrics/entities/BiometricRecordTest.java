@@ -1,5 +1,6 @@
 package io.mosip.kernel.biometrics.entities;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -7,6 +8,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.mosip.kernel.biometrics.constant.ByteArrayWireFormat;
 import io.mosip.kernel.biometrics.entities.BIR;
 import io.mosip.kernel.biometrics.entities.BIRInfo;
 import io.mosip.kernel.biometrics.entities.BiometricRecord;
@@ -19,6 +24,7 @@ import org.mockito.MockitoAnnotations;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Unit tests for {@link BiometricRecord}.
@@ -316,6 +322,42 @@ class BiometricRecordTest {
         assertNull(biometricRecord.getOthers());
     }
 
+    /**
+     * Compares the JSON size of a 10-finger record in the integer array and the
+     * compact Base64 wire formats, and verifies both read back to the same bytes.
+     */
+    @Test
+    void compactWireFormatShrinksTenFingerRecord() throws Exception {
+        Random random = new Random(42);
+        BiometricRecord record = new BiometricRecord();
+        for (int i = 0; i < 10; i++) {
+            byte[] bdb = new byte[20 * 1024];
+            random.nextBytes(bdb);
+            record.getSegments().add(new BIR.BIRBuilder().withBdb(bdb).build());
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleModule module = new SimpleModule();
+        module.addDeserializer(byte[].class, new IntArrayToByteArrayDeserializer());
+        mapper.registerModule(module);
+
+        String intArrayJson = mapper.writeValueAsString(record);
+        String base64Json = mapper.writer()
+                .withAttribute(ByteArrayToIntArraySerializer.WIRE_FORMAT_ATTRIBUTE, ByteArrayWireFormat.BASE64)
+                .writeValueAsString(record);
+
+        // Base64 costs ~1.33 characters per byte, an integer array ~4.5
+        assertTrue(base64Json.length() * 3 < intArrayJson.length());
+
+        JsonNode intArraySegments = mapper.readTree(intArrayJson).get("segments");
+        JsonNode base64Segments = mapper.readTree(base64Json).get("segments");
+        for (int i = 0; i < 10; i++) {
+            byte[] expected = record.getSegments().get(i).getBdb();
+            assertArrayEquals(expected, mapper.treeToValue(intArraySegments.get(i).get("bdb"), byte[].class));
+            assertArrayEquals(expected, mapper.treeToValue(base64Segments.get(i).get("bdb"), byte[].class));
+        }
+    }
+
     /**
      * Tests that BiometricRecord implements Serializable.
      */
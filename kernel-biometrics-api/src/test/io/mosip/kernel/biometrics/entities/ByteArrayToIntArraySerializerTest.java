@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.mosip.kernel.biometrics.constant.ByteArrayWireFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -209,6 +210,51 @@ public class ByteArrayToIntArraySerializerTest {
         assertThat(json, is("[70,65,67,0,48,51,255,128]"));
     }
 
+    /**
+     * Verifies the compact wire mode writes a Base64 string when selected through
+     * the writer attribute.
+     */
+    @Test
+    public void shouldSerializeBase64WithWireFormatAttribute() throws Exception {
+        SerializableClass object = new SerializableClass();
+        object.challengeResponse = new byte[]{70, 65, 67, 0, 48, 51};
+
+        String json = objectMapper.writer()
+                .withAttribute(ByteArrayToIntArraySerializer.WIRE_FORMAT_ATTRIBUTE, ByteArrayWireFormat.BASE64)
+                .writeValueAsString(object);
+
+        assertThat(json, is("{\"challengeResponse\":\"RkFDADAz\"}"));
+    }
+
+    /**
+     * Verifies the wire format attribute can also be given by name.
+     */
+    @Test
+    public void shouldSerializeBase64WithWireFormatAttributeName() throws Exception {
+        SerializableClass object = new SerializableClass();
+        object.challengeResponse = new byte[]{70, 65, 67};
+
+        String json = objectMapper.writer()
+                .withAttribute(ByteArrayToIntArraySerializer.WIRE_FORMAT_ATTRIBUTE, "base64")
+                .writeValueAsString(object);
+
+        assertThat(json, is("{\"challengeResponse\":\"RkFD\"}"));
+    }
+
+    /**
+     * Verifies wire format names are parsed ignoring case and whitespace, and that
+     * unknown or missing names fall back instead of failing.
+     */
+    @Test
+    public void shouldParseWireFormatLeniently() {
+        assertThat(ByteArrayToIntArraySerializer.parseWireFormat(" base64 ", ByteArrayWireFormat.INT_ARRAY),
+                is(ByteArrayWireFormat.BASE64));
+        assertThat(ByteArrayToIntArraySerializer.parseWireFormat("compact", ByteArrayWireFormat.INT_ARRAY),
+                is(ByteArrayWireFormat.INT_ARRAY));
+        assertThat(ByteArrayToIntArraySerializer.parseWireFormat(null, ByteArrayWireFormat.INT_ARRAY),
+                is(ByteArrayWireFormat.INT_ARRAY));
+    }
+
     /**
      * Verifies field-level serialization using JsonSerialize annotation.
      * Ensures that the serializer works correctly when applied to specific fields.
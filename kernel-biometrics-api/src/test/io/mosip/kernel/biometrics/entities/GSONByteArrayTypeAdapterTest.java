@@ -0,0 +1,108 @@
+package io.mosip.kernel.biometrics.entities;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for {@link GSONByteArrayTypeAdapter}.
+ * Verifies streaming deserialization of Base64 strings and numeric arrays,
+ * buffer growth beyond the initial capacity, and Base64 serialization.
+ */
+public class GSONByteArrayTypeAdapterTest {
+
+    private Gson gson;
+
+    /**
+     * Sets up a Gson instance with the streaming adapter registered.
+     */
+    @BeforeEach
+    public void setUp() {
+        gson = new GsonBuilder()
+                .registerTypeAdapter(byte[].class, new GSONByteArrayTypeAdapter())
+                .create();
+    }
+
+    /**
+     * Verifies a Base64 string is decoded.
+     */
+    @Test
+    public void shouldDeserializeBase64String() {
+        assertArrayEquals(new byte[]{70, 65, 67}, gson.fromJson("\"RkFD\"", byte[].class));
+    }
+
+    /**
+     * Verifies signed and unsigned numeric values are converted to bytes.
+     */
+    @Test
+    public void shouldDeserializeNumericArray() {
+        assertArrayEquals(new byte[]{70, -1, -128, -1}, gson.fromJson("[70, -1, 128, 255]", byte[].class));
+    }
+
+    /**
+     * Verifies an empty numeric array yields an empty byte array.
+     */
+    @Test
+    public void shouldDeserializeEmptyNumericArray() {
+        assertArrayEquals(new byte[0], gson.fromJson("[]", byte[].class));
+    }
+
+    /**
+     * Verifies arrays larger than the initial capacity are read completely.
+     */
+    @Test
+    public void shouldGrowBufferBeyondInitialCapacity() {
+        Gson smallBufferGson = new GsonBuilder()
+                .registerTypeAdapter(byte[].class, new GSONByteArrayTypeAdapter(4))
+                .create();
+        byte[] data = new byte[5000];
+        new Random(7).nextBytes(data);
+
+        String json = new Gson().toJson(data);
+
+        assertArrayEquals(data, smallBufferGson.fromJson(json, byte[].class));
+    }
+
+    /**
+     * Verifies JSON null is read as null.
+     */
+    @Test
+    public void shouldDeserializeNullAsNull() {
+        assertThat(gson.fromJson("null", byte[].class), is(nullValue()));
+    }
+
+    /**
+     * Verifies unsupported JSON types are rejected.
+     */
+    @Test
+    public void shouldThrowExceptionForUnsupportedJsonType() {
+        JsonParseException exception = assertThrows(JsonParseException.class, () ->
+                gson.fromJson("{\"a\":1}", byte[].class));
+
+        assertThat(exception.getMessage().contains("Invalid format for byte array"), is(true));
+    }
+
+    /**
+     * Verifies byte arrays are written as Base64 and read back unchanged.
+     */
+    @Test
+    public void shouldRoundTripThroughBase64() {
+        byte[] data = {-1, -128, 0, 1, 127};
+
+        String json = gson.toJson(data);
+
+        assertThat(json, is("\"" + Base64.getEncoder().encodeToString(data) + "\""));
+        assertArrayEquals(data, gson.fromJson(json, byte[].class));
+    }
+}
@@ -13,6 +13,7 @@ import org.mockito.MockitoAnnotations;
 
 import java.io.IOException;
 import java.util.Base64;
+import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -322,6 +323,40 @@ public class IntArrayToByteArrayDeserializerTest {
         assertArrayEquals(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, result);
     }
 
+    /**
+     * Verifies arrays larger than the initial buffer are read completely.
+     */
+    @Test
+    public void shouldDeserializeArrayLargerThanInitialBuffer() throws IOException {
+        byte[] data = new byte[5000];
+        new Random(7).nextBytes(data);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < data.length; i++) {
+            json.append(i == 0 ? "" : ",").append(data[i]);
+        }
+        json.append(']');
+
+        assertArrayEquals(data, objectMapper.readValue(json.toString(), byte[].class));
+    }
+
+    /**
+     * Verifies a size hint does not change the result, whether it is exact or too small.
+     */
+    @Test
+    public void shouldDeserializeWithSizeHint() throws IOException {
+        String json = "[1, 2, 3, 4, 5]";
+
+        byte[] exact = objectMapper.readerFor(byte[].class)
+                .withAttribute(IntArrayToByteArrayDeserializer.SIZE_HINT_ATTRIBUTE, 5)
+                .readValue(json);
+        byte[] tooSmall = objectMapper.readerFor(byte[].class)
+                .withAttribute(IntArrayToByteArrayDeserializer.SIZE_HINT_ATTRIBUTE, 2)
+                .readValue(json);
+
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, exact);
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, tooSmall);
+    }
+
     /**
      * Verifies boundary values in signed mode.
      * Ensures correct handling of minimum and maximum signed byte values.
@@ -352,6 +387,20 @@ public class IntArrayToByteArrayDeserializerTest {
         assertArrayEquals(new byte[]{0, -1}, result);
     }
 
+    /**
+     * Verifies native binary values from binary-capable formats are accepted.
+     */
+    @Test
+    public void shouldDeserializeEmbeddedBinaryValue() throws IOException {
+        byte[] expected = {70, 65, 67};
+        when(mockJsonParser.getCurrentToken()).thenReturn(JsonToken.VALUE_EMBEDDED_OBJECT);
+        when(mockJsonParser.getBinaryValue()).thenReturn(expected);
+
+        byte[] result = signedDeserializer.deserialize(mockJsonParser, mockDeserializationContext);
+
+        assertArrayEquals(expected, result);
+    }
+
     /**
      * Class to verify field-level deserialization using JsonDeserialize annotation.
      * Provides a sample class structure for deserializer integration verification.
@@ -0,0 +1,36 @@
+package io.mosip.kernel.biosdk.provider.exception;
+
+import io.mosip.kernel.core.exception.BaseUncheckedException;
+
+/**
+ * Exception thrown when no pooled SDK instance can be leased for a call.
+ *
+ * @see io.mosip.kernel.core.exception.BaseUncheckedException
+ */
+public class SDKPoolException extends BaseUncheckedException {
+	/**
+	 * Generated serial version id
+	 */
+	private static final long serialVersionUID = -3106287754385623186L;
+
+	/**
+	 * Constructor the initialize SDK pool exception
+	 *
+	 * @param errorCode    The error code for this exception
+	 * @param errorMessage The error message for this exception
+	 */
+	public SDKPoolException(String errorCode, String errorMessage) {
+		super(errorCode, errorMessage);
+	}
+
+	/**
+	 * Constructor the initialize SDK pool exception
+	 *
+	 * @param errorCode    The error code for this exception
+	 * @param errorMessage The error message for this exception
+	 * @param rootCause    the specified cause
+	 */
+	public SDKPoolException(String errorCode, String errorMessage, Throwable rootCause) {
+		super(errorCode, errorMessage, rootCause);
+	}
+}
@@ -1,14 +1,30 @@
 package io.mosip.kernel.biosdk.provider.factory;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.mosip.kernel.biometrics.constant.BiometricFunction;
 import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
 import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
+import io.mosip.kernel.biosdk.provider.util.BioProviderUtil;
 import io.mosip.kernel.biosdk.provider.util.BioSDKProviderLoggerFactory;
 import io.mosip.kernel.biosdk.provider.util.ErrorCode;
 import io.mosip.kernel.core.bioapi.exception.BiometricException;
@@ -29,17 +45,37 @@ public class BioAPIFactory {
 	private Map<String, Map<String, String>> iris;
 	private Map<String, Map<String, String>> face;
 
+	/**
+	 * SDK instance pool settings keyed by modality (finger, iris or face), with
+	 * the keys size, max-wait-ms and max-failures. They apply to every vendor
+	 * configured for the modality, unless the vendor sets the corresponding
+	 * pool.* parameter itself.
+	 */
+	private Map<String, Map<String, String>> pool;
+
+	/**
+	 * Time allowed for the SDKs to initialize at startup, the modalities whose SDK
+	 * is not initialized in time are not available.
+	 */
+	private Duration initTimeout = Duration.ofMinutes(5);
+
 	@Autowired
 	@SuppressWarnings({ "java:S6813" })
 	private List<iBioProviderApi> providerApis;
 
-	private Map<BiometricType, Map<BiometricFunction, iBioProviderApi>> providerRegistry = new EnumMap<>(
-			BiometricType.class);
+	/**
+	 * Immutable snapshot of the providers by modality and function, replaced as a
+	 * whole when providers are initialized or an SDK is reloaded.
+	 */
+	private volatile Map<BiometricType, Map<BiometricFunction, iBioProviderApi>> providerRegistry = Map.of();
 
 	 /**
-     * Initializes the BioAPI providers based on the configured provider APIs and vendor IDs.
+     * Initializes the BioAPI providers based on the configured provider APIs and vendor IDs. The configured
+     * modalities are initialized concurrently, each by the first vendor whose SDK a provider initializes, and a
+     * modality whose SDK fails or does not initialize within the init timeout is left out of the registry. The
+     * inits sharing an SDK instance run one at a time, and the inits completing after the timeout are discarded.
      *
-     * @throws BiometricException if no valid provider APIs are available or if the provider registry cannot be filled.
+     * @throws BiometricException if no valid provider APIs are available or if no modality could be initialized.
      */
 	@PostConstruct
 	public void initializeBioAPIProviders() throws BiometricException {
@@ -48,33 +84,202 @@ public class BioAPIFactory {
 					ErrorCode.NO_PROVIDERS.getErrorMessage());
 		}
 
-		Set<String> vendorIds = new HashSet<>(getVendorIds());
-		for (String vendorId : vendorIds) {
-			if (isProviderRegistryFilled()) {
-				logger.info("Provider registry is already filled : {}", providerRegistry.keySet());
-				break;
-			}
+		long start = System.nanoTime();
+		Map<BiometricType, List<Map.Entry<String, Map<String, String>>>> vendorParams = new EnumMap<>(BiometricType.class);
+		for (String vendorId : new LinkedHashSet<>(getVendorIds())) {
+			getParamsForVendorId(vendorId).forEach((modality, params) -> {
+				if (!params.isEmpty())
+					vendorParams.computeIfAbsent(modality, k -> new ArrayList<>()).add(Map.entry(vendorId, params));
+			});
+		}
+
+		long deadline = start + initTimeout.toNanos();
+		// SDK instances are shared by the params they are created with, see BioProviderUtil#getSDKInstance
+		Map<String, Lock> instanceLocks = new ConcurrentHashMap<>();
+		ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bio-sdk-init-", 0).factory());
+		Map<BiometricType, Future<Map<BiometricFunction, iBioProviderApi>>> inits = new EnumMap<>(BiometricType.class);
+		vendorParams.forEach((modality, vendors) -> inits.put(modality,
+				executor.submit(() -> initModality(modality, vendors, executor, instanceLocks, deadline))));
 
-			Map<BiometricType, Map<String, String>> params = getParamsForVendorId(vendorId);
-			if (params.isEmpty()) continue;
-
-			// pass params per modality to each provider, each providers will initialize
-			// supported SDK's
-			for (iBioProviderApi provider : providerApis) {
-				try {
-					Map<BiometricType, List<BiometricFunction>> supportedModalities = provider.init(params);
-					if (supportedModalities != null && !supportedModalities.isEmpty()) {
-						supportedModalities.forEach((modality, functions) -> functions
-								.forEach(function -> addToRegistry(modality, function, provider)));
-					}
-				} catch (BiometricException ex) {
-					logger.error("Failed to initialize SDK instance", ex);
-				}
+		Map<BiometricType, Map<BiometricFunction, iBioProviderApi>> registry = new EnumMap<>(BiometricType.class);
+		try {
+			for (Map.Entry<BiometricType, Future<Map<BiometricFunction, iBioProviderApi>>> init : inits.entrySet()) {
+				Map<BiometricFunction, iBioProviderApi> functions = awaitInit(init.getKey(), init.getValue(), deadline);
+				if (!functions.isEmpty())
+					registry.put(init.getKey(), functions);
 			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		for (BiometricType modality : List.of(BiometricType.FINGER, BiometricType.IRIS, BiometricType.FACE)) {
+			if (isModalityConfigured(modality) && !registry.containsKey(modality))
+				logger.error("No SDK initialized for {}, the modality is not available", modality);
 		}
-		if (!isProviderRegistryFilled())
+
+		if (registry.isEmpty())
 			throw new BiometricException(ErrorCode.SDK_REGISTRY_EMPTY.getErrorCode(),
 					ErrorCode.SDK_REGISTRY_EMPTY.getErrorMessage());
+		publish(registry);
+		logger.info("Initialized SDKs for {} in {} ms", registry.keySet(), (System.nanoTime() - start) / 1_000_000);
+	}
+
+	/**
+	 * Initializes the SDK of a modality, trying the vendors configuring it in
+	 * order until the providers initialize the SDK of one of them. The providers
+	 * initialize the SDK of a vendor concurrently, except when they share its
+	 * instance.
+	 *
+	 * @return The providers by function for the modality, empty if no vendor SDK
+	 *         was initialized before the deadline.
+	 */
+	private Map<BiometricFunction, iBioProviderApi> initModality(BiometricType modality,
+			List<Map.Entry<String, Map<String, String>>> vendors, ExecutorService executor,
+			Map<String, Lock> instanceLocks, long deadline) throws InterruptedException, ExecutionException {
+		Map<BiometricFunction, iBioProviderApi> functions = new EnumMap<>(BiometricFunction.class);
+		for (Map.Entry<String, Map<String, String>> vendor : vendors) {
+			Lock instanceLock = instanceLocks.computeIfAbsent(BioProviderUtil.getSDKInstanceKey(vendor.getValue()),
+					key -> new ReentrantLock());
+			List<Future<List<BiometricFunction>>> inits = new ArrayList<>();
+			for (iBioProviderApi provider : providerApis)
+				inits.add(executor.submit(() -> initProvider(modality, vendor.getKey(), vendor.getValue(), provider,
+						instanceLock, deadline)));
+
+			// collect in provider order so that the first provider wins a function
+			for (int i = 0; i < inits.size(); i++) {
+				iBioProviderApi provider = providerApis.get(i);
+				inits.get(i).get().forEach(function -> functions.putIfAbsent(function, provider));
+			}
+			if (!functions.isEmpty())
+				return functions;
+		}
+		return functions;
+	}
+
+	/**
+	 * Initializes the SDK of a vendor for a modality in a provider and records the
+	 * time taken. The SDK instance is initialized while holding its lock, since
+	 * the instance may be shared with the init of another modality or provider.
+	 *
+	 * @return The functions the provider supports for the modality, empty if it
+	 *         failed to initialize the SDK, does not handle its version or did
+	 *         not complete before the deadline.
+	 */
+	private List<BiometricFunction> initProvider(BiometricType modality, String vendorId, Map<String, String> params,
+			iBioProviderApi provider, Lock instanceLock, long deadline) {
+		long start = System.nanoTime();
+		String outcome = "failure";
+		instanceLock.lock();
+		try {
+			if (System.nanoTime() - deadline > 0) {
+				outcome = "timeout";
+				return List.of();
+			}
+			Map<BiometricType, Map<String, String>> modalityParams = new EnumMap<>(BiometricType.class);
+			modalityParams.put(modality, params);
+			Map<BiometricType, List<BiometricFunction>> supportedModalities = provider.init(modalityParams);
+			List<BiometricFunction> functions = (supportedModalities != null)
+					? supportedModalities.getOrDefault(modality, List.of())
+					: List.of();
+			if (System.nanoTime() - deadline > 0) {
+				// the modality was left out of the registry at the deadline
+				outcome = "timeout";
+				return List.of();
+			}
+			outcome = functions.isEmpty() ? "unsupported" : "success";
+			return functions;
+		} catch (BiometricException | RuntimeException ex) {
+			logger.error("Failed to initialize {} SDK of vendor {} in {}", modality, vendorId,
+					provider.getClass().getSimpleName(), ex);
+			return List.of();
+		} finally {
+			instanceLock.unlock();
+			long elapsed = System.nanoTime() - start;
+			Timer.builder("sdk.init.time").description("Time taken to initialize an SDK at startup")
+					.tags("modality", modality.name(), "vendor", vendorId, "provider",
+							provider.getClass().getSimpleName(), "outcome", outcome)
+					.register(Metrics.globalRegistry).record(elapsed, TimeUnit.NANOSECONDS);
+			logger.info("Initialization of {} SDK of vendor {} in {} : {} in {} ms", modality, vendorId,
+					provider.getClass().getSimpleName(), outcome, elapsed / 1_000_000);
+		}
+	}
+
+	/**
+	 * Waits until the deadline for the SDK initialization of a modality.
+	 *
+	 * @return The providers by function for the modality, empty if the
+	 *         initialization failed or did not complete in time.
+	 */
+	private Map<BiometricFunction, iBioProviderApi> awaitInit(BiometricType modality,
+			Future<Map<BiometricFunction, iBioProviderApi>> init, long deadline) throws BiometricException {
+		try {
+			return init.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException ex) {
+			logger.error("Initialization of {} SDK did not complete within {}", modality, initTimeout);
+		} catch (ExecutionException ex) {
+			logger.error("Initialization of {} SDK failed", modality, ex.getCause());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BiometricException(ErrorCode.SDK_INITIALIZATION_FAILED.getErrorCode(),
+					String.format(ErrorCode.SDK_INITIALIZATION_FAILED.getErrorMessage(), modality, ex));
+		}
+		return Map.of();
+	}
+
+	/**
+	 * Reloads the SDK of a modality in the background: every provider is asked to
+	 * initialize and warm up a new instance of the SDK configured by the given
+	 * parameters, and the providers that did so are swapped in for the modality.
+	 * Calls in progress complete on the SDK they started with and the current SDK
+	 * is kept if the reload fails.
+	 *
+	 * @param modality       The biometric modality to reload.
+	 * @param modalityParams The SDK configuration of the modality, as configured
+	 *                       for a vendor.
+	 * @param warmUpSample   The sample biometric records run through the new SDK
+	 *                       before it is swapped in, may be empty.
+	 * @return A future completed with the functions supported for the modality
+	 *         once the new SDK is swapped in, or completed exceptionally with the
+	 *         {@link BiometricException} of the failed reload.
+	 */
+	public CompletableFuture<List<BiometricFunction>> reload(BiometricType modality,
+			Map<String, String> modalityParams, List<BIR> warmUpSample) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return reloadProviders(modality, modalityParams, warmUpSample);
+			} catch (BiometricException e) {
+				throw new CompletionException(e);
+			}
+		}, task -> Thread.ofVirtual().name("bio-sdk-reload-" + modality).start(task));
+	}
+
+	/**
+	 * Reloads the SDK of a modality in all providers and publishes the providers
+	 * that reloaded it.
+	 */
+	private List<BiometricFunction> reloadProviders(BiometricType modality, Map<String, String> modalityParams,
+			List<BIR> warmUpSample) throws BiometricException {
+		long start = System.nanoTime();
+		Map<String, String> params = withPoolParams(modalityParams, modality.name().toLowerCase(Locale.ROOT));
+		Map<BiometricFunction, iBioProviderApi> functions = new EnumMap<>(BiometricFunction.class);
+		for (iBioProviderApi provider : providerApis) {
+			List<BiometricFunction> supported = provider.reload(modality, params, warmUpSample);
+			if (supported != null)
+				supported.forEach(function -> functions.putIfAbsent(function, provider));
+		}
+		if (functions.isEmpty())
+			throw new BiometricException(ErrorCode.SDK_RELOAD_FAILED.getErrorCode(),
+					String.format(ErrorCode.SDK_RELOAD_FAILED.getErrorMessage(), modality));
+
+		synchronized (this) {
+			Map<BiometricType, Map<BiometricFunction, iBioProviderApi>> registry = new EnumMap<>(BiometricType.class);
+			registry.putAll(providerRegistry);
+			registry.put(modality, functions);
+			publish(registry);
+		}
+		logger.info("Reloaded {} SDK for functions {} in {} ms", modality, functions.keySet(),
+				(System.nanoTime() - start) / 1_000_000);
+		return List.copyOf(functions.keySet());
 	}
 
 	 /**
@@ -109,9 +314,9 @@ public class BioAPIFactory {
      */
 	private Map<BiometricType, Map<String, String>> getParamsForVendorId(String vendorId) throws BiometricException {
 		Map<BiometricType, Map<String, String>> params = new EnumMap<>(BiometricType.class);
-		params.put(BiometricType.FINGER, getEntry(finger, vendorId));
-		params.put(BiometricType.IRIS, getEntry(iris, vendorId));
-		params.put(BiometricType.FACE, getEntry(face, vendorId));
+		params.put(BiometricType.FINGER, withPoolParams(getEntry(finger, vendorId), "finger"));
+		params.put(BiometricType.IRIS, withPoolParams(getEntry(iris, vendorId), "iris"));
+		params.put(BiometricType.FACE, withPoolParams(getEntry(face, vendorId), "face"));
 
 		logger.info("Starting initialization for vendor {} with params >> {}", vendorId, params);
 
@@ -148,30 +353,35 @@ public class BioAPIFactory {
 	}
 
 	/**
-     * Adds a BioAPI provider to the provider registry for a specified modality and function.
+     * Adds the pool settings of a modality to the parameters of a vendor as pool.* parameters.
      *
-     * @param modality   The biometric modality (finger, iris, face).
-     * @param function   The function associated with the modality.
-     * @param provider   The BioAPI provider implementing the modality and function.
+     * @param modalityParams The vendor parameters of the modality.
+     * @param modality       The modality key of the pool settings.
+     * @return The parameters including the pool settings.
      */
-	private void addToRegistry(BiometricType modality, BiometricFunction function, iBioProviderApi provider) {
-		providerRegistry.computeIfAbsent(modality, k -> new EnumMap<>(BiometricFunction.class))
-				.putIfAbsent(function, provider);
+	private Map<String, String> withPoolParams(Map<String, String> modalityParams, String modality) {
+		Map<String, String> poolParams = (pool != null) ? pool.get(modality) : null;
+		if (modalityParams.isEmpty() || poolParams == null || poolParams.isEmpty())
+			return modalityParams;
+
+		Map<String, String> result = new HashMap<>(modalityParams);
+		poolParams.forEach((key, value) -> result.putIfAbsent("pool." + key, value));
+		return result;
 	}
 
 	/**
-     * Checks if the provider registry is fully filled based on configured modalities (finger, iris, face).
+     * Publishes an immutable snapshot of a provider registry, calls in progress keep the snapshot they read.
      *
-     * @return {@code true} if the provider registry is fully filled, {@code false} otherwise.
+     * @param registry The provider registry to publish.
      */
-	private boolean isProviderRegistryFilled() {
-		if (isModalityConfigured(BiometricType.FINGER) && !providerRegistry.containsKey(BiometricType.FINGER))
-			return false;
-
-		if (isModalityConfigured(BiometricType.IRIS) && !providerRegistry.containsKey(BiometricType.IRIS))
-			return false;
-
-		return !(isModalityConfigured(BiometricType.FACE) && !providerRegistry.containsKey(BiometricType.FACE));
+	private void publish(Map<BiometricType, Map<BiometricFunction, iBioProviderApi>> registry) {
+		Map<BiometricType, Map<BiometricFunction, iBioProviderApi>> snapshot = new EnumMap<>(BiometricType.class);
+		registry.forEach((modality, functions) -> {
+			Map<BiometricFunction, iBioProviderApi> copy = new EnumMap<>(BiometricFunction.class);
+			copy.putAll(functions);
+			snapshot.put(modality, Collections.unmodifiableMap(copy));
+		});
+		providerRegistry = Collections.unmodifiableMap(snapshot);
 	}
 
 	/**
@@ -0,0 +1,263 @@
+package io.mosip.kernel.biosdk.provider.impl;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.slf4j.MDC;
+
+import io.mosip.kernel.biometrics.constant.BiometricFunction;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biosdk.provider.factory.BioAPIFactory;
+import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
+import io.mosip.kernel.biosdk.provider.spi.iBioProviderAsyncApi;
+import io.mosip.kernel.biosdk.provider.util.BioSDKProviderLoggerFactory;
+import io.mosip.kernel.biosdk.provider.util.DecisionFusion;
+import io.mosip.kernel.biosdk.provider.util.ProviderConstants;
+import io.mosip.kernel.core.bioapi.exception.BiometricException;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Asynchronous facade over the providers registered in the
+ * {@link BioAPIFactory}.
+ *
+ * <p>
+ * Each call runs the blocking {@link iBioProviderApi} method of the provider of
+ * its modality on an executor, virtual threads unless an executor is given.
+ * Quality checks and template extraction of samples of several modalities are
+ * split by modality and run concurrently, the results are merged back in sample
+ * order.
+ * </p>
+ *
+ * <p>
+ * The MDC context of the calling thread is set on the executor thread for the
+ * duration of the call, so the logs of the providers keep the request context.
+ * The parameters of {@link iBioProviderAsyncApi} carry the same
+ * {@code MetricTag}s as the blocking API and the providers are called through
+ * their registered beans, so their metrics are tagged as for blocking calls.
+ * </p>
+ *
+ * <p>
+ * This class is not a bean, the application creates it with its
+ * {@link BioAPIFactory} and, optionally, its executor.
+ * </p>
+ *
+ * @see iBioProviderAsyncApi
+ * @see DecisionFusion
+ */
+public class BioProviderAsyncImpl implements iBioProviderAsyncApi, AutoCloseable {
+
+	private static final Logger LOGGER = BioSDKProviderLoggerFactory.getLogger(BioProviderAsyncImpl.class);
+
+	private final BioAPIFactory bioAPIFactory;
+
+	private final Executor executor;
+
+	private final ExecutorService ownedExecutor;
+
+	/**
+	 * Creates a facade running the calls on virtual threads.
+	 *
+	 * @param bioAPIFactory The factory of the registered providers.
+	 */
+	public BioProviderAsyncImpl(BioAPIFactory bioAPIFactory) {
+		this.bioAPIFactory = Objects.requireNonNull(bioAPIFactory);
+		this.ownedExecutor = Executors
+				.newThreadPerTaskExecutor(Thread.ofVirtual().name("bio-sdk-async-", 0).factory());
+		this.executor = ownedExecutor;
+	}
+
+	/**
+	 * Creates a facade running the calls on the given executor.
+	 *
+	 * @param bioAPIFactory The factory of the registered providers.
+	 * @param executor      The executor, it is not shut down by {@link #close()}.
+	 */
+	public BioProviderAsyncImpl(BioAPIFactory bioAPIFactory, Executor executor) {
+		this.bioAPIFactory = Objects.requireNonNull(bioAPIFactory);
+		this.executor = Objects.requireNonNull(executor);
+		this.ownedExecutor = null;
+	}
+
+	@Override
+	public CompletableFuture<Boolean> verify(List<BIR> sample, List<BIR> bioRecord, BiometricType modality,
+			Map<String, String> flags) {
+		return supply(modality, BiometricFunction.MATCH, provider -> provider.verify(sample, bioRecord, modality, flags));
+	}
+
+	@Override
+	public CompletableFuture<Boolean> verify(Map<BiometricType, List<BIR>> sample,
+			Map<BiometricType, List<BIR>> bioRecord, Map<String, String> flags, DecisionFusion fusion) {
+		int total = sample.size();
+		if (total == 0)
+			return CompletableFuture.completedFuture(Boolean.FALSE);
+
+		CompletableFuture<Boolean> result = new CompletableFuture<>();
+		int[] counts = new int[2];
+		sample.forEach((modality, modalitySample) -> {
+			List<BIR> records = bioRecord.getOrDefault(modality, Collections.emptyList());
+			verify(modalitySample, records, modality, flags).whenComplete((matched, e) -> {
+				if (e != null) {
+					LOGGER.error(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+							ProviderConstants.LOGGER_EMPTY,
+							MessageFormat.format("Multi-modal verify failed for {0}", modality), unwrap(e));
+				}
+				Boolean decision;
+				synchronized (counts) {
+					counts[Boolean.TRUE.equals(matched) && e == null ? 0 : 1]++;
+					decision = fusion.decide(counts[0], counts[1], total);
+				}
+				if (decision != null)
+					result.complete(decision);
+			});
+		});
+		return result;
+	}
+
+	@Override
+	public CompletableFuture<Map<String, Boolean>> identify(List<BIR> sample, Map<String, List<BIR>> gallery,
+			BiometricType modality, Map<String, String> flags) {
+		return supply(modality, BiometricFunction.MATCH, provider -> provider.identify(sample, gallery, modality, flags));
+	}
+
+	@Override
+	public CompletableFuture<float[]> getSegmentQuality(BIR[] sample, Map<String, String> flags) {
+		Map<BiometricType, List<Integer>> groups = groupByModality(Arrays.asList(sample));
+		List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+		float[] scores = new float[sample.length];
+		groups.forEach((modality, indices) -> {
+			BIR[] modalitySample = indices.stream().map(i -> sample[i]).toArray(BIR[]::new);
+			futures.add(supply(modality, BiometricFunction.QUALITY_CHECK,
+					provider -> provider.getSegmentQuality(modalitySample, flags)).thenAccept(modalityScores -> {
+						for (int i = 0; modalityScores != null && i < indices.size() && i < modalityScores.length; i++)
+							scores[indices.get(i)] = modalityScores[i];
+					}));
+		});
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> scores);
+	}
+
+	@Override
+	public CompletableFuture<Map<BiometricType, Float>> getModalityQuality(BIR[] sample, Map<String, String> flags) {
+		Map<BiometricType, List<Integer>> groups = groupByModality(Arrays.asList(sample));
+		List<CompletableFuture<Map<BiometricType, Float>>> futures = new ArrayList<>(groups.size());
+		groups.forEach((modality, indices) -> {
+			BIR[] modalitySample = indices.stream().map(i -> sample[i]).toArray(BIR[]::new);
+			futures.add(supply(modality, BiometricFunction.QUALITY_CHECK,
+					provider -> provider.getModalityQuality(modalitySample, flags)));
+		});
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+			Map<BiometricType, Float> result = new EnumMap<>(BiometricType.class);
+			futures.stream().map(CompletableFuture::join).filter(Objects::nonNull).forEach(result::putAll);
+			return result;
+		});
+	}
+
+	@Override
+	public CompletableFuture<List<BIR>> extractTemplate(List<BIR> sample, Map<String, String> flags) {
+		Map<BiometricType, List<Integer>> groups = groupByModality(sample);
+		List<List<Integer>> indices = new ArrayList<>(groups.values());
+		List<CompletableFuture<List<BIR>>> futures = new ArrayList<>(groups.size());
+		groups.forEach((modality, modalityIndices) -> {
+			List<BIR> modalitySample = modalityIndices.stream().map(sample::get).toList();
+			futures.add(supply(modality, BiometricFunction.EXTRACT,
+					provider -> provider.extractTemplate(modalitySample, flags)));
+		});
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+				.thenApply(v -> mergeTemplates(sample.size(), indices, futures));
+	}
+
+	/**
+	 * Shuts down the virtual thread executor created by this facade, a given
+	 * executor is left running.
+	 */
+	@Override
+	public void close() {
+		if (ownedExecutor != null)
+			ownedExecutor.shutdown();
+	}
+
+	/**
+	 * Runs a call on the provider of a modality and function on the executor,
+	 * with the MDC context of the calling thread.
+	 */
+	private <R> CompletableFuture<R> supply(BiometricType modality, BiometricFunction function,
+			Function<iBioProviderApi, R> call) {
+		iBioProviderApi provider;
+		try {
+			provider = bioAPIFactory.getBioProvider(modality, function);
+		} catch (BiometricException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		Map<String, String> context = MDC.getCopyOfContextMap();
+		return CompletableFuture.supplyAsync(() -> {
+			Map<String, String> previous = MDC.getCopyOfContextMap();
+			setContext(context);
+			try {
+				return call.apply(provider);
+			} finally {
+				setContext(previous);
+			}
+		}, executor);
+	}
+
+	private static void setContext(Map<String, String> context) {
+		if (context == null)
+			MDC.clear();
+		else
+			MDC.setContextMap(context);
+	}
+
+	private static Map<BiometricType, List<Integer>> groupByModality(List<BIR> sample) {
+		Map<BiometricType, List<Integer>> groups = new LinkedHashMap<>();
+		for (int i = 0; i < sample.size(); i++) {
+			BiometricType modality = sample.get(i).getBdbInfo().getType().get(0);
+			groups.computeIfAbsent(modality, k -> new ArrayList<>()).add(i);
+		}
+		return groups;
+	}
+
+	/**
+	 * Puts the templates back in sample order. A provider that returns fewer
+	 * templates than samples, as the 0.7 provider does for samples it fails to
+	 * extract, cannot be mapped back, in that case the templates are concatenated
+	 * in modality order.
+	 */
+	private static List<BIR> mergeTemplates(int size, List<List<Integer>> indices,
+			List<CompletableFuture<List<BIR>>> futures) {
+		BIR[] ordered = new BIR[size];
+		List<BIR> concatenated = new ArrayList<>(size);
+		boolean inOrder = true;
+		for (int g = 0; g < futures.size(); g++) {
+			List<BIR> templates = futures.get(g).join();
+			List<Integer> groupIndices = indices.get(g);
+			if (templates == null)
+				templates = Collections.emptyList();
+			concatenated.addAll(templates);
+			if (templates.size() != groupIndices.size()) {
+				inOrder = false;
+			} else {
+				for (int i = 0; i < templates.size(); i++)
+					ordered[groupIndices.get(i)] = templates.get(i);
+			}
+		}
+		return inOrder ? new ArrayList<>(Arrays.asList(ordered)) : concatenated;
+	}
+
+	private static Throwable unwrap(Throwable e) {
+		return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+	}
+}
@@ -1,10 +1,9 @@
 package io.mosip.kernel.biosdk.provider.impl;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
@@ -13,17 +12,23 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.LongStream;
 
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.Metrics;
 import io.mosip.kernel.biometrics.constant.BiometricFunction;
 import io.mosip.kernel.biometrics.constant.BiometricType;
 import io.mosip.kernel.biometrics.entities.BIR;
 import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
 import io.mosip.kernel.biosdk.provider.util.BioProviderUtil;
 import io.mosip.kernel.biosdk.provider.util.BioSDKProviderLoggerFactory;
+import io.mosip.kernel.biosdk.provider.util.ErrorCode;
+import io.mosip.kernel.biosdk.provider.util.IdentifyPartitioner;
+import io.mosip.kernel.biosdk.provider.util.LegacySDKAdapter;
 import io.mosip.kernel.biosdk.provider.util.ProviderConstants;
+import io.mosip.kernel.biosdk.provider.util.TemplateCache;
 import io.mosip.kernel.core.bioapi.exception.BiometricException;
 import io.mosip.kernel.core.bioapi.model.CompositeScore;
 import io.mosip.kernel.core.bioapi.model.KeyValuePair;
@@ -41,8 +46,9 @@ import io.mosip.kernel.core.logger.spi.Logger;
  * <p>
  * It supports operations like matching biometric samples against stored
  * records, composite matching for multiple modalities, quality assessment of
- * biometric samples, and extraction of biometric templates. The class utilizes
- * reflection to dynamically invoke methods on the underlying SDK instances.
+ * biometric samples, and extraction of biometric templates. The methods of the
+ * underlying SDK instances are found by reflection and bound to call adapters
+ * once at init, see {@link LegacySDKAdapter}.
  * </p>
  * 
  * <p>
@@ -94,10 +100,23 @@ public class BioProviderImpl_V_0_7 implements iBioProviderApi {
 	private static final String TAG_MATCH = "match";
 	private static final String TAG_MATCH_COMPOSITE = "compositeMatch";
 
-	// Registry to store SDK instances for each modality
-	private Map<BiometricType, Object> sdkRegistry = new EnumMap<>(BiometricType.class);
+	// Registry to store SDK instances for each modality, an immutable snapshot
+	// replaced as a whole when an SDK is registered
+	private volatile Map<BiometricType, RegisteredSDK> sdkRegistry = Map.of();
 	// Thresholds for each modality
-	private Map<BiometricType, String> thresholds = new EnumMap<>(BiometricType.class);
+	private Map<BiometricType, String> thresholds = new ConcurrentHashMap<>();
+
+	private Map<BiometricType, IdentifyPartitioner> partitioners = new ConcurrentHashMap<>();
+
+	private Map<BiometricType, TemplateCache> templateCaches = new ConcurrentHashMap<>();
+
+	/**
+	 * An SDK instance and the call adapters bound to its class, registered
+	 * together so that a call never pairs an instance with the adapters of
+	 * another SDK.
+	 */
+	private record RegisteredSDK(Object instance, LegacySDKAdapter adapter) {
+	}
 
 	/**
 	 * Initializes the SDK instances for supported modalities based on provided
@@ -119,13 +138,35 @@ public class BioProviderImpl_V_0_7 implements iBioProviderApi {
 			if (modalityParams != null && !modalityParams.isEmpty()
 					&& API_VERSION.equals(modalityParams.get(ProviderConstants.VERSION))) {
 				Object instance = BioProviderUtil.getSDKInstance(modalityParams);
-				addToRegistry(instance, modality);
-				thresholds.put(modality, modalityParams.getOrDefault(ProviderConstants.THRESHOLD, "60"));
+				initModality(modality, modalityParams, instance, List.of());
 			}
 		}
 		return getSupportedModalities();
 	}
 
+	/**
+	 * Creates a new instance of the configured SDK for a modality, warms it up
+	 * with quality check and extraction calls on the given samples and swaps it
+	 * in.
+	 * 
+	 * @param modality       The biometric modality to reload.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @param warmUpSample   The sample biometric records to warm up with.
+	 * @return The functions supported for the modality, empty if the configured
+	 *         version is not handled by this provider.
+	 * @throws BiometricException If the SDK cannot be created or fails to warm up.
+	 */
+	@Override
+	public List<BiometricFunction> reload(BiometricType modality, Map<String, String> modalityParams,
+			List<BIR> warmUpSample) throws BiometricException {
+		if (modalityParams == null || !API_VERSION.equals(modalityParams.get(ProviderConstants.VERSION)))
+			return List.of();
+
+		Object instance = BioProviderUtil.newSDKInstance(modalityParams);
+		initModality(modality, modalityParams, instance, warmUpSample != null ? warmUpSample : List.of());
+		return getSupportedModalities().getOrDefault(modality, List.of());
+	}
+
 	/**
 	 * Verifies if a given sample matches a biometric record for a specific
 	 * modality.
@@ -190,9 +231,34 @@ public class BioProviderImpl_V_0_7 implements iBioProviderApi {
 		String methodName = flags.getOrDefault(METHOD_NAME_KEY, TAG_MATCH_COMPOSITE);
 		String threshold = flags.getOrDefault(THRESHOLD_KEY, thresholds.getOrDefault(modality, "60"));
 
-		sample = sample.stream()
+		List<BIR> modalitySample = sample.stream()
 				.filter(obj -> modality == BiometricType.fromValue(obj.getBdbInfo().getType().get(0).value())).toList();
 
+		IdentifyPartitioner partitioner = partitioners.get(modality);
+		if (partitioner != null && partitioner.isPartitioned(gallery.size())) {
+			Map<String, String> chunkFlags = flags;
+			// the flags are consumed while building the SDK arguments, each chunk gets its own copy
+			return partitioner.identify(gallery, chunk -> identifyChunk(modalitySample, chunk, modality,
+					new HashMap<>(chunkFlags), methodName, threshold));
+		}
+		return identifyChunk(modalitySample, gallery, modality, flags, methodName, threshold);
+	}
+
+	/**
+	 * Identifies a sample against each entry of a gallery, or of one chunk of it.
+	 * 
+	 * @param sample     Biometric sample of the modality.
+	 * @param gallery    Gallery of biometric records against which the sample is
+	 *                   identified.
+	 * @param modality   Biometric modality (e.g., fingerprint, iris).
+	 * @param flags      Additional flags to control identification.
+	 * @param methodName The SDK method used for matching.
+	 * @param threshold  The threshold score above which the match is considered
+	 *                   successful.
+	 * @return Map of record identifiers and their corresponding match results.
+	 */
+	private Map<String, Boolean> identifyChunk(List<BIR> sample, Map<String, List<BIR>> gallery,
+			BiometricType modality, Map<String, String> flags, String methodName, String threshold) {
 		Map<String, Boolean> result = new HashMap<>();
 		for (Entry<String, List<BIR>> entry : gallery.entrySet()) {
 
@@ -227,22 +293,20 @@ public class BioProviderImpl_V_0_7 implements iBioProviderApi {
 	 * @return Array of quality scores for each segment.
 	 */
 	@Override
-	@SuppressWarnings({ "java:S3011" })
 	public float[] getSegmentQuality(BIR[] sample, Map<String, String> flags) {
 		float[] scores = new float[sample.length];
 		for (int i = 0; i < sample.length; i++) {
 			BiometricType modality = BiometricType.fromValue(sample[i].getBdbInfo().getType().get(0).value());
-			Method method = BioProviderUtil.findRequiredMethod(this.sdkRegistry.get(modality).getClass(),
-					"checkQuality", BIR.class, KeyValuePair[].class);
-			method.setAccessible(true);
+			RegisteredSDK sdk = this.sdkRegistry.get(modality);
+			LegacySDKAdapter.SampleCall checkQuality = sdk.adapter().checkQuality();
 
 			try {
-				Object response = method.invoke(this.sdkRegistry.get(modality), sample[i], getKeyValuePairs(flags));
+				Object response = checkQuality.apply(sdk.instance(), sample[i], getKeyValuePairs(flags));
 				if (Objects.nonNull(response)) {
 					QualityScore qualityScore = (QualityScore) response;
 					scores[i] = qualityScore.getInternalScore();
 				}
-			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			} catch (Exception e) {
 				LOGGER.error(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
 						ProviderConstants.LOGGER_EMPTY, "getSegmentQuality invoked", e);
 			}
@@ -261,22 +325,20 @@ public class BioProviderImpl_V_0_7 implements iBioProviderApi {
 	 *         scores.
 	 */
 	@Override
-	@SuppressWarnings({ "java:S3011" })
 	public Map<BiometricType, Float> getModalityQuality(BIR[] sample, Map<String, String> flags) {
 		Map<BiometricType, LongStream.Builder> result = new EnumMap<>(BiometricType.class);
 		for (BIR bir : sample) {
 			BiometricType modality = BiometricType.fromValue(bir.getBdbInfo().getType().get(0).value());
-			Method method = BioProviderUtil.findRequiredMethod(this.sdkRegistry.get(modality).getClass(),
-					"checkQuality", BIR.class, KeyValuePair[].class);
-			method.setAccessible(true);
+			RegisteredSDK sdk = this.sdkRegistry.get(modality);
+			LegacySDKAdapter.SampleCall checkQuality = sdk.adapter().checkQuality();
 
 			try {
-				Object response = method.invoke(this.sdkRegistry.get(modality), bir, getKeyValuePairs(flags));
+				Object response = checkQuality.apply(sdk.instance(), bir, getKeyValuePairs(flags));
 				if (Objects.nonNull(response)) {
 					QualityScore qualityScore = (QualityScore) response;
 					result.computeIfAbsent(modality, k -> LongStream.builder()).add(qualityScore.getInternalScore());
 				}
-			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			} catch (Exception e) {
 				LOGGER.error(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
 						ProviderConstants.LOGGER_EMPTY, "getModalityQuality invoked", e);
 			}
@@ -300,23 +362,28 @@ public class BioProviderImpl_V_0_7 implements iBioProviderApi {
 	 * @return List of extracted biometric templates.
 	 */
 	@Override
-	@SuppressWarnings({ "java:S3011" })
 	public List<BIR> extractTemplate(List<BIR> sample, Map<String, String> flags) {
 		List<BIR> extracts = new ArrayList<>();
 		for (BIR bir : sample) {
 			BiometricType modality = BiometricType.fromValue(bir.getBdbInfo().getType().get(0).value());
-			Method method = BioProviderUtil.findRequiredMethod(this.sdkRegistry.get(modality).getClass(),
-					"extractTemplate", BIR.class, KeyValuePair[].class);
-			if (Objects.nonNull(method)) {
-				method.setAccessible(true);
+			RegisteredSDK sdk = this.sdkRegistry.get(modality);
+			LegacySDKAdapter.SampleCall extract = sdk.adapter().extractTemplate();
+			TemplateCache cache = this.templateCaches.get(modality);
+			String key = Objects.nonNull(cache) ? cache.keyOf(bir, flags) : null;
+			BIR cached = Objects.nonNull(cache) ? cache.get(key) : null;
+			if (Objects.nonNull(cached)) {
+				extracts.add(cached);
+				continue;
+			}
 
-				try {
-					Object response = method.invoke(this.sdkRegistry.get(modality), bir, getKeyValuePairs(flags));
-					extracts.add(Objects.nonNull(response) ? (BIR) response : null);
-				} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-					LOGGER.error(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
-							ProviderConstants.LOGGER_EMPTY, "extractTemplate invoked", e);
-				}
+			try {
+				Object response = extract.apply(sdk.instance(), bir, getKeyValuePairs(flags));
+				extracts.add(Objects.nonNull(response) ? (BIR) response : null);
+				if (Objects.nonNull(cache) && Objects.nonNull(response))
+					cache.put(key, (BIR) response);
+			} catch (Exception e) {
+				LOGGER.error(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+						ProviderConstants.LOGGER_EMPTY, "extractTemplate invoked", e);
 			}
 		}
 		return extracts;
@@ -337,32 +404,31 @@ public class BioProviderImpl_V_0_7 implements iBioProviderApi {
 	 *         otherwise.
 	 */
 	// Score[] match(BIR sample, BIR[] gallery, KeyValuePair[] flags)
-	@SuppressWarnings({ "java:S3011" })
 	private boolean getSDKMatchResult(List<BIR> sample, BIR[] bioRecord, BiometricType modality,
 			Map<String, String> flags, String threshold) {
-		Method method = BioProviderUtil.findRequiredMethod(this.sdkRegistry.get(modality).getClass(), TAG_MATCH,
-				BIR.class, BIR[].class, KeyValuePair[].class);
+		RegisteredSDK sdk = this.sdkRegistry.get(modality);
+		LegacySDKAdapter.MatchCall match = sdk.adapter().match();
 
 		boolean isMatched = false;
-		if (Objects.nonNull(method)) {
+		if (Objects.nonNull(match)) {
 			LOGGER.debug(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
 					ProviderConstants.LOGGER_EMPTY, "verify invoked Match method found");
 
-			method.setAccessible(true);
 			LongStream.Builder scaleScores = LongStream.builder();
 			for (int i = 0; i < sample.size(); i++) {
 				try {
-					Object[] response = (Object[]) method.invoke(this.sdkRegistry.get(modality), sample.get(i),
+					Object[] response = (Object[]) match.match(sdk.instance(), sample.get(i),
 							bioRecord, getKeyValuePairs(flags));
 
 					if (Objects.nonNull(response)) {
-						Score[] scores = Arrays.copyOf(response, response.length, Score[].class);
+						Score[] scores = response instanceof Score[] typed ? typed
+								: Arrays.copyOf(response, response.length, Score[].class);
 						Optional<Score> result = Arrays.stream(scores)
 								.max((s1, s2) -> (int) (s1.getScaleScore() - s2.getScaleScore()));
 						scaleScores.add(result.isPresent() ? (long) result.get().getScaleScore() : 0L);
 					}
 
-				} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+				} catch (Exception e) {
 					LOGGER.error(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
 							"getSDKMatchResult invoked", ExceptionUtils.getStackTrace(e));
 				}
@@ -389,22 +455,20 @@ public class BioProviderImpl_V_0_7 implements iBioProviderApi {
 	 */
 	// CompositeScore compositeMatch(BIR[] sampleList, BIR[] recordList,
 	// KeyValuePair[] flags)
-	@SuppressWarnings({ "java:S3011" })
 	private boolean getSDKCompositeMatchResult(List<BIR> sample, BIR[] bioRecord, BiometricType modality,
 			Map<String, String> flags, String threshold) {
-		Method method = BioProviderUtil.findRequiredMethod(this.sdkRegistry.get(modality).getClass(),
-				TAG_MATCH_COMPOSITE, BIR[].class, BIR[].class, KeyValuePair[].class);
+		RegisteredSDK sdk = this.sdkRegistry.get(modality);
+		LegacySDKAdapter.CompositeMatchCall compositeMatch = sdk.adapter().compositeMatch();
 
 		boolean isMatched = false;
-		if (Objects.nonNull(method)) {
+		if (Objects.nonNull(compositeMatch)) {
 
 			LOGGER.debug(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
 					ProviderConstants.LOGGER_EMPTY, "verify invoked", "CompositeMatch method found");
 
-			method.setAccessible(true);
 			try {
-				Object response = method.invoke(this.sdkRegistry.get(modality), sample.toArray(new BIR[sample.size()]),
-						bioRecord, getKeyValuePairs(flags));
+				Object response = compositeMatch.compositeMatch(sdk.instance(),
+						sample.toArray(new BIR[sample.size()]), bioRecord, getKeyValuePairs(flags));
 
 				if (Objects.nonNull(response)) {
 					CompositeScore compositeScore = (CompositeScore) response;
@@ -412,7 +476,7 @@ public class BioProviderImpl_V_0_7 implements iBioProviderApi {
 						isMatched = true;
 				}
 
-			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			} catch (Exception e) {
 				LOGGER.error(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
 						ProviderConstants.LOGGER_EMPTY, "getSDKCompositeMatchResult invoked", e);
 			}
@@ -433,13 +497,88 @@ public class BioProviderImpl_V_0_7 implements iBioProviderApi {
 	}
 
 	/**
-	 * Adds a SDK instance to the registry for a specific biometric modality.
+	 * Binds the call adapters of an SDK instance, warms it up, configures the
+	 * features of the modality and registers the instance. The instance is
+	 * registered last, so calls switch from a previous instance to the new one at
+	 * once. The warm up runs without holding the provider lock, so that several
+	 * modalities can be initialized concurrently.
+	 * 
+	 * @param modality       The biometric modality.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @param instance       The SDK instance.
+	 * @param warmUpSample   The sample biometric records to warm up with.
+	 * @throws BiometricException If the SDK fails to warm up.
+	 */
+	private void initModality(BiometricType modality, Map<String, String> modalityParams,
+			Object instance, List<BIR> warmUpSample) throws BiometricException {
+		RegisteredSDK sdk = new RegisteredSDK(instance, LegacySDKAdapter.of(instance.getClass()));
+		for (BIR bir : warmUpSample) {
+			try {
+				if (Objects.isNull(sdk.adapter().checkQuality().apply(instance, bir, null))
+						|| Objects.isNull(sdk.adapter().extractTemplate().apply(instance, bir, null)))
+					throw new IllegalStateException("No response");
+			} catch (Exception e) {
+				LOGGER.error(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+						ProviderConstants.LOGGER_EMPTY, "warm up invoked", e);
+				throw new BiometricException(ErrorCode.SDK_WARM_UP_FAILED.getErrorCode(),
+						String.format(ErrorCode.SDK_WARM_UP_FAILED.getErrorMessage(), modality));
+			}
+		}
+
+		synchronized (this) {
+			thresholds.put(modality, modalityParams.getOrDefault(ProviderConstants.THRESHOLD, "60"));
+			addPartitioner(modality, modalityParams);
+			addTemplateCache(modality, modalityParams);
+			addToRegistry(sdk, modality);
+		}
+	}
+
+	/**
+	 * Adds a SDK instance to the registry for a specific biometric modality,
+	 * replacing any instance registered before. A new snapshot of the registry is
+	 * published, so calls in progress keep the instance they started with.
+	 * 
+	 * @param sdk      The SDK instance to be added, with its call adapters.
+	 * @param modality The biometric modality associated with the SDK instance.
+	 */
+	private void addToRegistry(RegisteredSDK sdk, BiometricType modality) {
+		Map<BiometricType, RegisteredSDK> registry = new EnumMap<>(BiometricType.class);
+		registry.putAll(sdkRegistry);
+		registry.put(modality, sdk);
+		sdkRegistry = Collections.unmodifiableMap(registry);
+	}
+
+	/**
+	 * Configures the partitioned identify of a modality from its SDK init
+	 * parameters, replacing any previous configuration.
+	 * 
+	 * @param modality       The biometric modality.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 */
+	private void addPartitioner(BiometricType modality, Map<String, String> modalityParams) {
+		IdentifyPartitioner partitioner = IdentifyPartitioner.of(modality, modalityParams);
+		IdentifyPartitioner previous = partitioner != null ? partitioners.put(modality, partitioner)
+				: partitioners.remove(modality);
+		if (previous != null)
+			previous.close();
+	}
+
+	/**
+	 * Configures the template cache of a modality from its SDK init parameters,
+	 * replacing any previous cache.
 	 * 
-	 * @param sdkInstance The SDK instance to be added.
-	 * @param modality    The biometric modality associated with the SDK instance.
+	 * @param modality       The biometric modality.
+	 * @param modalityParams The SDK init parameters of the modality.
 	 */
-	private void addToRegistry(Object sdkInstance, BiometricType modality) {
-		sdkRegistry.put(modality, sdkInstance);
+	private void addTemplateCache(BiometricType modality, Map<String, String> modalityParams) {
+		TemplateCache cache = TemplateCache.of(modality, modalityParams);
+		TemplateCache previous = cache != null ? templateCaches.put(modality, cache)
+				: templateCaches.remove(modality);
+		// the meters share their names, unbind the previous cache before binding
+		if (previous != null)
+			previous.close();
+		if (cache != null)
+			cache.bindTo(Metrics.globalRegistry);
 	}
 
 	/**
@@ -2,15 +2,18 @@ package io.mosip.kernel.biosdk.provider.impl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.Metrics;
 import io.mosip.kernel.biometrics.constant.BiometricFunction;
 import io.mosip.kernel.biometrics.constant.BiometricType;
 import io.mosip.kernel.biometrics.entities.BIR;
@@ -18,7 +21,10 @@ import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
 import io.mosip.kernel.biosdk.provider.util.BIRConverter;
 import io.mosip.kernel.biosdk.provider.util.BioProviderUtil;
 import io.mosip.kernel.biosdk.provider.util.BioSDKProviderLoggerFactory;
+import io.mosip.kernel.biosdk.provider.util.ErrorCode;
+import io.mosip.kernel.biosdk.provider.util.IdentifyPartitioner;
 import io.mosip.kernel.biosdk.provider.util.ProviderConstants;
+import io.mosip.kernel.biosdk.provider.util.TemplateCache;
 import io.mosip.kernel.core.bioapi.exception.BiometricException;
 import io.mosip.kernel.core.bioapi.model.CompositeScore;
 import io.mosip.kernel.core.bioapi.model.KeyValuePair;
@@ -80,7 +86,10 @@ import io.mosip.kernel.core.logger.spi.Logger;
 public class BioProviderImpl_V_0_8 implements iBioProviderApi {
 
 	private static final String API_VERSION = "0.8";
-	private Map<BiometricType, Map<BiometricFunction, IBioApi>> sdkRegistry = new EnumMap<>(BiometricType.class);
+	// immutable snapshot, replaced as a whole when an SDK is registered
+	private volatile Map<BiometricType, Map<BiometricFunction, IBioApi>> sdkRegistry = Map.of();
+	private Map<BiometricType, IdentifyPartitioner> partitioners = new ConcurrentHashMap<>();
+	private Map<BiometricType, TemplateCache> templateCaches = new ConcurrentHashMap<>();
 
 	/**
 	 * Initializes the biometric provider with SDK instances based on provided
@@ -103,12 +112,35 @@ public class BioProviderImpl_V_0_8 implements iBioProviderApi {
 			if (modalityParams != null && !modalityParams.isEmpty()
 					&& API_VERSION.equals(modalityParams.get(ProviderConstants.VERSION))) {
 				IBioApi iBioApi = (IBioApi) BioProviderUtil.getSDKInstance(modalityParams);
-				addToRegistry(iBioApi, modality);
+				initModality(modality, modalityParams, iBioApi, List.of());
 			}
 		}
 		return getSupportedModalities();
 	}
 
+	/**
+	 * Creates a new instance of the configured SDK for a modality, warms it up
+	 * with quality check and extraction calls on the given samples and swaps it
+	 * in.
+	 * 
+	 * @param modality       The biometric modality to reload.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @param warmUpSample   The sample biometric records to warm up with.
+	 * @return The functions supported for the modality, empty if the configured
+	 *         version is not handled by this provider.
+	 * @throws BiometricException If the SDK cannot be created or fails to warm up.
+	 */
+	@Override
+	public List<BiometricFunction> reload(BiometricType modality, Map<String, String> modalityParams,
+			List<BIR> warmUpSample) throws BiometricException {
+		if (modalityParams == null || !API_VERSION.equals(modalityParams.get(ProviderConstants.VERSION)))
+			return List.of();
+
+		IBioApi iBioApi = (IBioApi) BioProviderUtil.newSDKInstance(modalityParams);
+		initModality(modality, modalityParams, iBioApi, warmUpSample != null ? warmUpSample : List.of());
+		return getSupportedModalities().getOrDefault(modality, List.of());
+	}
+
 	/**
 	 * Verifies if a given sample matches a provided biometric record for a
 	 * specified modality.
@@ -139,14 +171,31 @@ public class BioProviderImpl_V_0_8 implements iBioProviderApi {
 	@Override
 	public Map<String, Boolean> identify(List<BIR> sample, Map<String, List<BIR>> gallery, BiometricType modality,
 			Map<String, String> flags) {
-		Map<String, Boolean> result = new HashMap<>();
-
-		sample = sample.stream()
+		List<BIR> modalitySample = sample.stream()
 				.filter(obj -> modality == BiometricType.fromValue(obj.getBdbInfo().getType().get(0).value())).toList();
 
+		IdentifyPartitioner partitioner = partitioners.get(modality);
+		if (partitioner != null && partitioner.isPartitioned(gallery.size())) {
+			return partitioner.identify(gallery, chunk -> identifyChunk(modalitySample, chunk, modality, flags));
+		}
+		return identifyChunk(modalitySample, gallery, modality, flags);
+	}
+
+	/**
+	 * Matches the sample against each entry of a gallery, or of one chunk of it.
+	 * 
+	 * @param sample   The sample biometric records of the modality.
+	 * @param gallery  The biometric gallery containing records to be searched.
+	 * @param modality The biometric modality being identified.
+	 * @param flags    Additional flags for identification.
+	 * @return A map indicating the presence of each sample in the gallery.
+	 */
+	private Map<String, Boolean> identifyChunk(List<BIR> sample, Map<String, List<BIR>> gallery,
+			BiometricType modality, Map<String, String> flags) {
+		Map<String, Boolean> result = new HashMap<>();
 		for (Map.Entry<String, List<BIR>> entryInfo : gallery.entrySet()) {
-			String key = entryInfo.getKey();
-			result.put(key, match("DEDUPE", sample, gallery.get(key).toArray(new BIR[gallery.get(key).size()]),
+			List<BIR> records = entryInfo.getValue();
+			result.put(entryInfo.getKey(), match("DEDUPE", sample, records.toArray(new BIR[records.size()]),
 					modality, flags));
 		}
 		return result;
@@ -213,12 +262,21 @@ public class BioProviderImpl_V_0_8 implements iBioProviderApi {
 	public List<BIR> extractTemplate(List<BIR> sample, Map<String, String> flags) {
 		List<BIR> templates = new LinkedList<>();
 		for (BIR bir : sample) {
-			Response<io.mosip.kernel.core.cbeffutil.entity.BIR> response = sdkRegistry
-					.get(BiometricType.fromValue(bir.getBdbInfo().getType().get(0).value()))
-					.get(BiometricFunction.EXTRACT)
-					.extractTemplate(BIRConverter.convertToBIR(bir), getKeyValuePairs(flags));
-			templates.add(isSuccessResponse(response) ? BIRConverter.convertToBiometricRecordBIR(response.getResponse())
-					: null);
+			BiometricType modality = BiometricType.fromValue(bir.getBdbInfo().getType().get(0).value());
+			TemplateCache cache = templateCaches.get(modality);
+			String key = cache != null ? cache.keyOf(bir, flags) : null;
+			BIR template = cache != null ? cache.get(key) : null;
+			if (template == null) {
+				Response<io.mosip.kernel.core.cbeffutil.entity.BIR> response = sdkRegistry.get(modality)
+						.get(BiometricFunction.EXTRACT)
+						.extractTemplate(BIRConverter.convertToBIR(bir), getKeyValuePairs(flags));
+				template = isSuccessResponse(response)
+						? BIRConverter.convertToBiometricRecordBIR(response.getResponse())
+						: null;
+				if (cache != null)
+					cache.put(key, template);
+			}
+			templates.add(template);
 		}
 		return templates;
 	}
@@ -245,9 +303,10 @@ public class BioProviderImpl_V_0_8 implements iBioProviderApi {
 			recordBIR[i] = BIRConverter.convertToBIR(bioRecord[i]);
 
 		}
+		IBioApi iBioApi = sdkRegistry.get(modality).get(BiometricFunction.MATCH);
 		for (int i = 0; i < sample.size(); i++) {
-			Response<MatchDecision[]> response = sdkRegistry.get(modality).get(BiometricFunction.MATCH)
-					.match(BIRConverter.convertToBIR(sample.get(i)), recordBIR, getKeyValuePairs(flags));
+			Response<MatchDecision[]> response = iBioApi.match(BIRConverter.convertToBIR(sample.get(i)), recordBIR,
+					getKeyValuePairs(flags));
 
 			result.add(isSuccessResponse(response) ? response.getResponse() : null);
 		}
@@ -256,20 +315,87 @@ public class BioProviderImpl_V_0_8 implements iBioProviderApi {
 	}
 
 	/**
-	 * Adds an SDK instance to the registry for a specific biometric modality.
+	 * Warms up an SDK instance, configures the features of the modality and
+	 * registers the instance. The instance is registered last, so calls switch
+	 * from a previous instance to the new one at once. The warm up runs without
+	 * holding the provider lock, so that several modalities can be initialized
+	 * concurrently.
+	 * 
+	 * @param modality       The biometric modality.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @param iBioApi        The SDK instance.
+	 * @param warmUpSample   The sample biometric records to warm up with.
+	 * @throws BiometricException If the SDK fails to warm up.
+	 */
+	private void initModality(BiometricType modality, Map<String, String> modalityParams,
+			IBioApi iBioApi, List<BIR> warmUpSample) throws BiometricException {
+		for (BIR bir : warmUpSample) {
+			io.mosip.kernel.core.cbeffutil.entity.BIR sampleBIR = BIRConverter.convertToBIR(bir);
+			if (!isSuccessResponse(iBioApi.checkQuality(sampleBIR, null))
+					|| !isSuccessResponse(iBioApi.extractTemplate(sampleBIR, null)))
+				throw new BiometricException(ErrorCode.SDK_WARM_UP_FAILED.getErrorCode(),
+						String.format(ErrorCode.SDK_WARM_UP_FAILED.getErrorMessage(), modality));
+		}
+
+		synchronized (this) {
+			addPartitioner(modality, modalityParams);
+			addTemplateCache(modality, modalityParams);
+			addToRegistry(iBioApi, modality);
+		}
+	}
+
+	/**
+	 * Registers an SDK instance for all functions of a biometric modality,
+	 * replacing any instance registered before. A new snapshot of the registry is
+	 * published, so calls in progress keep the instance they started with.
 	 * 
 	 * @param iBioApi  The SDK instance implementing IBioApi for the given modality.
 	 * @param modality The biometric modality for which the SDK instance is added.
 	 */
 	private void addToRegistry(IBioApi iBioApi, BiometricType modality) {
-		sdkRegistry.computeIfAbsent(modality, k -> new EnumMap<>(BiometricFunction.class))
-				.put(BiometricFunction.EXTRACT, iBioApi);
-		sdkRegistry.computeIfAbsent(modality, k -> new EnumMap<>(BiometricFunction.class))
-				.put(BiometricFunction.QUALITY_CHECK, iBioApi);
-		sdkRegistry.computeIfAbsent(modality, k -> new EnumMap<>(BiometricFunction.class)).put(BiometricFunction.MATCH,
-				iBioApi);
-		sdkRegistry.computeIfAbsent(modality, k -> new EnumMap<>(BiometricFunction.class))
-				.put(BiometricFunction.SEGMENT, iBioApi);
+		Map<BiometricFunction, IBioApi> functions = new EnumMap<>(BiometricFunction.class);
+		functions.put(BiometricFunction.EXTRACT, iBioApi);
+		functions.put(BiometricFunction.QUALITY_CHECK, iBioApi);
+		functions.put(BiometricFunction.MATCH, iBioApi);
+		functions.put(BiometricFunction.SEGMENT, iBioApi);
+
+		Map<BiometricType, Map<BiometricFunction, IBioApi>> registry = new EnumMap<>(BiometricType.class);
+		registry.putAll(sdkRegistry);
+		registry.put(modality, Collections.unmodifiableMap(functions));
+		sdkRegistry = Collections.unmodifiableMap(registry);
+	}
+
+	/**
+	 * Configures the partitioned identify of a modality from its SDK init
+	 * parameters, replacing any previous configuration.
+	 * 
+	 * @param modality       The biometric modality.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 */
+	private void addPartitioner(BiometricType modality, Map<String, String> modalityParams) {
+		IdentifyPartitioner partitioner = IdentifyPartitioner.of(modality, modalityParams);
+		IdentifyPartitioner previous = partitioner != null ? partitioners.put(modality, partitioner)
+				: partitioners.remove(modality);
+		if (previous != null)
+			previous.close();
+	}
+
+	/**
+	 * Configures the template cache of a modality from its SDK init parameters,
+	 * replacing any previous cache.
+	 * 
+	 * @param modality       The biometric modality.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 */
+	private void addTemplateCache(BiometricType modality, Map<String, String> modalityParams) {
+		TemplateCache cache = TemplateCache.of(modality, modalityParams);
+		TemplateCache previous = cache != null ? templateCaches.put(modality, cache)
+				: templateCaches.remove(modality);
+		// the meters share their names, unbind the previous cache before binding
+		if (previous != null)
+			previous.close();
+		if (cache != null)
+			cache.bindTo(Metrics.globalRegistry);
 	}
 
 	/**
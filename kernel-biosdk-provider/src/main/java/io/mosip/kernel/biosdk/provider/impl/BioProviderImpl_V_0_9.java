@@ -3,19 +3,29 @@ package io.mosip.kernel.biosdk.provider.impl;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import io.micrometer.core.annotation.Counted;
 import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Metrics;
 import io.mosip.kernel.biosdk.provider.util.BioSDKProviderLoggerFactory;
 import io.mosip.kernel.core.logger.spi.Logger;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Component;
 
 import io.mosip.kernel.biometrics.constant.BiometricFunction;
@@ -31,8 +41,12 @@ import io.mosip.kernel.biometrics.model.SDKInfo;
 import io.mosip.kernel.biometrics.spi.IBioApi;
 import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
 import io.mosip.kernel.biosdk.provider.util.BioProviderUtil;
+import io.mosip.kernel.biosdk.provider.util.EarlyExitVerifier;
 import io.mosip.kernel.biosdk.provider.util.ErrorCode;
+import io.mosip.kernel.biosdk.provider.util.IdentifyPartitioner;
 import io.mosip.kernel.biosdk.provider.util.ProviderConstants;
+import io.mosip.kernel.biosdk.provider.util.SDKInstancePool;
+import io.mosip.kernel.biosdk.provider.util.TemplateCache;
 import io.mosip.kernel.core.bioapi.exception.BiometricException;
 import io.mosip.kernel.core.bioapi.model.CompositeScore;
 import io.mosip.kernel.core.bioapi.model.KeyValuePair;
@@ -92,7 +106,16 @@ public class BioProviderImpl_V_0_9 implements iBioProviderApi {
 	private static final Logger logger = BioSDKProviderLoggerFactory.getLogger(BioProviderImpl_V_0_9.class);
 
 	private static final String API_VERSION = "0.9";
-	private final Map<BiometricType, Map<BiometricFunction, IBioApi>> sdkRegistry = new EnumMap<>(BiometricType.class);
+	// immutable snapshot, replaced as a whole when an SDK is registered
+	private volatile Map<BiometricType, Map<BiometricFunction, IBioApi>> sdkRegistry = Map.of();
+	private final Map<BiometricType, IdentifyPartitioner> partitioners = new ConcurrentHashMap<>();
+	private final Map<BiometricType, EarlyExitVerifier> verifiers = new ConcurrentHashMap<>();
+	private final Map<BiometricType, SDKInstancePool<IBioApi>> pools = new ConcurrentHashMap<>();
+	private final Map<BiometricType, TemplateCache> templateCaches = new ConcurrentHashMap<>();
+	private final Set<BiometricType> batchedQuality = ConcurrentHashMap.newKeySet();
+	private final Set<BiometricType> parallelQuality = ConcurrentHashMap.newKeySet();
+	private final ExecutorService qualityExecutor = Executors
+			.newThreadPerTaskExecutor(Thread.ofVirtual().name("bio-sdk-quality-", 0).factory());
 
 	/**
 	 * Initializes the biometric SDKs based on the provided parameters.
@@ -115,21 +138,38 @@ public class BioProviderImpl_V_0_9 implements iBioProviderApi {
 			// check if version matches supported API version of this provider
 			if (modalityParams != null && !modalityParams.isEmpty()
 					&& API_VERSION.equals(modalityParams.get(ProviderConstants.VERSION))) {
-
 				IBioApi iBioApi = (IBioApi) BioProviderUtil.getSDKInstance(modalityParams);
-				SDKInfo sdkInfo = iBioApi.init(modalityParams);
-
-				// cross check loaded SDK version and configured SDK version
-				if (!API_VERSION.equals(sdkInfo.getApiVersion()))
-					throw new BiometricException(ErrorCode.INVALID_SDK_VERSION.getErrorCode(),
-							ErrorCode.INVALID_SDK_VERSION.getErrorCode());
-
-				addToRegistry(sdkInfo, iBioApi, modality);
+				initModality(modality, modalityParams, iBioApi, List.of());
 			}
 		}
 		return getSupportedModalities();
 	}
 
+	/**
+	 * Initializes a new instance of the configured SDK for a modality, warms it up
+	 * with quality check and extraction calls on the given samples and swaps it
+	 * in.
+	 *
+	 * @param modality       The biometric type (modality) to reload.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @param warmUpSample   The sample biometric records to warm up with.
+	 * @return The functions supported for the modality, empty if the configured
+	 *         version is not handled by this provider.
+	 * @throws BiometricException If the SDK fails to initialize or to warm up.
+	 */
+	@Counted(value = "sdk.count", extraTags = { "api_version", API_VERSION })
+	@Timed(value = "sdk.time", extraTags = { "api_version", API_VERSION })
+	@Override
+	public List<BiometricFunction> reload(BiometricType modality, Map<String, String> modalityParams,
+			List<BIR> warmUpSample) throws BiometricException {
+		if (modalityParams == null || !API_VERSION.equals(modalityParams.get(ProviderConstants.VERSION)))
+			return List.of();
+
+		IBioApi iBioApi = (IBioApi) BioProviderUtil.newSDKInstance(modalityParams);
+		initModality(modality, modalityParams, iBioApi, warmUpSample);
+		return getSupportedModalities().getOrDefault(modality, List.of());
+	}
+
 	/**
 	 * Performs biometric verification between a sample and a gallery of biometric
 	 * records.
@@ -146,10 +186,43 @@ public class BioProviderImpl_V_0_9 implements iBioProviderApi {
 	@Timed(value = "sdk.time", extraTags = { "api_version", API_VERSION })
 	@Override
 	public boolean verify(List<BIR> sample, List<BIR> bioRecords, BiometricType modality, Map<String, String> flags) {
+		EarlyExitVerifier verifier = verifiers.get(modality);
+		if (verifier != null) {
+			return verifier.verify(sample, bioRecords, slice -> verifySlice(sample, slice, modality, flags));
+		}
+		return verifySlice(sample, bioRecords, modality, flags);
+	}
+
+	/**
+	 * Returns the early exit verifier of a modality, which exposes how many
+	 * comparisons were saved.
+	 *
+	 * @param modality The biometric type (modality).
+	 * @return The verifier, or {@code null} if early exit verify is not configured
+	 *         for the modality.
+	 */
+	public EarlyExitVerifier getEarlyExitVerifier(BiometricType modality) {
+		return verifiers.get(modality);
+	}
+
+	/**
+	 * Matches a sample against stored biometric records, or a slice of them, with
+	 * a single SDK match call.
+	 *
+	 * @param sample     The list of sample biometric records.
+	 * @param bioRecords The list of stored biometric records.
+	 * @param modality   The biometric type (modality) for which the verification is
+	 *                   performed.
+	 * @param flags      Additional flags for customization of the verification
+	 *                   process.
+	 * @return true if the verification is successful, false otherwise.
+	 */
+	private boolean verifySlice(List<BIR> sample, List<BIR> bioRecords, BiometricType modality,
+			Map<String, String> flags) {
 		BiometricRecord galleryRecord = getBiometricRecord(bioRecords.toArray(new BIR[bioRecords.size()]));
-		Response<MatchDecision[]> response = sdkRegistry.get(modality).get(BiometricFunction.MATCH).match(
-				getBiometricRecord(sample.toArray(new BIR[sample.size()])), new BiometricRecord[] { galleryRecord },
-				Arrays.asList(modality), flags);
+		BiometricRecord sampleRecord = getBiometricRecord(sample.toArray(new BIR[sample.size()]));
+		Response<MatchDecision[]> response = call(modality, BiometricFunction.MATCH, sdk -> sdk.match(sampleRecord,
+				new BiometricRecord[] { galleryRecord }, Arrays.asList(modality), flags));
 
 		if (isSuccessResponse(response)) {
 			Map<BiometricType, Decision> decisions = response.getResponse()[0].getDecisions();
@@ -185,18 +258,42 @@ public class BioProviderImpl_V_0_9 implements iBioProviderApi {
 	@Override
 	public Map<String, Boolean> identify(List<BIR> sample, Map<String, List<BIR>> gallery, BiometricType modality,
 			Map<String, String> flags) {
+		IdentifyPartitioner partitioner = partitioners.get(modality);
+		if (partitioner != null && partitioner.isPartitioned(gallery.size())) {
+			return partitioner.identify(gallery, chunk -> identifyChunk(sample, chunk, modality, flags));
+		}
+		return identifyChunk(sample, gallery, modality, flags);
+	}
+
+	/**
+	 * Matches a sample against a gallery, or one chunk of it, with a single SDK
+	 * match call.
+	 *
+	 * @param sample   The list of sample biometric records.
+	 * @param gallery  The gallery of biometric records mapped by their respective
+	 *                 keys.
+	 * @param modality The biometric type (modality) for which the identification is
+	 *                 performed.
+	 * @param flags    Additional flags for customization of the identification
+	 *                 process.
+	 * @return A map containing the key from the gallery and a boolean indicating if
+	 *         there was a match.
+	 */
+	private Map<String, Boolean> identifyChunk(List<BIR> sample, Map<String, List<BIR>> gallery,
+			BiometricType modality, Map<String, String> flags) {
+		// sized from the entries actually iterated, the gallery may change meanwhile
 		Map<String, Integer> keyIndexMapping = new HashMap<>();
-		BiometricRecord[] galleryRecords = new BiometricRecord[gallery.size()];
-		int i = 0;
+		List<BiometricRecord> records = new ArrayList<>();
 		for (Map.Entry<String, List<BIR>> entry : gallery.entrySet()) {
-			String key = entry.getKey();
-			keyIndexMapping.put(key, i);
-			galleryRecords[i++] = getBiometricRecord(gallery.get(key).toArray(new BIR[gallery.get(key).size()]));
+			List<BIR> entryRecords = entry.getValue();
+			keyIndexMapping.put(entry.getKey(), records.size());
+			records.add(getBiometricRecord(entryRecords.toArray(new BIR[entryRecords.size()])));
 		}
+		BiometricRecord[] galleryRecords = records.toArray(new BiometricRecord[records.size()]);
 
-		Response<MatchDecision[]> response = sdkRegistry.get(modality).get(BiometricFunction.MATCH).match(
-				getBiometricRecord(sample.toArray(new BIR[sample.size()])), galleryRecords, Arrays.asList(modality),
-				flags);
+		BiometricRecord sampleRecord = getBiometricRecord(sample.toArray(new BIR[sample.size()]));
+		Response<MatchDecision[]> response = call(modality, BiometricFunction.MATCH,
+				sdk -> sdk.match(sampleRecord, galleryRecords, Arrays.asList(modality), flags));
 
 		Map<String, Boolean> result = new HashMap<>();
 		if (isSuccessResponse(response)) {
@@ -231,25 +328,107 @@ public class BioProviderImpl_V_0_9 implements iBioProviderApi {
 	@Override
 	public float[] getSegmentQuality(BIR[] sample, Map<String, String> flags) {
 		float[] scores = new float[sample.length];
+		Map<BiometricType, List<Integer>> segments = new EnumMap<>(BiometricType.class);
 		for (int i = 0; i < sample.length; i++) {
 			BiometricType modality = BiometricType.fromValue(sample[i].getBdbInfo().getType().get(0).value());
-			Response<QualityCheck> response = sdkRegistry.get(modality).get(BiometricFunction.QUALITY_CHECK)
-					.checkQuality(getBiometricRecord(sample[i]), Arrays.asList(modality), flags);
-
-			if (isSuccessResponse(response) && response.getResponse().getScores() != null
-					&& response.getResponse().getScores().containsKey(modality)) {
-				scores[i] = response.getResponse().getScores().get(modality).getScore();
-				logger.info(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
-						ProviderConstants.LOGGER_EMPTY,
-						MessageFormat.format("SegmentQuality::AnalyticsInfo : {0}, errors : {1}",
-								response.getResponse().getScores().get(modality).getAnalyticsInfo(),
-								response.getResponse().getScores().get(modality).getErrors()));
-			} else
-				scores[i] = 0;
+			segments.computeIfAbsent(modality, k -> new ArrayList<>()).add(i);
 		}
+
+		forEachQualityModality(segments.keySet(), modality -> {
+			List<Integer> indices = segments.get(modality);
+			if (!batchedQuality.contains(modality) || indices.size() == 1
+					|| !checkSegmentQualityBatch(sample, indices, modality, flags, scores)) {
+				for (int i : indices)
+					scores[i] = checkSegmentQuality(sample[i], modality, flags);
+			}
+		});
 		return scores;
 	}
 
+	/**
+	 * Checks the quality of a single segment.
+	 *
+	 * @param segment  The segment.
+	 * @param modality The biometric type (modality) of the segment.
+	 * @param flags    Additional flags for customization of the quality check
+	 *                 process.
+	 * @return The quality score, 0 if the quality check failed.
+	 */
+	private float checkSegmentQuality(BIR segment, BiometricType modality, Map<String, String> flags) {
+		BiometricRecord sampleRecord = getBiometricRecord(segment);
+		Response<QualityCheck> response = call(modality, BiometricFunction.QUALITY_CHECK,
+				sdk -> sdk.checkQuality(sampleRecord, Arrays.asList(modality), flags));
+
+		if (isSuccessResponse(response) && response.getResponse().getScores() != null
+				&& response.getResponse().getScores().containsKey(modality)) {
+			logger.info(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY,
+					MessageFormat.format("SegmentQuality::AnalyticsInfo : {0}, errors : {1}",
+							response.getResponse().getScores().get(modality).getAnalyticsInfo(),
+							response.getResponse().getScores().get(modality).getErrors()));
+			return response.getResponse().getScores().get(modality).getScore();
+		}
+		return 0;
+	}
+
+	/**
+	 * Checks the quality of all segments of a modality with one SDK call. The SDK
+	 * reports the score of each segment in the analytics info of the modality
+	 * score, under {@link ProviderConstants#QUALITY_SEGMENT_SCORE_PREFIX} followed
+	 * by the index of the segment in the checked record.
+	 *
+	 * @param sample   The sample biometric records.
+	 * @param indices  The indices of the segments of the modality in the sample.
+	 * @param modality The biometric type (modality).
+	 * @param flags    Additional flags for customization of the quality check
+	 *                 process.
+	 * @param scores   The segment scores to fill in.
+	 * @return false if the SDK did not report a score for every segment, in which
+	 *         case the segments have to be checked one by one.
+	 */
+	private boolean checkSegmentQualityBatch(BIR[] sample, List<Integer> indices, BiometricType modality,
+			Map<String, String> flags, float[] scores) {
+		BiometricRecord sampleRecord = getBiometricRecord(indices.stream().map(i -> sample[i]).toArray(BIR[]::new));
+		Response<QualityCheck> response = call(modality, BiometricFunction.QUALITY_CHECK,
+				sdk -> sdk.checkQuality(sampleRecord, Arrays.asList(modality), flags));
+
+		if (!isSuccessResponse(response) || response.getResponse().getScores() == null
+				|| !response.getResponse().getScores().containsKey(modality)) {
+			// a failed check scores every segment 0, as it does one by one
+			indices.forEach(i -> scores[i] = 0);
+			return true;
+		}
+
+		Map<String, String> analyticsInfo = response.getResponse().getScores().get(modality).getAnalyticsInfo();
+		float[] segmentScores = new float[indices.size()];
+		try {
+			for (int i = 0; i < segmentScores.length; i++) {
+				String score = analyticsInfo == null ? null
+						: analyticsInfo.get(ProviderConstants.QUALITY_SEGMENT_SCORE_PREFIX + i);
+				if (score == null) {
+					logger.warn(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+							ProviderConstants.LOGGER_EMPTY, MessageFormat.format(
+									"SegmentQuality::no score for segment {0} of {1}, checking one by one", i, modality));
+					return false;
+				}
+				segmentScores[i] = Float.parseFloat(score);
+			}
+		} catch (NumberFormatException e) {
+			logger.warn(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY,
+					MessageFormat.format("SegmentQuality::invalid segment score of {0}, checking one by one", modality));
+			return false;
+		}
+
+		for (int i = 0; i < segmentScores.length; i++)
+			scores[indices.get(i)] = segmentScores[i];
+		logger.info(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+				ProviderConstants.LOGGER_EMPTY,
+				MessageFormat.format("SegmentQuality::AnalyticsInfo : {0}, errors : {1}", analyticsInfo,
+						response.getResponse().getScores().get(modality).getErrors()));
+		return true;
+	}
+
 	/**
 	 * Retrieves the overall quality scores for each biometric modality in the
 	 * provided sample biometric records.
@@ -269,10 +448,10 @@ public class BioProviderImpl_V_0_9 implements iBioProviderApi {
 			modalitites.add(BiometricType.fromValue(sample[i].getBdbInfo().getType().get(0).value()));
 		}
 
-		Map<BiometricType, Float> scoreMap = new EnumMap<>(BiometricType.class);
-		for (BiometricType modality : modalitites) {
-			Response<QualityCheck> response = sdkRegistry.get(modality).get(BiometricFunction.QUALITY_CHECK)
-					.checkQuality(getBiometricRecord(sample), Arrays.asList(modality), flags);
+		Map<BiometricType, Float> scoreMap = new ConcurrentHashMap<>();
+		forEachQualityModality(modalitites, modality -> {
+			Response<QualityCheck> response = call(modality, BiometricFunction.QUALITY_CHECK,
+					sdk -> sdk.checkQuality(getBiometricRecord(sample), Arrays.asList(modality), flags));
 
 			if (isSuccessResponse(response) && response.getResponse().getScores() != null
 					&& response.getResponse().getScores().containsKey(modality)) {
@@ -283,17 +462,39 @@ public class BioProviderImpl_V_0_9 implements iBioProviderApi {
 			} else {
 				scoreMap.put(modality, 0f);
 			}
-		}
+		});
 
-		float[] scores = new float[sample.length];
-		for (int i = 0; i < sample.length; i++) {
-			BiometricType modality = BiometricType.fromValue(sample[i].getBdbInfo().getType().get(0).value());
-			if (scoreMap.containsKey(modality))
-				scores[i] = scoreMap.get(modality);
+		Map<BiometricType, Float> result = new EnumMap<>(BiometricType.class);
+		result.putAll(scoreMap);
+		return result;
+	}
+
+	/**
+	 * Runs the quality check of each modality, on a virtual thread for the
+	 * modalities configured with {@link ProviderConstants#QUALITY_PARALLEL} when
+	 * there is more than one modality, and waits for all of them.
+	 *
+	 * @param modalities The biometric types (modalities) to check.
+	 * @param check      The quality check of a modality.
+	 */
+	private void forEachQualityModality(Set<BiometricType> modalities, Consumer<BiometricType> check) {
+		List<CompletableFuture<Void>> pending = new ArrayList<>();
+		for (BiometricType modality : modalities) {
+			if (modalities.size() > 1 && parallelQuality.contains(modality))
+				pending.add(CompletableFuture.runAsync(() -> check.accept(modality), qualityExecutor));
 			else
-				scores[i] = 0;
+				check.accept(modality);
+		}
+
+		for (CompletableFuture<Void> future : pending) {
+			try {
+				future.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException cause)
+					throw cause;
+				throw e;
+			}
 		}
-		return scoreMap;
 	}
 
 	/**
@@ -312,23 +513,184 @@ public class BioProviderImpl_V_0_9 implements iBioProviderApi {
 		Map<BiometricType, List<BIR>> birsByModality = sample.stream().collect(
 				Collectors.groupingBy(bir -> BiometricType.fromValue(bir.getBdbInfo().getType().get(0).value())));
 
-		List<BIR> templates = birsByModality.entrySet().stream().<BIR>flatMap(entry -> {
-			BiometricType modality = entry.getKey();
-			List<BIR> birsForModality = entry.getValue();
+		List<BIR> templates = birsByModality.entrySet().stream()
+				.<BIR>flatMap(entry -> extractTemplate(entry.getKey(), entry.getValue(), flags).stream()).toList();
 
-			BiometricRecord sampleRecord = getBiometricRecord(birsForModality.toArray(new BIR[birsForModality.size()]));
+		return templates;
+	}
 
-			Response<BiometricRecord> response = sdkRegistry.get(modality).get(BiometricFunction.EXTRACT)
-					.extractTemplate(sampleRecord, List.of(modality), flags);
+	/**
+	 * Extracts the templates of the biometric records of one modality, serving
+	 * the records extracted before from the template cache of the modality and
+	 * extracting the others with one SDK call.
+	 *
+	 * <p>
+	 * Extracted templates are matched to their records by position. If the SDK
+	 * returns a different number of templates than it was given records, they are
+	 * not cached and follow the cached templates in the result.
+	 * </p>
+	 *
+	 * @param modality The biometric type (modality).
+	 * @param birs     The biometric records of the modality.
+	 * @param flags    Additional flags for customization of the template
+	 *                 extraction process.
+	 * @return The extracted templates.
+	 */
+	private List<BIR> extractTemplate(BiometricType modality, List<BIR> birs, Map<String, String> flags) {
+		TemplateCache cache = templateCaches.get(modality);
+		if (cache == null)
+			return extractTemplateUncached(modality, birs, flags);
+
+		String[] keys = new String[birs.size()];
+		BIR[] templates = new BIR[birs.size()];
+		List<Integer> missed = new ArrayList<>();
+		for (int i = 0; i < birs.size(); i++) {
+			keys[i] = cache.keyOf(birs.get(i), flags);
+			templates[i] = cache.get(keys[i]);
+			if (templates[i] == null)
+				missed.add(i);
+		}
+		if (missed.isEmpty())
+			return Arrays.asList(templates);
+
+		List<BIR> extracted = extractTemplateUncached(modality, missed.stream().map(birs::get).toList(), flags);
+		if (extracted.size() != missed.size()) {
+			logger.warn(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY,
+					MessageFormat.format("ExtractTemplate::{0} templates for {1} records of {2}, not cached",
+							extracted.size(), missed.size(), modality));
+			List<BIR> result = new ArrayList<>(Arrays.stream(templates).filter(Objects::nonNull).toList());
+			result.addAll(extracted);
+			return result;
+		}
 
-			if (isSuccessResponse(response)) {
-				return response.getResponse().getSegments().stream();
-			}
+		for (int j = 0; j < missed.size(); j++) {
+			int i = missed.get(j);
+			templates[i] = extracted.get(j);
+			cache.put(keys[i], templates[i]);
+		}
+		return Arrays.asList(templates);
+	}
+
+	/**
+	 * Extracts the templates of the biometric records of one modality with one SDK
+	 * call.
+	 *
+	 * @param modality The biometric type (modality).
+	 * @param birs     The biometric records of the modality.
+	 * @param flags    Additional flags for customization of the template
+	 *                 extraction process.
+	 * @return The extracted templates, empty if the extraction failed.
+	 */
+	private List<BIR> extractTemplateUncached(BiometricType modality, List<BIR> birs, Map<String, String> flags) {
+		BiometricRecord sampleRecord = getBiometricRecord(birs.toArray(new BIR[birs.size()]));
 
-			return Stream.empty();
-		}).toList();
+		Response<BiometricRecord> response = call(modality, BiometricFunction.EXTRACT,
+				sdk -> sdk.extractTemplate(sampleRecord, List.of(modality), flags));
 
-		return templates;
+		if (isSuccessResponse(response)) {
+			return response.getResponse().getSegments();
+		}
+		return List.of();
+	}
+
+	/**
+	 * Initializes and warms up the SDK instance of a modality, configures the
+	 * features of the modality and registers the instance. The instance is
+	 * registered last, so calls switch from a previous instance to the new one at
+	 * once, with the features of the new one in place. The SDK instances are
+	 * initialized without holding the provider lock, so that several modalities
+	 * can be initialized concurrently.
+	 *
+	 * @param modality       The biometric type (modality).
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @param iBioApi        The SDK instance.
+	 * @param warmUpSample   The sample biometric records to warm up with.
+	 * @throws BiometricException If the SDK fails to initialize or to warm up.
+	 */
+	private void initModality(BiometricType modality, Map<String, String> modalityParams,
+			IBioApi iBioApi, List<BIR> warmUpSample) throws BiometricException {
+		SDKInfo sdkInfo = initSDK(iBioApi, modalityParams);
+		warmUp(sdkInfo, iBioApi, modality, warmUpSample);
+		SDKInstancePool<IBioApi> pool = newPool(modality, modalityParams, iBioApi);
+
+		synchronized (this) {
+			addPool(modality, pool);
+			addPartitioner(modality, modalityParams);
+			addVerifier(modality, modalityParams);
+			addQualityBatching(modality, modalityParams);
+			addTemplateCache(modality, modalityParams);
+			addToRegistry(sdkInfo, iBioApi, modality);
+		}
+	}
+
+	/**
+	 * Runs the quality check and extraction supported by an SDK instance on the
+	 * warm up samples.
+	 *
+	 * @param sdkInfo      The information returned by the SDK.
+	 * @param iBioApi      The SDK instance.
+	 * @param modality     The biometric type (modality).
+	 * @param warmUpSample The sample biometric records to warm up with.
+	 * @throws BiometricException If a warm up call fails.
+	 */
+	private void warmUp(SDKInfo sdkInfo, IBioApi iBioApi, BiometricType modality, List<BIR> warmUpSample)
+			throws BiometricException {
+		if (warmUpSample == null || warmUpSample.isEmpty())
+			return;
+
+		BiometricRecord sampleRecord = getBiometricRecord(warmUpSample.toArray(new BIR[warmUpSample.size()]));
+		List<BiometricType> modalities = List.of(modality);
+		Map<BiometricFunction, List<BiometricType>> supported = sdkInfo.getSupportedMethods();
+		long start = System.nanoTime();
+		if ((supported.getOrDefault(BiometricFunction.QUALITY_CHECK, List.of()).contains(modality)
+				&& !isSuccessResponse(iBioApi.checkQuality(sampleRecord, modalities, new HashMap<>())))
+				|| (supported.getOrDefault(BiometricFunction.EXTRACT, List.of()).contains(modality)
+						&& !isSuccessResponse(iBioApi.extractTemplate(sampleRecord, modalities, new HashMap<>()))))
+			throw new BiometricException(ErrorCode.SDK_WARM_UP_FAILED.getErrorCode(),
+					String.format(ErrorCode.SDK_WARM_UP_FAILED.getErrorMessage(), modality));
+		logger.info(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+				ProviderConstants.LOGGER_EMPTY, MessageFormat.format("Warmed up {0} SDK with {1} samples in {2} ms",
+						modality, warmUpSample.size(), (System.nanoTime() - start) / 1_000_000));
+	}
+
+	/**
+	 * Initializes an SDK instance and checks its API version.
+	 *
+	 * @param iBioApi        The SDK instance.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @return The information returned by the SDK.
+	 * @throws BiometricException If the SDK version does not match.
+	 */
+	private SDKInfo initSDK(IBioApi iBioApi, Map<String, String> modalityParams) throws BiometricException {
+		SDKInfo sdkInfo = iBioApi.init(modalityParams);
+
+		// cross check loaded SDK version and configured SDK version
+		if (!API_VERSION.equals(sdkInfo.getApiVersion()))
+			throw new BiometricException(ErrorCode.INVALID_SDK_VERSION.getErrorCode(),
+					ErrorCode.INVALID_SDK_VERSION.getErrorCode());
+		return sdkInfo;
+	}
+
+	/**
+	 * Runs an SDK call on a pooled instance of the modality when an instance pool
+	 * is configured, on the registered instance otherwise.
+	 *
+	 * @param <R>      The response type.
+	 * @param modality The biometric type (modality).
+	 * @param function The biometric function called.
+	 * @param call     The SDK call.
+	 * @return The response of the SDK.
+	 */
+	private <R extends Response<?>> R call(BiometricType modality, BiometricFunction function,
+			Function<IBioApi, R> call) {
+		IBioApi iBioApi = sdkRegistry.get(modality).get(function);
+		SDKInstancePool<IBioApi> pool = pools.get(modality);
+		if (pool == null || iBioApi == null)
+			return call.apply(iBioApi);
+
+		// server side errors of the SDK count as failures of the pooled instance
+		return pool.execute(call, response -> response == null || response.getStatusCode() < 500);
 	}
 
 	/**
@@ -345,8 +707,10 @@ public class BioProviderImpl_V_0_9 implements iBioProviderApi {
 	}
 
 	/**
-	 * Adds the loaded SDK instance to the registry based on the supported biometric
-	 * functions.
+	 * Registers the loaded SDK instance for the supported biometric functions of
+	 * the modality, replacing any instance registered before. A new snapshot of the
+	 * registry is published, so calls in progress keep the instance they started
+	 * with.
 	 *
 	 * @param sdkInfo  The SDK information containing supported biometric methods.
 	 * @param iBioApi  The SDK instance to be added to the registry.
@@ -354,14 +718,154 @@ public class BioProviderImpl_V_0_9 implements iBioProviderApi {
 	 *                 instance.
 	 */
 	private void addToRegistry(SDKInfo sdkInfo, IBioApi iBioApi, BiometricType modality) {
+		Map<BiometricFunction, IBioApi> functions = new EnumMap<>(BiometricFunction.class);
 		for (BiometricFunction biometricFunction : sdkInfo.getSupportedMethods().keySet()) {
 			if (sdkInfo.getSupportedMethods().get(biometricFunction).contains(modality)) {
-				sdkRegistry.computeIfAbsent(modality, k -> new EnumMap<>(BiometricFunction.class));
-				sdkRegistry.get(modality).put(biometricFunction, iBioApi);
+				functions.put(biometricFunction, iBioApi);
 			}
 			logger.info("Successfully registered SDK : {}, BiometricFunction: {}",
 					sdkInfo.getProductOwner().getOrganization(), biometricFunction);
 		}
+
+		Map<BiometricType, Map<BiometricFunction, IBioApi>> registry = new EnumMap<>(BiometricType.class);
+		registry.putAll(sdkRegistry);
+		if (functions.isEmpty())
+			registry.remove(modality);
+		else
+			registry.put(modality, Collections.unmodifiableMap(functions));
+		sdkRegistry = Collections.unmodifiableMap(registry);
+	}
+
+	/**
+	 * Shuts down the quality check executor and closes the partitioners, SDK
+	 * instance pools and template caches of the modalities, removing their
+	 * meters.
+	 */
+	@PreDestroy
+	public void close() {
+		qualityExecutor.shutdown();
+		partitioners.values().forEach(IdentifyPartitioner::close);
+		partitioners.clear();
+		pools.values().forEach(SDKInstancePool::close);
+		pools.clear();
+		templateCaches.values().forEach(TemplateCache::close);
+		templateCaches.clear();
+	}
+
+	/**
+	 * Configures the partitioned identify of the modality from its SDK init
+	 * parameters, replacing any previous configuration.
+	 *
+	 * @param modality       The biometric type (modality).
+	 * @param modalityParams The SDK init parameters of the modality.
+	 */
+	private void addPartitioner(BiometricType modality, Map<String, String> modalityParams) {
+		SDKInstancePool<IBioApi> pool = pools.get(modality);
+		IdentifyPartitioner partitioner = IdentifyPartitioner.of(modality, modalityParams,
+				pool != null ? pool.getCapacity() : 1);
+		IdentifyPartitioner previous = partitioner != null ? partitioners.put(modality, partitioner)
+				: partitioners.remove(modality);
+		if (previous != null)
+			previous.close();
+	}
+
+	/**
+	 * Creates the SDK instance pool of the modality from its SDK init parameters.
+	 * The registered instance is the first pooled instance, the others are created
+	 * and initialized from the same parameters.
+	 *
+	 * @param modality       The biometric type (modality).
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @param iBioApi        The registered SDK instance.
+	 * @return The pool, or {@code null} if no pool is configured.
+	 * @throws BiometricException If a pooled instance cannot be initialized.
+	 */
+	private SDKInstancePool<IBioApi> newPool(BiometricType modality, Map<String, String> modalityParams,
+			IBioApi iBioApi) throws BiometricException {
+		return SDKInstancePool.of(modality, modalityParams, iBioApi, () -> {
+			IBioApi instance = (IBioApi) BioProviderUtil.newSDKInstance(modalityParams);
+			initSDK(instance, modalityParams);
+			return instance;
+		});
+	}
+
+	/**
+	 * Configures the SDK instance pool of the modality, replacing any previous
+	 * pool.
+	 *
+	 * @param modality The biometric type (modality).
+	 * @param pool     The pool, or {@code null} if no pool is configured.
+	 */
+	private void addPool(BiometricType modality, SDKInstancePool<IBioApi> pool) {
+		SDKInstancePool<IBioApi> previous = pool != null ? pools.put(modality, pool) : pools.remove(modality);
+		// the meters share their names, unbind the previous pool before binding
+		if (previous != null)
+			previous.close();
+		if (pool != null)
+			pool.bindTo(Metrics.globalRegistry);
+	}
+
+	/**
+	 * Configures the early exit verify of the modality from its SDK init
+	 * parameters, replacing any previous configuration.
+	 *
+	 * @param modality       The biometric type (modality).
+	 * @param modalityParams The SDK init parameters of the modality.
+	 */
+	private void addVerifier(BiometricType modality, Map<String, String> modalityParams) {
+		EarlyExitVerifier verifier = EarlyExitVerifier.of(modality, modalityParams);
+		if (verifier != null)
+			verifiers.put(modality, verifier);
+		else
+			verifiers.remove(modality);
+	}
+
+	/**
+	 * Configures the batched and parallel quality checks of the modality from its
+	 * SDK init parameters. Quality checks only run in parallel with other
+	 * modalities if the SDK is thread-safe or pooled, as modalities may share an
+	 * SDK instance.
+	 *
+	 * @param modality       The biometric type (modality).
+	 * @param modalityParams The SDK init parameters of the modality.
+	 */
+	private void addQualityBatching(BiometricType modality, Map<String, String> modalityParams) {
+		if (Boolean.parseBoolean(modalityParams.get(ProviderConstants.QUALITY_BATCH)))
+			batchedQuality.add(modality);
+		else
+			batchedQuality.remove(modality);
+
+		boolean parallel = Boolean.parseBoolean(modalityParams.get(ProviderConstants.QUALITY_PARALLEL));
+		if (parallel && !Boolean.parseBoolean(modalityParams.get(ProviderConstants.SDK_THREAD_SAFE))
+				&& !pools.containsKey(modality)) {
+			logger.warn(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY, MessageFormat.format(
+							"Ignoring {0} for {1}, the SDK is neither thread-safe nor pooled",
+							ProviderConstants.QUALITY_PARALLEL, modality));
+			parallel = false;
+		}
+		if (parallel)
+			parallelQuality.add(modality);
+		else
+			parallelQuality.remove(modality);
+	}
+
+	/**
+	 * Configures the template cache of a modality from its SDK init parameters,
+	 * replacing any previous cache.
+	 *
+	 * @param modality       The biometric type (modality).
+	 * @param modalityParams The SDK init parameters of the modality.
+	 */
+	private void addTemplateCache(BiometricType modality, Map<String, String> modalityParams) {
+		TemplateCache cache = TemplateCache.of(modality, modalityParams);
+		TemplateCache previous = cache != null ? templateCaches.put(modality, cache)
+				: templateCaches.remove(modality);
+		// the meters share their names, unbind the previous cache before binding
+		if (previous != null)
+			previous.close();
+		if (cache != null)
+			cache.bindTo(Metrics.globalRegistry);
 	}
 
 	/**
@@ -100,4 +100,25 @@ public interface iBioProviderApi {
 					+ "return java.util.Arrays.toString(names);") List<BIR> sample,
 			Map<String, String> flags);
 
+	/**
+	 * Initializes a new SDK for a modality, warms it up with the given samples and
+	 * swaps it in for the current SDK of the modality. Calls in progress complete
+	 * on the SDK they started with, the current SDK is kept if the new one fails
+	 * to initialize or to warm up.
+	 *
+	 * @param modality       The biometric type (modality) to reload.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @param warmUpSample   The sample biometric records run through the new SDK
+	 *                       before it is swapped in, may be empty.
+	 * @return The functions supported for the modality by the new SDK, empty if
+	 *         this provider does not handle the SDK version or does not support
+	 *         reloading.
+	 * @throws BiometricException If the new SDK fails to initialize or to warm
+	 *                            up.
+	 */
+	default List<BiometricFunction> reload(BiometricType modality, Map<String, String> modalityParams,
+			List<BIR> warmUpSample) throws BiometricException {
+		return List.of();
+	}
+
 }
\ No newline at end of file
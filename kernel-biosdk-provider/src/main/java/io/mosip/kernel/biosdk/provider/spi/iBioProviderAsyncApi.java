@@ -0,0 +1,113 @@
+package io.mosip.kernel.biosdk.provider.spi;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biosdk.provider.util.DecisionFusion;
+import io.mosip.kernel.logger.logback.util.MetricTag;
+
+/**
+ * Asynchronous variant of {@link iBioProviderApi}. Each call returns at once
+ * with a future completed by the provider registered for the modality of the
+ * call, so that the modalities of a multi-modal request can be processed
+ * concurrently.
+ */
+@SuppressWarnings({ "java:S114" })
+public interface iBioProviderAsyncApi {
+
+	/**
+	 * Performs a 1:1 biometric verification (match).
+	 *
+	 * @param sample    The list of sample biometric records.
+	 * @param bioRecord The list of biometric records in the gallery for
+	 *                  verification.
+	 * @param modality  The biometric type (modality) for which the verification is
+	 *                  performed.
+	 * @param flags     Additional flags for customization of the verification
+	 *                  process.
+	 * @return A future completed with true if the verification is successful,
+	 *         false otherwise.
+	 */
+	CompletableFuture<Boolean> verify(List<BIR> sample, List<BIR> bioRecord,
+			@MetricTag(value = "modality", extractor = "arg.value") BiometricType modality, Map<String, String> flags);
+
+	/**
+	 * Performs a 1:1 biometric verification of every modality of a multi-modal
+	 * request concurrently and fuses the decisions.
+	 *
+	 * @param sample    The sample biometric records mapped by modality.
+	 * @param bioRecord The biometric records in the gallery mapped by modality.
+	 * @param flags     Additional flags for customization of the verification
+	 *                  process.
+	 * @param fusion    The rule fusing the decisions of the modalities.
+	 * @return A future completed with the fused decision as soon as it is known.
+	 */
+	CompletableFuture<Boolean> verify(Map<BiometricType, List<BIR>> sample, Map<BiometricType, List<BIR>> bioRecord,
+			Map<String, String> flags, DecisionFusion fusion);
+
+	/**
+	 * Performs a 1:n biometric identification.
+	 *
+	 * @param sample   The list of sample biometric records.
+	 * @param gallery  The gallery of biometric records mapped by their respective
+	 *                 keys.
+	 * @param modality The biometric type (modality) for which the identification is
+	 *                 performed.
+	 * @param flags    Additional flags for customization of the identification
+	 *                 process.
+	 * @return A future completed with a map containing the key from the gallery
+	 *         and a boolean indicating if there was a match.
+	 */
+	CompletableFuture<Map<String, Boolean>> identify(List<BIR> sample, Map<String, List<BIR>> gallery,
+			@MetricTag(value = "modality", extractor = "arg.value") BiometricType modality, Map<String, String> flags);
+
+	/**
+	 * Retrieves the quality scores for each segment in the provided sample
+	 * biometric records.
+	 *
+	 * @param sample The array of sample biometric records.
+	 * @param flags  Additional flags for customization of the quality check
+	 *               process.
+	 * @return A future completed with an array of quality scores corresponding to
+	 *         each segment in the sample.
+	 */
+	CompletableFuture<float[]> getSegmentQuality(
+			@MetricTag(value = "modality", extractor = "int size = arg.length; String[] names = new String[size];for(int i=0;i<size;i++){ names[i] = "
+					+ "arg[i].bdbInfo.getSubtype().toString().replaceAll('\\\\[|\\\\]|,','');}"
+					+ "return java.util.Arrays.toString(names);") BIR[] sample,
+			Map<String, String> flags);
+
+	/**
+	 * Retrieves the overall quality scores for each biometric modality in the
+	 * provided sample biometric records.
+	 *
+	 * @param sample The array of sample biometric records.
+	 * @param flags  Additional flags for customization of the quality check
+	 *               process.
+	 * @return A future completed with a map containing each biometric modality and
+	 *         its corresponding overall quality score.
+	 */
+	CompletableFuture<Map<BiometricType, Float>> getModalityQuality(
+			@MetricTag(value = "modality", extractor = "int size = arg.length; String[] names = new String[size];for(int i=0;i<size;i++){ names[i] = "
+					+ "arg[i].bdbInfo.getSubtype().toString().replaceAll('\\\\[|\\\\]|,','');}"
+					+ "return java.util.Arrays.toString(names);") BIR[] sample,
+			Map<String, String> flags);
+
+	/**
+	 * Extracts biometric templates from the provided sample biometric records.
+	 *
+	 * @param sample The list of sample biometric records.
+	 * @param flags  Additional flags for customization of the template extraction
+	 *               process.
+	 * @return A future completed with the list of extracted biometric templates.
+	 */
+	CompletableFuture<List<BIR>> extractTemplate(
+			@MetricTag(value = "modality", extractor = "int size = arg.size(); String[] names = new String[size];for(int i=0;i<size;i++){ names[i] = "
+					+ "arg.get(i).bdbInfo.getSubtype().toString().replaceAll('\\\\[|\\\\]|,','');}"
+					+ "return java.util.Arrays.toString(names);") List<BIR> sample,
+			Map<String, String> flags);
+
+}
\ No newline at end of file
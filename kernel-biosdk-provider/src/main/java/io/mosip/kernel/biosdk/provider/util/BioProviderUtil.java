@@ -4,7 +4,6 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -39,7 +38,7 @@ public class BioProviderUtil {
 	 * derived from the modality parameters. This ensures efficient retrieval of
 	 * previously created instances based on the same configuration.
 	 */
-	private static Map<String, Object> sdkInstances = new HashMap<>();
+	private static Map<String, Object> sdkInstances = new java.util.concurrent.ConcurrentHashMap<>();
 
 	private static final Map<String, Class<?>> CLASS_CACHE = new java.util.concurrent.ConcurrentHashMap<>();
 	private static final Map<String, Constructor<?>> CONSTRUCTOR_CACHE = new java.util.concurrent.ConcurrentHashMap<>();
@@ -74,11 +73,7 @@ public class BioProviderUtil {
 	@SuppressWarnings({ "java:S3011" })
 	public static Object getSDKInstance(Map<String, String> modalityParams) throws BiometricException {
 		try {
-			StringBuilder sb = new StringBuilder();
-			modalityParams.entrySet().stream()
-					.sorted(Map.Entry.comparingByKey())
-					.forEach(entry -> sb.append(entry.getKey()).append('=').append(entry.getValue()).append('-'));
-			String instanceKey = sb.toString();
+			String instanceKey = getSDKInstanceKey(modalityParams);
 
 			Object cachedInstance = sdkInstances.get(instanceKey);
 			if (cachedInstance != null) {
@@ -87,6 +82,60 @@ public class BioProviderUtil {
 				return cachedInstance;
 			}
 
+			// modalities may be initialized concurrently, a single instance is created per key
+			return sdkInstances.computeIfAbsent(instanceKey, key -> {
+				try {
+					return newSDKInstance(modalityParams);
+				} catch (BiometricException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+		} catch (BiometricException e) {
+			throw e;
+		} catch (IllegalStateException e) {
+			if (e.getCause() instanceof BiometricException biometricException)
+				throw biometricException;
+			throw new BiometricException(ErrorCode.SDK_INITIALIZATION_FAILED.getErrorCode(),
+					String.format(ErrorCode.SDK_INITIALIZATION_FAILED.getErrorMessage(),
+							modalityParams.get(ProviderConstants.CLASSNAME), ExceptionUtils.getStackTrace(e)));
+		} catch (Exception e) {
+			throw new BiometricException(ErrorCode.SDK_INITIALIZATION_FAILED.getErrorCode(),
+					String.format(ErrorCode.SDK_INITIALIZATION_FAILED.getErrorMessage(),
+							modalityParams.get(ProviderConstants.CLASSNAME), ExceptionUtils.getStackTrace(e)));
+		}
+	}
+
+	/**
+	 * Returns the key under which {@link #getSDKInstance(Map)} shares the SDK
+	 * instance created for the given modality parameters: the same key means the
+	 * same instance.
+	 *
+	 * @param modalityParams The modality parameters of the SDK.
+	 * @return The key built from the parameters sorted by name.
+	 */
+	public static String getSDKInstanceKey(Map<String, String> modalityParams) {
+		StringBuilder sb = new StringBuilder();
+		modalityParams.entrySet().stream()
+				.sorted(Map.Entry.comparingByKey())
+				.forEach(entry -> sb.append(entry.getKey()).append('=').append(entry.getValue()).append('-'));
+		return sb.toString();
+	}
+
+	/**
+	 * Creates a new instance of the Biometric SDK based on the provided modality
+	 * parameters, bypassing the instance cache used by
+	 * {@link #getSDKInstance(Map)}. Used to create the additional instances of an
+	 * SDK instance pool.
+	 *
+	 * @param modalityParams A map containing parameters required for Biometric SDK
+	 *                       initialization, see {@link #getSDKInstance(Map)}.
+	 * @return A new instance of the Biometric SDK.
+	 * @throws BiometricException If there's an issue creating the Biometric SDK
+	 *                            instance.
+	 */
+	@SuppressWarnings({ "java:S3011" })
+	public static Object newSDKInstance(Map<String, String> modalityParams) throws BiometricException {
+		try {
 			String className = modalityParams.get(ProviderConstants.CLASSNAME);
 			if (className == null || className.isEmpty()) {
 				throw new BiometricException(ErrorCode.SDK_INITIALIZATION_FAILED.getErrorCode(),
@@ -119,10 +168,7 @@ public class BioProviderUtil {
 			});
 
 			constructor.setAccessible(true);
-			Object newInstance = (args.length == 0) ? constructor.newInstance() : constructor.newInstance((Object) args);
-
-			sdkInstances.put(instanceKey, newInstance);
-			return newInstance;
+			return (args.length == 0) ? constructor.newInstance() : constructor.newInstance((Object) args);
 		} catch (Exception e) {
 			throw new BiometricException(ErrorCode.SDK_INITIALIZATION_FAILED.getErrorCode(),
 					String.format(ErrorCode.SDK_INITIALIZATION_FAILED.getErrorMessage(),
@@ -0,0 +1,49 @@
+package io.mosip.kernel.biosdk.provider.util;
+
+/**
+ * Decision level fusion rules combining the match decisions of the modalities
+ * of a multi-modal request into one decision.
+ *
+ * <p>
+ * A rule can decide before all modalities are known, for example {@link #ALL}
+ * fails as soon as one modality does not match, which lets a caller stop
+ * waiting for the remaining modalities.
+ * </p>
+ */
+public enum DecisionFusion {
+	/** Matched if every modality matched. */
+	ALL,
+
+	/** Matched if at least one modality matched. */
+	ANY,
+
+	/** Matched if more than half of the modalities matched. */
+	MAJORITY;
+
+	/**
+	 * Decides from the decisions known so far.
+	 *
+	 * @param matched    The number of modalities that matched.
+	 * @param notMatched The number of modalities that did not match, including
+	 *                   failed ones.
+	 * @param total      The number of modalities of the request.
+	 * @return The fused decision, or {@code null} if it depends on modalities
+	 *         still pending.
+	 */
+	public Boolean decide(int matched, int notMatched, int total) {
+		switch (this) {
+		case ALL:
+			if (notMatched > 0)
+				return Boolean.FALSE;
+			return matched == total ? Boolean.TRUE : null;
+		case ANY:
+			if (matched > 0)
+				return Boolean.TRUE;
+			return notMatched == total ? Boolean.FALSE : null;
+		default:
+			if (matched * 2 > total)
+				return Boolean.TRUE;
+			return notMatched * 2 >= total ? Boolean.FALSE : null;
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package io.mosip.kernel.biosdk.provider.util;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Verifies a sample against the stored records of a modality in small slices,
+ * stopping at the first slice that matches.
+ *
+ * <p>
+ * In 1:1 authentication a single matching stored record is enough, so the
+ * stored records are ordered by a cheap heuristic first: records sharing a
+ * subtype with the sample come first, then records with the highest stored
+ * quality score. Each slice is matched with its own SDK call and the remaining
+ * slices are skipped once a slice matches. The records left unmatched this way
+ * are counted as saved comparisons.
+ * </p>
+ *
+ * <p>
+ * The strategy is enabled per modality with the
+ * {@link ProviderConstants#VERIFY_SLICE_SIZE} SDK init parameter, the number of
+ * stored records matched per SDK call. Since the SDK no longer sees all stored
+ * records in one call, it should only be enabled for SDKs that decide on each
+ * stored record independently.
+ * </p>
+ */
+public class EarlyExitVerifier {
+
+	private static final Logger LOGGER = BioSDKProviderLoggerFactory.getLogger(EarlyExitVerifier.class);
+
+	private final int sliceSize;
+
+	private final LongAdder verifications = new LongAdder();
+
+	private final LongAdder earlyExits = new LongAdder();
+
+	private final LongAdder comparisons = new LongAdder();
+
+	private final LongAdder savedComparisons = new LongAdder();
+
+	/**
+	 * Creates a verifier.
+	 *
+	 * @param sliceSize The number of stored records matched per SDK call.
+	 */
+	public EarlyExitVerifier(int sliceSize) {
+		if (sliceSize <= 0) {
+			throw new IllegalArgumentException("Slice size must be positive");
+		}
+		this.sliceSize = sliceSize;
+	}
+
+	/**
+	 * Creates the verifier configured in the SDK init parameters of a modality.
+	 *
+	 * @param modality       The modality, used in log messages.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @return The verifier, or {@code null} if early exit is not configured.
+	 */
+	public static EarlyExitVerifier of(BiometricType modality, Map<String, String> modalityParams) {
+		String value = modalityParams.get(ProviderConstants.VERIFY_SLICE_SIZE);
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		try {
+			int sliceSize = Integer.parseInt(value.trim());
+			if (sliceSize <= 0) {
+				return null;
+			}
+			LOGGER.info(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY,
+					MessageFormat.format("Early exit verify enabled for {0} : slice size {1}", modality, sliceSize));
+			return new EarlyExitVerifier(sliceSize);
+		} catch (NumberFormatException e) {
+			LOGGER.warn(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY, MessageFormat.format("Ignoring invalid {0} : {1}",
+							ProviderConstants.VERIFY_SLICE_SIZE, value));
+			return null;
+		}
+	}
+
+	/**
+	 * Matches the sample against the stored records slice by slice.
+	 *
+	 * @param sample     The sample biometric records.
+	 * @param bioRecords The stored biometric records.
+	 * @param matcher    Matches the sample against one slice of the ordered stored
+	 *                   records, returning {@code true} if it matched.
+	 * @return {@code true} as soon as a slice matches, {@code false} if none did.
+	 */
+	public boolean verify(List<BIR> sample, List<BIR> bioRecords, Predicate<List<BIR>> matcher) {
+		verifications.increment();
+		List<BIR> ordered = order(sample, bioRecords);
+		for (int from = 0; from < ordered.size(); from += sliceSize) {
+			int to = Math.min(from + sliceSize, ordered.size());
+			comparisons.add((long) to - from);
+			if (matcher.test(ordered.subList(from, to))) {
+				if (to < ordered.size()) {
+					earlyExits.increment();
+					savedComparisons.add((long) ordered.size() - to);
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Orders the stored records by how likely they are to match the sample:
+	 * records sharing a subtype with the sample first, then by descending stored
+	 * quality score. Records that compare equal keep their original order.
+	 *
+	 * @param sample     The sample biometric records.
+	 * @param bioRecords The stored biometric records.
+	 * @return The ordered stored records.
+	 */
+	public static List<BIR> order(List<BIR> sample, List<BIR> bioRecords) {
+		Set<String> sampleSubtypes = new HashSet<>();
+		for (BIR bir : sample) {
+			sampleSubtypes.add(subtype(bir));
+		}
+		sampleSubtypes.remove(null);
+
+		List<BIR> ordered = new ArrayList<>(bioRecords);
+		ordered.sort(Comparator.<BIR>comparingInt(bir -> sampleSubtypes.contains(subtype(bir)) ? 0 : 1)
+				.thenComparing(Comparator.comparingLong(EarlyExitVerifier::quality).reversed()));
+		return ordered;
+	}
+
+	/**
+	 * Returns the number of verifications made with this verifier.
+	 *
+	 * @return The verification count.
+	 */
+	public long getVerificationCount() {
+		return verifications.sum();
+	}
+
+	/**
+	 * Returns the number of verifications that matched before the last slice.
+	 *
+	 * @return The early exit count.
+	 */
+	public long getEarlyExitCount() {
+		return earlyExits.sum();
+	}
+
+	/**
+	 * Returns the number of stored records passed to the SDK.
+	 *
+	 * @return The comparison count.
+	 */
+	public long getComparisonCount() {
+		return comparisons.sum();
+	}
+
+	/**
+	 * Returns the number of stored records skipped because an earlier slice
+	 * matched.
+	 *
+	 * @return The saved comparison count.
+	 */
+	public long getSavedComparisonCount() {
+		return savedComparisons.sum();
+	}
+
+	private static String subtype(BIR bir) {
+		if (Objects.isNull(bir) || Objects.isNull(bir.getBdbInfo()) || Objects.isNull(bir.getBdbInfo().getSubtype())
+				|| bir.getBdbInfo().getSubtype().isEmpty()) {
+			return null;
+		}
+		return String.join(" ", bir.getBdbInfo().getSubtype());
+	}
+
+	private static long quality(BIR bir) {
+		if (Objects.isNull(bir) || Objects.isNull(bir.getBdbInfo()) || Objects.isNull(bir.getBdbInfo().getQuality())
+				|| Objects.isNull(bir.getBdbInfo().getQuality().getScore())) {
+			return Long.MIN_VALUE;
+		}
+		return bir.getBdbInfo().getQuality().getScore();
+	}
+}
@@ -25,7 +25,16 @@ public enum ErrorCode {
 	UNSUPPORTED_OPERATION("BIO_SDK_006", "Unsupported Operation"),
 
 	/** Error code: BIO_SDK_007 */
-	SDK_REGISTRY_EMPTY("BIO_SDK_007", "SDK provider registry is empty!");
+	SDK_REGISTRY_EMPTY("BIO_SDK_007", "SDK provider registry is empty!"),
+
+	/** Error code: BIO_SDK_008 */
+	SDK_POOL_EXHAUSTED("BIO_SDK_008", "No %s SDK instance available within %d ms"),
+
+	/** Error code: BIO_SDK_009 */
+	SDK_WARM_UP_FAILED("BIO_SDK_009", "Warm up of the %s SDK failed"),
+
+	/** Error code: BIO_SDK_010 */
+	SDK_RELOAD_FAILED("BIO_SDK_010", "No provider reloaded the %s SDK");
 
 	/** The error code string. */
 	private final String errorCode;
@@ -0,0 +1,375 @@
+package io.mosip.kernel.biosdk.provider.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.mosip.kernel.biometrics.constant.BiometricFunction;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biosdk.provider.factory.BioAPIFactory;
+import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
+import io.mosip.kernel.core.bioapi.exception.BiometricException;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * In-memory store of galleries of pre-extracted templates, so that identify
+ * calls can run against a gallery ID instead of shipping and re-extracting the
+ * enrolment records on every call.
+ *
+ * <p>
+ * Enrolment records are extracted once, when they are added, by the provider
+ * registered for the {@link BiometricFunction#EXTRACT} function of their
+ * modality. The templates are kept partitioned by modality, so that an identify
+ * call hands the provider registered for {@link BiometricFunction#MATCH} a
+ * snapshot of the partition of its modality, without extracting or copying
+ * the templates themselves.
+ * </p>
+ *
+ * <p>
+ * Entries can be added and removed while identify calls run, an identify call
+ * sees each entry either before or after a concurrent change. Galleries can be
+ * written to a local snapshot file and restored from it, the templates are
+ * stored as serialized {@link BIR}s and only classes of the biometrics
+ * entities and of the JDK are accepted when restoring.
+ * </p>
+ *
+ * <p>
+ * This class is not a bean, the application creates it with its
+ * {@link BioAPIFactory}.
+ * </p>
+ */
+public class GalleryStore {
+
+	private static final Logger LOGGER = BioSDKProviderLoggerFactory.getLogger(GalleryStore.class);
+
+	private static final int SNAPSHOT_MAGIC = 0x4D475331;
+
+	private static final int SNAPSHOT_VERSION = 1;
+
+	private static final ObjectInputFilter SNAPSHOT_FILTER = ObjectInputFilter.Config
+			.createFilter("io.mosip.kernel.biometrics.**;java.lang.*;java.util.*;java.time.*;!*");
+
+	private final BioAPIFactory bioAPIFactory;
+
+	private final Map<String, Map<BiometricType, Map<String, List<BIR>>>> galleries = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an empty store.
+	 *
+	 * @param bioAPIFactory The factory of the registered providers.
+	 */
+	public GalleryStore(BioAPIFactory bioAPIFactory) {
+		this.bioAPIFactory = Objects.requireNonNull(bioAPIFactory);
+	}
+
+	/**
+	 * Extracts the templates of the enrolment records of an entry and adds them
+	 * to a gallery, the gallery is created if needed. The templates of a modality
+	 * already held for the entry are replaced, those of other modalities are
+	 * kept.
+	 *
+	 * @param galleryId The gallery ID.
+	 * @param key       The key of the entry in the gallery.
+	 * @param records   The enrolment records of the entry.
+	 * @param flags     Additional flags for the template extraction.
+	 * @throws BiometricException if no provider extracts the templates of a
+	 *                            modality of the records.
+	 */
+	public void add(String galleryId, String key, List<BIR> records, Map<String, String> flags)
+			throws BiometricException {
+		Objects.requireNonNull(key);
+		Map<BiometricType, List<BIR>> templates = extract(records, flags);
+		Map<BiometricType, Map<String, List<BIR>>> gallery = galleries.computeIfAbsent(galleryId,
+				id -> new ConcurrentHashMap<>());
+		templates.forEach((modality, modalityTemplates) -> gallery
+				.computeIfAbsent(modality, m -> new ConcurrentHashMap<>()).put(key, modalityTemplates));
+	}
+
+	/**
+	 * Extracts and adds several entries to a gallery, see
+	 * {@link #add(String, String, List, Map)}. The records of all entries are
+	 * extracted with one call per modality.
+	 *
+	 * @param galleryId The gallery ID.
+	 * @param entries   The enrolment records mapped by entry key.
+	 * @param flags     Additional flags for the template extraction.
+	 * @throws BiometricException if no provider extracts the templates of a
+	 *                            modality of the records.
+	 */
+	public void addAll(String galleryId, Map<String, List<BIR>> entries, Map<String, String> flags)
+			throws BiometricException {
+		Map<BiometricType, List<String>> keys = new EnumMap<>(BiometricType.class);
+		Map<BiometricType, List<BIR>> records = new EnumMap<>(BiometricType.class);
+		entries.forEach((key, entryRecords) -> {
+			for (BIR bir : entryRecords) {
+				BiometricType modality = modalityOf(bir);
+				keys.computeIfAbsent(modality, m -> new ArrayList<>()).add(Objects.requireNonNull(key));
+				records.computeIfAbsent(modality, m -> new ArrayList<>()).add(bir);
+			}
+		});
+
+		Map<BiometricType, Map<String, List<BIR>>> added = new EnumMap<>(BiometricType.class);
+		for (Map.Entry<BiometricType, List<BIR>> entry : records.entrySet()) {
+			BiometricType modality = entry.getKey();
+			List<BIR> templates = extract(modality, entry.getValue(), flags);
+			List<String> modalityKeys = keys.get(modality);
+			if (templates.size() != modalityKeys.size()) {
+				// templates of failed records are left out, so they cannot be mapped
+				// back to their entries
+				LOGGER.warn(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+						ProviderConstants.LOGGER_EMPTY,
+						MessageFormat.format("{0} templates extracted from {1} {2} records, extracting per entry",
+								templates.size(), modalityKeys.size(), modality));
+				added.put(modality, extractPerEntry(modality, entries, flags));
+				continue;
+			}
+			Map<String, List<BIR>> modalityAdded = new LinkedHashMap<>();
+			for (int i = 0; i < templates.size(); i++) {
+				if (templates.get(i) != null)
+					modalityAdded.computeIfAbsent(modalityKeys.get(i), k -> new ArrayList<>()).add(templates.get(i));
+			}
+			added.put(modality, modalityAdded);
+		}
+
+		Map<BiometricType, Map<String, List<BIR>>> gallery = galleries.computeIfAbsent(galleryId,
+				id -> new ConcurrentHashMap<>());
+		added.forEach((modality, modalityAdded) -> {
+			Map<String, List<BIR>> partition = gallery.computeIfAbsent(modality, m -> new ConcurrentHashMap<>());
+			modalityAdded.forEach((key, templates) -> partition.put(key, List.copyOf(templates)));
+		});
+	}
+
+	/**
+	 * Removes an entry from a gallery, in every modality.
+	 *
+	 * @param galleryId The gallery ID.
+	 * @param key       The key of the entry in the gallery.
+	 * @return {@code true} if the gallery held templates for the entry.
+	 */
+	public boolean remove(String galleryId, String key) {
+		Map<BiometricType, Map<String, List<BIR>>> gallery = galleries.get(galleryId);
+		if (gallery == null)
+			return false;
+		boolean removed = false;
+		for (Map<String, List<BIR>> partition : gallery.values())
+			removed |= partition.remove(key) != null;
+		return removed;
+	}
+
+	/**
+	 * Removes a gallery.
+	 *
+	 * @param galleryId The gallery ID.
+	 * @return {@code true} if the gallery existed.
+	 */
+	public boolean removeGallery(String galleryId) {
+		return galleries.remove(galleryId) != null;
+	}
+
+	/**
+	 * Returns the IDs of the galleries of this store.
+	 *
+	 * @return The gallery IDs.
+	 */
+	public Set<String> getGalleryIds() {
+		return Collections.unmodifiableSet(galleries.keySet());
+	}
+
+	/**
+	 * Returns the number of entries of a gallery holding templates of a
+	 * modality.
+	 *
+	 * @param galleryId The gallery ID.
+	 * @param modality  The modality.
+	 * @return The number of entries, 0 if the gallery does not exist.
+	 */
+	public int size(String galleryId, BiometricType modality) {
+		return getPartition(galleryId, modality).size();
+	}
+
+	/**
+	 * Performs a 1:n biometric identification against a gallery of this store.
+	 *
+	 * @param sample    The list of sample biometric records.
+	 * @param galleryId The gallery ID.
+	 * @param modality  The biometric type (modality) for which the identification
+	 *                  is performed.
+	 * @param flags     Additional flags for customization of the identification
+	 *                  process.
+	 * @return A map containing the key from the gallery and a boolean indicating
+	 *         if there was a match, empty if the gallery holds no templates of the
+	 *         modality.
+	 * @throws BiometricException if no provider matches the modality.
+	 */
+	public Map<String, Boolean> identify(List<BIR> sample, String galleryId, BiometricType modality,
+			Map<String, String> flags) throws BiometricException {
+		iBioProviderApi provider = bioAPIFactory.getBioProvider(modality, BiometricFunction.MATCH);
+		Map<String, List<BIR>> partition = getPartition(galleryId, modality);
+		if (partition.isEmpty())
+			return Collections.emptyMap();
+		// immutable snapshot, so that the provider sees a stable set of entries
+		return provider.identify(sample, Map.copyOf(partition), modality, flags);
+	}
+
+	/**
+	 * Writes all galleries of this store to a snapshot file. The file is written
+	 * next to the target first and then moved over it, so an existing snapshot is
+	 * only replaced by a complete one.
+	 *
+	 * @param file The snapshot file.
+	 * @throws IOException if the snapshot cannot be written.
+	 */
+	public void snapshot(Path file) throws IOException {
+		Path dir = file.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+		try {
+			int entries = 0;
+			try (ObjectOutputStream out = new ObjectOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(SNAPSHOT_MAGIC);
+				out.writeInt(SNAPSHOT_VERSION);
+				Map<String, Map<BiometricType, Map<String, List<BIR>>>> copy = new LinkedHashMap<>(galleries);
+				out.writeInt(copy.size());
+				for (Map.Entry<String, Map<BiometricType, Map<String, List<BIR>>>> gallery : copy.entrySet()) {
+					out.writeUTF(gallery.getKey());
+					Map<BiometricType, Map<String, List<BIR>>> partitions = new EnumMap<>(gallery.getValue());
+					out.writeInt(partitions.size());
+					for (Map.Entry<BiometricType, Map<String, List<BIR>>> partition : partitions.entrySet()) {
+						out.writeUTF(partition.getKey().name());
+						Map<String, List<BIR>> partitionCopy = new LinkedHashMap<>(partition.getValue());
+						out.writeInt(partitionCopy.size());
+						for (Map.Entry<String, List<BIR>> entry : partitionCopy.entrySet()) {
+							out.writeUTF(entry.getKey());
+							out.writeInt(entry.getValue().size());
+							for (BIR template : entry.getValue())
+								out.writeObject(template);
+							out.reset();
+						}
+						entries += partitionCopy.size();
+					}
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			LOGGER.info(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY,
+					MessageFormat.format("Gallery snapshot of {0} entries written to {1}", entries, file));
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Replaces the galleries of this store with those of a snapshot file. The
+	 * store is left unchanged if the snapshot cannot be read.
+	 *
+	 * @param file The snapshot file written by {@link #snapshot(Path)}.
+	 * @throws IOException if the snapshot cannot be read or is not a gallery
+	 *                     snapshot.
+	 */
+	public void restore(Path file) throws IOException {
+		Map<String, Map<BiometricType, Map<String, List<BIR>>>> restored = new LinkedHashMap<>();
+		int entries = 0;
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			in.setObjectInputFilter(SNAPSHOT_FILTER);
+			if (in.readInt() != SNAPSHOT_MAGIC)
+				throw new StreamCorruptedException("Not a gallery snapshot: " + file);
+			int version = in.readInt();
+			if (version != SNAPSHOT_VERSION)
+				throw new InvalidObjectException("Unsupported gallery snapshot version " + version);
+
+			int galleryCount = in.readInt();
+			for (int g = 0; g < galleryCount; g++) {
+				String galleryId = in.readUTF();
+				Map<BiometricType, Map<String, List<BIR>>> gallery = new ConcurrentHashMap<>();
+				int partitionCount = in.readInt();
+				for (int p = 0; p < partitionCount; p++) {
+					BiometricType modality = BiometricType.valueOf(in.readUTF());
+					Map<String, List<BIR>> partition = new ConcurrentHashMap<>();
+					int entryCount = in.readInt();
+					for (int e = 0; e < entryCount; e++) {
+						String key = in.readUTF();
+						int templateCount = in.readInt();
+						List<BIR> templates = new ArrayList<>(templateCount);
+						for (int t = 0; t < templateCount; t++)
+							templates.add((BIR) in.readObject());
+						partition.put(key, List.copyOf(templates));
+					}
+					gallery.put(modality, partition);
+					entries += entryCount;
+				}
+				restored.put(galleryId, gallery);
+			}
+		} catch (ClassNotFoundException | ClassCastException | IllegalArgumentException e) {
+			throw new InvalidObjectException("Invalid gallery snapshot " + file + ": " + e.getMessage());
+		}
+
+		galleries.clear();
+		galleries.putAll(restored);
+		LOGGER.info(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+				ProviderConstants.LOGGER_EMPTY,
+				MessageFormat.format("Gallery snapshot of {0} entries restored from {1}", entries, file));
+	}
+
+	private Map<String, List<BIR>> getPartition(String galleryId, BiometricType modality) {
+		Map<BiometricType, Map<String, List<BIR>>> gallery = galleries.get(galleryId);
+		Map<String, List<BIR>> partition = gallery == null ? null : gallery.get(modality);
+		return partition == null ? Collections.emptyMap() : partition;
+	}
+
+	private Map<BiometricType, List<BIR>> extract(List<BIR> records, Map<String, String> flags)
+			throws BiometricException {
+		Map<BiometricType, List<BIR>> byModality = new EnumMap<>(BiometricType.class);
+		for (BIR bir : records)
+			byModality.computeIfAbsent(modalityOf(bir), m -> new ArrayList<>()).add(bir);
+
+		Map<BiometricType, List<BIR>> templates = new EnumMap<>(BiometricType.class);
+		for (Map.Entry<BiometricType, List<BIR>> entry : byModality.entrySet())
+			templates.put(entry.getKey(), withoutFailures(extract(entry.getKey(), entry.getValue(), flags)));
+		return templates;
+	}
+
+	private Map<String, List<BIR>> extractPerEntry(BiometricType modality, Map<String, List<BIR>> entries,
+			Map<String, String> flags) throws BiometricException {
+		Map<String, List<BIR>> added = new LinkedHashMap<>();
+		for (Map.Entry<String, List<BIR>> entry : entries.entrySet()) {
+			List<BIR> records = entry.getValue().stream().filter(bir -> modalityOf(bir) == modality).toList();
+			if (!records.isEmpty())
+				added.put(entry.getKey(), withoutFailures(extract(modality, records, flags)));
+		}
+		return added;
+	}
+
+	private List<BIR> extract(BiometricType modality, List<BIR> records, Map<String, String> flags)
+			throws BiometricException {
+		List<BIR> templates = bioAPIFactory.getBioProvider(modality, BiometricFunction.EXTRACT)
+				.extractTemplate(records, flags);
+		return templates == null ? Collections.emptyList() : templates;
+	}
+
+	private static List<BIR> withoutFailures(List<BIR> templates) {
+		return templates.stream().filter(Objects::nonNull).toList();
+	}
+
+	private static BiometricType modalityOf(BIR bir) {
+		return bir.getBdbInfo().getType().get(0);
+	}
+}
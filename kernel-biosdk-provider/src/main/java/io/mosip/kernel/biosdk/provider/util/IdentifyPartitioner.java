@@ -0,0 +1,283 @@
+package io.mosip.kernel.biosdk.provider.util;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Splits the gallery of an identify call into chunks and matches the chunks
+ * concurrently on a bounded executor, merging the decisions back by gallery
+ * key.
+ *
+ * <p>
+ * Partitioning is configured per modality with the SDK init parameters:
+ * </p>
+ * <ul>
+ * <li>{@link ProviderConstants#IDENTIFY_CHUNK_SIZE}: number of gallery entries
+ * per chunk, partitioning is disabled when absent or not positive.</li>
+ * <li>{@link ProviderConstants#IDENTIFY_PARALLELISM}: maximum number of chunks
+ * matched at the same time, defaults to the number of processors.</li>
+ * <li>{@link ProviderConstants#IDENTIFY_CHUNK_TIMEOUT}: time in milliseconds
+ * after which the decisions of a chunk are given up, no timeout when absent or
+ * not positive.</li>
+ * <li>{@link ProviderConstants#IDENTIFY_VIRTUAL_THREADS}: {@code true} to match
+ * the chunks on virtual threads instead of platform threads.</li>
+ * <li>{@link ProviderConstants#SDK_THREAD_SAFE}: {@code true} if the SDK
+ * instance can be called concurrently. Otherwise chunks are matched one at a
+ * time, still off the caller's thread and with the chunk timeout applied, or as
+ * many at a time as there are instances in the SDK instance pool of the
+ * modality.</li>
+ * </ul>
+ *
+ * <p>
+ * The parallelism bound is shared by all identify calls of the modality, so it
+ * also caps the number of concurrent SDK calls made through this partitioner.
+ * Entries of a chunk that fails or times out are left out of the result, the
+ * same way a failed SDK response leaves the whole gallery out of the result.
+ * A timed out chunk keeps its slot until the SDK call returns.
+ * </p>
+ */
+public class IdentifyPartitioner implements AutoCloseable {
+
+	private static final Logger LOGGER = BioSDKProviderLoggerFactory.getLogger(IdentifyPartitioner.class);
+
+	private final BiometricType modality;
+
+	private final int chunkSize;
+
+	private final int parallelism;
+
+	private final long chunkTimeoutMillis;
+
+	private final Semaphore slots;
+
+	private final ExecutorService executor;
+
+	/**
+	 * Creates a partitioner.
+	 *
+	 * @param modality           The modality, used to name the threads and in log
+	 *                           messages.
+	 * @param chunkSize          The number of gallery entries per chunk.
+	 * @param parallelism        The maximum number of chunks matched at the same
+	 *                           time.
+	 * @param chunkTimeoutMillis The chunk timeout in milliseconds, 0 for none.
+	 * @param virtualThreads     {@code true} to use virtual threads.
+	 */
+	public IdentifyPartitioner(BiometricType modality, int chunkSize, int parallelism, long chunkTimeoutMillis,
+			boolean virtualThreads) {
+		if (chunkSize <= 0 || parallelism <= 0) {
+			throw new IllegalArgumentException("Chunk size and parallelism must be positive");
+		}
+		this.modality = modality;
+		this.chunkSize = chunkSize;
+		this.parallelism = parallelism;
+		this.chunkTimeoutMillis = Math.max(0, chunkTimeoutMillis);
+		this.slots = new Semaphore(parallelism, true);
+
+		String prefix = "bio-sdk-identify-" + String.valueOf(modality).toLowerCase() + "-";
+		this.executor = virtualThreads
+				? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())
+				: Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name(prefix, 0).daemon(true).factory());
+	}
+
+	/**
+	 * Creates the partitioner configured in the SDK init parameters of a
+	 * modality.
+	 *
+	 * @param modality       The modality.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @return The partitioner, or {@code null} if partitioning is not configured.
+	 */
+	public static IdentifyPartitioner of(BiometricType modality, Map<String, String> modalityParams) {
+		return of(modality, modalityParams, 1);
+	}
+
+	/**
+	 * Creates the partitioner configured in the SDK init parameters of a modality
+	 * whose SDK calls are spread over a pool of instances.
+	 *
+	 * @param modality       The modality.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @param poolSize       The number of pooled SDK instances of the modality.
+	 * @return The partitioner, or {@code null} if partitioning is not configured.
+	 */
+	public static IdentifyPartitioner of(BiometricType modality, Map<String, String> modalityParams, int poolSize) {
+		int chunkSize = intParam(modalityParams, ProviderConstants.IDENTIFY_CHUNK_SIZE, 0);
+		if (chunkSize <= 0) {
+			return null;
+		}
+
+		int parallelism = 1;
+		if (Boolean.parseBoolean(modalityParams.get(ProviderConstants.SDK_THREAD_SAFE))) {
+			parallelism = intParam(modalityParams, ProviderConstants.IDENTIFY_PARALLELISM, 0);
+			if (parallelism <= 0) {
+				parallelism = Runtime.getRuntime().availableProcessors();
+			}
+		} else if (poolSize > 1) {
+			// each chunk leases its own pooled instance
+			parallelism = intParam(modalityParams, ProviderConstants.IDENTIFY_PARALLELISM, poolSize);
+			parallelism = parallelism <= 0 ? poolSize : Math.min(parallelism, poolSize);
+		}
+		long chunkTimeoutMillis = intParam(modalityParams, ProviderConstants.IDENTIFY_CHUNK_TIMEOUT, 0);
+		boolean virtualThreads = Boolean.parseBoolean(modalityParams.get(ProviderConstants.IDENTIFY_VIRTUAL_THREADS));
+
+		LOGGER.info(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE, ProviderConstants.LOGGER_EMPTY,
+				MessageFormat.format(
+						"Partitioned identify enabled for {0} : chunk size {1}, parallelism {2}, chunk timeout {3} ms",
+						modality, chunkSize, parallelism, chunkTimeoutMillis));
+		return new IdentifyPartitioner(modality, chunkSize, parallelism, chunkTimeoutMillis, virtualThreads);
+	}
+
+	/**
+	 * Returns whether a gallery of the given size is split into chunks.
+	 *
+	 * @param gallerySize The number of gallery entries.
+	 * @return {@code true} if the gallery has more entries than one chunk.
+	 */
+	public boolean isPartitioned(int gallerySize) {
+		return gallerySize > chunkSize;
+	}
+
+	/**
+	 * Returns the number of gallery entries per chunk.
+	 *
+	 * @return The chunk size.
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Returns the maximum number of chunks matched at the same time.
+	 *
+	 * @return The parallelism.
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Matches the gallery chunk by chunk and merges the decisions.
+	 *
+	 * @param gallery The gallery of biometric records mapped by their keys.
+	 * @param matcher Matches one chunk of the gallery, returning the decisions
+	 *                mapped by gallery key. It is called concurrently when the
+	 *                SDK is thread-safe.
+	 * @return The merged decisions of the chunks that completed in time.
+	 */
+	public Map<String, Boolean> identify(Map<String, List<BIR>> gallery,
+			Function<Map<String, List<BIR>>, Map<String, Boolean>> matcher) {
+		List<Map<String, List<BIR>>> chunks = split(gallery);
+		List<CompletableFuture<Map<String, Boolean>>> futures = new ArrayList<>(chunks.size());
+		try {
+			for (Map<String, List<BIR>> chunk : chunks) {
+				// the chunk starts as soon as it has a slot, so its timeout runs from here
+				slots.acquire();
+				futures.add(submit(chunk, matcher));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOGGER.error(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY,
+					MessageFormat.format("Partitioned identify interrupted for {0} after {1} of {2} chunks", modality,
+							futures.size(), chunks.size()));
+		}
+
+		Map<String, Boolean> result = new HashMap<>();
+		for (int i = 0; i < futures.size(); i++) {
+			try {
+				Map<String, Boolean> decisions = futures.get(i).join();
+				if (decisions != null) {
+					result.putAll(decisions);
+				}
+			} catch (CompletionException e) {
+				String reason = e.getCause() instanceof TimeoutException ? "timed out" : "failed";
+				LOGGER.error(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+						ProviderConstants.LOGGER_EMPTY, MessageFormat.format("Identify chunk {0} of {1} for {2} {3}",
+								i + 1, chunks.size(), modality, reason),
+						e.getCause());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Stops the threads of the partitioner once the chunks in progress are
+	 * matched, without waiting for them. Chunks of calls still in progress that
+	 * are submitted afterwards, when the partitioner of a reloaded SDK is
+	 * replaced, are matched on the caller's thread.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	private CompletableFuture<Map<String, Boolean>> submit(Map<String, List<BIR>> chunk,
+			Function<Map<String, List<BIR>>, Map<String, Boolean>> matcher) {
+		CompletableFuture<Map<String, Boolean>> future;
+		try {
+			future = CompletableFuture.supplyAsync(() -> {
+				try {
+					return matcher.apply(chunk);
+				} finally {
+					slots.release();
+				}
+			}, executor);
+		} catch (RejectedExecutionException e) {
+			slots.release();
+			try {
+				return CompletableFuture.completedFuture(matcher.apply(chunk));
+			} catch (RuntimeException ex) {
+				return CompletableFuture.failedFuture(ex);
+			}
+		}
+		return chunkTimeoutMillis > 0 ? future.orTimeout(chunkTimeoutMillis, TimeUnit.MILLISECONDS) : future;
+	}
+
+	private List<Map<String, List<BIR>>> split(Map<String, List<BIR>> gallery) {
+		List<Map<String, List<BIR>>> chunks = new ArrayList<>((gallery.size() + chunkSize - 1) / chunkSize);
+		Map<String, List<BIR>> chunk = new LinkedHashMap<>();
+		for (Map.Entry<String, List<BIR>> entry : gallery.entrySet()) {
+			chunk.put(entry.getKey(), entry.getValue());
+			if (chunk.size() == chunkSize) {
+				chunks.add(chunk);
+				chunk = new LinkedHashMap<>();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			chunks.add(chunk);
+		}
+		return chunks;
+	}
+
+	private static int intParam(Map<String, String> params, String key, int defaultValue) {
+		String value = params.get(key);
+		if (value == null || value.isBlank()) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			LOGGER.warn(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY, MessageFormat.format("Ignoring invalid {0} : {1}", key, value));
+			return defaultValue;
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package io.mosip.kernel.biosdk.provider.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.core.bioapi.model.KeyValuePair;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Typed call adapters for the methods of a 0.7 SDK class, bound once per class.
+ *
+ * <p>
+ * 0.7 SDKs do not implement a common interface, their {@code match},
+ * {@code compositeMatch}, {@code checkQuality} and {@code extractTemplate}
+ * methods are found by name and signature. Instead of calling
+ * {@link Method#invoke(Object, Object...)} with a boxed argument array on
+ * every sample, each method is bound to a functional interface generated with
+ * {@link LambdaMetafactory}, which the JIT compiler can inline like a direct
+ * call. Methods that cannot be bound this way, for example because they are not
+ * public, are called through a {@link MethodHandle} adapted to the same
+ * interface.
+ * </p>
+ *
+ * <p>
+ * Asking for a method missing on the SDK class fails with the
+ * {@link IllegalArgumentException} of
+ * {@link BioProviderUtil#findRequiredMethod(Class, String, Class...)}, as the
+ * reflective lookup did. Exceptions thrown by the SDK, checked ones included,
+ * propagate unchanged instead of being wrapped in an
+ * {@link java.lang.reflect.InvocationTargetException}.
+ * </p>
+ */
+public final class LegacySDKAdapter {
+
+	private static final Logger LOGGER = BioSDKProviderLoggerFactory.getLogger(LegacySDKAdapter.class);
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final Map<Class<?>, LegacySDKAdapter> ADAPTERS = new ConcurrentHashMap<>();
+
+	/** {@code Score[] match(BIR sample, BIR[] gallery, KeyValuePair[] flags)} */
+	@FunctionalInterface
+	public interface MatchCall {
+		Object match(Object sdk, BIR sample, BIR[] gallery, KeyValuePair[] flags);
+	}
+
+	/** {@code CompositeScore compositeMatch(BIR[] sample, BIR[] gallery, KeyValuePair[] flags)} */
+	@FunctionalInterface
+	public interface CompositeMatchCall {
+		Object compositeMatch(Object sdk, BIR[] sample, BIR[] gallery, KeyValuePair[] flags);
+	}
+
+	/**
+	 * {@code QualityScore checkQuality(BIR sample, KeyValuePair[] flags)} and
+	 * {@code BIR extractTemplate(BIR sample, KeyValuePair[] flags)}
+	 */
+	@FunctionalInterface
+	public interface SampleCall {
+		Object apply(Object sdk, BIR sample, KeyValuePair[] flags);
+	}
+
+	private static final MethodType MATCH_TYPE = MethodType.methodType(Object.class, Object.class, BIR.class,
+			BIR[].class, KeyValuePair[].class);
+
+	private static final MethodType COMPOSITE_MATCH_TYPE = MethodType.methodType(Object.class, Object.class,
+			BIR[].class, BIR[].class, KeyValuePair[].class);
+
+	private static final MethodType SAMPLE_TYPE = MethodType.methodType(Object.class, Object.class, BIR.class,
+			KeyValuePair[].class);
+
+	private final Map<String, IllegalArgumentException> missing = new HashMap<>();
+
+	private final MatchCall match;
+
+	private final CompositeMatchCall compositeMatch;
+
+	private final SampleCall checkQuality;
+
+	private final SampleCall extractTemplate;
+
+	private LegacySDKAdapter(Class<?> sdkClass) {
+		this.match = bind(MatchCall.class, "match", MATCH_TYPE, sdkClass,
+				new Class<?>[] { BIR.class, BIR[].class, KeyValuePair[].class },
+				handle -> (sdk, sample, gallery, flags) -> invokeMatch(handle, sdk, sample, gallery, flags));
+		this.compositeMatch = bind(CompositeMatchCall.class, "compositeMatch", COMPOSITE_MATCH_TYPE, sdkClass,
+				new Class<?>[] { BIR[].class, BIR[].class, KeyValuePair[].class },
+				handle -> (sdk, sample, gallery, flags) -> invokeCompositeMatch(handle, sdk, sample, gallery, flags));
+		this.checkQuality = bind(SampleCall.class, "checkQuality", SAMPLE_TYPE, sdkClass,
+				new Class<?>[] { BIR.class, KeyValuePair[].class },
+				handle -> (sdk, sample, flags) -> invokeSample(handle, sdk, sample, flags));
+		this.extractTemplate = bind(SampleCall.class, "extractTemplate", SAMPLE_TYPE, sdkClass,
+				new Class<?>[] { BIR.class, KeyValuePair[].class },
+				handle -> (sdk, sample, flags) -> invokeSample(handle, sdk, sample, flags));
+	}
+
+	/**
+	 * Returns the adapters of an SDK class, binding them on first use.
+	 *
+	 * @param sdkClass The 0.7 SDK class.
+	 * @return The adapters of the class.
+	 */
+	public static LegacySDKAdapter of(Class<?> sdkClass) {
+		return ADAPTERS.computeIfAbsent(sdkClass, LegacySDKAdapter::new);
+	}
+
+	/**
+	 * Returns the bound {@code match} method.
+	 *
+	 * @return The call adapter.
+	 * @throws IllegalArgumentException If the SDK class has no such method.
+	 */
+	public MatchCall match() {
+		return require("match", match);
+	}
+
+	/**
+	 * Returns the bound {@code compositeMatch} method.
+	 *
+	 * @return The call adapter.
+	 * @throws IllegalArgumentException If the SDK class has no such method.
+	 */
+	public CompositeMatchCall compositeMatch() {
+		return require("compositeMatch", compositeMatch);
+	}
+
+	/**
+	 * Returns the bound {@code checkQuality} method.
+	 *
+	 * @return The call adapter.
+	 * @throws IllegalArgumentException If the SDK class has no such method.
+	 */
+	public SampleCall checkQuality() {
+		return require("checkQuality", checkQuality);
+	}
+
+	/**
+	 * Returns the bound {@code extractTemplate} method.
+	 *
+	 * @return The call adapter.
+	 * @throws IllegalArgumentException If the SDK class has no such method.
+	 */
+	public SampleCall extractTemplate() {
+		return require("extractTemplate", extractTemplate);
+	}
+
+	private interface Fallback<F> {
+		F adapt(MethodHandle handle);
+	}
+
+	private <F> F require(String name, F call) {
+		if (call == null) {
+			IllegalArgumentException e = missing.get(name);
+			throw new IllegalArgumentException(e.getMessage(), e);
+		}
+		return call;
+	}
+
+	@SuppressWarnings({ "java:S3011" })
+	private <F> F bind(Class<F> callType, String name, MethodType erasedType, Class<?> sdkClass,
+			Class<?>[] parameterTypes, Fallback<F> fallback) {
+		Method method;
+		MethodHandle handle;
+		try {
+			method = BioProviderUtil.findRequiredMethod(sdkClass, name, parameterTypes);
+			method.setAccessible(true);
+			handle = LOOKUP.unreflect(method);
+		} catch (IllegalArgumentException e) {
+			missing.put(name, e);
+			return null;
+		} catch (IllegalAccessException | RuntimeException e) {
+			missing.put(name, new IllegalArgumentException("Unable to access method " + name + " on " + sdkClass, e));
+			return null;
+		}
+
+		String samName = callType.getMethods()[0].getName();
+		try {
+			CallSite site = LambdaMetafactory.metafactory(LOOKUP, samName, MethodType.methodType(callType),
+					erasedType, handle, handle.type());
+			return callType.cast(site.getTarget().invoke());
+		} catch (Throwable e) {
+			// not linkable from here, e.g. a method of a non public class
+			LOGGER.debug(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY, "Using method handle adapter for " + method);
+			return fallback.adapt(handle.asType(erasedType));
+		}
+	}
+
+	private static Object invokeMatch(MethodHandle handle, Object sdk, BIR sample, BIR[] gallery,
+			KeyValuePair[] flags) {
+		try {
+			return (Object) handle.invokeExact(sdk, sample, gallery, flags);
+		} catch (Throwable e) {
+			throw LegacySDKAdapter.<RuntimeException>rethrow(e);
+		}
+	}
+
+	private static Object invokeCompositeMatch(MethodHandle handle, Object sdk, BIR[] sample, BIR[] gallery,
+			KeyValuePair[] flags) {
+		try {
+			return (Object) handle.invokeExact(sdk, sample, gallery, flags);
+		} catch (Throwable e) {
+			throw LegacySDKAdapter.<RuntimeException>rethrow(e);
+		}
+	}
+
+	private static Object invokeSample(MethodHandle handle, Object sdk, BIR sample, KeyValuePair[] flags) {
+		try {
+			return (Object) handle.invokeExact(sdk, sample, flags);
+		} catch (Throwable e) {
+			throw LegacySDKAdapter.<RuntimeException>rethrow(e);
+		}
+	}
+
+	/** Rethrows the exception of the SDK unchanged, as the generated adapters do. */
+	@SuppressWarnings({ "unchecked" })
+	private static <E extends Throwable> E rethrow(Throwable e) throws E {
+		throw (E) e;
+	}
+}
@@ -25,6 +25,51 @@ public class ProviderConstants {
 	/** The constant key for threshold. */
 	public static final String THRESHOLD = "threshold";
 
+	/** The constant key for the number of gallery entries per identify chunk. */
+	public static final String IDENTIFY_CHUNK_SIZE = "identify.chunk-size";
+
+	/** The constant key for the maximum number of identify chunks matched at the same time. */
+	public static final String IDENTIFY_PARALLELISM = "identify.parallelism";
+
+	/** The constant key for the identify chunk timeout in milliseconds. */
+	public static final String IDENTIFY_CHUNK_TIMEOUT = "identify.chunk-timeout-ms";
+
+	/** The constant key for matching identify chunks on virtual threads. */
+	public static final String IDENTIFY_VIRTUAL_THREADS = "identify.virtual-threads";
+
+	/** The constant key for the number of stored records matched per SDK call in early exit verify. */
+	public static final String VERIFY_SLICE_SIZE = "verify.slice-size";
+
+	/** The constant key declaring whether the SDK instance can be called concurrently. */
+	public static final String SDK_THREAD_SAFE = "thread-safe";
+
+	/** The constant key for the number of SDK instances pooled per modality. */
+	public static final String POOL_SIZE = "pool.size";
+
+	/** The constant key for the maximum time in milliseconds to wait for a pooled SDK instance. */
+	public static final String POOL_MAX_WAIT = "pool.max-wait-ms";
+
+	/** The constant key for the number of consecutive failures after which a pooled SDK instance is replaced. */
+	public static final String POOL_MAX_FAILURES = "pool.max-failures";
+
+	/** The constant key for checking the quality of all segments of a modality with one SDK call. */
+	public static final String QUALITY_BATCH = "quality.batch";
+
+	/** The constant key for checking the quality of this modality concurrently with other modalities. */
+	public static final String QUALITY_PARALLEL = "quality.parallel";
+
+	/** The analytics info key prefix of the per-segment scores in a batched quality check response. */
+	public static final String QUALITY_SEGMENT_SCORE_PREFIX = "segment.score.";
+
+	/** The constant key for the maximum number of extracted templates cached per modality. */
+	public static final String TEMPLATE_CACHE_MAX_ENTRIES = "template-cache.max-entries";
+
+	/** The constant key for the maximum total bytes of the extracted templates cached per modality. */
+	public static final String TEMPLATE_CACHE_MAX_BYTES = "template-cache.max-bytes";
+
+	/** The constant key for keeping the cached template bytes outside of the Java heap. */
+	public static final String TEMPLATE_CACHE_OFF_HEAP = "template-cache.off-heap";
+
 	/** The constant key for logger session ID. */
 	public static final String LOGGER_SESSIONID = "BIO-SDK-PROVIDER";
 	
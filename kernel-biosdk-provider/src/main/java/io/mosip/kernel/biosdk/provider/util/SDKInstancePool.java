@@ -0,0 +1,445 @@
+package io.mosip.kernel.biosdk.provider.util;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biosdk.provider.exception.SDKPoolException;
+import io.mosip.kernel.core.bioapi.exception.BiometricException;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Pool of SDK instances of one modality, each initialized from the same
+ * parameters and leased for the duration of a single SDK call.
+ *
+ * <p>
+ * Many vendor SDKs are not thread-safe, so a single shared instance limits a
+ * modality to one call at a time. With a pool, up to {@code size} calls run
+ * concurrently, each on its own instance. Callers wait for a free instance in
+ * arrival order, for at most the configured maximum wait, after which an
+ * {@link SDKPoolException} is thrown.
+ * </p>
+ *
+ * <p>
+ * A call that throws, or whose result is reported unhealthy, counts as a
+ * failure of the instance. An instance failing the configured number of times
+ * in a row is evicted and replaced by a new one. If the replacement cannot be
+ * created, the pool runs with fewer instances and tries again on later leases.
+ * </p>
+ *
+ * <p>
+ * The pool is configured per modality with the SDK init parameters
+ * {@link ProviderConstants#POOL_SIZE}, {@link ProviderConstants#POOL_MAX_WAIT}
+ * and {@link ProviderConstants#POOL_MAX_FAILURES}. Its utilization is exposed
+ * through getters and, once bound to a {@link MeterRegistry}, as
+ * {@code sdk.pool.*} meters tagged with the modality.
+ * </p>
+ *
+ * @param <T> The SDK type.
+ */
+public class SDKInstancePool<T> implements MeterBinder, AutoCloseable {
+
+	private static final Logger LOGGER = BioSDKProviderLoggerFactory.getLogger(SDKInstancePool.class);
+
+	private static final long DEFAULT_MAX_WAIT_MILLIS = 30000;
+
+	private static final int DEFAULT_MAX_FAILURES = 3;
+
+	private static final long REPLENISH_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	/**
+	 * Creates and initializes a new SDK instance.
+	 *
+	 * @param <T> The SDK type.
+	 */
+	@FunctionalInterface
+	public interface InstanceFactory<T> {
+		/**
+		 * Creates and initializes a new SDK instance.
+		 *
+		 * @return The SDK instance.
+		 * @throws BiometricException If the instance cannot be created.
+		 */
+		T create() throws BiometricException;
+	}
+
+	private final BiometricType modality;
+
+	private final int capacity;
+
+	private final long maxWaitMillis;
+
+	private final int maxFailures;
+
+	private final InstanceFactory<T> factory;
+
+	private final ArrayBlockingQueue<PooledInstance<T>> idle;
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final AtomicInteger active = new AtomicInteger();
+
+	private final AtomicInteger waiting = new AtomicInteger();
+
+	private final LongAdder leases = new LongAdder();
+
+	private final LongAdder timeouts = new LongAdder();
+
+	private final LongAdder failures = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final LongAdder waitNanos = new LongAdder();
+
+	private final List<Meter> meters = new ArrayList<>();
+
+	private MeterRegistry registry;
+
+	private volatile long nextReplenishNanos;
+
+	/**
+	 * Creates a pool holding the given instances, filled up to the capacity with
+	 * instances created by the factory.
+	 *
+	 * @param modality      The modality, used in metrics and log messages.
+	 * @param capacity      The number of instances.
+	 * @param maxWaitMillis The maximum time to wait for an instance, 0 to wait
+	 *                      indefinitely.
+	 * @param maxFailures   The number of consecutive failures after which an
+	 *                      instance is replaced.
+	 * @param instances     Already initialized instances to pool.
+	 * @param factory       Creates and initializes further instances.
+	 * @throws BiometricException If an instance cannot be created.
+	 */
+	public SDKInstancePool(BiometricType modality, int capacity, long maxWaitMillis, int maxFailures,
+			List<T> instances, InstanceFactory<T> factory) throws BiometricException {
+		if (capacity <= 0 || maxFailures <= 0 || instances.size() > capacity) {
+			throw new IllegalArgumentException("Invalid SDK pool configuration");
+		}
+		this.modality = modality;
+		this.capacity = capacity;
+		this.maxWaitMillis = Math.max(0, maxWaitMillis);
+		this.maxFailures = maxFailures;
+		this.factory = factory;
+		// fair, waiting callers get instances in arrival order
+		this.idle = new ArrayBlockingQueue<>(capacity, true);
+		this.nextReplenishNanos = System.nanoTime();
+
+		for (T instance : instances) {
+			add(instance);
+		}
+		while (size.get() < capacity) {
+			add(factory.create());
+		}
+	}
+
+	/**
+	 * Creates the pool configured in the SDK init parameters of a modality.
+	 *
+	 * @param <T>            The SDK type.
+	 * @param modality       The modality.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @param instance       The already initialized SDK instance of the modality.
+	 * @param factory        Creates and initializes further instances.
+	 * @return The pool, or {@code null} if no more than one instance is
+	 *         configured.
+	 * @throws BiometricException If an instance cannot be created.
+	 */
+	public static <T> SDKInstancePool<T> of(BiometricType modality, Map<String, String> modalityParams, T instance,
+			InstanceFactory<T> factory) throws BiometricException {
+		int capacity = (int) longParam(modalityParams, ProviderConstants.POOL_SIZE, 1);
+		if (capacity <= 1) {
+			return null;
+		}
+		long maxWaitMillis = longParam(modalityParams, ProviderConstants.POOL_MAX_WAIT, DEFAULT_MAX_WAIT_MILLIS);
+		int maxFailures = (int) longParam(modalityParams, ProviderConstants.POOL_MAX_FAILURES, DEFAULT_MAX_FAILURES);
+
+		LOGGER.info(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE, ProviderConstants.LOGGER_EMPTY,
+				MessageFormat.format("SDK instance pool for {0} : size {1}, max wait {2} ms, max failures {3}",
+						modality, capacity, maxWaitMillis, maxFailures));
+		return new SDKInstancePool<>(modality, capacity, maxWaitMillis, Math.max(1, maxFailures), List.of(instance),
+				factory);
+	}
+
+	/**
+	 * Leases an instance, runs the call on it and returns the instance to the
+	 * pool. A call that throws counts as a failure of the instance.
+	 *
+	 * @param <R>  The result type.
+	 * @param call The SDK call.
+	 * @return The result of the call.
+	 * @throws SDKPoolException If no instance becomes available in time.
+	 */
+	public <R> R execute(Function<T, R> call) {
+		return execute(call, result -> true);
+	}
+
+	/**
+	 * Leases an instance, runs the call on it and returns the instance to the
+	 * pool. A call that throws or whose result does not pass the health check
+	 * counts as a failure of the instance.
+	 *
+	 * @param <R>     The result type.
+	 * @param call    The SDK call.
+	 * @param healthy Tells whether a result shows a healthy instance.
+	 * @return The result of the call.
+	 * @throws SDKPoolException If no instance becomes available in time.
+	 */
+	public <R> R execute(Function<T, R> call, Predicate<R> healthy) {
+		PooledInstance<T> instance = lease();
+		boolean success = false;
+		try {
+			R result = call.apply(instance.sdk);
+			success = healthy.test(result);
+			return result;
+		} finally {
+			release(instance, success);
+		}
+	}
+
+	/**
+	 * Returns the configured number of instances.
+	 *
+	 * @return The pool capacity.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of live instances, lower than the capacity while evicted
+	 * instances could not be replaced.
+	 *
+	 * @return The pool size.
+	 */
+	public int getSize() {
+		return size.get();
+	}
+
+	/**
+	 * Returns the number of leased instances.
+	 *
+	 * @return The active count.
+	 */
+	public int getActiveCount() {
+		return active.get();
+	}
+
+	/**
+	 * Returns the number of callers waiting for an instance.
+	 *
+	 * @return The waiting count.
+	 */
+	public int getWaitingCount() {
+		return waiting.get();
+	}
+
+	/**
+	 * Returns the share of live instances currently leased.
+	 *
+	 * @return The utilization between 0 and 1.
+	 */
+	public double getUtilization() {
+		int live = size.get();
+		return live == 0 ? 1 : Math.min(1, (double) active.get() / live);
+	}
+
+	/**
+	 * Returns the number of leases.
+	 *
+	 * @return The lease count.
+	 */
+	public long getLeaseCount() {
+		return leases.sum();
+	}
+
+	/**
+	 * Returns the number of callers that gave up waiting for an instance.
+	 *
+	 * @return The timeout count.
+	 */
+	public long getTimeoutCount() {
+		return timeouts.sum();
+	}
+
+	/**
+	 * Returns the number of failed calls.
+	 *
+	 * @return The failure count.
+	 */
+	public long getFailureCount() {
+		return failures.sum();
+	}
+
+	/**
+	 * Returns the number of evicted instances.
+	 *
+	 * @return The eviction count.
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Returns the total time callers spent waiting for an instance.
+	 *
+	 * @return The wait time in nanoseconds.
+	 */
+	public long getTotalWaitNanos() {
+		return waitNanos.sum();
+	}
+
+	@Override
+	public synchronized void bindTo(MeterRegistry meterRegistry) {
+		Tags tags = Tags.of("modality", String.valueOf(modality));
+		meters.add(Gauge.builder("sdk.pool.size", this, SDKInstancePool::getSize).tags(tags)
+				.description("Live SDK instances").register(meterRegistry));
+		meters.add(Gauge.builder("sdk.pool.active", this, SDKInstancePool::getActiveCount).tags(tags)
+				.description("Leased SDK instances").register(meterRegistry));
+		meters.add(Gauge.builder("sdk.pool.waiting", this, SDKInstancePool::getWaitingCount).tags(tags)
+				.description("Callers waiting for an SDK instance").register(meterRegistry));
+		meters.add(Gauge.builder("sdk.pool.utilization", this, SDKInstancePool::getUtilization).tags(tags)
+				.description("Share of live SDK instances leased").register(meterRegistry));
+		meters.add(FunctionCounter.builder("sdk.pool.leases", this, SDKInstancePool::getLeaseCount).tags(tags)
+				.register(meterRegistry));
+		meters.add(FunctionCounter.builder("sdk.pool.timeouts", this, SDKInstancePool::getTimeoutCount).tags(tags)
+				.register(meterRegistry));
+		meters.add(FunctionCounter.builder("sdk.pool.failures", this, SDKInstancePool::getFailureCount).tags(tags)
+				.register(meterRegistry));
+		meters.add(FunctionCounter.builder("sdk.pool.evictions", this, SDKInstancePool::getEvictionCount).tags(tags)
+				.register(meterRegistry));
+		meters.add(FunctionCounter.builder("sdk.pool.wait", this, pool -> pool.getTotalWaitNanos() / 1e9).tags(tags)
+				.baseUnit("seconds").description("Time spent waiting for an SDK instance").register(meterRegistry));
+		this.registry = meterRegistry;
+	}
+
+	/**
+	 * Removes the meters of the pool from the registry it was bound to. Leased
+	 * instances are not affected.
+	 */
+	@Override
+	public synchronized void close() {
+		if (registry != null) {
+			meters.forEach(registry::remove);
+			meters.clear();
+			registry = null;
+		}
+	}
+
+	private PooledInstance<T> lease() {
+		replenish();
+		waiting.incrementAndGet();
+		long start = System.nanoTime();
+		PooledInstance<T> instance;
+		try {
+			instance = maxWaitMillis > 0 ? idle.poll(maxWaitMillis, TimeUnit.MILLISECONDS) : idle.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw exhausted(e);
+		} finally {
+			waiting.decrementAndGet();
+			waitNanos.add(System.nanoTime() - start);
+		}
+		if (instance == null) {
+			timeouts.increment();
+			throw exhausted(null);
+		}
+		active.incrementAndGet();
+		leases.increment();
+		return instance;
+	}
+
+	private void release(PooledInstance<T> instance, boolean success) {
+		active.decrementAndGet();
+		if (success) {
+			instance.failures = 0;
+			idle.offer(instance);
+			return;
+		}
+
+		failures.increment();
+		if (++instance.failures < maxFailures) {
+			idle.offer(instance);
+			return;
+		}
+
+		size.decrementAndGet();
+		evictions.increment();
+		LOGGER.warn(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE, ProviderConstants.LOGGER_EMPTY,
+				MessageFormat.format("Evicting {0} SDK instance after {1} consecutive failures", modality,
+						instance.failures));
+		nextReplenishNanos = System.nanoTime();
+		replenish();
+	}
+
+	/** Replaces evicted instances, at most one attempt per second while it fails. */
+	private void replenish() {
+		int current;
+		while ((current = size.get()) < capacity && System.nanoTime() - nextReplenishNanos >= 0) {
+			if (!size.compareAndSet(current, current + 1)) {
+				continue;
+			}
+			try {
+				idle.offer(new PooledInstance<>(factory.create()));
+			} catch (BiometricException | RuntimeException e) {
+				size.decrementAndGet();
+				nextReplenishNanos = System.nanoTime() + REPLENISH_BACKOFF_NANOS;
+				LOGGER.error(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+						ProviderConstants.LOGGER_EMPTY,
+						MessageFormat.format("Failed to replace evicted {0} SDK instance", modality), e);
+				return;
+			}
+		}
+	}
+
+	private void add(T instance) {
+		size.incrementAndGet();
+		idle.offer(new PooledInstance<>(instance));
+	}
+
+	private SDKPoolException exhausted(Throwable cause) {
+		String message = String.format(ErrorCode.SDK_POOL_EXHAUSTED.getErrorMessage(), modality, maxWaitMillis);
+		return cause == null ? new SDKPoolException(ErrorCode.SDK_POOL_EXHAUSTED.getErrorCode(), message)
+				: new SDKPoolException(ErrorCode.SDK_POOL_EXHAUSTED.getErrorCode(), message, cause);
+	}
+
+	private static long longParam(Map<String, String> params, String key, long defaultValue) {
+		String value = params.get(key);
+		if (value == null || value.isBlank()) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			LOGGER.warn(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY, MessageFormat.format("Ignoring invalid {0} : {1}", key, value));
+			return defaultValue;
+		}
+	}
+
+	private static final class PooledInstance<T> {
+
+		private final T sdk;
+
+		/** Consecutive failures, only accessed by the caller holding the lease. */
+		private int failures;
+
+		PooledInstance(T sdk) {
+			this.sdk = sdk;
+		}
+	}
+}
@@ -0,0 +1,381 @@
+package io.mosip.kernel.biosdk.provider.util;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.mosip.kernel.biometrics.commons.BIRCopier;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Bounded cache of extracted templates of a modality, keyed by the SDK, the
+ * modality, the SHA-256 digest of the sample BDB and the extraction flags.
+ *
+ * <p>
+ * Stored records are extracted again every time they are verified against a new
+ * sample, while extraction is the most expensive SDK call. Digesting the BDB is
+ * much cheaper, so a record extracted before is served from the cache.
+ * </p>
+ *
+ * <p>
+ * The cache is configured per modality with the SDK init parameters:
+ * </p>
+ * <ul>
+ * <li>{@link ProviderConstants#TEMPLATE_CACHE_MAX_ENTRIES}: maximum number of
+ * cached templates, the cache is disabled when absent or not positive.</li>
+ * <li>{@link ProviderConstants#TEMPLATE_CACHE_MAX_BYTES}: maximum total bytes of
+ * the cached template BDBs, defaults to 64 MB.</li>
+ * <li>{@link ProviderConstants#TEMPLATE_CACHE_OFF_HEAP}: {@code true} to keep
+ * the template BDBs in direct buffers outside of the Java heap.</li>
+ * </ul>
+ *
+ * <p>
+ * Entries are evicted in least recently used order once either limit is
+ * exceeded. Templates are deep copied when they are put and on each lookup,
+ * so callers may modify what they put or get. Hit, miss and eviction counters
+ * and the hit ratio are exposed for monitoring.
+ * </p>
+ */
+public class TemplateCache implements MeterBinder, AutoCloseable {
+
+	private static final Logger LOGGER = BioSDKProviderLoggerFactory.getLogger(TemplateCache.class);
+
+	private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+	private final BiometricType modality;
+
+	private final String sdkIdentity;
+
+	private final int maxEntries;
+
+	private final long maxBytes;
+
+	private final boolean offHeap;
+
+	private final LinkedHashMap<String, CachedTemplate> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long bytes;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final List<Meter> meters = new ArrayList<>();
+
+	private MeterRegistry registry;
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param modality    The modality, used to tag the meters.
+	 * @param sdkIdentity Identifies the SDK extracting the templates.
+	 * @param maxEntries  Maximum number of cached templates.
+	 * @param maxBytes    Maximum total bytes of the cached template BDBs.
+	 * @param offHeap     {@code true} to keep the template BDBs off heap.
+	 */
+	public TemplateCache(BiometricType modality, String sdkIdentity, int maxEntries, long maxBytes,
+			boolean offHeap) {
+		if (maxEntries <= 0 || maxBytes <= 0) {
+			throw new IllegalArgumentException("Cache size and byte limits must be positive");
+		}
+		this.modality = modality;
+		this.sdkIdentity = sdkIdentity;
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+		this.offHeap = offHeap;
+	}
+
+	/**
+	 * Creates the cache configured in the SDK init parameters of a modality.
+	 *
+	 * @param modality       The modality.
+	 * @param modalityParams The SDK init parameters of the modality.
+	 * @return The cache, or {@code null} if it is not configured.
+	 */
+	public static TemplateCache of(BiometricType modality, Map<String, String> modalityParams) {
+		int maxEntries = (int) longParam(modalityParams, ProviderConstants.TEMPLATE_CACHE_MAX_ENTRIES, 0);
+		if (maxEntries <= 0) {
+			return null;
+		}
+		long maxBytes = longParam(modalityParams, ProviderConstants.TEMPLATE_CACHE_MAX_BYTES, DEFAULT_MAX_BYTES);
+		boolean offHeap = Boolean.parseBoolean(modalityParams.get(ProviderConstants.TEMPLATE_CACHE_OFF_HEAP));
+		String sdkIdentity = modalityParams.get(ProviderConstants.CLASSNAME) + ":"
+				+ modalityParams.get(ProviderConstants.VERSION) + ":" + modalityParams.get(ProviderConstants.ARGUMENTS);
+
+		LOGGER.info(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE, ProviderConstants.LOGGER_EMPTY,
+				MessageFormat.format("Template cache for {0} : max entries {1}, max bytes {2}, off heap {3}", modality,
+						maxEntries, maxBytes, offHeap));
+		return new TemplateCache(modality, sdkIdentity, maxEntries, Math.max(1, maxBytes), offHeap);
+	}
+
+	/**
+	 * Returns the cache key of a sample.
+	 *
+	 * @param sample The sample to extract.
+	 * @param flags  The extraction flags.
+	 * @return The key, or {@code null} if the sample has no BDB to key on.
+	 */
+	public String keyOf(BIR sample, Map<String, String> flags) {
+		if (sample == null || sample.getBdb() == null || sample.getBdb().length == 0) {
+			return null;
+		}
+		String flagsKey = flags == null || flags.isEmpty() ? "" : new TreeMap<>(flags).toString();
+		return sdkIdentity + "|" + modality + "|" + digest(sample.getBdb()) + "|" + flagsKey;
+	}
+
+	/**
+	 * Returns a copy of the cached template.
+	 *
+	 * @param key The cache key, see {@link #keyOf(BIR, Map)}.
+	 * @return The template, or {@code null} on a cache miss.
+	 */
+	public BIR get(String key) {
+		if (key == null) {
+			return null;
+		}
+		CachedTemplate cached;
+		synchronized (this) {
+			cached = entries.get(key);
+		}
+		if (cached == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return cached.toBIR();
+	}
+
+	/**
+	 * Caches a copy of an extracted template.
+	 *
+	 * @param key      The cache key, see {@link #keyOf(BIR, Map)}.
+	 * @param template The extracted template.
+	 */
+	public void put(String key, BIR template) {
+		if (key == null || template == null) {
+			return;
+		}
+		CachedTemplate cached = new CachedTemplate(template, offHeap);
+		if (cached.weight > maxBytes) {
+			return;
+		}
+		synchronized (this) {
+			CachedTemplate previous = entries.put(key, cached);
+			if (previous != null) {
+				bytes -= previous.weight;
+			}
+			bytes += cached.weight;
+
+			Iterator<Map.Entry<String, CachedTemplate>> eldest = entries.entrySet().iterator();
+			while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+				Map.Entry<String, CachedTemplate> entry = eldest.next();
+				if (entry.getValue() == cached) {
+					continue;
+				}
+				bytes -= entry.getValue().weight;
+				eldest.remove();
+				evictions.increment();
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the template BDBs are kept off heap.
+	 *
+	 * @return {@code true} if the BDBs are kept in direct buffers.
+	 */
+	public boolean isOffHeap() {
+		return offHeap;
+	}
+
+	/**
+	 * Returns the number of lookups served from the cache.
+	 *
+	 * @return The cache hit count.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of lookups that required an extraction.
+	 *
+	 * @return The cache miss count.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the number of templates removed because of the size or byte limits.
+	 *
+	 * @return The eviction count.
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Returns the share of lookups served from the cache.
+	 *
+	 * @return The hit ratio, 0 before the first lookup.
+	 */
+	public double getHitRatio() {
+		long hitCount = hits.sum();
+		long total = hitCount + misses.sum();
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	/**
+	 * Returns the number of cached templates.
+	 *
+	 * @return The cache size.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the total bytes of the cached template BDBs.
+	 *
+	 * @return The cache weight.
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Removes all cached templates and resets the counters.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		bytes = 0;
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+	/**
+	 * Registers the cache meters, tagged with the modality.
+	 *
+	 * @param meterRegistry The registry.
+	 */
+	@Override
+	public synchronized void bindTo(MeterRegistry meterRegistry) {
+		Tags tags = Tags.of("modality", String.valueOf(modality));
+		meters.add(Gauge.builder("sdk.template.cache.size", this, TemplateCache::size).tags(tags)
+				.description("Cached templates").register(meterRegistry));
+		meters.add(Gauge.builder("sdk.template.cache.bytes", this, TemplateCache::getBytes).tags(tags)
+				.baseUnit("bytes").description("Bytes of the cached templates").register(meterRegistry));
+		meters.add(Gauge.builder("sdk.template.cache.hit.ratio", this, TemplateCache::getHitRatio).tags(tags)
+				.description("Share of template lookups served from the cache").register(meterRegistry));
+		meters.add(FunctionCounter.builder("sdk.template.cache.hits", this, TemplateCache::getHitCount).tags(tags)
+				.register(meterRegistry));
+		meters.add(FunctionCounter.builder("sdk.template.cache.misses", this, TemplateCache::getMissCount).tags(tags)
+				.register(meterRegistry));
+		meters.add(FunctionCounter.builder("sdk.template.cache.evictions", this, TemplateCache::getEvictionCount)
+				.tags(tags).register(meterRegistry));
+		this.registry = meterRegistry;
+	}
+
+	/**
+	 * Removes the meters of the cache from the registry it was bound to and drops
+	 * the cached templates.
+	 */
+	@Override
+	public synchronized void close() {
+		if (registry != null) {
+			meters.forEach(registry::remove);
+			meters.clear();
+			registry = null;
+		}
+		entries.clear();
+		bytes = 0;
+	}
+
+	private static String digest(byte[] bdb) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bdb));
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is mandatory on every Java platform
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private static long longParam(Map<String, String> params, String key, long defaultValue) {
+		String value = params.get(key);
+		if (value == null || value.isBlank()) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			LOGGER.warn(ProviderConstants.LOGGER_SESSIONID, ProviderConstants.LOGGER_IDTYPE,
+					ProviderConstants.LOGGER_EMPTY, MessageFormat.format("Ignoring invalid {0} : {1}", key, value));
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * A template without its BDB, which is held separately on or off heap.
+	 */
+	private static final class CachedTemplate {
+
+		private final BIR header;
+
+		private final byte[] heapBdb;
+
+		private final ByteBuffer directBdb;
+
+		private final long weight;
+
+		CachedTemplate(BIR template, boolean offHeap) {
+			this.header = BIRCopier.copyWithoutBdb(template);
+			byte[] bdb = template.getBdb();
+			if (bdb == null) {
+				this.heapBdb = null;
+				this.directBdb = null;
+				this.weight = 0;
+			} else if (offHeap) {
+				this.heapBdb = null;
+				this.directBdb = ByteBuffer.allocateDirect(bdb.length).put(bdb).flip().asReadOnlyBuffer();
+				this.weight = bdb.length;
+			} else {
+				this.heapBdb = bdb.clone();
+				this.directBdb = null;
+				this.weight = bdb.length;
+			}
+		}
+
+		BIR toBIR() {
+			BIR bir = BIRCopier.copyWithoutBdb(header);
+			if (heapBdb != null) {
+				bir.setBdb(heapBdb.clone());
+			} else if (directBdb != null) {
+				byte[] bdb = new byte[directBdb.capacity()];
+				directBdb.get(0, bdb);
+				bir.setBdb(bdb);
+			}
+			return bir;
+		}
+	}
+}
@@ -2,15 +2,20 @@ package io.mosip.kernel.biosdk.provider.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -95,6 +100,119 @@ public class BioAPIFactoryTest {
         assertNotNull(result);
     }
 
+    /**
+     * Tests that a reload swaps in the providers that reloaded the SDK of the
+     * modality.
+     */
+    @Test
+    public void reload_reloadingProvider_swapsProviders() throws Exception {
+        BioAPIFactory factory = new BioAPIFactory();
+        TestSuccessProvider provider = new TestSuccessProvider();
+        TestReloadingProvider reloadingProvider = new TestReloadingProvider();
+        ReflectionTestUtils.setField(factory, "providerApis", List.of(provider, reloadingProvider));
+        ReflectionTestUtils.setField(factory, "providerRegistry",
+                Map.of(BiometricType.FINGER, Map.of(BiometricFunction.MATCH, provider)));
+
+        List<BiometricFunction> functions = factory
+                .reload(BiometricType.FINGER, Map.of("version", "0.9"), List.of()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(BiometricFunction.MATCH, BiometricFunction.EXTRACT), functions);
+        assertSame(reloadingProvider, factory.getBioProvider(BiometricType.FINGER, BiometricFunction.MATCH));
+        assertSame(reloadingProvider, factory.getBioProvider(BiometricType.FINGER, BiometricFunction.EXTRACT));
+    }
+
+    /**
+     * Tests that a reload no provider handles fails and keeps the registered
+     * providers.
+     */
+    @Test
+    public void reload_noReloadingProvider_keepsProviders() throws Exception {
+        BioAPIFactory factory = new BioAPIFactory();
+        TestSuccessProvider provider = new TestSuccessProvider();
+        ReflectionTestUtils.setField(factory, "providerApis", List.of(provider));
+        ReflectionTestUtils.setField(factory, "providerRegistry",
+                Map.of(BiometricType.FINGER, Map.of(BiometricFunction.MATCH, provider)));
+
+        try {
+            factory.reload(BiometricType.FINGER, Map.of("version", "0.9"), List.of()).get(5, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException ex) {
+            assertEquals(ErrorCode.SDK_RELOAD_FAILED.getErrorCode(),
+                    ((BiometricException) ex.getCause()).getErrorCode());
+        }
+        assertSame(provider, factory.getBioProvider(BiometricType.FINGER, BiometricFunction.MATCH));
+    }
+
+    /**
+     * Tests that a modality falls back to the next vendor when the SDK of the
+     * first one fails, and that a modality no vendor initializes is left out
+     * without failing the others.
+     */
+    @Test
+    public void initializeBioAPIProviders_failingModality_degradesGracefully() throws BiometricException {
+        BioAPIFactory factory = new BioAPIFactory();
+        TestConfiguredProvider provider = new TestConfiguredProvider();
+        ReflectionTestUtils.setField(factory, "providerApis", List.of(provider));
+        Map<String, Map<String, String>> fingerConfig = new LinkedHashMap<>();
+        fingerConfig.put("vendor1", Map.of("sdk", "fail"));
+        fingerConfig.put("vendor2", Map.of("sdk", "ok"));
+        ReflectionTestUtils.setField(factory, "finger", fingerConfig);
+        ReflectionTestUtils.setField(factory, "iris", Map.of("vendor1", Map.of("sdk", "fail")));
+
+        factory.initializeBioAPIProviders();
+
+        assertSame(provider, factory.getBioProvider(BiometricType.FINGER, BiometricFunction.MATCH));
+        try {
+            factory.getBioProvider(BiometricType.IRIS, BiometricFunction.MATCH);
+            fail("Expected BiometricException");
+        } catch (BiometricException e) {
+            assertEquals(ErrorCode.NO_PROVIDERS.getErrorCode(), e.getErrorCode());
+        }
+    }
+
+    /**
+     * Tests that the modalities are initialized concurrently and that a modality
+     * whose SDK does not initialize within the init timeout is left out.
+     */
+    @Test
+    public void initializeBioAPIProviders_slowModality_timesOut() throws BiometricException {
+        BioAPIFactory factory = new BioAPIFactory();
+        TestConfiguredProvider provider = new TestConfiguredProvider();
+        ReflectionTestUtils.setField(factory, "providerApis", List.of(provider));
+        ReflectionTestUtils.setField(factory, "finger", Map.of("vendor1", Map.of("sdk", "ok")));
+        ReflectionTestUtils.setField(factory, "face", Map.of("vendor1", Map.of("sdk", "slow")));
+        ReflectionTestUtils.setField(factory, "initTimeout", Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        factory.initializeBioAPIProviders();
+
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+        assertSame(provider, factory.getBioProvider(BiometricType.FINGER, BiometricFunction.MATCH));
+        try {
+            factory.getBioProvider(BiometricType.FACE, BiometricFunction.MATCH);
+            fail("Expected BiometricException");
+        } catch (BiometricException e) {
+            assertEquals(ErrorCode.NO_PROVIDERS.getErrorCode(), e.getErrorCode());
+        }
+    }
+
+    /**
+     * Tests that initialization fails when no modality could be initialized.
+     */
+    @Test
+    public void initializeBioAPIProviders_allModalitiesFail_throwsRegistryEmptyException() {
+        BioAPIFactory factory = new BioAPIFactory();
+        ReflectionTestUtils.setField(factory, "providerApis", List.of(new TestConfiguredProvider()));
+        ReflectionTestUtils.setField(factory, "finger", Map.of("vendor1", Map.of("sdk", "fail")));
+
+        try {
+            factory.initializeBioAPIProviders();
+            fail("Expected BiometricException");
+        } catch (BiometricException e) {
+            assertEquals(ErrorCode.SDK_REGISTRY_EMPTY.getErrorCode(), e.getErrorCode());
+        }
+    }
+
     /**
      * Tests getVendorIds when all modality configurations are null.
      */
@@ -184,4 +302,39 @@ public class BioAPIFactoryTest {
         @Override
         public List<io.mosip.kernel.biometrics.entities.BIR> extractTemplate(List<io.mosip.kernel.biometrics.entities.BIR> sample, Map<String, String> flags) { return null; }
     }
+
+    /**
+     * Initializes the modalities whose sdk parameter is ok, fails those whose sdk
+     * parameter is fail and blocks on those whose sdk parameter is slow.
+     */
+    private static class TestConfiguredProvider extends TestSuccessProvider {
+        @Override
+        public Map<BiometricType, List<BiometricFunction>> init(
+                Map<BiometricType, Map<String, String>> params) throws BiometricException {
+            Map<BiometricType, List<BiometricFunction>> result = new EnumMap<>(BiometricType.class);
+            for (Map.Entry<BiometricType, Map<String, String>> entry : params.entrySet()) {
+                switch (entry.getValue().get("sdk")) {
+                    case "fail" -> throw new BiometricException("INIT_FAILED", "Initialization failed");
+                    case "slow" -> {
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return result;
+                        }
+                    }
+                    default -> result.put(entry.getKey(), List.of(BiometricFunction.MATCH));
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class TestReloadingProvider extends TestSuccessProvider {
+        @Override
+        public List<BiometricFunction> reload(BiometricType modality, Map<String, String> modalityParams,
+                List<io.mosip.kernel.biometrics.entities.BIR> warmUpSample) {
+            return List.of(BiometricFunction.MATCH, BiometricFunction.EXTRACT);
+        }
+    }
 }
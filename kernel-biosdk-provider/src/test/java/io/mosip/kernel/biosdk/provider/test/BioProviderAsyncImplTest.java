@@ -0,0 +1,197 @@
+package io.mosip.kernel.biosdk.provider.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.biometrics.constant.BiometricFunction;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biosdk.provider.factory.BioAPIFactory;
+import io.mosip.kernel.biosdk.provider.impl.BioProviderAsyncImpl;
+import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
+import io.mosip.kernel.biosdk.provider.util.DecisionFusion;
+
+public class BioProviderAsyncImplTest {
+
+    private final CountDownLatch irisRelease = new CountDownLatch(1);
+
+    private BioProviderAsyncImpl asyncProvider;
+
+    @Before
+    public void setUp() {
+        Map<BiometricType, Map<BiometricFunction, iBioProviderApi>> registry = new EnumMap<>(BiometricType.class);
+        register(registry, BiometricType.FINGER, new TestProvider(true, 10F, null));
+        register(registry, BiometricType.FACE, new TestProvider(false, 20F, null));
+        register(registry, BiometricType.IRIS, new TestProvider(true, 30F, irisRelease));
+
+        BioAPIFactory factory = new BioAPIFactory();
+        ReflectionTestUtils.setField(factory, "providerRegistry", registry);
+        asyncProvider = new BioProviderAsyncImpl(factory);
+    }
+
+    @After
+    public void tearDown() {
+        irisRelease.countDown();
+        asyncProvider.close();
+        MDC.clear();
+    }
+
+    /**
+     * Tests that the MDC context of the caller is visible to the provider.
+     */
+    @Test
+    public void verify_mdcContext_propagatedToProvider() throws Exception {
+        MDC.put("requestId", "req-1");
+        asyncProvider.verify(List.of(bir(BiometricType.FINGER)), List.of(bir(BiometricType.FINGER)),
+                BiometricType.FINGER, Map.of()).get(5, TimeUnit.SECONDS);
+
+        assertEquals("req-1", TestProvider.lastRequestId);
+    }
+
+    /**
+     * Tests that the ALL fusion fails as soon as one modality does not match,
+     * without waiting for a slow modality.
+     */
+    @Test
+    public void verifyMultiModal_allFusion_failsWithoutWaitingForSlowModality() throws Exception {
+        assertFalse(asyncProvider.verify(samples(BiometricType.FINGER, BiometricType.FACE, BiometricType.IRIS),
+                samples(BiometricType.FINGER, BiometricType.FACE, BiometricType.IRIS), Map.of(), DecisionFusion.ALL)
+                .get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests the ANY and MAJORITY fusions of two matching and one non matching
+     * modality.
+     */
+    @Test
+    public void verifyMultiModal_anyAndMajorityFusion_matched() throws Exception {
+        irisRelease.countDown();
+        Map<BiometricType, List<BIR>> samples = samples(BiometricType.FINGER, BiometricType.FACE,
+                BiometricType.IRIS);
+
+        assertTrue(asyncProvider.verify(samples, samples, Map.of(), DecisionFusion.ANY).get(5, TimeUnit.SECONDS));
+        assertTrue(asyncProvider.verify(samples, samples, Map.of(), DecisionFusion.MAJORITY).get(5, TimeUnit.SECONDS));
+        assertFalse(asyncProvider.verify(samples(BiometricType.FACE), samples(BiometricType.FACE), Map.of(),
+                DecisionFusion.MAJORITY).get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that the segment quality of samples of several modalities comes back
+     * in sample order.
+     */
+    @Test
+    public void getSegmentQuality_mixedModalities_keepsSampleOrder() throws Exception {
+        irisRelease.countDown();
+        BIR[] sample = { bir(BiometricType.FACE), bir(BiometricType.FINGER), bir(BiometricType.IRIS),
+                bir(BiometricType.FINGER) };
+
+        float[] scores = asyncProvider.getSegmentQuality(sample, Map.of()).get(5, TimeUnit.SECONDS);
+        assertArrayEquals(new float[] { 20F, 10F, 30F, 10F }, scores, 0);
+    }
+
+    /**
+     * Tests that the templates of samples of several modalities come back in
+     * sample order.
+     */
+    @Test
+    public void extractTemplate_mixedModalities_keepsSampleOrder() throws Exception {
+        irisRelease.countDown();
+        List<BIR> sample = List.of(bir(BiometricType.FINGER), bir(BiometricType.IRIS), bir(BiometricType.FINGER));
+
+        assertEquals(sample, asyncProvider.extractTemplate(sample, Map.of()).get(5, TimeUnit.SECONDS));
+    }
+
+    private static void register(Map<BiometricType, Map<BiometricFunction, iBioProviderApi>> registry,
+            BiometricType modality, iBioProviderApi provider) {
+        Map<BiometricFunction, iBioProviderApi> functions = new EnumMap<>(BiometricFunction.class);
+        Arrays.stream(BiometricFunction.values()).forEach(function -> functions.put(function, provider));
+        registry.put(modality, functions);
+    }
+
+    private static Map<BiometricType, List<BIR>> samples(BiometricType... modalities) {
+        Map<BiometricType, List<BIR>> samples = new EnumMap<>(BiometricType.class);
+        for (BiometricType modality : modalities)
+            samples.put(modality, List.of(bir(modality)));
+        return samples;
+    }
+
+    private static BIR bir(BiometricType modality) {
+        return new BIR.BIRBuilder()
+                .withBdbInfo(new BDBInfo.BDBInfoBuilder().withType(Arrays.asList(modality)).build()).build();
+    }
+
+    private static class TestProvider implements iBioProviderApi {
+
+        private static volatile String lastRequestId;
+
+        private final boolean matched;
+
+        private final float quality;
+
+        private final CountDownLatch release;
+
+        TestProvider(boolean matched, float quality, CountDownLatch release) {
+            this.matched = matched;
+            this.quality = quality;
+            this.release = release;
+        }
+
+        @Override
+        public Map<BiometricType, List<BiometricFunction>> init(Map<BiometricType, Map<String, String>> params) {
+            return Map.of();
+        }
+
+        @Override
+        public boolean verify(List<BIR> sample, List<BIR> bioRecord, BiometricType modality,
+                Map<String, String> flags) {
+            lastRequestId = MDC.get("requestId");
+            if (release != null) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return matched;
+        }
+
+        @Override
+        public Map<String, Boolean> identify(List<BIR> sample, Map<String, List<BIR>> gallery,
+                BiometricType modality, Map<String, String> flags) {
+            return Map.of();
+        }
+
+        @Override
+        public float[] getSegmentQuality(BIR[] sample, Map<String, String> flags) {
+            float[] scores = new float[sample.length];
+            Arrays.fill(scores, quality);
+            return scores;
+        }
+
+        @Override
+        public Map<BiometricType, Float> getModalityQuality(BIR[] sample, Map<String, String> flags) {
+            return Map.of();
+        }
+
+        @Override
+        public List<BIR> extractTemplate(List<BIR> sample, Map<String, String> flags) {
+            return sample;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -17,6 +18,7 @@ import org.hamcrest.MatcherAssert;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.micrometer.core.instrument.Metrics;
 import io.mosip.kernel.biometrics.constant.BiometricFunction;
 import io.mosip.kernel.biometrics.constant.BiometricType;
 import io.mosip.kernel.biometrics.constant.ProcessedLevelType;
@@ -30,6 +32,8 @@ import io.mosip.kernel.biometrics.entities.VersionType;
 import io.mosip.kernel.biometrics.model.SDKInfo;
 import io.mosip.kernel.biosdk.provider.impl.BioProviderImpl_V_0_9;
 import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
+import io.mosip.kernel.biosdk.provider.util.EarlyExitVerifier;
+import io.mosip.kernel.biosdk.provider.util.ErrorCode;
 import io.mosip.kernel.biosdk.provider.util.ProviderConstants;
 import io.mosip.kernel.core.bioapi.exception.BiometricException;
 import io.mosip.kernel.core.cbeffutil.common.CbeffISOReader;
@@ -259,6 +263,99 @@ public class BioProviderImpl_V_0_9Test {
 		assertTrue(result.get("check"));
 	}
 
+	@Test
+	public void verifyPartitionedIdentifyTest() throws Exception {
+		iBioProviderApi bioProviderImpl_V_0_9 = new BioProviderImpl_V_0_9();
+		Map<BiometricType, Map<String, String>> input = new HashMap<>();
+		Map<String, String> modalityParams = new HashMap<>();
+		modalityParams.put(ProviderConstants.VERSION, "0.9");
+		modalityParams.put(ProviderConstants.CLASSNAME, "io.mosip.kernel.biosdk.provider.test.dto.SDKInstanceOne0_9");
+		modalityParams.put(ProviderConstants.IDENTIFY_CHUNK_SIZE, "1");
+		modalityParams.put(ProviderConstants.IDENTIFY_PARALLELISM, "2");
+		modalityParams.put(ProviderConstants.SDK_THREAD_SAFE, "true");
+		input.put(BiometricType.FINGER, modalityParams);
+		bioProviderImpl_V_0_9.init(input);
+		Map<String, List<BIR>> gallery = new HashMap<String, List<BIR>>();
+		gallery.put("first", recordList);
+		gallery.put("second", recordList);
+		gallery.put("third", recordList);
+		// the test SDK returns a single decision per call, one per chunk of one entry
+		Map<String, Boolean> result = bioProviderImpl_V_0_9.identify(sample, gallery, BiometricType.FINGER,
+				new HashMap<>());
+		MatcherAssert.assertThat(result.size(), is(3));
+		assertTrue(result.get("first"));
+		assertTrue(result.get("second"));
+		assertTrue(result.get("third"));
+	}
+
+	@Test
+	public void verifyEarlyExitTest() throws Exception {
+		BioProviderImpl_V_0_9 bioProviderImpl_V_0_9 = new BioProviderImpl_V_0_9();
+		Map<BiometricType, Map<String, String>> input = new HashMap<>();
+		Map<String, String> modalityParams = new HashMap<>();
+		modalityParams.put(ProviderConstants.VERSION, "0.9");
+		modalityParams.put(ProviderConstants.CLASSNAME, "io.mosip.kernel.biosdk.provider.test.dto.SDKInstanceOne0_9");
+		modalityParams.put(ProviderConstants.VERIFY_SLICE_SIZE, "2");
+		input.put(BiometricType.FINGER, modalityParams);
+		bioProviderImpl_V_0_9.init(input);
+		assertTrue(bioProviderImpl_V_0_9.verify(sample, recordList, BiometricType.FINGER, new HashMap<>()));
+
+		EarlyExitVerifier verifier = bioProviderImpl_V_0_9.getEarlyExitVerifier(BiometricType.FINGER);
+		MatcherAssert.assertThat(verifier.getVerificationCount(), is(1L));
+		MatcherAssert.assertThat(verifier.getEarlyExitCount(), is(1L));
+		MatcherAssert.assertThat(verifier.getComparisonCount(), is(2L));
+		MatcherAssert.assertThat(verifier.getSavedComparisonCount(), is((long) recordList.size() - 2));
+	}
+
+	@Test
+	public void verifyPooledTest() throws Exception {
+		iBioProviderApi bioProviderImpl_V_0_9 = new BioProviderImpl_V_0_9();
+		Map<BiometricType, Map<String, String>> input = new HashMap<>();
+		Map<String, String> modalityParams = new HashMap<>();
+		modalityParams.put(ProviderConstants.VERSION, "0.9");
+		modalityParams.put(ProviderConstants.CLASSNAME, "io.mosip.kernel.biosdk.provider.test.dto.SDKInstanceOne0_9");
+		modalityParams.put(ProviderConstants.POOL_SIZE, "2");
+		input.put(BiometricType.FINGER, modalityParams);
+		bioProviderImpl_V_0_9.init(input);
+		assertTrue(bioProviderImpl_V_0_9.verify(sample, recordList, BiometricType.FINGER, new HashMap<>()));
+		MatcherAssert.assertThat(bioProviderImpl_V_0_9.extractTemplate(sample, new HashMap<>()).size(),
+				is(sample.size()));
+	}
+
+	@Test
+	public void reloadKeepsMetersTest() throws Exception {
+		iBioProviderApi bioProviderImpl_V_0_9 = new BioProviderImpl_V_0_9();
+		Map<BiometricType, Map<String, String>> input = new HashMap<>();
+		Map<String, String> modalityParams = new HashMap<>();
+		modalityParams.put(ProviderConstants.VERSION, "0.9");
+		modalityParams.put(ProviderConstants.CLASSNAME, "io.mosip.kernel.biosdk.provider.test.dto.SDKInstanceOne0_9");
+		modalityParams.put(ProviderConstants.POOL_SIZE, "2");
+		modalityParams.put(ProviderConstants.TEMPLATE_CACHE_MAX_ENTRIES, "10");
+		input.put(BiometricType.FINGER, modalityParams);
+		bioProviderImpl_V_0_9.init(input);
+		bioProviderImpl_V_0_9.init(input);
+		assertFalse(Metrics.globalRegistry.find("sdk.pool.size").tag("modality", "FINGER").meters().isEmpty());
+		assertFalse(
+				Metrics.globalRegistry.find("sdk.template.cache.size").tag("modality", "FINGER").meters().isEmpty());
+	}
+
+	@Test
+	public void closeRemovesMetersTest() throws Exception {
+		BioProviderImpl_V_0_9 bioProviderImpl_V_0_9 = new BioProviderImpl_V_0_9();
+		Map<BiometricType, Map<String, String>> input = new HashMap<>();
+		Map<String, String> modalityParams = new HashMap<>();
+		modalityParams.put(ProviderConstants.VERSION, "0.9");
+		modalityParams.put(ProviderConstants.CLASSNAME, "io.mosip.kernel.biosdk.provider.test.dto.SDKInstanceOne0_9");
+		modalityParams.put(ProviderConstants.POOL_SIZE, "2");
+		modalityParams.put(ProviderConstants.TEMPLATE_CACHE_MAX_ENTRIES, "10");
+		input.put(BiometricType.FINGER, modalityParams);
+		bioProviderImpl_V_0_9.init(input);
+		bioProviderImpl_V_0_9.close();
+		assertTrue(Metrics.globalRegistry.find("sdk.pool.size").tag("modality", "FINGER").meters().isEmpty());
+		assertTrue(
+				Metrics.globalRegistry.find("sdk.template.cache.size").tag("modality", "FINGER").meters().isEmpty());
+	}
+
 	@Test
 	public void verifyFalseTest() throws Exception {
 		iBioProviderApi bioProviderImpl_V_0_9 = new BioProviderImpl_V_0_9();
@@ -304,6 +401,24 @@ public class BioProviderImpl_V_0_9Test {
 		MatcherAssert.assertThat(result[0], is(90.0F));
 	}
 
+	@Test
+	public void getSegmentQualityBatchedTest() throws Exception {
+		iBioProviderApi bioProviderImpl_V_0_9 = new BioProviderImpl_V_0_9();
+		Map<BiometricType, Map<String, String>> input = new HashMap<>();
+		Map<String, String> modalityParams = new HashMap<>();
+		modalityParams.put(ProviderConstants.VERSION, "0.9");
+		modalityParams.put(ProviderConstants.CLASSNAME, "io.mosip.kernel.biosdk.provider.test.dto.SDKInstanceOne0_9");
+		modalityParams.put(ProviderConstants.QUALITY_BATCH, "true");
+		input.put(BiometricType.FINGER, modalityParams);
+		bioProviderImpl_V_0_9.init(input);
+		BIR[] smp = new BIR[sample.size()];
+		smp = sample.toArray(smp);
+		// the test SDK reports 80 plus the segment index for each segment of a batch
+		float[] result = bioProviderImpl_V_0_9.getSegmentQuality(smp, modalityParams);
+		MatcherAssert.assertThat(result[0], is(80.0F));
+		MatcherAssert.assertThat(result[smp.length - 1], is(80.0F + smp.length - 1));
+	}
+
 	@Test
 	public void getModalityQualityTest() throws Exception {
 		iBioProviderApi bioProviderImpl_V_0_9 = new BioProviderImpl_V_0_9();
@@ -384,4 +499,44 @@ public class BioProviderImpl_V_0_9Test {
 		List<BIR> result = bioProviderImpl_V_0_9.extractTemplate(sample, modalityParams);
 		MatcherAssert.assertThat(result.size(), is(0));
 	}
-}
\ No newline at end of file
+	@Test
+	public void reloadTest() throws Exception {
+		iBioProviderApi bioProviderImpl_V_0_9 = new BioProviderImpl_V_0_9();
+		Map<BiometricType, Map<String, String>> input = new HashMap<>();
+		Map<String, String> modalityParams = new HashMap<>();
+		modalityParams.put(ProviderConstants.VERSION, "0.9");
+		modalityParams.put(ProviderConstants.CLASSNAME, "io.mosip.kernel.biosdk.provider.test.dto.SDKInstanceTwo0_9");
+		input.put(BiometricType.FINGER, modalityParams);
+		bioProviderImpl_V_0_9.init(input);
+		MatcherAssert.assertThat(bioProviderImpl_V_0_9.extractTemplate(sample, modalityParams).size(), is(0));
+
+		Map<String, String> reloadParams = new HashMap<>(modalityParams);
+		reloadParams.put(ProviderConstants.CLASSNAME, "io.mosip.kernel.biosdk.provider.test.dto.SDKInstanceOne0_9");
+		List<BiometricFunction> functions = bioProviderImpl_V_0_9.reload(BiometricType.FINGER, reloadParams, sample);
+		assertTrue(functions.contains(BiometricFunction.EXTRACT));
+		MatcherAssert.assertThat(bioProviderImpl_V_0_9.extractTemplate(sample, reloadParams).size(), is(sample.size()));
+	}
+
+	@Test
+	public void reloadWarmUpFailureKeepsSDKTest() throws Exception {
+		iBioProviderApi bioProviderImpl_V_0_9 = new BioProviderImpl_V_0_9();
+		Map<BiometricType, Map<String, String>> input = new HashMap<>();
+		Map<String, String> modalityParams = new HashMap<>();
+		modalityParams.put(ProviderConstants.VERSION, "0.9");
+		modalityParams.put(ProviderConstants.CLASSNAME, "io.mosip.kernel.biosdk.provider.test.dto.SDKInstanceOne0_9");
+		input.put(BiometricType.FINGER, modalityParams);
+		bioProviderImpl_V_0_9.init(input);
+
+		Map<String, String> reloadParams = new HashMap<>(modalityParams);
+		reloadParams.put(ProviderConstants.CLASSNAME, "io.mosip.kernel.biosdk.provider.test.dto.SDKInstanceTwo0_9");
+		try {
+			bioProviderImpl_V_0_9.reload(BiometricType.FINGER, reloadParams, sample);
+			fail("Warm up of the SDK should fail");
+		} catch (BiometricException e) {
+			MatcherAssert.assertThat(e.getErrorCode(), is(ErrorCode.SDK_WARM_UP_FAILED.getErrorCode()));
+		}
+		MatcherAssert.assertThat(bioProviderImpl_V_0_9.extractTemplate(sample, modalityParams).size(), is(sample.size()));
+		assertTrue(bioProviderImpl_V_0_9.reload(BiometricType.FINGER, Map.of(ProviderConstants.VERSION, "0.8"), sample)
+				.isEmpty());
+	}
+}
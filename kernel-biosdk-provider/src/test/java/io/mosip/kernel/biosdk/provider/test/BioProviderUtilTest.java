@@ -2,12 +2,18 @@ package io.mosip.kernel.biosdk.provider.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
@@ -50,6 +56,29 @@ public class BioProviderUtilTest {
         }
     }
 
+    /**
+     * Tests that concurrent getSDKInstance calls with the same parameters share a
+     * single instance.
+     */
+    @Test
+    public void getSDKInstance_concurrentCalls_createsSingleInstance() throws Exception {
+        Map<String, String> params = new HashMap<>();
+        params.put(ProviderConstants.CLASSNAME, "java.lang.StringBuilder");
+        params.put(ProviderConstants.VERSION, "concurrent-test");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> instances = new ArrayList<>();
+            for (int i = 0; i < 32; i++)
+                instances.add(executor.submit(() -> BioProviderUtil.getSDKInstance(new HashMap<>(params))));
+            Object first = instances.get(0).get();
+            for (Future<Object> instance : instances)
+                assertSame(first, instance.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Tests findRequiredMethod when method does not exist.
      */
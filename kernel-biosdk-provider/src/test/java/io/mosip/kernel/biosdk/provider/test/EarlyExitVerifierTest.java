@@ -0,0 +1,78 @@
+package io.mosip.kernel.biosdk.provider.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.constant.QualityType;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biosdk.provider.util.EarlyExitVerifier;
+import io.mosip.kernel.biosdk.provider.util.ProviderConstants;
+
+public class EarlyExitVerifierTest {
+
+    /**
+     * Tests that stored records sharing a subtype with the sample come first,
+     * then the ones with the highest quality.
+     */
+    @Test
+    public void order_sameSubtypeThenQuality() {
+        BIR leftThumb = bir("Left Thumb", 90L);
+        BIR rightIndexLow = bir("Right IndexFinger", 40L);
+        BIR rightIndexHigh = bir("Right IndexFinger", 80L);
+        BIR noQuality = bir("Right IndexFinger", null);
+
+        List<BIR> ordered = EarlyExitVerifier.order(Arrays.asList(bir("Right IndexFinger", 70L)),
+                Arrays.asList(leftThumb, rightIndexLow, noQuality, rightIndexHigh));
+
+        assertEquals(Arrays.asList(rightIndexHigh, rightIndexLow, noQuality, leftThumb), ordered);
+    }
+
+    /**
+     * Tests that every slice is matched when none matches and that nothing is
+     * counted as saved.
+     */
+    @Test
+    public void verify_noMatch_allSlicesCompared() {
+        EarlyExitVerifier verifier = new EarlyExitVerifier(2);
+        List<BIR> stored = Arrays.asList(bir("Left Thumb", 1L), bir("Left Thumb", 2L), bir("Left Thumb", 3L));
+
+        assertFalse(verifier.verify(Arrays.asList(bir("Left Thumb", 1L)), stored, slice -> false));
+        assertEquals(3, verifier.getComparisonCount());
+        assertEquals(0, verifier.getSavedComparisonCount());
+        assertEquals(0, verifier.getEarlyExitCount());
+    }
+
+    /**
+     * Tests that the verifier is only created when a positive slice size is
+     * configured.
+     */
+    @Test
+    public void of_configuration_appliesParams() {
+        Map<String, String> params = new HashMap<>();
+        assertNull(EarlyExitVerifier.of(BiometricType.FINGER, params));
+        params.put(ProviderConstants.VERIFY_SLICE_SIZE, "abc");
+        assertNull(EarlyExitVerifier.of(BiometricType.FINGER, params));
+        params.put(ProviderConstants.VERIFY_SLICE_SIZE, "0");
+        assertNull(EarlyExitVerifier.of(BiometricType.FINGER, params));
+        params.put(ProviderConstants.VERIFY_SLICE_SIZE, "1");
+        assertSame(EarlyExitVerifier.class, EarlyExitVerifier.of(BiometricType.FINGER, params).getClass());
+    }
+
+    private BIR bir(String subtype, Long score) {
+        QualityType quality = new QualityType();
+        quality.setScore(score);
+        return new BIR.BIRBuilder().withBdbInfo(new BDBInfo.BDBInfoBuilder().withQuality(quality)
+                .withType(Arrays.asList(BiometricType.FINGER)).withSubtype(Arrays.asList(subtype)).build()).build();
+    }
+}
@@ -0,0 +1,204 @@
+package io.mosip.kernel.biosdk.provider.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.biometrics.constant.BiometricFunction;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biosdk.provider.factory.BioAPIFactory;
+import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
+import io.mosip.kernel.biosdk.provider.util.GalleryStore;
+
+public class GalleryStoreTest {
+
+    private static final byte TEMPLATE = 42;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestProvider provider;
+
+    private GalleryStore store;
+
+    @Before
+    public void setUp() {
+        provider = new TestProvider();
+        Map<BiometricFunction, iBioProviderApi> functions = new EnumMap<>(BiometricFunction.class);
+        Arrays.stream(BiometricFunction.values()).forEach(function -> functions.put(function, provider));
+        Map<BiometricType, Map<BiometricFunction, iBioProviderApi>> registry = new EnumMap<>(BiometricType.class);
+        registry.put(BiometricType.FINGER, functions);
+        registry.put(BiometricType.FACE, functions);
+
+        BioAPIFactory factory = new BioAPIFactory();
+        ReflectionTestUtils.setField(factory, "providerRegistry", registry);
+        store = new GalleryStore(factory);
+    }
+
+    /**
+     * Tests that identify matches against the templates extracted when the
+     * entries were added, without extracting again.
+     */
+    @Test
+    public void identify_addedEntries_matchesPreExtractedTemplates() throws Exception {
+        store.add("g1", "k1", List.of(bir(BiometricType.FINGER, 1), bir(BiometricType.FACE, 2)), Map.of());
+        store.addAll("g1", Map.of("k2", List.of(bir(BiometricType.FINGER, 3)), "k3",
+                List.of(bir(BiometricType.FINGER, 4))), Map.of());
+        int extractions = provider.extractions.get();
+
+        Map<String, Boolean> result = store.identify(List.of(bir(BiometricType.FINGER, 1)), "g1",
+                BiometricType.FINGER, Map.of());
+
+        assertEquals(Map.of("k1", true, "k2", false, "k3", false), result);
+        assertEquals(extractions, provider.extractions.get());
+        assertEquals(1, store.size("g1", BiometricType.FACE));
+        assertTrue(store.identify(List.of(bir(BiometricType.FINGER, 1)), "g2", BiometricType.FINGER, Map.of())
+                .isEmpty());
+    }
+
+    /**
+     * Tests that the provider is given a snapshot of the gallery, unaffected by
+     * entries added or removed afterwards.
+     */
+    @Test
+    public void identify_concurrentChanges_providerSeesSnapshot() throws Exception {
+        store.add("g1", "k1", List.of(bir(BiometricType.FINGER, 1)), Map.of());
+        store.identify(List.of(bir(BiometricType.FINGER, 1)), "g1", BiometricType.FINGER, Map.of());
+        Map<String, List<BIR>> gallery = provider.lastGallery;
+
+        store.add("g1", "k2", List.of(bir(BiometricType.FINGER, 2)), Map.of());
+        store.remove("g1", "k1");
+
+        assertEquals(Set.of("k1"), gallery.keySet());
+    }
+
+    /**
+     * Tests that a removed entry is no longer part of the gallery, in any
+     * modality.
+     */
+    @Test
+    public void remove_entry_removedFromAllModalities() throws Exception {
+        store.add("g1", "k1", List.of(bir(BiometricType.FINGER, 1), bir(BiometricType.FACE, 2)), Map.of());
+        store.add("g1", "k2", List.of(bir(BiometricType.FINGER, 3)), Map.of());
+
+        assertTrue(store.remove("g1", "k1"));
+        assertFalse(store.remove("g1", "k1"));
+        assertEquals(1, store.size("g1", BiometricType.FINGER));
+        assertEquals(0, store.size("g1", BiometricType.FACE));
+    }
+
+    /**
+     * Tests that a snapshot restores the galleries it was taken from.
+     */
+    @Test
+    public void restore_snapshot_restoresGalleries() throws Exception {
+        store.add("g1", "k1", List.of(bir(BiometricType.FINGER, 1)), Map.of());
+        store.add("g2", "k2", List.of(bir(BiometricType.FACE, 2)), Map.of());
+        Path file = folder.getRoot().toPath().resolve("gallery.snapshot");
+        store.snapshot(file);
+
+        store.removeGallery("g1");
+        store.add("g3", "k3", List.of(bir(BiometricType.FINGER, 3)), Map.of());
+        store.restore(file);
+
+        assertEquals(Map.of("k1", true), store.identify(List.of(bir(BiometricType.FINGER, 1)), "g1",
+                BiometricType.FINGER, Map.of()));
+        assertEquals(1, store.size("g2", BiometricType.FACE));
+        assertEquals(0, store.size("g3", BiometricType.FINGER));
+        assertArrayEquals(new byte[] { TEMPLATE, 1 }, provider.lastGallery.get("k1").get(0).getBdb());
+    }
+
+    /**
+     * Tests that a file that is not a gallery snapshot is rejected and leaves the
+     * store unchanged.
+     */
+    @Test(expected = StreamCorruptedException.class)
+    public void restore_invalidFile_rejected() throws Exception {
+        store.add("g1", "k1", List.of(bir(BiometricType.FINGER, 1)), Map.of());
+        Path file = folder.newFile("invalid.snapshot").toPath();
+        Files.write(file, new byte[] { 1, 2, 3, 4 });
+        try {
+            store.restore(file);
+        } catch (IOException e) {
+            assertEquals(1, store.size("g1", BiometricType.FINGER));
+            throw e;
+        }
+    }
+
+    private static BIR bir(BiometricType modality, int id) {
+        return new BIR.BIRBuilder().withBdb(new byte[] { (byte) id })
+                .withBdbInfo(new BDBInfo.BDBInfoBuilder().withType(Arrays.asList(modality)).build()).build();
+    }
+
+    private static class TestProvider implements iBioProviderApi {
+
+        private final AtomicInteger extractions = new AtomicInteger();
+
+        private volatile Map<String, List<BIR>> lastGallery;
+
+        @Override
+        public Map<BiometricType, List<BiometricFunction>> init(Map<BiometricType, Map<String, String>> params) {
+            return Map.of();
+        }
+
+        @Override
+        public boolean verify(List<BIR> sample, List<BIR> bioRecord, BiometricType modality,
+                Map<String, String> flags) {
+            return false;
+        }
+
+        /**
+         * Matches the entries holding the template of the first sample.
+         */
+        @Override
+        public Map<String, Boolean> identify(List<BIR> sample, Map<String, List<BIR>> gallery,
+                BiometricType modality, Map<String, String> flags) {
+            lastGallery = gallery;
+            byte[] template = { TEMPLATE, sample.get(0).getBdb()[0] };
+            Map<String, Boolean> result = new HashMap<>();
+            gallery.forEach((key, templates) -> result.put(key,
+                    templates.stream().anyMatch(t -> Arrays.equals(template, t.getBdb()))));
+            return result;
+        }
+
+        @Override
+        public float[] getSegmentQuality(BIR[] sample, Map<String, String> flags) {
+            return new float[sample.length];
+        }
+
+        @Override
+        public Map<BiometricType, Float> getModalityQuality(BIR[] sample, Map<String, String> flags) {
+            return Map.of();
+        }
+
+        @Override
+        public List<BIR> extractTemplate(List<BIR> sample, Map<String, String> flags) {
+            extractions.addAndGet(sample.size());
+            return sample.stream()
+                    .map(bir -> new BIR.BIRBuilder().withBdb(new byte[] { TEMPLATE, bir.getBdb()[0] })
+                            .withBdbInfo(bir.getBdbInfo()).build())
+                    .toList();
+        }
+    }
+}
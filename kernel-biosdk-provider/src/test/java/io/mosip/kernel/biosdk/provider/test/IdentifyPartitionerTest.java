@@ -0,0 +1,114 @@
+package io.mosip.kernel.biosdk.provider.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biosdk.provider.util.IdentifyPartitioner;
+import io.mosip.kernel.biosdk.provider.util.ProviderConstants;
+
+public class IdentifyPartitionerTest {
+
+    /**
+     * Tests that partitioning is only enabled when a chunk size is configured and
+     * that an SDK not declared thread-safe is matched one chunk at a time.
+     */
+    @Test
+    public void of_configuration_appliesParams() {
+        Map<String, String> params = new HashMap<>();
+        assertNull(IdentifyPartitioner.of(BiometricType.FINGER, params));
+
+        params.put(ProviderConstants.IDENTIFY_CHUNK_SIZE, "10");
+        params.put(ProviderConstants.IDENTIFY_PARALLELISM, "4");
+        try (IdentifyPartitioner partitioner = IdentifyPartitioner.of(BiometricType.FINGER, params)) {
+            assertNotNull(partitioner);
+            assertEquals(1, partitioner.getParallelism());
+            assertFalse(partitioner.isPartitioned(10));
+            assertTrue(partitioner.isPartitioned(11));
+        }
+
+        params.put(ProviderConstants.SDK_THREAD_SAFE, "true");
+        try (IdentifyPartitioner partitioner = IdentifyPartitioner.of(BiometricType.FINGER, params)) {
+            assertEquals(4, partitioner.getParallelism());
+        }
+    }
+
+    /**
+     * Tests that every gallery entry is matched exactly once and that no more
+     * chunks than the parallelism run at the same time.
+     */
+    @Test
+    public void identify_chunks_mergedByKey() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        try (IdentifyPartitioner partitioner = new IdentifyPartitioner(BiometricType.FINGER, 3, 2, 0, false)) {
+            Map<String, Boolean> result = partitioner.identify(gallery(10), chunk -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                Map<String, Boolean> decisions = new HashMap<>();
+                chunk.keySet().forEach(key -> decisions.put(key, key.endsWith("7")));
+                return decisions;
+            });
+
+            assertEquals(10, result.size());
+            assertTrue(result.get("key7"));
+            assertFalse(result.get("key3"));
+            assertTrue(maxRunning.get() <= 2);
+        }
+    }
+
+    /**
+     * Tests that the entries of a chunk that times out or fails are left out of
+     * the result without affecting the other chunks.
+     */
+    @Test
+    public void identify_slowOrFailingChunk_omitted() {
+        try (IdentifyPartitioner partitioner = new IdentifyPartitioner(BiometricType.FINGER, 2, 3, 200, true)) {
+            Map<String, Boolean> result = partitioner.identify(gallery(6), chunk -> {
+                if (chunk.containsKey("key0")) {
+                    try {
+                        Thread.sleep(2000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                if (chunk.containsKey("key2")) {
+                    throw new IllegalStateException("SDK failure");
+                }
+                Map<String, Boolean> decisions = new HashMap<>();
+                chunk.keySet().forEach(key -> decisions.put(key, true));
+                return decisions;
+            });
+
+            assertEquals(2, result.size());
+            assertTrue(result.get("key4"));
+            assertTrue(result.get("key5"));
+        }
+    }
+
+    private Map<String, List<BIR>> gallery(int size) {
+        Map<String, List<BIR>> gallery = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            gallery.put("key" + i, new ArrayList<>());
+        }
+        return gallery;
+    }
+}
@@ -0,0 +1,47 @@
+package io.mosip.kernel.biosdk.provider.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biosdk.provider.test.dto.SDKInstanceOne0_7;
+import io.mosip.kernel.biosdk.provider.util.LegacySDKAdapter;
+import io.mosip.kernel.core.bioapi.model.QualityScore;
+import io.mosip.kernel.core.bioapi.model.Score;
+
+public class LegacySDKAdapterTest {
+
+    /**
+     * Tests that the adapters of an SDK class are bound once and reused.
+     */
+    @Test
+    public void of_sameClass_returnsCachedAdapter() {
+        assertSame(LegacySDKAdapter.of(SDKInstanceOne0_7.class), LegacySDKAdapter.of(SDKInstanceOne0_7.class));
+    }
+
+    /**
+     * Tests that the bound methods call through to the SDK instance.
+     */
+    @Test
+    public void calls_boundMethods_returnSDKResponses() {
+        LegacySDKAdapter adapter = LegacySDKAdapter.of(SDKInstanceOne0_7.class);
+        SDKInstanceOne0_7 sdk = new SDKInstanceOne0_7();
+        BIR sample = new BIR();
+
+        Score[] scores = (Score[]) adapter.match().match(sdk, sample, new BIR[] { sample }, null);
+        assertEquals(60.0F, scores[0].getScaleScore(), 0);
+        assertEquals(90L, ((QualityScore) adapter.checkQuality().apply(sdk, sample, null)).getInternalScore());
+        assertSame(sample, adapter.extractTemplate().apply(sdk, sample, null));
+    }
+
+    /**
+     * Tests that asking for a method the SDK class does not have fails like the
+     * reflective lookup.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void compositeMatch_missingMethod_throwsException() {
+        LegacySDKAdapter.of(SDKInstanceOne0_7.class).compositeMatch();
+    }
+}
@@ -0,0 +1,129 @@
+package io.mosip.kernel.biosdk.provider.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biosdk.provider.exception.SDKPoolException;
+import io.mosip.kernel.biosdk.provider.util.ErrorCode;
+import io.mosip.kernel.biosdk.provider.util.ProviderConstants;
+import io.mosip.kernel.biosdk.provider.util.SDKInstancePool;
+
+public class SDKInstancePoolTest {
+
+    /**
+     * Tests that the pool is only created for more than one instance and is
+     * filled up with new instances.
+     */
+    @Test
+    public void of_configuration_fillsPool() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        Map<String, String> params = new HashMap<>();
+        assertNull(SDKInstancePool.of(BiometricType.FINGER, params, new Object(), Object::new));
+
+        params.put(ProviderConstants.POOL_SIZE, "3");
+        SDKInstancePool<Object> pool = SDKInstancePool.of(BiometricType.FINGER, params, new Object(), () -> {
+            created.incrementAndGet();
+            return new Object();
+        });
+        assertEquals(3, pool.getCapacity());
+        assertEquals(3, pool.getSize());
+        assertEquals(2, created.get());
+    }
+
+    /**
+     * Tests that a caller gives up once no instance frees up within the maximum
+     * wait.
+     */
+    @Test
+    public void execute_allLeased_timesOut() throws Exception {
+        SDKInstancePool<Object> pool = new SDKInstancePool<>(BiometricType.FINGER, 1, 50, 3, List.of(new Object()),
+                Object::new);
+        CountDownLatch leased = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread holder = new Thread(() -> pool.execute(sdk -> {
+            leased.countDown();
+            try {
+                done.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sdk;
+        }));
+        holder.start();
+        assertTrue(leased.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1.0, pool.getUtilization(), 0);
+        try {
+            pool.execute(sdk -> sdk);
+            fail("Expected SDKPoolException");
+        } catch (SDKPoolException e) {
+            assertEquals(ErrorCode.SDK_POOL_EXHAUSTED.getErrorCode(), e.getErrorCode());
+        }
+        done.countDown();
+        holder.join();
+
+        assertEquals(1, pool.getTimeoutCount());
+        assertEquals(1, pool.getLeaseCount());
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    /**
+     * Tests that an instance failing repeatedly is replaced by a new one.
+     */
+    @Test
+    public void execute_repeatedFailures_evictsInstance() throws Exception {
+        Object first = new Object();
+        SDKInstancePool<Object> pool = new SDKInstancePool<>(BiometricType.FINGER, 1, 1000, 2, List.of(first),
+                Object::new);
+
+        assertSame(first, pool.execute(sdk -> sdk, sdk -> false));
+        try {
+            pool.execute(sdk -> {
+                throw new IllegalStateException("SDK failure");
+            });
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertEquals(2, pool.getFailureCount());
+        assertEquals(1, pool.getEvictionCount());
+        assertEquals(1, pool.getSize());
+        assertNotSame(first, pool.execute(sdk -> sdk));
+    }
+
+    /**
+     * Tests that the pool meters are registered and removed again on close.
+     */
+    @Test
+    public void bindTo_registry_exposesMeters() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<Object> instances = new ArrayList<>();
+        instances.add(new Object());
+        SDKInstancePool<Object> pool = new SDKInstancePool<>(BiometricType.IRIS, 2, 1000, 3, instances, Object::new);
+        pool.bindTo(registry);
+        pool.execute(sdk -> sdk);
+
+        assertEquals(2.0, registry.get("sdk.pool.size").tag("modality", "IRIS").gauge().value(), 0);
+        assertEquals(1.0, registry.get("sdk.pool.leases").functionCounter().count(), 0);
+
+        pool.close();
+        assertTrue(registry.find("sdk.pool.size").meters().isEmpty());
+    }
+}
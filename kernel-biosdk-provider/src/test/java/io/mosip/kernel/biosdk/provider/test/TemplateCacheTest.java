@@ -0,0 +1,141 @@
+package io.mosip.kernel.biosdk.provider.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biosdk.provider.util.ProviderConstants;
+import io.mosip.kernel.biosdk.provider.util.TemplateCache;
+
+public class TemplateCacheTest {
+
+    /**
+     * Tests that the cache is only created when a maximum number of entries is
+     * configured.
+     */
+    @Test
+    public void of_configuration_createsCache() {
+        Map<String, String> params = new HashMap<>();
+        assertNull(TemplateCache.of(BiometricType.FINGER, params));
+
+        params.put(ProviderConstants.TEMPLATE_CACHE_MAX_ENTRIES, "10");
+        params.put(ProviderConstants.TEMPLATE_CACHE_OFF_HEAP, "true");
+        assertTrue(TemplateCache.of(BiometricType.FINGER, params).isOffHeap());
+    }
+
+    /**
+     * Tests that the key depends on the BDB and the flags and that samples
+     * without a BDB are not cached.
+     */
+    @Test
+    public void keyOf_bdbAndFlags_distinctKeys() {
+        TemplateCache cache = new TemplateCache(BiometricType.FINGER, "sdk", 10, 1024, false);
+        Map<String, String> flags = Map.of("mode", "fast");
+
+        assertEquals(cache.keyOf(bir(new byte[] { 1, 2 }), flags), cache.keyOf(bir(new byte[] { 1, 2 }), flags));
+        assertNotEquals(cache.keyOf(bir(new byte[] { 1, 2 }), flags), cache.keyOf(bir(new byte[] { 1, 3 }), flags));
+        assertNotEquals(cache.keyOf(bir(new byte[] { 1, 2 }), flags), cache.keyOf(bir(new byte[] { 1, 2 }), null));
+        assertNull(cache.keyOf(bir(null), flags));
+    }
+
+    /**
+     * Tests that lookups return copies of the cached template, on and off heap.
+     */
+    @Test
+    public void get_cachedTemplate_returnsCopy() {
+        for (boolean offHeap : new boolean[] { false, true }) {
+            TemplateCache cache = new TemplateCache(BiometricType.FINGER, "sdk", 10, 1024, offHeap);
+            BIR template = bir(new byte[] { 7, 8, 9 });
+            String key = cache.keyOf(bir(new byte[] { 1 }), null);
+            assertNull(cache.get(key));
+            cache.put(key, template);
+
+            BIR cached = cache.get(key);
+            assertArrayEquals(template.getBdb(), cached.getBdb());
+            assertNotSame(template.getBdbInfo(), cached.getBdbInfo());
+            assertEquals(template.getBdbInfo(), cached.getBdbInfo());
+            cached.getBdb()[0] = 0;
+            cached.getBdbInfo().getType().clear();
+            assertArrayEquals(template.getBdb(), cache.get(key).getBdb());
+            assertEquals(template.getBdbInfo(), cache.get(key).getBdbInfo());
+
+            assertEquals(3, cache.getHitCount());
+            assertEquals(1, cache.getMissCount());
+            assertEquals(3.0 / 4, cache.getHitRatio(), 1e-9);
+        }
+    }
+
+    /**
+     * Tests that changes made to a template after it was put do not reach the
+     * cache.
+     */
+    @Test
+    public void put_templateModifiedAfterPut_cacheUnchanged() {
+        TemplateCache cache = new TemplateCache(BiometricType.FINGER, "sdk", 10, 1024, false);
+        BIR template = bir(new byte[] { 7, 8, 9 });
+        cache.put("a", template);
+
+        template.getBdbInfo().setType(Arrays.asList(BiometricType.IRIS));
+        template.getBdb()[0] = 0;
+
+        BIR cached = cache.get("a");
+        assertEquals(Arrays.asList(BiometricType.FINGER), cached.getBdbInfo().getType());
+        assertArrayEquals(new byte[] { 7, 8, 9 }, cached.getBdb());
+    }
+
+    /**
+     * Tests that the least recently used templates are evicted once the byte
+     * limit is exceeded.
+     */
+    @Test
+    public void put_byteLimitExceeded_evictsLeastRecentlyUsed() {
+        TemplateCache cache = new TemplateCache(BiometricType.FINGER, "sdk", 10, 8, false);
+        cache.put("a", bir(new byte[4]));
+        cache.put("b", bir(new byte[4]));
+        cache.get("a");
+        cache.put("c", bir(new byte[4]));
+
+        assertEquals(2, cache.size());
+        assertEquals(8, cache.getBytes());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get("b"));
+    }
+
+    /**
+     * Tests that the cache meters are registered and removed again on close.
+     */
+    @Test
+    public void bindTo_registry_exposesMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TemplateCache cache = new TemplateCache(BiometricType.IRIS, "sdk", 10, 1024, false);
+        cache.bindTo(registry);
+        cache.put("a", bir(new byte[4]));
+        cache.get("a");
+
+        assertEquals(1.0, registry.get("sdk.template.cache.hit.ratio").tag("modality", "IRIS").gauge().value(), 0);
+        assertEquals(1.0, registry.get("sdk.template.cache.hits").functionCounter().count(), 0);
+
+        cache.close();
+        assertTrue(registry.find("sdk.template.cache.size").meters().isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    private static BIR bir(byte[] bdb) {
+        return new BIR.BIRBuilder().withBdb(bdb)
+                .withBdbInfo(new BDBInfo.BDBInfoBuilder().withType(Arrays.asList(BiometricType.FINGER)).build())
+                .build();
+    }
+}
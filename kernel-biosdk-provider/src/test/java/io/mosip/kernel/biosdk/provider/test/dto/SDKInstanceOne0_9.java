@@ -11,6 +11,7 @@ import io.mosip.kernel.biometrics.model.QualityScore;
 import io.mosip.kernel.biometrics.model.Response;
 import io.mosip.kernel.biometrics.model.SDKInfo;
 import io.mosip.kernel.biometrics.spi.IBioApiV2;
+import io.mosip.kernel.biosdk.provider.util.ProviderConstants;
 
 import java.util.HashMap;
 import java.util.List;
@@ -38,6 +39,9 @@ public class SDKInstanceOne0_9 implements IBioApiV2 {
     	 Map<BiometricType, QualityScore> scores = new HashMap<>();
     	 QualityScore qualityScore= new QualityScore();
     	 qualityScore.setScore(90.0F);
+    	 // per-segment scores of a batched quality check
+    	 for (int i = 0; i < sample.getSegments().size(); i++)
+    	 	qualityScore.getAnalyticsInfo().put(ProviderConstants.QUALITY_SEGMENT_SCORE_PREFIX + i, String.valueOf(80 + i));
     	 scores.put(BiometricType.FINGER,qualityScore);
     	 qualityCheck.setScores(scores);
     	 response.setStatusCode(210);
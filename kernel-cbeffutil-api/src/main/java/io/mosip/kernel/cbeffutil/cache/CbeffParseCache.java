@@ -0,0 +1,359 @@
+package io.mosip.kernel.cbeffutil.cache;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.mosip.kernel.biometrics.commons.BIRCopier;
+import io.mosip.kernel.biometrics.commons.BIRIndex;
+import io.mosip.kernel.biometrics.commons.CbeffStreamReader;
+import io.mosip.kernel.biometrics.commons.CbeffValidator;
+import io.mosip.kernel.biometrics.entities.BIR;
+
+/**
+ * Bounded cache of parsed CBEFF documents, keyed by the SHA-256 digest of the
+ * document bytes.
+ *
+ * <p>
+ * The same stored CBEFF document is typically parsed again for every verify,
+ * identify and quality call. Digesting the bytes is much cheaper than
+ * unmarshalling them, so repeated calls with the same document are served with
+ * the already parsed {@link BIR} tree together with a {@link BIRIndex} over its
+ * records.
+ * </p>
+ *
+ * <p>
+ * Entries are evicted in least recently used order once the cache holds more
+ * than the configured number of documents, or once the total weight, i.e. the
+ * BDB and SB payload bytes of the cached documents, exceeds the configured
+ * limit. Entries older than the configured time to live are dropped on access.
+ * Hit, miss and eviction counters are exposed for monitoring, through getters
+ * and, once bound to a {@link MeterRegistry}, as meters.
+ * </p>
+ *
+ * <p>
+ * In metadata only mode, documents are read with
+ * {@link CbeffStreamReader#readMetadata(byte[])}: the cached records carry their
+ * headers but no BDB or SB payload, which keeps the cache small for callers
+ * that only look at types, subtypes, quality or dates.
+ * </p>
+ *
+ * <p>
+ * The cached trees are never handed out: {@link #getBIR(byte[])} returns a
+ * deep copy which the caller is free to modify. The {@link BIRIndex} is shared
+ * and must be treated as read-only, as must the records it returns.
+ * </p>
+ *
+ * @since 1.3.0
+ */
+public class CbeffParseCache implements MeterBinder, AutoCloseable {
+
+	private final int maxEntries;
+
+	private final long maxWeight;
+
+	private final long ttlNanos;
+
+	private final boolean metadataOnly;
+
+	private final LinkedHashMap<String, CachedBIR> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long weight;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final List<Meter> meters = new ArrayList<>();
+
+	private MeterRegistry registry;
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param maxEntries   Maximum number of cached documents.
+	 * @param maxWeight    Maximum total payload bytes of the cached documents.
+	 * @param ttl          Time to live of an entry, {@code null} or zero for no
+	 *                     expiry.
+	 * @param metadataOnly {@code true} to cache the records without their BDB and
+	 *                     SB payloads.
+	 */
+	public CbeffParseCache(int maxEntries, long maxWeight, Duration ttl, boolean metadataOnly) {
+		if (maxEntries <= 0 || maxWeight <= 0) {
+			throw new IllegalArgumentException("Cache size and weight limits must be positive");
+		}
+		this.maxEntries = maxEntries;
+		this.maxWeight = maxWeight;
+		this.ttlNanos = (ttl == null || ttl.isZero() || ttl.isNegative()) ? 0 : ttl.toNanos();
+		this.metadataOnly = metadataOnly;
+	}
+
+	/**
+	 * Returns the parsed BIR tree of the document, parsing it on a cache miss.
+	 *
+	 * @param xmlBytes The CBEFF XML document.
+	 * @return A deep copy of the cached BIR tree, owned by the caller.
+	 * @throws Exception If the document cannot be parsed.
+	 */
+	@SuppressWarnings({ "java:S112" })
+	public BIR getBIR(byte[] xmlBytes) throws Exception {
+		return BIRCopier.copy(get(xmlBytes).bir);
+	}
+
+	/**
+	 * Returns the index over the records of the document, parsing it on a cache
+	 * miss.
+	 *
+	 * @param xmlBytes The CBEFF XML document.
+	 * @return The shared, read-only index over the cached records.
+	 * @throws Exception If the document cannot be parsed.
+	 */
+	@SuppressWarnings({ "java:S112" })
+	public BIRIndex getIndex(byte[] xmlBytes) throws Exception {
+		return get(xmlBytes).index;
+	}
+
+	/**
+	 * Returns whether the cached records are kept without their payloads.
+	 *
+	 * @return {@code true} in metadata only mode.
+	 */
+	public boolean isMetadataOnly() {
+		return metadataOnly;
+	}
+
+	/**
+	 * Returns the number of lookups served from the cache.
+	 *
+	 * @return The cache hit count.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of lookups that required parsing the document.
+	 *
+	 * @return The cache miss count.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the number of entries removed because of the size or weight limits
+	 * or because they expired.
+	 *
+	 * @return The eviction count.
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Returns the number of cached documents.
+	 *
+	 * @return The cache size.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the total payload bytes of the cached documents.
+	 *
+	 * @return The cache weight.
+	 */
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Removes all cached documents and resets the counters.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		weight = 0;
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+	/**
+	 * Registers the cache meters, tagged with the cache mode.
+	 *
+	 * @param meterRegistry The registry.
+	 */
+	@Override
+	public synchronized void bindTo(MeterRegistry meterRegistry) {
+		Tags tags = Tags.of("mode", metadataOnly ? "metadata" : "full");
+		meters.add(Gauge.builder("cbeff.parse.cache.size", this, CbeffParseCache::size).tags(tags)
+				.description("Cached CBEFF documents").register(meterRegistry));
+		meters.add(Gauge.builder("cbeff.parse.cache.weight", this, CbeffParseCache::getWeight).tags(tags)
+				.baseUnit("bytes").description("Payload bytes of the cached CBEFF documents")
+				.register(meterRegistry));
+		meters.add(FunctionCounter.builder("cbeff.parse.cache.hits", this, CbeffParseCache::getHitCount).tags(tags)
+				.register(meterRegistry));
+		meters.add(FunctionCounter.builder("cbeff.parse.cache.misses", this, CbeffParseCache::getMissCount)
+				.tags(tags).register(meterRegistry));
+		meters.add(FunctionCounter.builder("cbeff.parse.cache.evictions", this, CbeffParseCache::getEvictionCount)
+				.tags(tags).register(meterRegistry));
+		this.registry = meterRegistry;
+	}
+
+	/**
+	 * Removes the meters of the cache from the registry it was bound to and drops
+	 * the cached documents.
+	 */
+	@Override
+	public synchronized void close() {
+		if (registry != null) {
+			meters.forEach(registry::remove);
+			meters.clear();
+			registry = null;
+		}
+		entries.clear();
+		weight = 0;
+	}
+
+	@SuppressWarnings({ "java:S112" })
+	private CachedBIR get(byte[] xmlBytes) throws Exception {
+		if (xmlBytes == null || xmlBytes.length == 0) {
+			// nothing to key on, left to the parser to reject
+			return parse(xmlBytes);
+		}
+		String key = digest(xmlBytes);
+		synchronized (this) {
+			CachedBIR cached = entries.get(key);
+			if (cached != null) {
+				if (!isExpired(cached)) {
+					hits.increment();
+					return cached;
+				}
+				remove(key, cached);
+			}
+		}
+
+		// parsed outside the lock, concurrent misses on the same document may each
+		// parse it and the last one is kept
+		misses.increment();
+		CachedBIR parsed = parse(xmlBytes);
+		if (parsed.weight <= maxWeight) {
+			put(key, parsed);
+		}
+		return parsed;
+	}
+
+	@SuppressWarnings({ "java:S112" })
+	private CachedBIR parse(byte[] xmlBytes) throws Exception {
+		BIR bir = metadataOnly ? CbeffStreamReader.readMetadata(xmlBytes) : CbeffValidator.getBIRFromXML(xmlBytes);
+		freeze(bir);
+		return new CachedBIR(bir, BIRIndex.of(bir), payloadBytes(bir), System.nanoTime());
+	}
+
+	private synchronized void put(String key, CachedBIR parsed) {
+		CachedBIR previous = entries.put(key, parsed);
+		if (previous != null) {
+			weight -= previous.weight;
+		}
+		weight += parsed.weight;
+
+		Iterator<Map.Entry<String, CachedBIR>> eldest = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+			Map.Entry<String, CachedBIR> entry = eldest.next();
+			if (entry.getValue() == parsed) {
+				continue;
+			}
+			weight -= entry.getValue().weight;
+			eldest.remove();
+			evictions.increment();
+		}
+	}
+
+	private void remove(String key, CachedBIR cached) {
+		entries.remove(key);
+		weight -= cached.weight;
+		evictions.increment();
+	}
+
+	private boolean isExpired(CachedBIR cached) {
+		return ttlNanos > 0 && System.nanoTime() - cached.createdAt >= ttlNanos;
+	}
+
+	private static void freeze(BIR bir) {
+		List<BIR> birs = bir != null ? bir.getBirs() : null;
+		if (birs == null) {
+			return;
+		}
+		for (BIR child : birs) {
+			if (child != null) {
+				freeze(child);
+			}
+		}
+		bir.setBirs(Collections.unmodifiableList(birs));
+	}
+
+	private static long payloadBytes(BIR bir) {
+		long bytes = 0;
+		if (bir == null) {
+			return bytes;
+		}
+		if (bir.getBdb() != null) {
+			bytes += bir.getBdb().length;
+		}
+		if (bir.getSb() != null) {
+			bytes += bir.getSb().length;
+		}
+		if (bir.getBirs() != null) {
+			for (BIR child : bir.getBirs()) {
+				if (child != null) {
+					bytes += payloadBytes(child);
+				}
+			}
+		}
+		return bytes;
+	}
+
+	private static String digest(byte[] xmlBytes) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(xmlBytes));
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is mandatory on every Java platform
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private static final class CachedBIR {
+
+		private final BIR bir;
+
+		private final BIRIndex index;
+
+		private final long weight;
+
+		private final long createdAt;
+
+		CachedBIR(BIR bir, BIRIndex index, long weight, long createdAt) {
+			this.bir = bir;
+			this.index = index;
+			this.weight = weight;
+			this.createdAt = createdAt;
+		}
+	}
+}
\ No newline at end of file
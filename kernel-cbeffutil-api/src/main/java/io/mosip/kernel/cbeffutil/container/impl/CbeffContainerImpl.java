@@ -3,12 +3,12 @@ package io.mosip.kernel.cbeffutil.container.impl;
 import java.util.ArrayList;
 import java.util.List;
 
+import io.mosip.kernel.biometrics.commons.CbeffSchemaCache;
 import io.mosip.kernel.biometrics.commons.CbeffValidator;
 import io.mosip.kernel.biometrics.entities.BIR;
 import io.mosip.kernel.biometrics.entities.BIRInfo;
 import io.mosip.kernel.biometrics.entities.BIRInfo.BIRInfoBuilder;
 import io.mosip.kernel.cbeffutil.container.CbeffContainerI;
-import io.mosip.kernel.core.cbeffutil.common.CbeffXSDValidator;
 
 /**
  * Implementation class for creating and updating Biometric Information Record
@@ -72,6 +72,6 @@ public class CbeffContainerImpl extends CbeffContainerI<BIR, BIR> {
 	 */
 	@Override
 	public boolean validateXML(byte[] xmlBytes, byte[] xsdBytes) throws Exception {
-		return CbeffXSDValidator.validateXML(xsdBytes, xmlBytes);
+		return CbeffSchemaCache.validateXML(xsdBytes, xmlBytes);
 	}
 }
\ No newline at end of file
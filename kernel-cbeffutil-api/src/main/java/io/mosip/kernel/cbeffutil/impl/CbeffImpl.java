@@ -4,19 +4,33 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 import org.apache.commons.io.IOUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.xml.sax.SAXException;
 
+import io.micrometer.core.instrument.Metrics;
+import io.mosip.kernel.biometrics.commons.CbeffSchemaCache;
+import io.mosip.kernel.biometrics.commons.CbeffSplicer;
 import io.mosip.kernel.biometrics.commons.CbeffValidator;
 import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.biometrics.model.CbeffBatchResult;
 import io.mosip.kernel.biometrics.spi.CbeffUtil;
+import io.mosip.kernel.cbeffutil.cache.CbeffParseCache;
 import io.mosip.kernel.cbeffutil.container.impl.CbeffContainerImpl;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 /**
  * Implementation class for handling Common Biometric Exchange Formats Framework
@@ -55,6 +69,54 @@ public class CbeffImpl implements CbeffUtil {
 	@Value("${mosip.kernel.xsdfile}")
 	private String schemaName;
 
+	/**
+	 * Whether created documents are validated against the XSD while they are
+	 * marshalled, instead of being parsed again after marshalling.
+	 */
+	@Value("${mosip.kernel.cbeffutil.single-pass-validation:false}")
+	private boolean singlePassValidation;
+
+	/** Whether parsed documents are cached by {@link CbeffParseCache}. */
+	@Value("${mosip.kernel.cbeffutil.parse-cache.enabled:false}")
+	private boolean parseCacheEnabled;
+
+	/** Maximum number of parsed documents kept in the cache. */
+	@Value("${mosip.kernel.cbeffutil.parse-cache.max-entries:1000}")
+	private int parseCacheMaxEntries;
+
+	/** Maximum total payload bytes of the parsed documents kept in the cache. */
+	@Value("${mosip.kernel.cbeffutil.parse-cache.max-weight-bytes:268435456}")
+	private long parseCacheMaxWeightBytes;
+
+	/** Time to live of a cached document in seconds, 0 for no expiry. */
+	@Value("${mosip.kernel.cbeffutil.parse-cache.ttl-seconds:300}")
+	private long parseCacheTtlSeconds;
+
+	/**
+	 * Whether the cache keeps the records without their BDB and SB payloads. The
+	 * cache is then only read through {@link #getParseCache()}, the methods
+	 * returning payloads parse the document.
+	 */
+	@Value("${mosip.kernel.cbeffutil.parse-cache.metadata-only:false}")
+	private boolean parseCacheMetadataOnly;
+
+	/** Cache of parsed documents, {@code null} when disabled. */
+	private CbeffParseCache parseCache;
+
+	/** Whether batch items run on virtual threads instead of a fixed pool. */
+	@Value("${mosip.kernel.cbeffutil.batch.virtual-threads:true}")
+	private boolean batchVirtualThreads;
+
+	/**
+	 * Maximum number of batch items marshalled at the same time, 0 for the number
+	 * of available processors.
+	 */
+	@Value("${mosip.kernel.cbeffutil.batch.parallelism:0}")
+	private int batchParallelism;
+
+	/** Default executor of batch items, created on first use. */
+	private ExecutorService batchExecutor;
+
 	/** The byte array representation of the XSD schema. */
 	private byte[] xsd;
 
@@ -62,16 +124,48 @@ public class CbeffImpl implements CbeffUtil {
 	private final CbeffContainerImpl cbeffContainer = new CbeffContainerImpl();
 
 	/**
-	 * Initializes the XSD schema by loading it from the configured server URL.
+	 * Initializes the XSD schema by loading it from the configured server URL and
+	 * compiling it into the {@link CbeffSchemaCache}, so that the first
+	 * create/update call does not pay for schema compilation. Also creates the
+	 * parsed document cache when it is enabled and registers its meters.
 	 *
 	 * @throws IOException        If an I/O error occurs while reading the XSD file.
 	 * @throws URISyntaxException If the URI syntax is invalid.
+	 * @throws SAXException       If the XSD cannot be compiled.
 	 */
 	@PostConstruct
-	public void loadXSD() throws IOException, URISyntaxException {
+	public void loadXSD() throws IOException, URISyntaxException, SAXException {
 		try (InputStream xsdBytes = new URI(configServerFileStorageURL + schemaName).toURL().openStream()) {
 			xsd = IOUtils.toByteArray(xsdBytes);
 		}
+		CbeffSchemaCache.getSchema(xsd);
+		if (parseCacheEnabled) {
+			if (parseCache != null) {
+				parseCache.close();
+			}
+			parseCache = new CbeffParseCache(parseCacheMaxEntries, parseCacheMaxWeightBytes,
+					Duration.ofSeconds(parseCacheTtlSeconds), parseCacheMetadataOnly);
+			parseCache.bindTo(Metrics.globalRegistry);
+		}
+	}
+
+	/**
+	 * Returns the cache of parsed documents, e.g. to monitor its hit, miss and
+	 * eviction counts.
+	 *
+	 * @return The parsed document cache, or {@code null} if it is disabled.
+	 */
+	public CbeffParseCache getParseCache() {
+		return parseCache;
+	}
+
+	/**
+	 * Returns the parsed document cache when it holds the payloads, or
+	 * {@code null} when it is disabled or metadata only.
+	 */
+	private CbeffParseCache getPayloadCache() {
+		CbeffParseCache cache = parseCache;
+		return cache != null && !cache.isMetadataOnly() ? cache : null;
 	}
 
 	/**
@@ -84,7 +178,7 @@ public class CbeffImpl implements CbeffUtil {
 	 */
 	@Override
 	public byte[] createXML(List<BIR> birList) throws Exception {
-		return CbeffValidator.createXMLBytes(cbeffContainer.createBIRType(birList), xsd);
+		return CbeffValidator.createXMLBytes(cbeffContainer.createBIRType(birList), xsd, singlePassValidation);
 	}
 
 	/**
@@ -98,7 +192,111 @@ public class CbeffImpl implements CbeffUtil {
 	 */
 	@Override
 	public byte[] createXML(List<BIR> birList, byte[] xsd) throws Exception {
-		return CbeffValidator.createXMLBytes(cbeffContainer.createBIRType(birList), xsd);
+		return CbeffValidator.createXMLBytes(cbeffContainer.createBIRType(birList), xsd, singlePassValidation);
+	}
+
+	/**
+	 * Creates one CBEFF XML per list of Biometric Information Records (BIRs) using
+	 * the loaded XSD schema.
+	 *
+	 * @param birLists Lists of BIRs, one per document.
+	 * @param executor Executor running the items, or {@code null} for the
+	 *                 configured batch executor.
+	 * @return One result per list, in order, holding the XML or the failure of
+	 *         the item.
+	 */
+	@Override
+	public List<CbeffBatchResult> createXMLBatch(List<List<BIR>> birLists, Executor executor) {
+		return createXMLBatch(birLists, null, executor);
+	}
+
+	/**
+	 * Creates one CBEFF XML per list of Biometric Information Records (BIRs) using
+	 * the specified XSD schema.
+	 *
+	 * <p>
+	 * Items are submitted to the executor all at once, but at most the configured
+	 * parallelism of them are marshalled at the same time, so that the pooled
+	 * marshallers and the compiled schema from {@link CbeffSchemaCache} are
+	 * reused instead of being created per item.
+	 * </p>
+	 *
+	 * @param birLists Lists of BIRs, one per document.
+	 * @param xsd      Byte array of XSD data, or {@code null} for the loaded XSD.
+	 * @param executor Executor running the items, or {@code null} for the
+	 *                 configured batch executor.
+	 * @return One result per list, in order, holding the XML or the failure of
+	 *         the item.
+	 */
+	@Override
+	public List<CbeffBatchResult> createXMLBatch(List<List<BIR>> birLists, byte[] xsd, Executor executor) {
+		byte[] schema = xsd != null ? xsd : this.xsd;
+		Executor runner = executor != null ? executor : getBatchExecutor();
+		Semaphore permits = new Semaphore(getBatchParallelism());
+
+		List<CompletableFuture<CbeffBatchResult>> futures = new ArrayList<>(birLists.size());
+		for (int i = 0; i < birLists.size(); i++) {
+			int index = i;
+			List<BIR> birList = birLists.get(i);
+			futures.add(CompletableFuture.supplyAsync(() -> createBatchItem(index, birList, schema, permits), runner));
+		}
+
+		List<CbeffBatchResult> results = new ArrayList<>(futures.size());
+		for (CompletableFuture<CbeffBatchResult> future : futures) {
+			results.add(future.join());
+		}
+		return results;
+	}
+
+	/**
+	 * Shuts down the batch executor and closes the parsed document cache,
+	 * removing its meters.
+	 */
+	@PreDestroy
+	public void close() {
+		shutdownBatchExecutor();
+		if (parseCache != null) {
+			parseCache.close();
+		}
+	}
+
+	/**
+	 * Shuts down the batch executor, if it was created.
+	 */
+	public synchronized void shutdownBatchExecutor() {
+		if (batchExecutor != null) {
+			batchExecutor.shutdown();
+			batchExecutor = null;
+		}
+	}
+
+	private CbeffBatchResult createBatchItem(int index, List<BIR> birList, byte[] schema, Semaphore permits) {
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return CbeffBatchResult.failure(index, e);
+		}
+		try {
+			return CbeffBatchResult.success(index,
+					CbeffValidator.createXMLBytes(cbeffContainer.createBIRType(birList), schema, singlePassValidation));
+		} catch (Exception e) {
+			return CbeffBatchResult.failure(index, e);
+		} finally {
+			permits.release();
+		}
+	}
+
+	private int getBatchParallelism() {
+		return batchParallelism > 0 ? batchParallelism : Runtime.getRuntime().availableProcessors();
+	}
+
+	private synchronized Executor getBatchExecutor() {
+		if (batchExecutor == null) {
+			batchExecutor = batchVirtualThreads ? Executors.newVirtualThreadPerTaskExecutor()
+					: Executors.newFixedThreadPool(getBatchParallelism());
+		}
+		return batchExecutor;
 	}
 
 	/**
@@ -112,7 +310,38 @@ public class CbeffImpl implements CbeffUtil {
 	 */
 	@Override
 	public byte[] updateXML(List<BIR> birList, byte[] fileBytes) throws Exception {
-		return CbeffValidator.createXMLBytes(cbeffContainer.updateBIRType(birList, fileBytes), xsd);
+		return CbeffValidator.createXMLBytes(cbeffContainer.updateBIRType(birList, fileBytes), xsd, singlePassValidation);
+	}
+
+	/**
+	 * Appends the provided Biometric Information Records (BIRs) to an existing
+	 * CBEFF XML by splicing them in after the existing records. The existing
+	 * records are copied without being decoded and the updated document is
+	 * validated against the XSD.
+	 *
+	 * @param birList   List of BIRs to append to the existing XML.
+	 * @param fileBytes Byte array of the existing XML file.
+	 * @return Byte array of XML data representing the updated CBEFF format.
+	 * @throws Exception If there is an error during XML update.
+	 */
+	@Override
+	public byte[] appendXML(List<BIR> birList, byte[] fileBytes) throws Exception {
+		return CbeffSplicer.append(fileBytes, birList, xsd);
+	}
+
+	/**
+	 * Replaces the records of an existing CBEFF XML that have the same biometric
+	 * type and subtype as one of the provided BIRs, and appends the provided BIRs.
+	 * The updated document is validated against the XSD.
+	 *
+	 * @param birList   List of BIRs to add in place of the matching records.
+	 * @param fileBytes Byte array of the existing XML file.
+	 * @return Byte array of XML data representing the updated CBEFF format.
+	 * @throws Exception If there is an error during XML update.
+	 */
+	@Override
+	public byte[] replaceXML(List<BIR> birList, byte[] fileBytes) throws Exception {
+		return CbeffSplicer.replace(fileBytes, birList, xsd);
 	}
 
 	/**
@@ -159,7 +388,11 @@ public class CbeffImpl implements CbeffUtil {
 	 */
 	@Override
 	public Map<String, String> getBDBBasedOnType(byte[] fileBytes, String type, String subType) throws Exception {
-		BIR bir = CbeffValidator.getBIRFromXML(fileBytes);
+		CbeffParseCache payloadCache = getPayloadCache();
+		if (payloadCache != null) {
+			return CbeffValidator.getBDBBasedOnTypeAndSubType(payloadCache.getIndex(fileBytes), type, subType);
+		}
+		BIR bir = CbeffValidator.getBIRFromXML(fileBytes, true);
 		return CbeffValidator.getBDBBasedOnTypeAndSubType(bir, type, subType);
 	}
 
@@ -173,6 +406,11 @@ public class CbeffImpl implements CbeffUtil {
 	 */
 	@Override
 	public List<BIR> getBIRDataFromXML(byte[] xmlBytes) throws Exception {
+		CbeffParseCache payloadCache = getPayloadCache();
+		if (payloadCache != null) {
+			// the cache hands out a deep copy, owned by the caller
+			return payloadCache.getBIR(xmlBytes).getBirs();
+		}
 		BIR bir = CbeffValidator.getBIRFromXML(xmlBytes);
 		return bir.getBirs();
 	}
@@ -189,7 +427,11 @@ public class CbeffImpl implements CbeffUtil {
 	 */
 	@Override
 	public Map<String, String> getAllBDBData(byte[] xmlBytes, String type, String subType) throws Exception {
-		BIR bir = CbeffValidator.getBIRFromXML(xmlBytes);
+		CbeffParseCache payloadCache = getPayloadCache();
+		if (payloadCache != null) {
+			return CbeffValidator.getAllBDBData(payloadCache.getIndex(xmlBytes), type, subType);
+		}
+		BIR bir = CbeffValidator.getBIRFromXML(xmlBytes, true);
 		return CbeffValidator.getAllBDBData(bir, type, subType);
 	}
 
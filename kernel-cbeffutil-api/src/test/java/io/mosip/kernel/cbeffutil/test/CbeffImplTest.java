@@ -2,9 +2,11 @@ package io.mosip.kernel.cbeffutil.test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mockStatic;
 import java.io.ByteArrayOutputStream;
@@ -22,6 +24,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import io.mosip.kernel.cbeffutil.container.impl.CbeffContainerImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +48,7 @@ import io.mosip.kernel.biometrics.entities.BIRInfo;
 import io.mosip.kernel.biometrics.entities.Entry;
 import io.mosip.kernel.biometrics.entities.RegistryIDType;
 import io.mosip.kernel.biometrics.entities.VersionType;
+import io.mosip.kernel.biometrics.model.CbeffBatchResult;
 import io.mosip.kernel.biometrics.spi.CbeffUtil;
 import io.mosip.kernel.cbeffutil.impl.CbeffImpl;
 import io.mosip.kernel.core.cbeffutil.common.CbeffISOReader;
@@ -238,7 +243,7 @@ public class CbeffImplTest {
 	@Test
 	public void shouldCreateXmlFromLocalXsd() throws Exception {
 		try (MockedStatic<CbeffValidator> mockedValidator = mockStatic(CbeffValidator.class)) {
-			mockedValidator.when(() -> CbeffValidator.createXMLBytes(any(), any()))
+			mockedValidator.when(() -> CbeffValidator.createXMLBytes(any(), any(), anyBoolean()))
 					.thenReturn(readCreatedXML("createCbeffLatest2"));
 
 			byte[] createXml = cbeffUtilImpl.createXML(createList, readXSD("updatedcbeff"));
@@ -260,6 +265,33 @@ public class CbeffImplTest {
 		}
 	}
 
+	/**
+	 * Tests batch XML creation on an executor.
+	 * Verifies that results are returned in order, with the failure of an invalid item
+	 * reported in its own result.
+	 */
+	@Test
+	public void shouldCreateXmlBatchInOrderWithPerItemFailures() throws Exception {
+		List<BIR> invalidList = new ArrayList<>();
+		invalidList.add(new BIR());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<CbeffBatchResult> results = cbeffUtilImpl.createXMLBatch(
+					Arrays.asList(createList, invalidList, createList), readXSD("updatedcbeff"), executor);
+
+			assertEquals(3, results.size());
+			for (int i = 0; i < results.size(); i++) {
+				assertEquals(i, results.get(i).getIndex());
+			}
+			assertTrue(results.get(0).isSuccess());
+			assertFalse(results.get(1).isSuccess());
+			assertTrue(results.get(2).isSuccess());
+			assertTrue(cbeffUtilImpl.validateXML(results.get(0).getXml(), readXSD("updatedcbeff")));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	/**
 	 * Tests getBDBBasedOnType method with valid type and subtype.
 	 * Verifies that BDB data is retrieved correctly based on biometric type and subtype.
@@ -271,7 +303,7 @@ public class CbeffImplTest {
 			Map<String, String> expectedMap = new HashMap<>();
 			expectedMap.put("bdb", "testData");
 
-			mockedValidator.when(() -> CbeffValidator.getBIRFromXML(any())).thenReturn(mockBIR);
+			mockedValidator.when(() -> CbeffValidator.getBIRFromXML(any(), eq(true))).thenReturn(mockBIR);
 			mockedValidator.when(() -> CbeffValidator.getBDBBasedOnTypeAndSubType(mockBIR, "FINGER", "Left Thumb"))
 					.thenReturn(expectedMap);
 
@@ -311,7 +343,7 @@ public class CbeffImplTest {
 			Map<String, String> expectedMap = new HashMap<>();
 			expectedMap.put("allBDB", "allTestData");
 
-			mockedValidator.when(() -> CbeffValidator.getBIRFromXML(any())).thenReturn(mockBIR);
+			mockedValidator.when(() -> CbeffValidator.getBIRFromXML(any(), eq(true))).thenReturn(mockBIR);
 			mockedValidator.when(() -> CbeffValidator.getAllBDBData(mockBIR, "FINGER", "Left Thumb"))
 					.thenReturn(expectedMap);
 
@@ -346,7 +378,7 @@ public class CbeffImplTest {
 	@Test
 	public void shouldThrowExceptionWhenGetBdbBasedOnTypeWithInvalidXml() throws Exception {
 		try (MockedStatic<CbeffValidator> mockedValidator = mockStatic(CbeffValidator.class)) {
-			mockedValidator.when(() -> CbeffValidator.getBIRFromXML(any()))
+			mockedValidator.when(() -> CbeffValidator.getBIRFromXML(any(), eq(true)))
 					.thenThrow(new Exception("XML parsing error"));
 
 			assertThrows(Exception.class, () ->
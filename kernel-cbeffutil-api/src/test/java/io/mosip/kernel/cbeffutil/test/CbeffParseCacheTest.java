@@ -0,0 +1,161 @@
+package io.mosip.kernel.cbeffutil.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+import io.mosip.kernel.cbeffutil.cache.CbeffParseCache;
+
+/**
+ * Test class for the parsed CBEFF document cache.
+ */
+public class CbeffParseCacheTest {
+
+	private static final String localpath = "./src/main/resources";
+
+	private byte[] xml;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		xml = Files.readAllBytes(Paths.get(localpath + "/schema/createCbeffLatest2.xml"));
+	}
+
+	/**
+	 * Tests that the same document is parsed once and then served from the cache.
+	 */
+	@Test
+	public void testHitAndMiss() throws Exception {
+		CbeffParseCache cache = new CbeffParseCache(10, Long.MAX_VALUE, Duration.ofMinutes(5), false);
+
+		BIR first = cache.getBIR(xml);
+		BIR second = cache.getBIR(xml.clone());
+
+		assertNotSame(first, second);
+		assertEquals(first, second);
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(10, cache.getIndex(xml).find(BiometricType.FINGER, null, null).size());
+		assertTrue(cache.getWeight() > 0);
+	}
+
+	/**
+	 * Tests that the trees handed out can be modified without affecting the cached
+	 * document.
+	 */
+	@Test
+	public void testHitReturnsCopy() throws Exception {
+		CbeffParseCache cache = new CbeffParseCache(10, Long.MAX_VALUE, null, false);
+		BIR expected = cache.getBIR(xml);
+
+		BIR modified = cache.getBIR(xml);
+		modified.getBirs().get(0).getBdb()[0] ^= 1;
+		modified.getBirs().get(0).getBdbInfo().getSubtype().clear();
+		modified.getBirs().get(0).getBirInfo().setIntegrity(true);
+		modified.getBirs().add(new BIR());
+
+		assertEquals(expected, cache.getBIR(xml));
+		assertEquals(2, cache.getHitCount());
+	}
+
+	/**
+	 * Tests that the least recently used document is evicted once the cache is
+	 * full.
+	 */
+	@Test
+	public void testSizeEviction() throws Exception {
+		CbeffParseCache cache = new CbeffParseCache(1, Long.MAX_VALUE, null, false);
+
+		cache.getBIR(xml);
+		cache.getBIR(other());
+		cache.getBIR(xml);
+
+		assertEquals(1, cache.size());
+		assertEquals(3, cache.getMissCount());
+		assertEquals(2, cache.getEvictionCount());
+	}
+
+	/**
+	 * Tests that documents heavier than the weight limit are not retained.
+	 */
+	@Test
+	public void testWeightLimit() throws Exception {
+		CbeffParseCache cache = new CbeffParseCache(10, 1, null, false);
+
+		cache.getBIR(xml);
+		cache.getBIR(xml);
+
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getWeight());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	/**
+	 * Tests that expired documents are parsed again.
+	 */
+	@Test
+	public void testExpiry() throws Exception {
+		CbeffParseCache cache = new CbeffParseCache(10, Long.MAX_VALUE, Duration.ofNanos(1), false);
+
+		cache.getBIR(xml);
+		cache.getBIR(xml);
+
+		assertEquals(2, cache.getMissCount());
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(1, cache.size());
+	}
+
+	/**
+	 * Tests that the metadata only cache keeps the headers without the payloads.
+	 */
+	@Test
+	public void testMetadataOnly() throws Exception {
+		CbeffParseCache cache = new CbeffParseCache(10, 1, null, true);
+
+		BIR bir = cache.getBIR(xml);
+
+		assertEquals(10, bir.getBirs().size());
+		assertNotNull(bir.getBirs().get(0).getBdbInfo().getSubtype());
+		assertNull(bir.getBirs().get(0).getBdb());
+		assertEquals(0, cache.getWeight());
+		assertEquals(bir, cache.getBIR(xml));
+		assertEquals(1, cache.getHitCount());
+	}
+
+	/**
+	 * Tests that the counters are registered as meters and removed on close.
+	 */
+	@Test
+	public void testMeters() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		CbeffParseCache cache = new CbeffParseCache(10, Long.MAX_VALUE, null, false);
+		cache.bindTo(registry);
+
+		cache.getIndex(xml);
+		cache.getIndex(xml);
+
+		assertEquals(1.0, registry.get("cbeff.parse.cache.hits").functionCounter().count());
+		assertEquals(1.0, registry.get("cbeff.parse.cache.misses").functionCounter().count());
+		assertEquals(1.0, registry.get("cbeff.parse.cache.size").gauge().value());
+		cache.close();
+		assertTrue(registry.getMeters().isEmpty());
+		assertEquals(0, cache.size());
+	}
+
+	private byte[] other() {
+		return (new String(xml, StandardCharsets.UTF_8) + "\n").getBytes(StandardCharsets.UTF_8);
+	}
+}
\ No newline at end of file